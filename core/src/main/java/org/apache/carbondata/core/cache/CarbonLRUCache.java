@@ -17,11 +17,13 @@
 
 package org.apache.carbondata.core.cache;
 
-import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.apache.carbondata.common.logging.LogServiceFactory;
 import org.apache.carbondata.core.constants.CarbonCommonConstants;
@@ -30,7 +32,12 @@ import org.apache.carbondata.core.util.CarbonProperties;
 import org.apache.log4j.Logger;
 
 /**
- * class which manages the lru cache
+ * class which manages the lru cache.
+ *
+ * The cache is split into segments based on the hash of the key. Each segment holds its own
+ * access ordered map guarded by its own lock and tracks the memory of its entries, while the
+ * memory budget is shared by all segments. During eviction the least recently used removable
+ * entry across all segments is removed first.
  */
 public final class CarbonLRUCache {
   /**
@@ -43,10 +50,13 @@ public final class CarbonLRUCache {
   private static final Logger LOGGER =
       LogServiceFactory.getLogService(CarbonLRUCache.class.getName());
   /**
-   * Map that will contain key as table unique name and value as cache Holder
-   * object
+   * segments of the cache, each segment contains the entries whose key hash maps to it
+   */
+  private Segment[] segments;
+  /**
+   * mask used to find the segment of a key
    */
-  private Map<String, Cacheable> lruCacheMap;
+  private int segmentMask;
   /**
    * lruCacheSize
    */
@@ -54,7 +64,11 @@ public final class CarbonLRUCache {
   /**
    * totalSize size of the cache
    */
-  private long currentSize;
+  private AtomicLong currentSize = new AtomicLong();
+  /**
+   * lock to allow only one thread to evict entries at a time
+   */
+  private final Object evictionLock = new Object();
 
   /**
    * @param propertyName        property name to take the size configured
@@ -95,50 +109,46 @@ public final class CarbonLRUCache {
    * initialize lru cache
    */
   private void initCache() {
-    lruCacheMap =
-        new LinkedHashMap<String, Cacheable>(CarbonCommonConstants.DEFAULT_COLLECTION_SIZE, 1.0f,
-            true);
+    int segmentCount = getSegmentCount();
+    segments = new Segment[segmentCount];
+    for (int i = 0; i < segmentCount; i++) {
+      segments[i] = new Segment();
+    }
+    segmentMask = segmentCount - 1;
   }
 
   /**
-   * This method will give the list of all the keys that can be deleted from
-   * the level LRU cache
+   * number of segments, rounded up to power of 2 so that segment can be found by masking
    */
-  private List<String> getKeysToBeRemoved(long size) {
-    List<String> toBeDeletedKeys =
-        new ArrayList<String>(CarbonCommonConstants.DEFAULT_COLLECTION_SIZE);
-    long removedSize = 0;
-    for (Entry<String, Cacheable> entry : lruCacheMap.entrySet()) {
-      String key = entry.getKey();
-      Cacheable cacheInfo = entry.getValue();
-      long memorySize = cacheInfo.getMemorySize();
-      if (canBeRemoved(cacheInfo)) {
-        removedSize = removedSize + memorySize;
-        toBeDeletedKeys.add(key);
-        // check if after removing the current file size, required
-        // size when added to current size is sufficient to load a
-        // level or not
-        if (lruCacheMemorySize >= (currentSize - memorySize + size)) {
-          toBeDeletedKeys.clear();
-          toBeDeletedKeys.add(key);
-          removedSize = memorySize;
-          break;
-        }
-        // check if after removing the added size/removed size,
-        // required size when added to current size is sufficient to
-        // load a level or not
-        else if (lruCacheMemorySize >= (currentSize - removedSize + size)) {
-          break;
-        }
-      }
+  private static int getSegmentCount() {
+    int segmentCount;
+    try {
+      segmentCount = Integer.parseInt(CarbonProperties.getInstance()
+          .getProperty(CarbonCommonConstants.CARBON_LRU_CACHE_SEGMENT_COUNT,
+              CarbonCommonConstants.CARBON_LRU_CACHE_SEGMENT_COUNT_DEFAULT));
+    } catch (NumberFormatException e) {
+      segmentCount = Integer.parseInt(CarbonCommonConstants.CARBON_LRU_CACHE_SEGMENT_COUNT_DEFAULT);
+    }
+    if (segmentCount <= 0) {
+      LOGGER.warn(CarbonCommonConstants.CARBON_LRU_CACHE_SEGMENT_COUNT
+          + " should be greater than 0. Falling back to default value: "
+          + CarbonCommonConstants.CARBON_LRU_CACHE_SEGMENT_COUNT_DEFAULT);
+      segmentCount = Integer.parseInt(CarbonCommonConstants.CARBON_LRU_CACHE_SEGMENT_COUNT_DEFAULT);
     }
-    // this case will come when iteration is complete over the keys but
-    // still size is not sufficient for level file to be loaded, then we
-    // will not delete any of the keys
-    if ((currentSize - removedSize + size) > lruCacheMemorySize) {
-      toBeDeletedKeys.clear();
+    // limit to 2^16 segments
+    segmentCount = Math.min(segmentCount, 1 << 16);
+    int powerOfTwo = 1;
+    while (powerOfTwo < segmentCount) {
+      powerOfTwo <<= 1;
     }
-    return toBeDeletedKeys;
+    return powerOfTwo;
+  }
+
+  private Segment segmentFor(String key) {
+    int hash = key.hashCode();
+    // spread the higher bits, as the keys mostly differ only at the end
+    hash ^= (hash >>> 16);
+    return segments[hash & segmentMask];
   }
 
   /**
@@ -156,35 +166,15 @@ public final class CarbonLRUCache {
    * @param key
    */
   public void remove(String key) {
-    synchronized (lruCacheMap) {
-      removeKey(key);
-    }
+    segmentFor(key).remove(key);
   }
 
   /**
    * @param keys
    */
   public void removeAll(List<String> keys) {
-    synchronized (lruCacheMap) {
-      for (String key : keys) {
-        removeKey(key);
-      }
-    }
-  }
-
-  /**
-   * This method will remove the key from lru cache
-   *
-   * @param key
-   */
-  private void removeKey(String key) {
-    Cacheable cacheable = lruCacheMap.get(key);
-    if (null != cacheable) {
-      long memorySize = cacheable.getMemorySize();
-      cacheable.invalidate();
-      lruCacheMap.remove(key);
-      currentSize = currentSize - memorySize;
-      LOGGER.info("Removed entry from InMemory lru cache :: " + key);
+    for (String key : keys) {
+      remove(key);
     }
   }
 
@@ -198,27 +188,22 @@ public final class CarbonLRUCache {
   public boolean put(String columnIdentifier, Cacheable cacheInfo, long requiredSize) {
     if (LOGGER.isDebugEnabled()) {
       LOGGER.debug("Required size for entry " + columnIdentifier + " :: " + requiredSize
-          + " Current cache size :: " + currentSize);
+          + " Current cache size :: " + currentSize.get());
     }
     boolean columnKeyAddedSuccessfully = false;
+    Segment segment = segmentFor(columnIdentifier);
     if (isLRUCacheSizeConfigured()) {
-      synchronized (lruCacheMap) {
-        if (freeMemorySizeForAddingCache(requiredSize)) {
-          currentSize = currentSize + requiredSize;
-          addEntryToLRUCacheMap(columnIdentifier, cacheInfo);
-          columnKeyAddedSuccessfully = true;
-        } else {
-          LOGGER.error(
-              "Size not available. Entry cannot be added to lru cache :: " + columnIdentifier
-                  + " .Required Size = " + requiredSize + " Size available " + (lruCacheMemorySize
-                  - currentSize));
-        }
+      if (freeMemorySizeForAddingCache(requiredSize)) {
+        columnKeyAddedSuccessfully = segment.put(columnIdentifier, cacheInfo, requiredSize, true);
       }
-    } else {
-      synchronized (lruCacheMap) {
-        addEntryToLRUCacheMap(columnIdentifier, cacheInfo);
-        currentSize = currentSize + requiredSize;
+      if (!columnKeyAddedSuccessfully) {
+        LOGGER.error(
+            "Size not available. Entry cannot be added to lru cache :: " + columnIdentifier
+                + " .Required Size = " + requiredSize + " Size available " + (lruCacheMemorySize
+                - currentSize.get()));
       }
+    } else {
+      segment.put(columnIdentifier, cacheInfo, requiredSize, false);
       columnKeyAddedSuccessfully = true;
     }
     return columnKeyAddedSuccessfully;
@@ -233,19 +218,17 @@ public final class CarbonLRUCache {
   public boolean tryPut(String columnIdentifier, long requiredSize) {
     if (LOGGER.isDebugEnabled()) {
       LOGGER.debug("checking Required size for entry " + columnIdentifier + " :: " + requiredSize
-          + " Current cache size :: " + currentSize);
+          + " Current cache size :: " + currentSize.get());
     }
     boolean columnKeyCanBeAdded = false;
     if (isLRUCacheSizeConfigured()) {
-      synchronized (lruCacheMap) {
-        if (freeMemorySizeForAddingCache(requiredSize)) {
-          columnKeyCanBeAdded = true;
-        } else {
-          LOGGER.error(
-              "Size check failed.Size not available. Entry cannot be added to lru cache :: "
-                  + columnIdentifier + " .Required Size = " + requiredSize + " Size available " + (
-                  lruCacheMemorySize - currentSize));
-        }
+      if (freeMemorySizeForAddingCache(requiredSize)) {
+        columnKeyCanBeAdded = true;
+      } else {
+        LOGGER.error(
+            "Size check failed.Size not available. Entry cannot be added to lru cache :: "
+                + columnIdentifier + " .Required Size = " + requiredSize + " Size available " + (
+                lruCacheMemorySize - currentSize.get()));
       }
     } else {
       columnKeyCanBeAdded = true;
@@ -253,21 +236,6 @@ public final class CarbonLRUCache {
     return columnKeyCanBeAdded;
   }
 
-  /**
-   * The method will add the cache entry to LRU cache map
-   *
-   * @param columnIdentifier
-   * @param cacheInfo
-   */
-  private void addEntryToLRUCacheMap(String columnIdentifier, Cacheable cacheInfo) {
-    if (null == lruCacheMap.get(columnIdentifier)) {
-      lruCacheMap.put(columnIdentifier, cacheInfo);
-    }
-    if (LOGGER.isDebugEnabled()) {
-      LOGGER.debug("Added entry to InMemory lru cache :: " + columnIdentifier);
-    }
-  }
-
   /**
    * this will check whether the LRU cache size is configured
    *
@@ -279,27 +247,54 @@ public final class CarbonLRUCache {
 
   /**
    * This method will check a required column can be loaded into memory or not. If required
-   * this method will call for eviction of existing data from memory
+   * this method will call for eviction of existing data from memory. Entries are evicted only
+   * if enough memory can be freed by evicting them.
    *
    * @param requiredSize
    * @return
    */
   private boolean freeMemorySizeForAddingCache(long requiredSize) {
-    boolean memoryAvailable = false;
     if (isSizeAvailableToLoadColumnDictionary(requiredSize)) {
-      memoryAvailable = true;
-    } else {
-      // get the keys that can be removed from memory
-      List<String> keysToBeRemoved = getKeysToBeRemoved(requiredSize);
-      for (String cacheKey : keysToBeRemoved) {
-        removeKey(cacheKey);
-      }
-      // after removing the keys check again if required size is available
+      return true;
+    }
+    synchronized (evictionLock) {
       if (isSizeAvailableToLoadColumnDictionary(requiredSize)) {
-        memoryAvailable = true;
+        return true;
+      }
+      long removableSize = 0;
+      for (Segment segment : segments) {
+        removableSize += segment.getRemovableSize();
+      }
+      // even after removing all the removable entries size is not sufficient,
+      // so do not delete any of the keys
+      if ((currentSize.get() - removableSize + requiredSize) > lruCacheMemorySize) {
+        return false;
+      }
+      while (!isSizeAvailableToLoadColumnDictionary(requiredSize)) {
+        if (!evictLeastRecentlyUsedEntry()) {
+          break;
+        }
+      }
+      return isSizeAvailableToLoadColumnDictionary(requiredSize);
+    }
+  }
+
+  /**
+   * Remove the least recently used removable entry across all the segments
+   *
+   * @return false if there is no entry which can be removed
+   */
+  private boolean evictLeastRecentlyUsedEntry() {
+    Segment victimSegment = null;
+    long oldestAccessTime = Long.MAX_VALUE;
+    for (Segment segment : segments) {
+      long accessTime = segment.getOldestRemovableAccessTime();
+      if (accessTime < oldestAccessTime) {
+        oldestAccessTime = accessTime;
+        victimSegment = segment;
       }
     }
-    return memoryAvailable;
+    return null != victimSegment && victimSegment.evictOldestRemovable();
   }
 
   /**
@@ -309,7 +304,7 @@ public final class CarbonLRUCache {
    * @return
    */
   private boolean isSizeAvailableToLoadColumnDictionary(long requiredSize) {
-    return lruCacheMemorySize >= (currentSize + requiredSize);
+    return lruCacheMemorySize >= (currentSize.get() + requiredSize);
   }
 
   /**
@@ -317,25 +312,28 @@ public final class CarbonLRUCache {
    * @return
    */
   public Cacheable get(String key) {
-    synchronized (lruCacheMap) {
-      return lruCacheMap.get(key);
-    }
+    return segmentFor(key).get(key);
   }
 
   /**
    * This method will empty the level cache
    */
   public void clear() {
-    synchronized (lruCacheMap) {
-      for (Cacheable cachebleObj : lruCacheMap.values()) {
-        cachebleObj.invalidate();
-      }
-      lruCacheMap.clear();
+    for (Segment segment : segments) {
+      segment.clear();
     }
   }
 
+  /**
+   * @return snapshot of all the entries in the cache
+   */
   public Map<String, Cacheable> getCacheMap() {
-    return lruCacheMap;
+    Map<String, Cacheable> cacheMap =
+        new LinkedHashMap<String, Cacheable>(CarbonCommonConstants.DEFAULT_COLLECTION_SIZE);
+    for (Segment segment : segments) {
+      segment.copyTo(cacheMap);
+    }
+    return Collections.unmodifiableMap(cacheMap);
   }
 
   /**
@@ -364,6 +362,186 @@ public final class CarbonLRUCache {
    * @return current size of the cache in memory.
    */
   public long getCurrentSize() {
-    return currentSize;
+    return currentSize.get();
+  }
+
+  /**
+   * cached value along with its last access time
+   */
+  private static final class CacheEntry {
+
+    private final Cacheable cacheable;
+
+    /**
+     * time of last access, used to compare recency across segments. System.nanoTime() is used
+     * instead of a shared counter so that the segments do not contend on it, the order of
+     * accesses at nearly the same time does not matter for eviction
+     */
+    private volatile long accessTime;
+
+    private CacheEntry(Cacheable cacheable, long accessTime) {
+      this.cacheable = cacheable;
+      this.accessTime = accessTime;
+    }
+  }
+
+  /**
+   * part of the cache, all the methods are synchronized on the segment's own map
+   */
+  private final class Segment {
+
+    /**
+     * Map that will contain key as table unique name and value as cache Holder
+     * object
+     */
+    private final Map<String, CacheEntry> lruCacheMap =
+        new LinkedHashMap<String, CacheEntry>(CarbonCommonConstants.DEFAULT_COLLECTION_SIZE, 1.0f,
+            true);
+
+    /**
+     * memory occupied by the entries of this segment
+     */
+    private long segmentSize;
+
+    private Cacheable get(String key) {
+      synchronized (lruCacheMap) {
+        CacheEntry entry = lruCacheMap.get(key);
+        if (null == entry) {
+          return null;
+        }
+        entry.accessTime = System.nanoTime();
+        return entry.cacheable;
+      }
+    }
+
+    /**
+     * add the entry to the segment if not already present, if present only its access time is
+     * updated and the size is not counted again
+     *
+     * @param checkSize whether to check size against the memory budget
+     * @return false if memory is not available
+     */
+    private boolean put(String key, Cacheable cacheable, long requiredSize, boolean checkSize) {
+      synchronized (lruCacheMap) {
+        CacheEntry entry = lruCacheMap.get(key);
+        if (null != entry) {
+          entry.accessTime = System.nanoTime();
+          return true;
+        }
+        if (checkSize) {
+          if (!reserve(requiredSize)) {
+            return false;
+          }
+        } else {
+          currentSize.addAndGet(requiredSize);
+        }
+        segmentSize += requiredSize;
+        lruCacheMap.put(key, new CacheEntry(cacheable, System.nanoTime()));
+        if (LOGGER.isDebugEnabled()) {
+          LOGGER.debug("Added entry to InMemory lru cache :: " + key);
+        }
+        return true;
+      }
+    }
+
+    /**
+     * reserve the size from the memory budget shared by all segments
+     */
+    private boolean reserve(long size) {
+      while (true) {
+        long current = currentSize.get();
+        if (lruCacheMemorySize < current + size) {
+          return false;
+        }
+        if (currentSize.compareAndSet(current, current + size)) {
+          return true;
+        }
+      }
+    }
+
+    private void remove(String key) {
+      synchronized (lruCacheMap) {
+        CacheEntry entry = lruCacheMap.remove(key);
+        if (null != entry) {
+          release(entry);
+          LOGGER.info("Removed entry from InMemory lru cache :: " + key);
+        }
+      }
+    }
+
+    private void release(CacheEntry entry) {
+      long memorySize = entry.cacheable.getMemorySize();
+      entry.cacheable.invalidate();
+      segmentSize -= memorySize;
+      currentSize.addAndGet(-memorySize);
+    }
+
+    /**
+     * @return total size of the entries which are not being accessed currently
+     */
+    private long getRemovableSize() {
+      synchronized (lruCacheMap) {
+        long removableSize = 0;
+        for (CacheEntry entry : lruCacheMap.values()) {
+          if (canBeRemoved(entry.cacheable)) {
+            removableSize += entry.cacheable.getMemorySize();
+          }
+        }
+        return removableSize;
+      }
+    }
+
+    /**
+     * @return access time of the least recently used removable entry, Long.MAX_VALUE if
+     * no entry can be removed
+     */
+    private long getOldestRemovableAccessTime() {
+      synchronized (lruCacheMap) {
+        for (CacheEntry entry : lruCacheMap.values()) {
+          if (canBeRemoved(entry.cacheable)) {
+            return entry.accessTime;
+          }
+        }
+        return Long.MAX_VALUE;
+      }
+    }
+
+    /**
+     * remove the least recently used removable entry of this segment
+     */
+    private boolean evictOldestRemovable() {
+      synchronized (lruCacheMap) {
+        Iterator<Entry<String, CacheEntry>> iterator = lruCacheMap.entrySet().iterator();
+        while (iterator.hasNext()) {
+          Entry<String, CacheEntry> entry = iterator.next();
+          if (canBeRemoved(entry.getValue().cacheable)) {
+            iterator.remove();
+            release(entry.getValue());
+            LOGGER.info("Removed entry from InMemory lru cache :: " + entry.getKey());
+            return true;
+          }
+        }
+        return false;
+      }
+    }
+
+    private void clear() {
+      synchronized (lruCacheMap) {
+        for (CacheEntry entry : lruCacheMap.values()) {
+          entry.cacheable.invalidate();
+        }
+        lruCacheMap.clear();
+        currentSize.addAndGet(-segmentSize);
+        segmentSize = 0;
+      }
+    }
+
+    private void copyTo(Map<String, Cacheable> cacheMap) {
+      synchronized (lruCacheMap) {
+        for (Entry<String, CacheEntry> entry : lruCacheMap.entrySet()) {
+          cacheMap.put(entry.getKey(), entry.getValue().cacheable);
+        }
+      }
+    }
   }
 }
@@ -844,6 +844,16 @@ public final class CarbonCommonConstants {
    */
   public static final String DEFAULT_DELETE_DELTAFILE_COUNT_THRESHOLD_IUD_COMPACTION = "1";
 
+  /**
+   * whether to write the delete delta file in binary format with the deleted rows of each page
+   * as compressed bitmap, instead of json. Files in both the formats can be read
+   */
+  @CarbonProperty
+  public static final String CARBON_DELETE_DELTA_BINARY_FORMAT_ENABLE =
+      "carbon.delete.delta.binary.format.enable";
+
+  public static final String CARBON_DELETE_DELTA_BINARY_FORMAT_ENABLE_DEFAULT = "false";
+
   /**
    * @Deprecated : This property has been deprecated.
    * Property for enabling system level compaction lock.1 compaction can run at once.
@@ -1282,6 +1292,18 @@ public final class CarbonCommonConstants {
    */
   public static final double CARBON_LRU_CACHE_PERCENT_OVER_MAX_SIZE = 0.6d;
 
+  /**
+   * number of segments the lru cache is split into. Each segment has its own lock, so
+   * concurrent get/put of different keys does not contend on a single monitor
+   */
+  @CarbonProperty
+  public static final String CARBON_LRU_CACHE_SEGMENT_COUNT = "carbon.lru.cache.segment.count";
+
+  /**
+   * default number of lru cache segments
+   */
+  public static final String CARBON_LRU_CACHE_SEGMENT_COUNT_DEFAULT = "16";
+
   /**
    * property to enable min max during filter query
    */
@@ -1492,6 +1514,117 @@ public final class CarbonCommonConstants {
 
   public static final String CARBON_QUERY_PREFETCH_ENABLE_DEFAULT = "true";
 
+  /**
+   * number of blocklets which are read ahead asynchronously while the current blocklet is
+   * scanned, used only when prefetch is enabled for the query
+   */
+  @CarbonProperty
+  public static final String CARBON_QUERY_PREFETCH_BLOCKLET_COUNT =
+      "carbon.query.prefetch.blocklet.count";
+
+  public static final String CARBON_QUERY_PREFETCH_BLOCKLET_COUNT_DEFAULT = "1";
+
+  public static final int CARBON_QUERY_PREFETCH_BLOCKLET_COUNT_MAX = 16;
+
+  /**
+   * maximum size in MB of the blocklets which are read ahead by a query task. Number of
+   * blocklets read ahead is reduced when the blocklets are bigger than this size
+   */
+  @CarbonProperty
+  public static final String CARBON_QUERY_PREFETCH_MAX_SIZE_IN_MB =
+      "carbon.query.prefetch.max.size.inmb";
+
+  public static final String CARBON_QUERY_PREFETCH_MAX_SIZE_IN_MB_DEFAULT = "256";
+
+  /**
+   * maximum gap in KB between the column chunks of a blocklet to read them in one IO. Reading
+   * the unused bytes in the gap is cheaper than one more IO in the file systems where each read
+   * request has high latency, like object stores
+   */
+  @CarbonProperty
+  public static final String CARBON_QUERY_READ_MERGE_GAP_IN_KB =
+      "carbon.query.read.merge.gap.inkb";
+
+  public static final String CARBON_QUERY_READ_MERGE_GAP_IN_KB_DEFAULT = "64";
+
+  /**
+   * whether to read the local carbondata files through memory map instead of file channel
+   */
+  @CarbonProperty
+  public static final String CARBON_LOCAL_FILE_MEMORY_MAP_ENABLE =
+      "carbon.local.file.memory.map.enable";
+
+  public static final String CARBON_LOCAL_FILE_MEMORY_MAP_ENABLE_DEFAULT = "false";
+
+  /**
+   * maximum size in MB of the encoded pages of a data load task which are waiting to be written
+   * to the carbondata file. Producers encoding the pages wait when this size is reached
+   */
+  @CarbonProperty
+  public static final String CARBON_LOAD_PAGE_BUFFER_SIZE_IN_MB =
+      "carbon.load.page.buffer.size.inmb";
+
+  public static final String CARBON_LOAD_PAGE_BUFFER_SIZE_IN_MB_DEFAULT = "64";
+
+  /**
+   * size in MB of each of the two buffers used to write the carbondata file asynchronously in
+   * data load, so that the next blocklet is prepared while the previous blocklet is written.
+   * 0 disables the asynchronous write, it is disabled by default as the buffers are allocated
+   * on heap for every carbondata file written by each data load task
+   */
+  @CarbonProperty
+  public static final String CARBON_LOAD_ASYNC_WRITE_BUFFER_SIZE_IN_MB =
+      "carbon.load.async.write.buffer.size.inmb";
+
+  public static final String CARBON_LOAD_ASYNC_WRITE_BUFFER_SIZE_IN_MB_DEFAULT = "0";
+
+  public static final int CARBON_LOAD_ASYNC_WRITE_BUFFER_SIZE_IN_MB_MAX = 1024;
+
+  /**
+   * number of threads to merge the sorted runs in the final merge of unsafe sort, when it is
+   * more than 1, the runs are divided into groups which are merged in parallel and the output
+   * of the groups is merged by the final merge thread
+   */
+  @CarbonProperty
+  public static final String CARBON_LOAD_SORT_FINAL_MERGE_THREADS =
+      "carbon.load.sort.final.merge.threads";
+
+  public static final String CARBON_LOAD_SORT_FINAL_MERGE_THREADS_DEFAULT = "1";
+
+  public static final int CARBON_LOAD_SORT_FINAL_MERGE_THREADS_MAX = 32;
+
+  /**
+   * whether the data converter step of data load converts a batch of rows field by field, so
+   * that each field converter is applied to all the rows of the batch before the next one.
+   * Rows are still converted in place in their object arrays
+   */
+  @CarbonProperty
+  public static final String CARBON_LOAD_CONVERT_BY_FIELD_ENABLE =
+      "carbon.load.convert.by.field.enable";
+
+  public static final String CARBON_LOAD_CONVERT_BY_FIELD_ENABLE_DEFAULT = "false";
+
+  /**
+   * whether to encode the integral measure pages using bit packing with frame of reference,
+   * delta or delta of delta transformation. Files written with it can not be read by the
+   * versions which do not support this encoding
+   */
+  @CarbonProperty
+  public static final String CARBON_LOAD_BIT_PACKING_ENCODING_ENABLE =
+      "carbon.load.bit.packing.encoding.enable";
+
+  public static final String CARBON_LOAD_BIT_PACKING_ENCODING_ENABLE_DEFAULT = "false";
+
+  /**
+   * whether to cache the parsed content of table status file and segment files in the process,
+   * so that they are parsed again only when the file is modified
+   */
+  @CarbonProperty
+  public static final String CARBON_METADATA_FILE_CACHE_ENABLE =
+      "carbon.metadata.file.cache.enable";
+
+  public static final String CARBON_METADATA_FILE_CACHE_ENABLE_DEFAULT = "false";
+
   //////////////////////////////////////////////////////////////////////////////////////////
   // Datamap parameter start here
   //////////////////////////////////////////////////////////////////////////////////////////
@@ -1548,6 +1681,24 @@ public final class CarbonCommonConstants {
 
   public static final String CARBON_LUCENE_INDEX_STOP_WORDS_DEFAULT = "false";
 
+  /**
+   * maximum number of lucene index shards whose index searchers are kept opened and shared by
+   * the queries, 0 means the index is opened for each query
+   */
+  @CarbonProperty
+  public static final String CARBON_LUCENE_INDEX_SEARCHER_CACHE_SIZE =
+      "carbon.lucene.index.searcher.cache.size";
+
+  public static final String CARBON_LUCENE_INDEX_SEARCHER_CACHE_SIZE_DEFAULT = "100";
+
+  /**
+   * local directory to which the cached lucene index shards on non local file system are copied
+   * and read by memory map, the index is read from its location if it is not configured
+   */
+  @CarbonProperty
+  public static final String CARBON_LUCENE_INDEX_LOCAL_CACHE_DIR =
+      "carbon.lucene.index.local.cache.dir";
+
   //////////////////////////////////////////////////////////////////////////////////////////
   // Constant value start here
   //////////////////////////////////////////////////////////////////////////////////////////
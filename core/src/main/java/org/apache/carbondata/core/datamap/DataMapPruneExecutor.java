@@ -0,0 +1,186 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.core.datamap;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.apache.carbondata.core.util.CarbonProperties;
+import org.apache.carbondata.core.util.CarbonThreadFactory;
+
+/**
+ * Thread pool shared by all the queries of the driver to prune the datamaps in multiple threads.
+ *
+ * Work of a query is split as one task per datamap. The query thread and at most
+ * (numOfThreads - 1) threads of the pool keep taking the next unprocessed task of the query
+ * till all are done, so the threads which finish early take up the remaining work. As the query
+ * thread also prunes, every query makes progress even when the pool is busy with other queries,
+ * and a single query can not hold more than numOfThreads threads.
+ *
+ * The pool is sized once by carbon.max.driver.threads.for.block.pruning, so a caller can not grow
+ * it by passing a bigger numOfThreads.
+ */
+final class DataMapPruneExecutor {
+
+  /**
+   * idle threads are released, so the pool does not hold the threads when there is no query
+   */
+  private static final long KEEP_ALIVE_SECONDS = 60L;
+
+  private static volatile ExecutorService executorService;
+
+  private DataMapPruneExecutor() {
+  }
+
+  /**
+   * Prune task of a query, called once for every index
+   */
+  interface PruneTask {
+    void prune(int index) throws IOException;
+  }
+
+  private static ExecutorService getExecutorService() {
+    if (executorService == null) {
+      synchronized (DataMapPruneExecutor.class) {
+        if (executorService == null) {
+          int numOfThreads = CarbonProperties.getNumOfThreadsForPruning();
+          final ThreadFactory threadFactory = new CarbonThreadFactory("DataMapPruningPool", true);
+          ThreadPoolExecutor executor = new ThreadPoolExecutor(numOfThreads, numOfThreads,
+              KEEP_ALIVE_SECONDS, TimeUnit.SECONDS, new LinkedBlockingQueue<Runnable>(),
+              new ThreadFactory() {
+                @Override public Thread newThread(Runnable runnable) {
+                  Thread thread = threadFactory.newThread(runnable);
+                  thread.setDaemon(true);
+                  return thread;
+                }
+              });
+          executor.allowCoreThreadTimeOut(true);
+          executorService = executor;
+        }
+      }
+    }
+    return executorService;
+  }
+
+  /**
+   * Call the prune task for all the indexes from 0 to numberOfTasks - 1 using the current thread
+   * and the shared pool. Once a prune fails or the query thread is interrupted, the remaining
+   * indexes are skipped, the helpers which are not yet started are cancelled and the failure is
+   * thrown after the running prunes are finished.
+   */
+  static void execute(int numberOfTasks, int numOfThreads, PruneTask task) throws IOException {
+    final PruneJob job = new PruneJob(numberOfTasks, task);
+    ExecutorService executor = getExecutorService();
+    final String threadName = Thread.currentThread().getName();
+    int numOfHelpers = Math.min(numOfThreads, numberOfTasks) - 1;
+    List<Future<?>> helpers = new ArrayList<>(Math.max(numOfHelpers, 0));
+    for (int i = 0; i < numOfHelpers; i++) {
+      helpers.add(executor.submit(new Runnable() {
+        @Override public void run() {
+          Thread thread = Thread.currentThread();
+          String poolThreadName = thread.getName();
+          // use query thread name, so that the logs of the pruning are related to the query
+          thread.setName(threadName);
+          try {
+            job.run();
+          } finally {
+            thread.setName(poolThreadName);
+          }
+        }
+      }));
+    }
+    try {
+      job.run();
+      job.await();
+    } finally {
+      // all the indexes are taken once the query thread comes out of run, so the helpers which
+      // are still waiting in the pool queue have no work left and only occupy the pool
+      for (Future<?> helper : helpers) {
+        helper.cancel(false);
+      }
+    }
+  }
+
+  private static class PruneJob {
+
+    private final int numberOfTasks;
+
+    private final PruneTask task;
+
+    private final AtomicInteger nextIndex = new AtomicInteger();
+
+    private final CountDownLatch pendingTasks;
+
+    private final AtomicReference<Throwable> failure = new AtomicReference<>();
+
+    PruneJob(int numberOfTasks, PruneTask task) {
+      this.numberOfTasks = numberOfTasks;
+      this.task = task;
+      this.pendingTasks = new CountDownLatch(numberOfTasks);
+    }
+
+    void run() {
+      int index;
+      while ((index = nextIndex.getAndIncrement()) < numberOfTasks) {
+        try {
+          if (Thread.currentThread().isInterrupted()) {
+            failure.compareAndSet(null, new InterruptedException("datamap pruning is cancelled"));
+          }
+          if (failure.get() == null) {
+            task.prune(index);
+          }
+        } catch (Throwable e) {
+          failure.compareAndSet(null, e);
+        } finally {
+          pendingTasks.countDown();
+        }
+      }
+    }
+
+    void await() throws IOException {
+      try {
+        pendingTasks.await();
+      } catch (InterruptedException e) {
+        // query is cancelled, stop the helpers from taking up the remaining indexes
+        failure.compareAndSet(null, e);
+        Thread.currentThread().interrupt();
+        throw new RuntimeException(e);
+      }
+      Throwable e = failure.get();
+      if (e instanceof IOException) {
+        throw (IOException) e;
+      } else if (e instanceof RuntimeException) {
+        throw (RuntimeException) e;
+      } else if (e instanceof Error) {
+        throw (Error) e;
+      } else if (e != null) {
+        throw new RuntimeException(e);
+      }
+    }
+  }
+}
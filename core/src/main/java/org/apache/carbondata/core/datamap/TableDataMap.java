@@ -21,13 +21,7 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.Callable;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ExecutionException;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
-import java.util.concurrent.Future;
-import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
 import org.apache.carbondata.common.annotations.InterfaceAudience;
 import org.apache.carbondata.common.logging.LogServiceFactory;
@@ -181,150 +175,68 @@ public final class TableDataMap extends OperationEventListener {
   private List<ExtendedBlocklet> pruneMultiThread(List<Segment> segments,
       final DataMapFilter filter, final List<PartitionSpec> partitions,
       List<ExtendedBlocklet> blocklets, final Map<Segment, List<DataMap>> dataMaps,
-      int totalFiles) {
+      int totalFiles) throws IOException {
     /*
      *********************************************************************************
-     * Below is the example of how this part of code works.
-     * consider a scenario of having 5 segments, 10 datamaps in each segment,
-     * and each datamap has one record. So total 50 records.
+     * Each datamap is pruned as a separate task. The query thread and the threads of the
+     * pruning pool shared by all queries take the next unprocessed datamap till all are
+     * pruned, so the threads which finish the smaller datamaps take up the remaining ones
+     * instead of waiting on a share of datamaps fixed before starting.
      *
-     * Datamaps in each segment looks like below.
-     * s0 [0-9], s1 [0-9], s2 [0-9], s3[0-9], s4[0-9]
-     *
-     * If number of threads are 4. so filesPerEachThread = 50/4 = 12 files per each thread.
-     *
-     * SegmentDataMapGroup look like below: [SegmentId, fromIndex, toIndex]
-     * In each segment only those datamaps are processed between fromIndex and toIndex.
-     *
-     * Final result will be: (4 list created as numOfThreadsForPruning is 4)
-     * Thread1 list: s0 [0-9], s1 [0-1]  : 12 files
-     * Thread2 list: s1 [2-9], s2 [0-3]  : 12 files
-     * Thread3 list: s2 [4-9], s3 [0-5]  : 12 files
-     * Thread4 list: s3 [6-9], s4 [0-9]  : 14 files
-     * so each thread will process almost equal number of records.
+     * consider a scenario of having 5 segments, 10 datamaps in each segment.
+     * Tasks look like below: [segment, datamap]
+     * [s0, 0], [s0, 1] ... [s0, 9], [s1, 0] ... [s4, 9] : 50 tasks
      *
+     * Result of each task is kept at its position, so the pruned blocklets are returned
+     * in the order of segments and datamaps.
      *********************************************************************************
      */
-
-    int numOfThreadsForPruning = CarbonProperties.getNumOfThreadsForPruning();
-    int filesPerEachThread = totalFiles / numOfThreadsForPruning;
-    int prev;
-    int filesCount = 0;
-    int processedFileCount = 0;
-    List<List<SegmentDataMapGroup>> datamapListForEachThread =
-        new ArrayList<>(numOfThreadsForPruning);
-    List<SegmentDataMapGroup> segmentDataMapGroupList = new ArrayList<>();
+    final List<DataMap> dataMapList = new ArrayList<>();
+    final List<Segment> dataMapSegments = new ArrayList<>();
+    final Map<Segment, SegmentProperties> segmentPropertiesMap = new HashMap<>();
+    final Map<Segment, Boolean> resolvedOnSegmentMap = new HashMap<>();
     for (Segment segment : segments) {
       List<DataMap> eachSegmentDataMapList = dataMaps.get(segment);
-      prev = 0;
-      for (int i = 0; i < eachSegmentDataMapList.size(); i++) {
-        DataMap dataMap = eachSegmentDataMapList.get(i);
-        filesCount += dataMap.getNumberOfEntries();
-        if (filesCount >= filesPerEachThread) {
-          if (datamapListForEachThread.size() != numOfThreadsForPruning - 1) {
-            // not the last segmentList
-            segmentDataMapGroupList.add(new SegmentDataMapGroup(segment, prev, i));
-            // save the last value to process in next thread
-            prev = i + 1;
-            datamapListForEachThread.add(segmentDataMapGroupList);
-            segmentDataMapGroupList = new ArrayList<>();
-            processedFileCount += filesCount;
-            filesCount = 0;
-          } else {
-            // add remaining in the end
-            processedFileCount += filesCount;
-            filesCount = 0;
-          }
-        }
+      if (eachSegmentDataMapList.isEmpty()) {
+        continue;
       }
-      if (prev == 0 || prev != eachSegmentDataMapList.size()) {
-        // if prev == 0. Add a segment's all datamaps
-        // eachSegmentDataMapList.size() != prev, adding the last remaining datamaps of this segment
-        segmentDataMapGroupList
-            .add(new SegmentDataMapGroup(segment, prev, eachSegmentDataMapList.size() - 1));
+      SegmentProperties segmentProperties =
+          segmentPropertiesFetcher.getSegmentPropertiesFromDataMap(eachSegmentDataMapList.get(0));
+      segmentPropertiesMap.put(segment, segmentProperties);
+      resolvedOnSegmentMap.put(segment, filter.isResolvedOnSegment(segmentProperties));
+      for (DataMap dataMap : eachSegmentDataMapList) {
+        dataMapList.add(dataMap);
+        dataMapSegments.add(segment);
       }
     }
-    // adding the last segmentList data
-    datamapListForEachThread.add(segmentDataMapGroupList);
-    processedFileCount += filesCount;
-    if (processedFileCount != totalFiles) {
-      // this should not happen
-      throw new RuntimeException(" not all the files processed ");
-    }
-    if (datamapListForEachThread.size() < numOfThreadsForPruning) {
-      // If the total datamaps fitted in lesser number of threads than numOfThreadsForPruning.
-      // Launch only that many threads where datamaps are fitted while grouping.
-      LOG.info("Datamaps is distributed in " + datamapListForEachThread.size() + " threads");
-      numOfThreadsForPruning = datamapListForEachThread.size();
-    }
+    int numOfThreadsForPruning = CarbonProperties.getNumOfThreadsForPruning();
     LOG.info(
         "Number of threads selected for multi-thread block pruning is " + numOfThreadsForPruning
-            + ". total files: " + totalFiles + ". total segments: " + segments.size());
-    List<Future<Void>> results = new ArrayList<>(numOfThreadsForPruning);
-    final Map<Segment, List<ExtendedBlocklet>> prunedBlockletMap =
-        new ConcurrentHashMap<>(segments.size());
-    final ExecutorService executorService = Executors.newFixedThreadPool(numOfThreadsForPruning);
-    final String threadName = Thread.currentThread().getName();
-    for (int i = 0; i < numOfThreadsForPruning; i++) {
-      final List<SegmentDataMapGroup> segmentDataMapGroups = datamapListForEachThread.get(i);
-      results.add(executorService.submit(new Callable<Void>() {
-        @Override public Void call() throws IOException {
-          Thread.currentThread().setName(threadName);
-          for (SegmentDataMapGroup segmentDataMapGroup : segmentDataMapGroups) {
-            List<ExtendedBlocklet> pruneBlocklets = new ArrayList<>();
-            List<DataMap> dataMapList = dataMaps.get(segmentDataMapGroup.getSegment());
-            SegmentProperties segmentProperties =
-                segmentPropertiesFetcher.getSegmentPropertiesFromDataMap(dataMapList.get(0));
-            Segment segment = segmentDataMapGroup.getSegment();
-            if (filter.isResolvedOnSegment(segmentProperties)) {
-              for (int i = segmentDataMapGroup.getFromIndex();
-                   i <= segmentDataMapGroup.getToIndex(); i++) {
-                List<Blocklet> dmPruneBlocklets = dataMapList.get(i).prune(
-                    filter.getResolver(), segmentProperties, partitions);
-                pruneBlocklets.addAll(addSegmentId(
-                    blockletDetailsFetcher.getExtendedBlocklets(dmPruneBlocklets, segment),
-                    segment));
-              }
+            + ". total files: " + totalFiles + ". total segments: " + segments.size()
+            + ". total datamaps: " + dataMapList.size());
+    final AtomicReferenceArray<List<ExtendedBlocklet>> prunedBlocklets =
+        new AtomicReferenceArray<>(dataMapList.size());
+    DataMapPruneExecutor.execute(dataMapList.size(), numOfThreadsForPruning,
+        new DataMapPruneExecutor.PruneTask() {
+          @Override public void prune(int index) throws IOException {
+            DataMap dataMap = dataMapList.get(index);
+            Segment segment = dataMapSegments.get(index);
+            SegmentProperties segmentProperties = segmentPropertiesMap.get(segment);
+            List<Blocklet> dmPruneBlocklets;
+            if (resolvedOnSegmentMap.get(segment)) {
+              dmPruneBlocklets =
+                  dataMap.prune(filter.getResolver(), segmentProperties, partitions);
             } else {
-              for (int i = segmentDataMapGroup.getFromIndex();
-                   i <= segmentDataMapGroup.getToIndex(); i++) {
-                List<Blocklet> dmPruneBlocklets = dataMapList.get(i).prune(
-                    filter.getExpression(), segmentProperties, partitions, table);
-                pruneBlocklets.addAll(addSegmentId(
-                    blockletDetailsFetcher.getExtendedBlocklets(dmPruneBlocklets, segment),
-                    segment));
-              }
-            }
-            synchronized (prunedBlockletMap) {
-              List<ExtendedBlocklet> pruneBlockletsExisting =
-                  prunedBlockletMap.get(segmentDataMapGroup.getSegment());
-              if (pruneBlockletsExisting != null) {
-                pruneBlockletsExisting.addAll(pruneBlocklets);
-              } else {
-                prunedBlockletMap.put(segmentDataMapGroup.getSegment(), pruneBlocklets);
-              }
+              dmPruneBlocklets =
+                  dataMap.prune(filter.getExpression(), segmentProperties, partitions, table);
             }
+            prunedBlocklets.set(index, addSegmentId(
+                blockletDetailsFetcher.getExtendedBlocklets(dmPruneBlocklets, segment),
+                segment));
           }
-          return null;
-        }
-      }));
-    }
-    executorService.shutdown();
-    try {
-      executorService.awaitTermination(2, TimeUnit.HOURS);
-    } catch (InterruptedException e) {
-      LOG.error("Error in pruning datamap in multi-thread: " + e.getMessage());
-    }
-    // check for error
-    for (Future<Void> result : results) {
-      try {
-        result.get();
-      } catch (InterruptedException | ExecutionException e) {
-        throw new RuntimeException(e);
-      }
-    }
-    for (Map.Entry<Segment, List<ExtendedBlocklet>> entry : prunedBlockletMap.entrySet()) {
-      blocklets.addAll(entry.getValue());
+        });
+    for (int i = 0; i < prunedBlocklets.length(); i++) {
+      blocklets.addAll(prunedBlocklets.get(i));
     }
     return blocklets;
   }
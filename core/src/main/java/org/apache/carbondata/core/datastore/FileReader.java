@@ -29,11 +29,26 @@ public interface FileReader {
    * @param filePath fully qualified file path
    * @param offset reading start position,
    * @param length number of bytes to be read
-   * @return ByteBuffer
+   * @return ByteBuffer, it may not have a backing array when the file is memory mapped
    * @throws IOException
    */
   ByteBuffer readByteBuffer(String filePath, long offset, int length)
       throws IOException;
+
+  /**
+   * This method will be used to read multiple ranges of the file. Ranges which are near to
+   * each other are read together, so that less number of IO is done to read all the ranges
+   *
+   * @param filePath fully qualified file path
+   * @param offsets  reading start position of each range
+   * @param lengths  number of bytes to be read for each range
+   * @return ByteBuffer for each range, data of the range is from the position of the buffer
+   * till its limit. Buffers of the ranges read together share the same content.
+   * @throws IOException
+   */
+  ByteBuffer[] readByteBuffers(String filePath, long[] offsets, int[] lengths)
+      throws IOException;
+
   /**
    * This method will be used to read the byte array from file based on offset
    * and length(number of bytes) need to read
@@ -99,6 +99,15 @@ public interface DimensionColumnPage {
    */
   int compareTo(int rowId, byte[] compareValue);
 
+  /**
+   * Below method will be used to get the surrogate key of the row, it is supported only for
+   * dictionary and local dictionary encoded data
+   *
+   * @param rowId row index
+   * @return surrogate key
+   */
+  int getSurrogate(int rowId);
+
   /**
    * below method will be used to free the allocated memory
    */
@@ -91,6 +91,10 @@ public abstract class AbstractDimensionColumnPage implements DimensionColumnPage
     return dataChunkStore.compareTo(rowId, compareValue);
   }
 
+  @Override public int getSurrogate(int rowId) {
+    return dataChunkStore.getSurrogate(rowId);
+  }
+
   /**
    * below method will be used to free the allocated memory
    */
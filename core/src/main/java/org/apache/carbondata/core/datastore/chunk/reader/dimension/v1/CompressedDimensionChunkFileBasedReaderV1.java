@@ -91,8 +91,8 @@ public class CompressedDimensionChunkFileBasedReaderV1 extends AbstractChunkRead
     DataChunk dataChunk = dimensionColumnChunk.get(columnIndex);
     ByteBuffer buffer = null;
     synchronized (fileReader) {
-      buffer = fileReader
-          .readByteBuffer(filePath, dataChunk.getDataPageOffset(), dataChunk.getDataPageLength());
+      buffer = CarbonUtil.toHeapBuffer(fileReader
+          .readByteBuffer(filePath, dataChunk.getDataPageOffset(), dataChunk.getDataPageLength()));
     }
     DimensionRawColumnChunk rawColumnChunk = new DimensionRawColumnChunk(columnIndex, buffer, 0,
         dataChunk.getDataPageLength(), this);
@@ -72,8 +72,8 @@ public class CompressedDimensionChunkFileBasedReaderV2 extends AbstractChunkRead
     }
     ByteBuffer buffer = null;
     synchronized (fileReader) {
-      buffer =
-          fileReader.readByteBuffer(filePath, dimensionChunksOffset.get(columnIndex), length);
+      buffer = CarbonUtil.toHeapBuffer(
+          fileReader.readByteBuffer(filePath, dimensionChunksOffset.get(columnIndex), length));
     }
     DimensionRawColumnChunk rawColumnChunk =
         new DimensionRawColumnChunk(columnIndex, buffer, 0, length, this);
@@ -99,8 +99,8 @@ public class CompressedDimensionChunkFileBasedReaderV2 extends AbstractChunkRead
     long currentDimensionOffset = dimensionChunksOffset.get(startColumnBlockletIndex);
     ByteBuffer buffer = null;
     synchronized (fileReader) {
-      buffer = fileReader.readByteBuffer(filePath, currentDimensionOffset,
-          (int) (dimensionChunksOffset.get(endColumnBlockletIndex + 1) - currentDimensionOffset));
+      buffer = CarbonUtil.toHeapBuffer(fileReader.readByteBuffer(filePath, currentDimensionOffset,
+          (int) (dimensionChunksOffset.get(endColumnBlockletIndex + 1) - currentDimensionOffset)));
     }
     DimensionRawColumnChunk[] dataChunks =
         new DimensionRawColumnChunk[endColumnBlockletIndex - startColumnBlockletIndex + 1];
@@ -136,9 +136,10 @@ public class CompressedDimensionChunkFileBasedReaderV2 extends AbstractChunkRead
           dimensionColumnChunk.data_page_length + dimensionColumnChunk.rle_page_length
               + dimensionColumnChunk.rowid_page_length;
       synchronized (dimensionRawColumnChunk.getFileReader()) {
-        rawData = dimensionRawColumnChunk.getFileReader().readByteBuffer(filePath,
-            dimensionChunksOffset.get(blockIndex) + dimensionChunksLength.get(blockIndex),
-            totalDimensionDataLength);
+        rawData = CarbonUtil.toHeapBuffer(dimensionRawColumnChunk.getFileReader()
+            .readByteBuffer(filePath,
+                dimensionChunksOffset.get(blockIndex) + dimensionChunksLength.get(blockIndex),
+                totalDimensionDataLength));
       }
     } else {
       dimensionColumnChunk =
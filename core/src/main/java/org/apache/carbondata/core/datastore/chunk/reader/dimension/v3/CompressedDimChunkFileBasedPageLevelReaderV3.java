@@ -16,7 +16,6 @@
  */
 package org.apache.carbondata.core.datastore.chunk.reader.dimension.v3;
 
-import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.nio.ByteBuffer;
 
@@ -31,7 +30,6 @@ import org.apache.carbondata.core.util.CarbonMetadataUtil;
 import org.apache.carbondata.core.util.CarbonUtil;
 import org.apache.carbondata.format.DataChunk2;
 import org.apache.carbondata.format.DataChunk3;
-import org.apache.carbondata.format.Encoding;
 
 /**
  * Dimension column V3 Reader class which will be used to read and uncompress
@@ -96,7 +94,8 @@ public class CompressedDimChunkFileBasedPageLevelReaderV3
           dimensionChunksLength.get(blockletColumnIndex));
     }
     // get the data chunk which will have all the details about the data pages
-    DataChunk3 dataChunk = CarbonUtil.readDataChunk3(new ByteArrayInputStream(buffer.array()));
+    DataChunk3 dataChunk =
+        CarbonUtil.readDataChunk3(buffer, 0, dimensionChunksLength.get(blockletColumnIndex));
     DimensionRawColumnChunk rawColumnChunk =
         getDimensionRawColumnChunk(fileReader, blockletColumnIndex, currentDimensionOffset, length,
             null, dataChunk);
@@ -104,6 +103,26 @@ public class CompressedDimChunkFileBasedPageLevelReaderV3
     return rawColumnChunk;
   }
 
+  /**
+   * Below method will be used to read the chunk of each column in the column index ranges.
+   * Only the data chunk of the column is read here, pages are read when they are decoded.
+   *
+   * @param fileReader       file reader to read the blocks from file
+   * @param columnIndexRange column index range to be read
+   * @return dimension column chunks
+   */
+  @Override public DimensionRawColumnChunk[] readRawDimensionChunks(FileReader fileReader,
+      int[][] columnIndexRange) throws IOException {
+    DimensionRawColumnChunk[] dataChunks =
+        new DimensionRawColumnChunk[dimensionChunksOffset.size()];
+    for (int[] indexRange : columnIndexRange) {
+      for (int i = indexRange[0]; i <= indexRange[1]; i++) {
+        dataChunks[i] = readRawDimensionChunk(fileReader, i);
+      }
+    }
+    return dataChunks;
+  }
+
   /**
    * Below method will be used to read the multiple dimension column data in group
    * and divide into dimension raw chunk object
@@ -161,17 +180,9 @@ public class CompressedDimChunkFileBasedPageLevelReaderV3
     long offset = dimensionRawColumnChunk.getOffSet() + dimensionChunksLength
         .get(dimensionRawColumnChunk.getColumnIndex()) + dataChunk3.getPage_offset()
         .get(pageNumber);
-    int length = pageMetadata.data_page_length;
-    if (CarbonUtil.hasEncoding(pageMetadata.encoders, Encoding.INVERTED_INDEX)) {
-      length += pageMetadata.rowid_page_length;
-    }
-
-    if (CarbonUtil.hasEncoding(pageMetadata.encoders, Encoding.RLE)) {
-      length += pageMetadata.rle_page_length;
-    }
     // get the data buffer
     ByteBuffer rawData = dimensionRawColumnChunk.getFileReader()
-        .readByteBuffer(filePath, offset, length);
+        .readByteBuffer(filePath, offset, getPageLength(pageMetadata));
 
     return decodeDimension(dimensionRawColumnChunk, rawData, pageMetadata, 0, null,
         reusableDataBuffer);
@@ -77,6 +77,53 @@ public class CompressedDimensionChunkFileBasedReaderV3 extends AbstractChunkRead
     lastDimensionOffsets = blockletInfo.getDimensionOffset();
   }
 
+  /**
+   * Below method will be used to read the chunks of all the column index ranges together.
+   * Ranges are read using the vectored read of file reader, so the ranges which are near to
+   * each other are read in one IO.
+   *
+   * @param fileReader       file reader to read the blocks from file
+   * @param columnIndexRange column index range to be read
+   * @return dimension column chunks
+   */
+  @Override public DimensionRawColumnChunk[] readRawDimensionChunks(FileReader fileReader,
+      int[][] columnIndexRange) throws IOException {
+    DimensionRawColumnChunk[] dataChunks =
+        new DimensionRawColumnChunk[dimensionChunksOffset.size()];
+    if (columnIndexRange.length == 0) {
+      return dataChunks;
+    }
+    long[] offsets = new long[columnIndexRange.length];
+    int[] lengths = new int[columnIndexRange.length];
+    for (int i = 0; i < columnIndexRange.length; i++) {
+      offsets[i] = dimensionChunksOffset.get(columnIndexRange[i][0]);
+      lengths[i] = (int) (getDimensionEndOffset(columnIndexRange[i][1]) - offsets[i]);
+    }
+    ByteBuffer[] buffers = fileReader.readByteBuffers(filePath, offsets, lengths);
+    for (int i = 0; i < columnIndexRange.length; i++) {
+      int runningOffset = buffers[i].position();
+      for (int j = columnIndexRange[i][0]; j <= columnIndexRange[i][1]; j++) {
+        int currentLength = (int) (getDimensionEndOffset(j) - dimensionChunksOffset.get(j));
+        DataChunk3 dataChunk =
+            CarbonUtil.readDataChunk3(buffers[i], runningOffset, dimensionChunksLength.get(j));
+        dataChunks[j] = getDimensionRawColumnChunk(fileReader, j, runningOffset, currentLength,
+            buffers[i], dataChunk);
+        runningOffset += currentLength;
+      }
+    }
+    return dataChunks;
+  }
+
+  /**
+   * end position of the column chunk in carbon data file
+   */
+  private long getDimensionEndOffset(int columnIndex) {
+    if (dimensionChunksOffset.size() - 1 == columnIndex) {
+      return lastDimensionOffsets;
+    }
+    return dimensionChunksOffset.get(columnIndex + 1);
+  }
+
   /**
    * Below method will be used to read the dimension column data form carbon data file
    * Steps for reading
@@ -271,6 +318,11 @@ public class CompressedDimensionChunkFileBasedReaderV3 extends AbstractChunkRead
       throws IOException, MemoryException {
     List<Encoding> encodings = pageMetadata.getEncoders();
     org.apache.carbondata.core.metadata.encoder.Encoding.validateEncodingTypes(encodings);
+    if (!pageData.hasArray()) {
+      // chunk read from memory mapped file, copy only the page which is decoded
+      pageData = CarbonUtil.getHeapBuffer(pageData, offset, getPageLength(pageMetadata));
+      offset = 0;
+    }
     if (CarbonUtil.isEncodedWithMeta(encodings)) {
       int[] invertedIndexes = new int[0];
       int[] invertedIndexesReverse = new int[0];
@@ -305,6 +357,20 @@ public class CompressedDimensionChunkFileBasedReaderV3 extends AbstractChunkRead
     }
   }
 
+  /**
+   * length of the page including its row id and rle page
+   */
+  protected int getPageLength(DataChunk2 pageMetadata) {
+    int length = pageMetadata.data_page_length;
+    if (CarbonUtil.hasEncoding(pageMetadata.encoders, Encoding.INVERTED_INDEX)) {
+      length += pageMetadata.rowid_page_length;
+    }
+    if (CarbonUtil.hasEncoding(pageMetadata.encoders, Encoding.RLE)) {
+      length += pageMetadata.rle_page_length;
+    }
+    return length;
+  }
+
   public boolean isEncodedWithAdaptiveMeta(DataChunk2 pageMetadata) {
     List<Encoding> encodings = pageMetadata.getEncoders();
     if (encodings != null && !encodings.isEmpty()) {
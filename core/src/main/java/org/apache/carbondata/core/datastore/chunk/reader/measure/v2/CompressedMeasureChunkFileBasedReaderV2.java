@@ -70,8 +70,8 @@ public class CompressedMeasureChunkFileBasedReaderV2 extends AbstractMeasureChun
     }
     ByteBuffer buffer = null;
     synchronized (fileReader) {
-      buffer = fileReader
-          .readByteBuffer(filePath, measureColumnChunkOffsets.get(columnIndex), dataLength);
+      buffer = CarbonUtil.toHeapBuffer(fileReader
+          .readByteBuffer(filePath, measureColumnChunkOffsets.get(columnIndex), dataLength));
     }
     MeasureRawColumnChunk rawColumnChunk =
         new MeasureRawColumnChunk(columnIndex, buffer, 0, dataLength, this);
@@ -97,8 +97,8 @@ public class CompressedMeasureChunkFileBasedReaderV2 extends AbstractMeasureChun
     long currentMeasureOffset = measureColumnChunkOffsets.get(startColumnIndex);
     ByteBuffer buffer = null;
     synchronized (fileReader) {
-      buffer = fileReader.readByteBuffer(filePath, currentMeasureOffset,
-          (int) (measureColumnChunkOffsets.get(endColumnIndex + 1) - currentMeasureOffset));
+      buffer = CarbonUtil.toHeapBuffer(fileReader.readByteBuffer(filePath, currentMeasureOffset,
+          (int) (measureColumnChunkOffsets.get(endColumnIndex + 1) - currentMeasureOffset)));
     }
     MeasureRawColumnChunk[] dataChunks =
         new MeasureRawColumnChunk[endColumnIndex - startColumnIndex + 1];
@@ -64,6 +64,53 @@ public class CompressedMeasureChunkFileBasedReaderV3 extends AbstractMeasureChun
     measureOffsets = blockletInfo.getMeasureOffsets();
   }
 
+  /**
+   * Below method will be used to read the chunks of all the column index ranges together.
+   * Ranges are read using the vectored read of file reader, so the ranges which are near to
+   * each other are read in one IO.
+   *
+   * @param fileReader       file reader to read the blocks from file
+   * @param columnIndexRange column index range to be read
+   * @return measure column chunks
+   */
+  @Override public MeasureRawColumnChunk[] readRawMeasureChunks(FileReader fileReader,
+      int[][] columnIndexRange) throws IOException {
+    MeasureRawColumnChunk[] dataChunks =
+        new MeasureRawColumnChunk[measureColumnChunkOffsets.size()];
+    if (columnIndexRange.length == 0) {
+      return dataChunks;
+    }
+    long[] offsets = new long[columnIndexRange.length];
+    int[] lengths = new int[columnIndexRange.length];
+    for (int i = 0; i < columnIndexRange.length; i++) {
+      offsets[i] = measureColumnChunkOffsets.get(columnIndexRange[i][0]);
+      lengths[i] = (int) (getMeasureEndOffset(columnIndexRange[i][1]) - offsets[i]);
+    }
+    ByteBuffer[] buffers = fileReader.readByteBuffers(filePath, offsets, lengths);
+    for (int i = 0; i < columnIndexRange.length; i++) {
+      int runningOffset = buffers[i].position();
+      for (int j = columnIndexRange[i][0]; j <= columnIndexRange[i][1]; j++) {
+        int currentLength = (int) (getMeasureEndOffset(j) - measureColumnChunkOffsets.get(j));
+        DataChunk3 dataChunk =
+            CarbonUtil.readDataChunk3(buffers[i], runningOffset, measureColumnChunkLength.get(j));
+        dataChunks[j] = getMeasureRawColumnChunk(fileReader, j, runningOffset, currentLength,
+            buffers[i], dataChunk);
+        runningOffset += currentLength;
+      }
+    }
+    return dataChunks;
+  }
+
+  /**
+   * end position of the column chunk in carbon data file
+   */
+  private long getMeasureEndOffset(int columnIndex) {
+    if (measureColumnChunkOffsets.size() - 1 == columnIndex) {
+      return measureOffsets;
+    }
+    return measureColumnChunkOffsets.get(columnIndex + 1);
+  }
+
   /**
    * Below method will be used to read the measure column data form carbon data file
    * 1. Get the length of the data to be read
@@ -236,6 +283,11 @@ public class CompressedMeasureChunkFileBasedReaderV3 extends AbstractMeasureChun
       throws MemoryException, IOException {
     List<Encoding> encodings = pageMetadata.getEncoders();
     org.apache.carbondata.core.metadata.encoder.Encoding.validateEncodingTypes(encodings);
+    if (!pageData.hasArray()) {
+      // chunk read from memory mapped file, copy only the page which is decoded
+      pageData = CarbonUtil.getHeapBuffer(pageData, offset, pageMetadata.data_page_length);
+      offset = 0;
+    }
     List<ByteBuffer> encoderMetas = pageMetadata.getEncoder_meta();
     String compressorName =
         CarbonMetadataUtil.getCompressorNameFromChunkMeta(pageMetadata.getChunk_meta());
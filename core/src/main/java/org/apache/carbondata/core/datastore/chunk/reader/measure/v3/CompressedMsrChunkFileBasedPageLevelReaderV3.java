@@ -16,7 +16,6 @@
  */
 package org.apache.carbondata.core.datastore.chunk.reader.measure.v3;
 
-import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.util.BitSet;
@@ -94,11 +93,32 @@ public class CompressedMsrChunkFileBasedPageLevelReaderV3
               measureColumnChunkLength.get(blockletColumnIndex));
     }
     // get the data chunk which will have all the details about the data pages
-    DataChunk3 dataChunk = CarbonUtil.readDataChunk3(new ByteArrayInputStream(buffer.array()));
+    DataChunk3 dataChunk = CarbonUtil
+        .readDataChunk3(buffer, 0, measureColumnChunkLength.get(blockletColumnIndex));
     return getMeasureRawColumnChunk(fileReader, blockletColumnIndex,
         measureColumnChunkOffsets.get(blockletColumnIndex), dataLength, null, dataChunk);
   }
 
+  /**
+   * Below method will be used to read the chunk of each column in the column index ranges.
+   * Only the data chunk of the column is read here, pages are read when they are decoded.
+   *
+   * @param fileReader       file reader to read the blocks from file
+   * @param columnIndexRange column index range to be read
+   * @return measure column chunks
+   */
+  @Override public MeasureRawColumnChunk[] readRawMeasureChunks(FileReader fileReader,
+      int[][] columnIndexRange) throws IOException {
+    MeasureRawColumnChunk[] dataChunks =
+        new MeasureRawColumnChunk[measureColumnChunkOffsets.size()];
+    for (int[] indexRange : columnIndexRange) {
+      for (int i = indexRange[0]; i <= indexRange[1]; i++) {
+        dataChunks[i] = readRawMeasureChunk(fileReader, i);
+      }
+    }
+    return dataChunks;
+  }
+
   /**
    * Below method will be used to read the multiple measure column data in group
    * and divide into measure raw chunk object
@@ -271,6 +271,20 @@ public class ColumnPageWrapper implements DimensionColumnPage {
     }
   }
 
+  @Override
+  public int getSurrogate(int rowId) {
+    if (null == localDictionary) {
+      throw new UnsupportedOperationException("internal error");
+    }
+    if (columnPage.getNullBits().get(rowId)) {
+      return CarbonCommonConstants.MEMBER_DEFAULT_VAL_SURROGATE_KEY;
+    }
+    if (isExplicitSorted()) {
+      rowId = getInvertedReverseIndex(rowId);
+    }
+    return CarbonUtil.getSurrogateInternal(columnPage.getBytes(rowId), 0, 3);
+  }
+
   @Override
   public void freeMemory() {
     if (null != columnPage) {
@@ -121,7 +121,7 @@ public class LocalDictDimensionDataChunkStore implements DimensionDataChunkStore
   }
 
   @Override public int getSurrogate(int rowId) {
-    throw new UnsupportedOperationException("Operation not supported");
+    return dimensionDataChunkStore.getSurrogate(rowId);
   }
 
   @Override public int getColumnValueSize() {
@@ -119,6 +119,27 @@ public abstract class AbstractCompressor implements Compressor {
     throw new RuntimeException("Not implemented rawCompress for " + this.getName());
   }
 
+  /**
+   * Uncompress the data present in input memory address to output memory address.
+   * Output memory should be at least of the size returned by
+   * {@link #unCompressedLength(long, int)}. It is not part of {@link Compressor}, so that the
+   * compressors implementing only the interface still work, callers should check
+   * {@link #supportUnsafe()} before calling this.
+   *
+   * @return size of the uncompressed data
+   */
+  public long rawUncompress(long inputAddress, int inputSize, long outputAddress)
+      throws IOException {
+    throw new RuntimeException("Not implemented rawUncompress for " + this.getName());
+  }
+
+  /**
+   * Size of the data after uncompress, read from the compressed data in memory address
+   */
+  public int unCompressedLength(long inputAddress, int inputSize) throws IOException {
+    throw new RuntimeException("Not implemented unCompressedLength for " + this.getName());
+  }
+
   @Override public boolean supportReusableBuffer() {
     return false;
   }
@@ -62,6 +62,8 @@ public interface Compressor {
    * Zero-copy means that the compressor support receiving memory address (pointer)
    * and returning result in memory address (pointer).
    * Currently not all java version of the compressors support this feature.
+   * Data in memory address is in native byte order, same as the data compressed from
+   * primitive arrays by this compressor.
    * @return true if it supports, otherwise return false
    */
   boolean supportUnsafe();
@@ -19,6 +19,7 @@ package org.apache.carbondata.core.datastore.compression;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.apache.carbondata.common.logging.LogServiceFactory;
 import org.apache.carbondata.core.constants.CarbonCommonConstants;
@@ -32,12 +33,25 @@ public class CompressorFactory {
       CompressorFactory.class.getName());
   private static final CompressorFactory COMPRESSOR_FACTORY = new CompressorFactory();
 
+  /**
+   * separator between the compressor name and the compression level, for example 'zstd:9'
+   */
+  private static final String COMPRESS_LEVEL_SEPARATOR = ":";
+
   private final Map<String, Compressor> allSupportedCompressors = new HashMap<>();
 
+  /**
+   * compressors with the compression level specified in the name, as the level is used only in
+   * compression, the name of these compressors do not have the level and the data compressed by
+   * them is uncompressed by the compressor of the same name
+   */
+  private final Map<String, Compressor> levelCompressors = new ConcurrentHashMap<>();
+
   public enum NativeSupportedCompressor {
     SNAPPY("snappy", SnappyCompressor.class),
     ZSTD("zstd", ZstdCompressor.class),
-    GZIP("gzip", GzipCompressor.class);
+    GZIP("gzip", GzipCompressor.class),
+    LZ4("lz4", Lz4Compressor.class);
 
     private String name;
     private Class<Compressor> compressorClass;
@@ -131,6 +145,9 @@ public class CompressorFactory {
   }
 
   public Compressor getCompressor(String name) {
+    if (name.contains(COMPRESS_LEVEL_SEPARATOR)) {
+      return getLevelCompressor(name);
+    }
     String internalCompressorName = getInternalCompressorName(name);
     if (null == internalCompressorName) {
       // maybe this is a new compressor, we will try to register it
@@ -140,6 +157,33 @@ public class CompressorFactory {
     }
   }
 
+  /**
+   * get the compressor for name in the format of 'compressorName:level', currently only zstd
+   * supports the level
+   */
+  private Compressor getLevelCompressor(String name) {
+    String key = name.toLowerCase();
+    Compressor compressor = levelCompressors.get(key);
+    if (compressor == null) {
+      int separatorIndex = key.indexOf(COMPRESS_LEVEL_SEPARATOR);
+      String compressorName = key.substring(0, separatorIndex).trim();
+      String level = key.substring(separatorIndex + 1).trim();
+      if (!NativeSupportedCompressor.ZSTD.getName().equals(compressorName)) {
+        throw new UnsupportedOperationException(String.format(
+            "Compression level is not supported for compressor '%s', only zstd supports it",
+            compressorName));
+      }
+      try {
+        compressor = new ZstdCompressor(Integer.parseInt(level));
+      } catch (NumberFormatException e) {
+        throw new UnsupportedOperationException(
+            String.format("Invalid compression level '%s' for compressor '%s'", level, name));
+      }
+      levelCompressors.put(key, compressor);
+    }
+    return compressor;
+  }
+
   // if we specify the compressor name in table property, carbondata now will convert the
   // property value to lowercase, so here we will ingore the case and find the real name.
   private String getInternalCompressorName(String name) {
@@ -0,0 +1,114 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.core.datastore.compression;
+
+import java.io.IOException;
+
+import net.jpountz.lz4.LZ4Compressor;
+import net.jpountz.lz4.LZ4Factory;
+import net.jpountz.lz4.LZ4FastDecompressor;
+
+/**
+ * Codec Class for performing LZ4 Compression. LZ4 decompresses much faster than the other
+ * compressors at the cost of lesser compression ratio.
+ *
+ * LZ4 block format does not store the length of the uncompressed data, so the compressed data
+ * is prefixed with the uncompressed length in 4 bytes (little endian).
+ */
+public class Lz4Compressor extends AbstractCompressor {
+
+  private static final int LENGTH_SIZE = 4;
+
+  private final LZ4Compressor compressor;
+
+  private final LZ4FastDecompressor decompressor;
+
+  public Lz4Compressor() {
+    LZ4Factory factory = LZ4Factory.fastestInstance();
+    compressor = factory.fastCompressor();
+    decompressor = factory.fastDecompressor();
+  }
+
+  @Override
+  public String getName() {
+    return "lz4";
+  }
+
+  @Override
+  public byte[] compressByte(byte[] unCompInput) {
+    return compressByte(unCompInput, unCompInput.length);
+  }
+
+  @Override
+  public byte[] compressByte(byte[] unCompInput, int byteSize) {
+    byte[] output = new byte[LENGTH_SIZE + compressor.maxCompressedLength(byteSize)];
+    writeLength(output, byteSize);
+    int compressedSize = compressor.compress(unCompInput, 0, byteSize, output, LENGTH_SIZE,
+        output.length - LENGTH_SIZE);
+    byte[] result = new byte[LENGTH_SIZE + compressedSize];
+    System.arraycopy(output, 0, result, 0, result.length);
+    return result;
+  }
+
+  @Override
+  public byte[] unCompressByte(byte[] compInput) {
+    return unCompressByte(compInput, 0, compInput.length);
+  }
+
+  @Override
+  public byte[] unCompressByte(byte[] compInput, int offset, int length) {
+    byte[] output = new byte[unCompressedLength(compInput, offset, length)];
+    rawUncompress(compInput, offset, length, output);
+    return output;
+  }
+
+  @Override
+  public long rawUncompress(byte[] input, byte[] output) throws IOException {
+    return rawUncompress(input, 0, input.length, output);
+  }
+
+  @Override
+  public long maxCompressedLength(long inputSize) {
+    return LENGTH_SIZE + compressor.maxCompressedLength((int) inputSize);
+  }
+
+  @Override
+  public int unCompressedLength(byte[] data, int offset, int length) {
+    return (data[offset] & 0xFF) | (data[offset + 1] & 0xFF) << 8
+        | (data[offset + 2] & 0xFF) << 16 | (data[offset + 3] & 0xFF) << 24;
+  }
+
+  @Override
+  public int rawUncompress(byte[] data, int offset, int length, byte[] output) {
+    int unCompressedLength = unCompressedLength(data, offset, length);
+    decompressor.decompress(data, offset + LENGTH_SIZE, output, 0, unCompressedLength);
+    return unCompressedLength;
+  }
+
+  @Override
+  public boolean supportReusableBuffer() {
+    return true;
+  }
+
+  private static void writeLength(byte[] output, int length) {
+    output[0] = (byte) length;
+    output[1] = (byte) (length >>> 8);
+    output[2] = (byte) (length >>> 16);
+    output[3] = (byte) (length >>> 24);
+  }
+}
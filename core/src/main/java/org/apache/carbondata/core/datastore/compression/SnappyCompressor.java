@@ -201,6 +201,17 @@ public class SnappyCompressor extends AbstractCompressor {
     return snappyNative.rawUncompress(input, 0, input.length, output, 0);
   }
 
+  @Override
+  public long rawUncompress(long inputAddress, int inputSize, long outputAddress)
+      throws IOException {
+    return snappyNative.rawUncompress(inputAddress, inputSize, outputAddress);
+  }
+
+  @Override
+  public int unCompressedLength(long inputAddress, int inputSize) throws IOException {
+    return (int) snappyNative.uncompressedLength(inputAddress, inputSize);
+  }
+
   @Override
   public long maxCompressedLength(long inputSize) {
     return snappyNative.maxCompressedLength((int) inputSize);
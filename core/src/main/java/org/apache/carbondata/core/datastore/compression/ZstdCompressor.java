@@ -22,9 +22,28 @@ import java.io.IOException;
 import com.github.luben.zstd.Zstd;
 
 public class ZstdCompressor extends AbstractCompressor {
-  private static final int COMPRESS_LEVEL = 3;
+  private static final int DEFAULT_COMPRESS_LEVEL = 3;
+
+  private static final int MIN_COMPRESS_LEVEL = 1;
+
+  private static final int MAX_COMPRESS_LEVEL = 22;
+
+  /**
+   * level is used only in compression, data compressed in any level is uncompressed in same way
+   */
+  private final int compressLevel;
 
   public ZstdCompressor() {
+    this(DEFAULT_COMPRESS_LEVEL);
+  }
+
+  public ZstdCompressor(int compressLevel) {
+    if (compressLevel < MIN_COMPRESS_LEVEL || compressLevel > MAX_COMPRESS_LEVEL) {
+      throw new UnsupportedOperationException(String.format(
+          "Invalid zstd compression level %d, it should be between %d and %d",
+          compressLevel, MIN_COMPRESS_LEVEL, MAX_COMPRESS_LEVEL));
+    }
+    this.compressLevel = compressLevel;
   }
 
   @Override
@@ -34,12 +53,12 @@ public class ZstdCompressor extends AbstractCompressor {
 
   @Override
   public byte[] compressByte(byte[] unCompInput) {
-    return Zstd.compress(unCompInput, COMPRESS_LEVEL);
+    return Zstd.compress(unCompInput, compressLevel);
   }
 
   @Override
   public byte[] compressByte(byte[] unCompInput, int byteSize) {
-    return Zstd.compress(unCompInput, COMPRESS_LEVEL);
+    return Zstd.compress(unCompInput, compressLevel);
   }
 
   @Override
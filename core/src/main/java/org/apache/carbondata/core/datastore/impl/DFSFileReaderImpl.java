@@ -18,12 +18,13 @@ package org.apache.carbondata.core.datastore.impl;
 
 import java.io.IOException;
 import java.nio.ByteBuffer;
-import java.util.HashMap;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.apache.carbondata.core.constants.CarbonCommonConstants;
 import org.apache.carbondata.core.datastore.FileReader;
+import org.apache.carbondata.core.util.CarbonProperties;
 
 import org.apache.hadoop.conf.Configuration;
 import org.apache.hadoop.fs.FSDataInputStream;
@@ -32,18 +33,25 @@ import org.apache.hadoop.fs.Path;
 
 public class DFSFileReaderImpl implements FileReader {
   /**
-   * cache to hold filename and its stream
+   * cache to hold filename and its stream. Byte array reads use positional read on the
+   * stream, so the same stream can be read by multiple threads at the same time
    */
   private Map<String, FSDataInputStream> fileNameAndStreamCache;
 
   private boolean readPageByPage;
 
+  /**
+   * maximum gap in bytes between two ranges to read them together
+   */
+  private int readMergeGap = CarbonProperties.getQueryReadMergeGap();
+
   private Configuration configuration;
 
   public DFSFileReaderImpl(Configuration configuration) {
     this.configuration = configuration;
     this.fileNameAndStreamCache =
-        new HashMap<String, FSDataInputStream>(CarbonCommonConstants.DEFAULT_COLLECTION_SIZE);
+        new ConcurrentHashMap<String, FSDataInputStream>(
+            CarbonCommonConstants.DEFAULT_COLLECTION_SIZE);
   }
 
   @Override public byte[] readByteArray(String filePath, long offset, int length)
@@ -63,10 +71,15 @@ public class DFSFileReaderImpl implements FileReader {
   private FSDataInputStream updateCache(String filePath) throws IOException {
     FSDataInputStream fileChannel = fileNameAndStreamCache.get(filePath);
     if (null == fileChannel) {
-      Path pt = new Path(filePath);
-      FileSystem fs = pt.getFileSystem(configuration);
-      fileChannel = fs.open(pt);
-      fileNameAndStreamCache.put(filePath, fileChannel);
+      synchronized (fileNameAndStreamCache) {
+        fileChannel = fileNameAndStreamCache.get(filePath);
+        if (null == fileChannel) {
+          Path pt = new Path(filePath);
+          FileSystem fs = pt.getFileSystem(configuration);
+          fileChannel = fs.open(pt);
+          fileNameAndStreamCache.put(filePath, fileChannel);
+        }
+      }
     }
     return fileChannel;
   }
@@ -81,8 +94,8 @@ public class DFSFileReaderImpl implements FileReader {
    */
   private byte[] read(FSDataInputStream channel, int size, long offset) throws IOException {
     byte[] byteBuffer = new byte[size];
-    channel.seek(offset);
-    channel.readFully(byteBuffer);
+    // positional read does not change the position of the stream, so it is thread safe
+    channel.readFully(offset, byteBuffer);
     return byteBuffer;
   }
 
@@ -144,6 +157,16 @@ public class DFSFileReaderImpl implements FileReader {
     return byteBuffer;
   }
 
+  @Override public ByteBuffer[] readByteBuffers(final String filePath, long[] offsets,
+      int[] lengths) throws IOException {
+    return VectoredReadUtil.read(offsets, lengths, readMergeGap,
+        new VectoredReadUtil.RangeReader() {
+          @Override public ByteBuffer read(long offset, int length) throws IOException {
+            return readByteBuffer(filePath, offset, length);
+          }
+        });
+  }
+
   @Override public void setReadPageByPage(boolean isReadPageByPage) {
     this.readPageByPage = isReadPageByPage;
   }
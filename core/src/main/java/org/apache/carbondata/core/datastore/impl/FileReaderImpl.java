@@ -18,36 +18,73 @@
 package org.apache.carbondata.core.datastore.impl;
 
 import java.io.FileInputStream;
-import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.nio.channels.FileChannel;
-import java.util.HashMap;
+import java.util.ArrayDeque;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.apache.carbondata.core.constants.CarbonCommonConstants;
 import org.apache.carbondata.core.datastore.FileReader;
+import org.apache.carbondata.core.util.CarbonProperties;
 
 public class FileReaderImpl implements FileReader {
+
+  /**
+   * maximum number of files kept memory mapped by all the readers
+   */
+  private static final int MAX_MAPPED_FILES = 64;
+
+  /**
+   * marker for the files which are not memory mapped as they are bigger than 2GB
+   */
+  private static final ByteBuffer NOT_MAPPED = ByteBuffer.allocate(0);
+
+  /**
+   * cache to hold filename and its memory mapped buffer, it is shared by all the readers as
+   * the mapping is valid even after the channel used to map it is closed. It is read without
+   * lock. The file mapped first is removed when more than MAX_MAPPED_FILES are mapped. Mapping
+   * is released when the buffer and the slices of it are garbage collected.
+   */
+  private static final Map<String, ByteBuffer> MAPPED_FILE_CACHE =
+      new ConcurrentHashMap<String, ByteBuffer>(MAX_MAPPED_FILES);
+
+  /**
+   * files in MAPPED_FILE_CACHE in the order they are mapped, guarded by the lock of itself
+   */
+  private static final ArrayDeque<String> MAPPED_FILES = new ArrayDeque<>(MAX_MAPPED_FILES);
+
   /**
-   * cache to hold filename and its stream
+   * cache to hold filename and its stream. Reads with offset use positional read on the
+   * channel, so the same channel can be read by multiple threads at the same time
    */
   private Map<String, FileChannel> fileNameAndStreamCache;
 
   private boolean readPageByPage;
 
+  /**
+   * maximum gap in bytes between two ranges to read them together
+   */
+  private int readMergeGap = CarbonProperties.getQueryReadMergeGap();
+
+  /**
+   * whether to read the data with offset from memory mapped file
+   */
+  private boolean memoryMapEnabled = CarbonProperties.isLocalFileMemoryMapEnabled();
+
   /**
    * FileReaderImpl Constructor
    * It will create the cache
    */
   public FileReaderImpl() {
     this.fileNameAndStreamCache =
-        new HashMap<String, FileChannel>(CarbonCommonConstants.DEFAULT_COLLECTION_SIZE);
+        new ConcurrentHashMap<String, FileChannel>(CarbonCommonConstants.DEFAULT_COLLECTION_SIZE);
   }
 
   public FileReaderImpl(int capacity) {
-    this.fileNameAndStreamCache = new HashMap<String, FileChannel>(capacity);
+    this.fileNameAndStreamCache = new ConcurrentHashMap<String, FileChannel>(capacity);
   }
 
   /**
@@ -61,9 +98,14 @@ public class FileReaderImpl implements FileReader {
    */
   @Override public byte[] readByteArray(String filePath, long offset, int length)
       throws IOException {
-    FileChannel fileChannel = updateCache(filePath);
-    ByteBuffer byteBuffer = read(fileChannel, length, offset);
-    return byteBuffer.array();
+    ByteBuffer byteBuffer = read(filePath, length, offset);
+    if (byteBuffer.hasArray()) {
+      return byteBuffer.array();
+    }
+    // slice of memory mapped file
+    byte[] data = new byte[length];
+    byteBuffer.get(data);
+    return data;
   }
 
   /**
@@ -88,8 +130,7 @@ public class FileReaderImpl implements FileReader {
    * @return read int
    */
   @Override public int readInt(String filePath, long offset) throws IOException {
-    FileChannel fileChannel = updateCache(filePath);
-    ByteBuffer byteBuffer = read(fileChannel, CarbonCommonConstants.INT_SIZE_IN_BYTE, offset);
+    ByteBuffer byteBuffer = read(filePath, CarbonCommonConstants.INT_SIZE_IN_BYTE, offset);
     return byteBuffer.getInt();
   }
 
@@ -115,8 +156,7 @@ public class FileReaderImpl implements FileReader {
    * @return read int
    */
   @Override public long readDouble(String filePath, long offset) throws IOException {
-    FileChannel fileChannel = updateCache(filePath);
-    ByteBuffer byteBuffer = read(fileChannel, CarbonCommonConstants.LONG_SIZE_IN_BYTE, offset);
+    ByteBuffer byteBuffer = read(filePath, CarbonCommonConstants.LONG_SIZE_IN_BYTE, offset);
     return byteBuffer.getLong();
   }
 
@@ -128,16 +168,104 @@ public class FileReaderImpl implements FileReader {
    * @param filePath fully qualified file path
    * @return channel
    */
-  private FileChannel updateCache(String filePath) throws FileNotFoundException {
+  private FileChannel updateCache(String filePath) throws IOException {
     FileChannel fileChannel = fileNameAndStreamCache.get(filePath);
     if (null == fileChannel) {
-      FileInputStream stream = new FileInputStream(filePath);
-      fileChannel = stream.getChannel();
-      fileNameAndStreamCache.put(filePath, fileChannel);
+      synchronized (fileNameAndStreamCache) {
+        fileChannel = fileNameAndStreamCache.get(filePath);
+        if (null == fileChannel) {
+          FileInputStream stream = new FileInputStream(filePath);
+          fileChannel = stream.getChannel();
+          if (memoryMapEnabled) {
+            removeStaleMapping(filePath, fileChannel.size());
+          }
+          fileNameAndStreamCache.put(filePath, fileChannel);
+        }
+      }
     }
     return fileChannel;
   }
 
+  /**
+   * Remove the memory mapped buffer of the file mapped by other reader if its size is not same
+   * as the file opened by this reader, as the file is written again after it is mapped.
+   *
+   * @param filePath fully qualified file path
+   * @param fileSize size of the file opened by this reader
+   */
+  private static void removeStaleMapping(String filePath, long fileSize) {
+    ByteBuffer mappedFile = MAPPED_FILE_CACHE.get(filePath);
+    long mappedSize = fileSize > Integer.MAX_VALUE ? 0 : fileSize;
+    if (null != mappedFile && mappedFile.capacity() != mappedSize) {
+      synchronized (MAPPED_FILES) {
+        if (MAPPED_FILE_CACHE.get(filePath) == mappedFile) {
+          MAPPED_FILE_CACHE.remove(filePath);
+          MAPPED_FILES.remove(filePath);
+        }
+      }
+    }
+  }
+
+  /**
+   * This method will be used to read from file based on number of bytes to be read and position.
+   * If memory map is enabled, the returned buffer is a read only slice of the memory mapped
+   * file, so the data is neither read through a system call nor copied. The slice has no
+   * backing array.
+   *
+   * @param filePath fully qualified file path
+   * @param size     number of bytes
+   * @param offset   position
+   * @return byte buffer
+   */
+  private ByteBuffer read(String filePath, int size, long offset) throws IOException {
+    FileChannel fileChannel = updateCache(filePath);
+    if (memoryMapEnabled) {
+      ByteBuffer mappedFile = getMappedFile(filePath, fileChannel);
+      if (offset + size <= mappedFile.capacity()) {
+        // duplicate has its own position, so the mapped file can be read by multiple threads
+        ByteBuffer buffer = mappedFile.duplicate();
+        buffer.position((int) offset);
+        buffer.limit((int) offset + size);
+        return buffer.slice();
+      }
+    }
+    return read(fileChannel, size, offset);
+  }
+
+  /**
+   * Get the memory mapped buffer of the file, map the file if it is not mapped already.
+   * Files bigger than 2GB are not mapped, as a buffer can not be bigger than that.
+   *
+   * @param filePath    fully qualified file path
+   * @param fileChannel channel of the file opened by this reader
+   * @return mapped buffer
+   */
+  private static ByteBuffer getMappedFile(String filePath, FileChannel fileChannel)
+      throws IOException {
+    ByteBuffer mappedFile = MAPPED_FILE_CACHE.get(filePath);
+    if (null != mappedFile) {
+      return mappedFile;
+    }
+    // lock only to map the file, so that it is mapped once
+    synchronized (MAPPED_FILES) {
+      mappedFile = MAPPED_FILE_CACHE.get(filePath);
+      if (null == mappedFile) {
+        long fileSize = fileChannel.size();
+        if (fileSize > Integer.MAX_VALUE) {
+          mappedFile = NOT_MAPPED;
+        } else {
+          mappedFile = fileChannel.map(FileChannel.MapMode.READ_ONLY, 0, fileSize);
+        }
+        MAPPED_FILE_CACHE.put(filePath, mappedFile);
+        MAPPED_FILES.add(filePath);
+        if (MAPPED_FILES.size() > MAX_MAPPED_FILES) {
+          MAPPED_FILE_CACHE.remove(MAPPED_FILES.poll());
+        }
+      }
+      return mappedFile;
+    }
+  }
+
   /**
    * This method will be used to read from file based on number of bytes to be read and position
    *
@@ -148,8 +276,12 @@ public class FileReaderImpl implements FileReader {
    */
   private ByteBuffer read(FileChannel channel, int size, long offset) throws IOException {
     ByteBuffer byteBuffer = ByteBuffer.allocate(size);
-    channel.position(offset);
-    channel.read(byteBuffer);
+    // positional read does not use the position of the channel, so it is thread safe
+    while (byteBuffer.hasRemaining()) {
+      if (channel.read(byteBuffer, offset + byteBuffer.position()) < 0) {
+        break;
+      }
+    }
     byteBuffer.rewind();
     return byteBuffer;
   }
@@ -191,19 +323,23 @@ public class FileReaderImpl implements FileReader {
    * @return read long
    */
   @Override public long readLong(String filePath, long offset) throws IOException {
-    FileChannel fileChannel = updateCache(filePath);
-    ByteBuffer byteBuffer = read(fileChannel, CarbonCommonConstants.LONG_SIZE_IN_BYTE, offset);
+    ByteBuffer byteBuffer = read(filePath, CarbonCommonConstants.LONG_SIZE_IN_BYTE, offset);
     return byteBuffer.getLong();
   }
 
   @Override public ByteBuffer readByteBuffer(String filePath, long offset, int length)
       throws IOException {
-    ByteBuffer byteBuffer = ByteBuffer.allocate(length);
-    FileChannel fileChannel = updateCache(filePath);
-    fileChannel.position(offset);
-    fileChannel.read(byteBuffer);
-    byteBuffer.rewind();
-    return byteBuffer;
+    return read(filePath, length, offset);
+  }
+
+  @Override public ByteBuffer[] readByteBuffers(final String filePath, long[] offsets,
+      int[] lengths) throws IOException {
+    return VectoredReadUtil.read(offsets, lengths, readMergeGap,
+        new VectoredReadUtil.RangeReader() {
+          @Override public ByteBuffer read(long offset, int length) throws IOException {
+            return readByteBuffer(filePath, offset, length);
+          }
+        });
   }
 
   @Override public void setReadPageByPage(boolean isReadPageByPage) {
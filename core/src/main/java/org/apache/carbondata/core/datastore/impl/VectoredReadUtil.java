@@ -0,0 +1,93 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.core.datastore.impl;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Comparator;
+
+/**
+ * Util to read multiple ranges of a file with less number of IO. Ranges which are near to each
+ * other are merged and read in one IO, and each range is returned as a view of the merged read.
+ */
+final class VectoredReadUtil {
+
+  private VectoredReadUtil() {
+  }
+
+  /**
+   * Reader used to read one merged range from the file
+   */
+  interface RangeReader {
+    ByteBuffer read(long offset, int length) throws IOException;
+  }
+
+  /**
+   * Read all the ranges, merging the ranges whose gap is not more than maxGap bytes
+   *
+   * @param offsets start position of each range
+   * @param lengths length of each range
+   * @param maxGap  maximum number of bytes between two ranges to read them together
+   * @param reader  reader to read the merged range
+   * @return buffer of each range, the range starts at the position of the buffer and ends at
+   * its limit. The buffers of merged ranges share the same content.
+   */
+  static ByteBuffer[] read(final long[] offsets, int[] lengths, int maxGap, RangeReader reader)
+      throws IOException {
+    ByteBuffer[] buffers = new ByteBuffer[offsets.length];
+    if (offsets.length == 0) {
+      return buffers;
+    }
+    Integer[] order = new Integer[offsets.length];
+    for (int i = 0; i < order.length; i++) {
+      order[i] = i;
+    }
+    Arrays.sort(order, new Comparator<Integer>() {
+      @Override public int compare(Integer o1, Integer o2) {
+        return Long.compare(offsets[o1], offsets[o2]);
+      }
+    });
+    int start = 0;
+    while (start < order.length) {
+      long mergedStart = offsets[order[start]];
+      long mergedEnd = mergedStart + lengths[order[start]];
+      int end = start + 1;
+      while (end < order.length) {
+        long offset = offsets[order[end]];
+        long rangeEnd = Math.max(mergedEnd, offset + lengths[order[end]]);
+        if (offset - mergedEnd > maxGap || rangeEnd - mergedStart > Integer.MAX_VALUE) {
+          break;
+        }
+        mergedEnd = rangeEnd;
+        end++;
+      }
+      ByteBuffer merged = reader.read(mergedStart, (int) (mergedEnd - mergedStart));
+      for (int i = start; i < end; i++) {
+        int index = order[i];
+        int position = (int) (offsets[index] - mergedStart);
+        ByteBuffer buffer = merged.duplicate();
+        buffer.limit(position + lengths[index]);
+        buffer.position(position);
+        buffers[index] = buffer;
+      }
+      start = end;
+    }
+    return buffers;
+  }
+}
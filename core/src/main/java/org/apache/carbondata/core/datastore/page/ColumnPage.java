@@ -24,6 +24,7 @@ import java.util.BitSet;
 import org.apache.carbondata.core.constants.CarbonCommonConstants;
 import org.apache.carbondata.core.datastore.ColumnType;
 import org.apache.carbondata.core.datastore.TableSpec;
+import org.apache.carbondata.core.datastore.compression.AbstractCompressor;
 import org.apache.carbondata.core.datastore.compression.Compressor;
 import org.apache.carbondata.core.datastore.compression.CompressorFactory;
 import org.apache.carbondata.core.datastore.page.encoding.ColumnPageEncoderMeta;
@@ -806,7 +807,12 @@ public abstract class ColumnPage {
     Compressor compressor = CompressorFactory.getInstance().getCompressor(meta.getCompressorName());
     TableSpec.ColumnSpec columnSpec = meta.getColumnSpec();
     DataType storeDataType = meta.getStoreDataType();
-    if (storeDataType == DataTypes.BOOLEAN || storeDataType == DataTypes.BYTE) {
+    if (isUnsafeEnabled(meta)
+        && UnsafeFixLengthColumnPage.isRawUncompressSupported(storeDataType, compressor)) {
+      // uncompress directly to the off-heap memory of the page
+      return UnsafeFixLengthColumnPage.decompress(
+          meta, (AbstractCompressor) compressor, compressedData, offset, length);
+    } else if (storeDataType == DataTypes.BOOLEAN || storeDataType == DataTypes.BYTE) {
       byte[] byteData = compressor.unCompressByte(compressedData, offset, length);
       return newBytePage(meta, byteData);
     } else if (storeDataType == DataTypes.SHORT) {
@@ -17,13 +17,17 @@
 
 package org.apache.carbondata.core.datastore.page;
 
+import java.io.IOException;
 import java.math.BigDecimal;
 
+import org.apache.carbondata.core.datastore.compression.AbstractCompressor;
+import org.apache.carbondata.core.datastore.compression.Compressor;
 import org.apache.carbondata.core.datastore.page.encoding.ColumnPageEncoderMeta;
 import org.apache.carbondata.core.memory.CarbonUnsafe;
 import org.apache.carbondata.core.memory.MemoryBlock;
 import org.apache.carbondata.core.memory.MemoryException;
 import org.apache.carbondata.core.memory.UnsafeMemoryManager;
+import org.apache.carbondata.core.metadata.datatype.DataType;
 import org.apache.carbondata.core.metadata.datatype.DataTypes;
 import org.apache.carbondata.core.util.ByteUtil;
 import org.apache.carbondata.core.util.ThreadLocalTaskInfo;
@@ -533,6 +537,87 @@ public class UnsafeFixLengthColumnPage extends ColumnPage {
     }
   }
 
+  /**
+   * Whether the page data of this data type can be compressed and uncompressed by the compressor
+   * directly on the off-heap memory, without copying it to a java array
+   */
+  static boolean isRawCompressSupported(DataType storeDataType, Compressor compressor) {
+    return UnsafeMemoryManager.isOffHeap() && compressor.supportUnsafe() && (
+        storeDataType == DataTypes.BYTE ||
+        storeDataType == DataTypes.SHORT ||
+        storeDataType == DataTypes.SHORT_INT ||
+        storeDataType == DataTypes.INT ||
+        storeDataType == DataTypes.LONG ||
+        storeDataType == DataTypes.FLOAT ||
+        storeDataType == DataTypes.DOUBLE);
+  }
+
+  /**
+   * Whether the compressed data can be uncompressed by the compressor directly to the off-heap
+   * memory of the page, the address based uncompress is only available in
+   * {@link AbstractCompressor}, so other implementations of {@link Compressor} use the array path
+   */
+  static boolean isRawUncompressSupported(DataType storeDataType, Compressor compressor) {
+    return compressor instanceof AbstractCompressor
+        && isRawCompressSupported(storeDataType, compressor);
+  }
+
+  @Override
+  public byte[] compress(Compressor compressor) throws MemoryException, IOException {
+    if (baseAddress != null ||
+        !isRawCompressSupported(columnPageEncoderMeta.getStoreDataType(), compressor)) {
+      return super.compress(compressor);
+    }
+    // compress from the page memory to a temporary off-heap memory, so that the page data is
+    // not copied to a java array
+    MemoryBlock compressedBlock = UnsafeMemoryManager
+        .allocateMemoryWithRetry(taskId, compressor.maxCompressedLength(totalLength));
+    try {
+      int compressedSize = (int) compressor
+          .rawCompress(baseOffset, totalLength, compressedBlock.getBaseOffset());
+      byte[] compressedData = new byte[compressedSize];
+      CarbonUnsafe.getUnsafe().copyMemory(null, compressedBlock.getBaseOffset(), compressedData,
+          CarbonUnsafe.BYTE_ARRAY_OFFSET, compressedSize);
+      return compressedData;
+    } finally {
+      UnsafeMemoryManager.INSTANCE.freeMemory(taskId, compressedBlock);
+    }
+  }
+
+  /**
+   * Uncompress the data directly to the off-heap memory of a new page, caller should check
+   * {@link #isRawUncompressSupported(DataType, Compressor)} before calling this
+   */
+  static ColumnPage decompress(ColumnPageEncoderMeta meta, AbstractCompressor compressor,
+      byte[] compressedData, int offset, int length) throws MemoryException {
+    String taskId = ThreadLocalTaskInfo.getCarbonTaskInfo().getTaskId();
+    MemoryBlock compressedBlock = UnsafeMemoryManager.allocateMemoryWithRetry(taskId, length);
+    UnsafeFixLengthColumnPage page = null;
+    try {
+      long compressedAddress = compressedBlock.getBaseOffset();
+      CarbonUnsafe.getUnsafe().copyMemory(compressedData, CarbonUnsafe.BYTE_ARRAY_OFFSET + offset,
+          null, compressedAddress, length);
+      int unCompressedLength = compressor.unCompressedLength(compressedAddress, length);
+      int eachValueSize = meta.getStoreDataType() == DataTypes.SHORT_INT ?
+          ByteUtil.SIZEOF_SHORT_INT : meta.getStoreDataType().getSizeInBytes();
+      page = new UnsafeFixLengthColumnPage(meta, unCompressedLength / eachValueSize);
+      if (unCompressedLength > page.capacity) {
+        throw new IOException("Invalid uncompressed length " + unCompressedLength
+            + " for page of " + meta.getStoreDataType());
+      }
+      page.totalLength =
+          (int) compressor.rawUncompress(compressedAddress, length, page.baseOffset);
+      return page;
+    } catch (IOException e) {
+      if (page != null) {
+        page.freeMemory();
+      }
+      throw new RuntimeException(e);
+    } finally {
+      UnsafeMemoryManager.INSTANCE.freeMemory(taskId, compressedBlock);
+    }
+  }
+
   @Override
   public long getPageLengthInBytes() {
     // For unsafe column page, we are always tracking the total length
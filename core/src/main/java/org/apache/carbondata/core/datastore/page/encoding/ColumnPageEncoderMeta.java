@@ -24,6 +24,7 @@ import java.math.BigDecimal;
 import java.nio.ByteBuffer;
 
 import org.apache.carbondata.core.datastore.TableSpec;
+import org.apache.carbondata.core.datastore.compression.CompressorFactory;
 import org.apache.carbondata.core.datastore.page.statistics.SimpleStatsResult;
 import org.apache.carbondata.core.metadata.ValueEncoderMeta;
 import org.apache.carbondata.core.metadata.datatype.DataType;
@@ -93,7 +94,8 @@ public class ColumnPageEncoderMeta extends ValueEncoderMeta implements Writable
     out.writeInt(getDecimal());
     out.writeByte(getDataTypeSelected());
     writeMinMax(out);
-    out.writeUTF(compressorName);
+    // compression level is not needed for decompression, so write the name of the compressor
+    out.writeUTF(CompressorFactory.getInstance().getCompressor(compressorName).getName());
   }
 
   @Override
@@ -27,6 +27,7 @@ import org.apache.carbondata.core.datastore.page.encoding.adaptive.AdaptiveDelta
 import org.apache.carbondata.core.datastore.page.encoding.adaptive.AdaptiveDeltaIntegralCodec;
 import org.apache.carbondata.core.datastore.page.encoding.adaptive.AdaptiveFloatingCodec;
 import org.apache.carbondata.core.datastore.page.encoding.adaptive.AdaptiveIntegralCodec;
+import org.apache.carbondata.core.datastore.page.encoding.bitpacking.BitPackingIntegralCodec;
 import org.apache.carbondata.core.datastore.page.encoding.compress.DirectCompressCodec;
 import org.apache.carbondata.core.datastore.page.encoding.dimension.legacy.ComplexDimensionIndexCodec;
 import org.apache.carbondata.core.datastore.page.encoding.dimension.legacy.DictDimensionIndexCodec;
@@ -37,6 +38,7 @@ import org.apache.carbondata.core.datastore.page.statistics.SimpleStatsResult;
 import org.apache.carbondata.core.metadata.datatype.DataType;
 import org.apache.carbondata.core.metadata.datatype.DataTypes;
 import org.apache.carbondata.core.metadata.datatype.DecimalConverterFactory;
+import org.apache.carbondata.core.util.CarbonProperties;
 import org.apache.carbondata.core.util.DataTypeUtil;
 
 /**
@@ -125,6 +127,11 @@ public class DefaultEncodingFactory extends EncodingFactory {
         dataType == DataTypes.INT ||
         dataType == DataTypes.LONG ||
         dataType == DataTypes.TIMESTAMP) {
+      if (columnSpec instanceof TableSpec.MeasureSpec && dataType != DataTypes.TIMESTAMP
+          && CarbonProperties.isBitPackingEncodingEnabled()) {
+        return selectCodecByAlgorithmForIntegralMeasure(stats, columnPage.getPageSize(),
+            columnSpec).createEncoder(null);
+      }
       return selectCodecByAlgorithmForIntegral(stats, false, columnSpec).createEncoder(null);
     } else if (DataTypes.isDecimal(dataType)) {
       return createEncoderForDecimalDataTypeMeasure(columnPage, columnSpec);
@@ -281,6 +288,42 @@ public class DefaultEncodingFactory extends EncodingFactory {
     }
   }
 
+  /**
+   * choose bit packing encoder only if the page packed with the bits required for the range of
+   * the values is smaller than the target size of adaptive or delta adaptive encoder, else choose
+   * between them. Bit packing may pack the deltas in even less bits, so the packed size is the
+   * maximum size of the bit packed page.
+   */
+  static ColumnPageCodec selectCodecByAlgorithmForIntegralMeasure(SimpleStatsResult stats,
+      int pageSize, TableSpec.ColumnSpec columnSpec) {
+    DataType srcDataType = stats.getDataType();
+    DataType adaptiveDataType = fitMinMax(srcDataType, stats.getMax(), stats.getMin());
+    DataType deltaDataType = fitDelta(srcDataType, stats.getMax(), stats.getMin());
+    long targetSize = (long) pageSize * Math.min(srcDataType.getSizeInBytes(),
+        Math.min(adaptiveDataType.getSizeInBytes(), deltaDataType.getSizeInBytes()));
+    long range = toLong(srcDataType, stats.getMax()) - toLong(srcDataType, stats.getMin());
+    // range is treated as unsigned, so it is correct even if the subtraction overflows
+    int bitWidth = 64 - Long.numberOfLeadingZeros(range);
+    if (BitPackingIntegralCodec.getMaxEncodedSize(pageSize, bitWidth) < targetSize) {
+      return new BitPackingIntegralCodec(srcDataType);
+    }
+    return selectCodecByAlgorithmForIntegral(stats, false, columnSpec);
+  }
+
+  private static long toLong(DataType dataType, Object value) {
+    if (dataType == DataTypes.BYTE) {
+      return (byte) value;
+    } else if (dataType == DataTypes.SHORT) {
+      return (short) value;
+    } else if (dataType == DataTypes.INT) {
+      return (int) value;
+    } else if (dataType == DataTypes.LONG) {
+      return (long) value;
+    } else {
+      throw new RuntimeException("internal error: " + dataType);
+    }
+  }
+
   /**
    * Check whether the column is sort column and inverted index column
    *
@@ -0,0 +1,476 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.core.datastore.page.encoding.bitpacking;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.carbondata.core.datastore.ReusableDataBuffer;
+import org.apache.carbondata.core.datastore.compression.Compressor;
+import org.apache.carbondata.core.datastore.compression.CompressorFactory;
+import org.apache.carbondata.core.datastore.page.ColumnPage;
+import org.apache.carbondata.core.datastore.page.ColumnPageValueConverter;
+import org.apache.carbondata.core.datastore.page.LazyColumnPage;
+import org.apache.carbondata.core.datastore.page.encoding.ColumnPageCodec;
+import org.apache.carbondata.core.datastore.page.encoding.ColumnPageDecoder;
+import org.apache.carbondata.core.datastore.page.encoding.ColumnPageEncoder;
+import org.apache.carbondata.core.datastore.page.encoding.ColumnPageEncoderMeta;
+import org.apache.carbondata.core.memory.MemoryException;
+import org.apache.carbondata.core.metadata.datatype.DataType;
+import org.apache.carbondata.core.metadata.datatype.DataTypes;
+import org.apache.carbondata.core.scan.result.vector.CarbonColumnVector;
+import org.apache.carbondata.core.scan.result.vector.ColumnVectorInfo;
+import org.apache.carbondata.core.scan.result.vector.impl.directread.ColumnarVectorWrapperDirectFactory;
+import org.apache.carbondata.core.scan.result.vector.impl.directread.ConvertableVector;
+import org.apache.carbondata.core.scan.result.vector.impl.directread.SequentialFill;
+import org.apache.carbondata.format.Encoding;
+
+/**
+ * Codec for integer (byte, short, int, long) data type measure page, which stores the values
+ * using frame of reference and bit packing with the minimum number of bits.
+ *
+ * Before packing, the values can be transformed to the difference of the consecutive values
+ * (delta) or to the difference of the consecutive deltas (delta of delta), the transformation
+ * which needs the least number of bits is used. Delta helps sorted or increasing values and
+ * delta of delta helps values increasing at a regular interval like timestamps. Then the minimum
+ * of the transformed values is subtracted from each value and the result is packed with the
+ * number of bits required for the difference of maximum and minimum.
+ *
+ * Encoded data before compression:
+ * page size (int), transformation (byte), bit width (byte),
+ * first value for delta and delta of delta, first delta for delta of delta (long),
+ * reference value which is the minimum of the transformed values (long),
+ * packed bits (long words, value i is at bit i * bit width)
+ */
+public class BitPackingIntegralCodec implements ColumnPageCodec {
+
+  private static final byte NO_TRANSFORM = 0;
+
+  private static final byte DELTA = 1;
+
+  private static final byte DELTA_OF_DELTA = 2;
+
+  private DataType srcDataType;
+
+  public BitPackingIntegralCodec(DataType srcDataType) {
+    this.srcDataType = srcDataType;
+  }
+
+  @Override
+  public String getName() {
+    return "BitPackingIntegralCodec";
+  }
+
+  @Override
+  public ColumnPageEncoder createEncoder(Map<String, String> parameter) {
+    return new ColumnPageEncoder() {
+      @Override
+      protected byte[] encodeData(ColumnPage input) throws MemoryException, IOException {
+        Compressor compressor =
+            CompressorFactory.getInstance().getCompressor(input.getColumnCompressorName());
+        return compressor.compressByte(BitPackingIntegralCodec.encode(getValues(input)));
+      }
+
+      @Override
+      protected List<Encoding> getEncodingList() {
+        List<Encoding> encodings = new ArrayList<Encoding>();
+        encodings.add(Encoding.BIT_PACKED_INTEGRAL);
+        return encodings;
+      }
+
+      @Override
+      protected ColumnPageEncoderMeta getEncoderMeta(ColumnPage inputPage) {
+        return new ColumnPageEncoderMeta(inputPage.getColumnSpec(), srcDataType,
+            inputPage.getStatistics(), inputPage.getColumnCompressorName());
+      }
+    };
+  }
+
+  @Override
+  public ColumnPageDecoder createDecoder(final ColumnPageEncoderMeta meta) {
+    return new ColumnPageDecoder() {
+      @Override
+      public ColumnPage decode(byte[] input, int offset, int length)
+          throws MemoryException, IOException {
+        Compressor compressor =
+            CompressorFactory.getInstance().getCompressor(meta.getCompressorName());
+        long[] values = BitPackingIntegralCodec.decode(
+            ByteBuffer.wrap(compressor.unCompressByte(input, offset, length)));
+        DataType dataType = meta.getStoreDataType();
+        ColumnPage page = ColumnPage.newPage(
+            new ColumnPageEncoderMeta(meta.getColumnSpec(), dataType, meta.getCompressorName()),
+            values.length);
+        if (dataType == DataTypes.BYTE) {
+          for (int i = 0; i < values.length; i++) {
+            page.putByte(i, (byte) values[i]);
+          }
+        } else if (dataType == DataTypes.SHORT) {
+          for (int i = 0; i < values.length; i++) {
+            page.putShort(i, (short) values[i]);
+          }
+        } else if (dataType == DataTypes.INT) {
+          for (int i = 0; i < values.length; i++) {
+            page.putInt(i, (int) values[i]);
+          }
+        } else if (dataType == DataTypes.LONG) {
+          for (int i = 0; i < values.length; i++) {
+            page.putLong(i, values[i]);
+          }
+        } else {
+          throw new UnsupportedOperationException(dataType + " is not supported for bit packing");
+        }
+        // readers get the values of integral measure page by getLong, the page of store data
+        // type is decorated as the pages decoded by other integral codecs
+        return LazyColumnPage.newPage(page, converter);
+      }
+
+      @Override
+      public void decodeAndFillVector(byte[] input, int offset, int length,
+          ColumnVectorInfo vectorInfo, BitSet nullBits, boolean isLVEncoded, int pageSize,
+          ReusableDataBuffer reusableDataBuffer) throws MemoryException, IOException {
+        Compressor compressor =
+            CompressorFactory.getInstance().getCompressor(meta.getCompressorName());
+        byte[] unCompressData;
+        if (null != reusableDataBuffer && compressor.supportReusableBuffer()) {
+          int uncompressedLength = compressor.unCompressedLength(input, offset, length);
+          unCompressData = reusableDataBuffer.getDataBuffer(uncompressedLength);
+          compressor.rawUncompress(input, offset, length, unCompressData);
+        } else {
+          unCompressData = compressor.unCompressByte(input, offset, length);
+        }
+        long[] values = BitPackingIntegralCodec.decode(ByteBuffer.wrap(unCompressData));
+        fillVector(values, vectorInfo, nullBits, pageSize);
+      }
+
+      @Override
+      public ColumnPage decode(byte[] input, int offset, int length, boolean isLVEncoded)
+          throws MemoryException, IOException {
+        return decode(input, offset, length);
+      }
+    };
+  }
+
+  /**
+   * the values are decoded to the page of store data type as they are, so the converter only
+   * widens them
+   */
+  private ColumnPageValueConverter converter = new ColumnPageValueConverter() {
+    @Override
+    public void encode(int rowId, byte value) {
+      throw new RuntimeException("internal error");
+    }
+
+    @Override
+    public void encode(int rowId, short value) {
+      throw new RuntimeException("internal error");
+    }
+
+    @Override
+    public void encode(int rowId, int value) {
+      throw new RuntimeException("internal error");
+    }
+
+    @Override
+    public void encode(int rowId, long value) {
+      throw new RuntimeException("internal error");
+    }
+
+    @Override
+    public void encode(int rowId, float value) {
+      throw new RuntimeException("internal error");
+    }
+
+    @Override
+    public void encode(int rowId, double value) {
+      throw new RuntimeException("internal error");
+    }
+
+    @Override
+    public long decodeLong(byte value) {
+      return value;
+    }
+
+    @Override
+    public long decodeLong(short value) {
+      return value;
+    }
+
+    @Override
+    public long decodeLong(int value) {
+      return value;
+    }
+
+    @Override
+    public double decodeDouble(byte value) {
+      return value;
+    }
+
+    @Override
+    public double decodeDouble(short value) {
+      return value;
+    }
+
+    @Override
+    public double decodeDouble(int value) {
+      return value;
+    }
+
+    @Override
+    public double decodeDouble(long value) {
+      return value;
+    }
+
+    @Override
+    public double decodeDouble(float value) {
+      throw new RuntimeException("internal error");
+    }
+
+    @Override
+    public double decodeDouble(double value) {
+      throw new RuntimeException("internal error");
+    }
+
+    @Override
+    public void decodeAndFillVector(byte[] pageData, ColumnVectorInfo vectorInfo,
+        BitSet nullBits, DataType pageDataType, int pageSize) {
+      // vector is filled from the decoded values by the decoder
+      throw new RuntimeException("internal error");
+    }
+  };
+
+  private static long[] getValues(ColumnPage input) {
+    DataType dataType = input.getDataType();
+    int pageSize = input.getPageSize();
+    long[] values = new long[pageSize];
+    if (dataType == DataTypes.BYTE) {
+      byte[] bytePage = input.getBytePage();
+      for (int i = 0; i < pageSize; i++) {
+        values[i] = bytePage[i];
+      }
+    } else if (dataType == DataTypes.SHORT) {
+      short[] shortPage = input.getShortPage();
+      for (int i = 0; i < pageSize; i++) {
+        values[i] = shortPage[i];
+      }
+    } else if (dataType == DataTypes.INT) {
+      int[] intPage = input.getIntPage();
+      for (int i = 0; i < pageSize; i++) {
+        values[i] = intPage[i];
+      }
+    } else if (dataType == DataTypes.LONG) {
+      long[] longPage = input.getLongPage();
+      System.arraycopy(longPage, 0, values, 0, pageSize);
+    } else {
+      throw new UnsupportedOperationException(dataType + " is not supported for bit packing");
+    }
+    return values;
+  }
+
+  /**
+   * number of bits required to store the difference of max and min, the difference is treated
+   * as unsigned so that it is correct even if the subtraction overflows
+   */
+  private static int bitWidth(long min, long max) {
+    return 64 - Long.numberOfLeadingZeros(max - min);
+  }
+
+  /**
+   * size in bytes of the encoded data before compression for the page packed without any
+   * transformation, it is the maximum size as a transformation is used only if it needs less bits
+   *
+   * @param pageSize number of values in the page
+   * @param bitWidth number of bits required for the difference of maximum and minimum value
+   */
+  public static long getMaxEncodedSize(int pageSize, int bitWidth) {
+    long numWords = ((long) pageSize * bitWidth + 63) >>> 6;
+    return 4 + 1 + 1 + 8 + 8 * numWords;
+  }
+
+  static byte[] encode(long[] values) {
+    int count = values.length;
+    // find the range of values for each transformation in one pass
+    long min = Long.MAX_VALUE;
+    long max = Long.MIN_VALUE;
+    long deltaMin = Long.MAX_VALUE;
+    long deltaMax = Long.MIN_VALUE;
+    long deltaOfDeltaMin = Long.MAX_VALUE;
+    long deltaOfDeltaMax = Long.MIN_VALUE;
+    for (int i = 0; i < count; i++) {
+      min = Math.min(min, values[i]);
+      max = Math.max(max, values[i]);
+      if (i >= 1) {
+        long delta = values[i] - values[i - 1];
+        deltaMin = Math.min(deltaMin, delta);
+        deltaMax = Math.max(deltaMax, delta);
+        if (i >= 2) {
+          long deltaOfDelta = delta - (values[i - 1] - values[i - 2]);
+          deltaOfDeltaMin = Math.min(deltaOfDeltaMin, deltaOfDelta);
+          deltaOfDeltaMax = Math.max(deltaOfDeltaMax, deltaOfDelta);
+        }
+      }
+    }
+    byte transform = NO_TRANSFORM;
+    long reference = count > 0 ? min : 0;
+    int width = count > 0 ? bitWidth(min, max) : 0;
+    if (count > 1 && bitWidth(deltaMin, deltaMax) < width) {
+      transform = DELTA;
+      reference = deltaMin;
+      width = bitWidth(deltaMin, deltaMax);
+    }
+    if (count > 2 && bitWidth(deltaOfDeltaMin, deltaOfDeltaMax) < width) {
+      transform = DELTA_OF_DELTA;
+      reference = deltaOfDeltaMin;
+      width = bitWidth(deltaOfDeltaMin, deltaOfDeltaMax);
+    }
+
+    int numPacked = count - transform;
+    int numWords = (int) (((long) numPacked * width + 63) >>> 6);
+    ByteBuffer buffer = ByteBuffer.allocate(4 + 1 + 1 + 8 * (transform + 1 + numWords));
+    buffer.putInt(count);
+    buffer.put(transform);
+    buffer.put((byte) width);
+    if (transform >= DELTA) {
+      buffer.putLong(values[0]);
+    }
+    if (transform == DELTA_OF_DELTA) {
+      buffer.putLong(values[1] - values[0]);
+    }
+    buffer.putLong(reference);
+    if (width > 0) {
+      // one more word so that the value spilling to the next word need not be checked
+      long[] words = new long[numWords + 1];
+      for (int i = 0; i < numPacked; i++) {
+        int row = i + transform;
+        long value;
+        if (transform == NO_TRANSFORM) {
+          value = values[row];
+        } else if (transform == DELTA) {
+          value = values[row] - values[row - 1];
+        } else {
+          value = values[row] - 2 * values[row - 1] + values[row - 2];
+        }
+        long bits = value - reference;
+        long bitPosition = (long) i * width;
+        int word = (int) (bitPosition >>> 6);
+        int shift = (int) (bitPosition & 63);
+        words[word] |= bits << shift;
+        // shift in two steps, shift by 64 is not 0 in java
+        words[word + 1] |= (bits >>> 1) >>> (63 - shift);
+      }
+      for (int i = 0; i < numWords; i++) {
+        buffer.putLong(words[i]);
+      }
+    }
+    return buffer.array();
+  }
+
+  static long[] decode(ByteBuffer buffer) {
+    int count = buffer.getInt();
+    byte transform = buffer.get();
+    int width = buffer.get();
+    long firstValue = transform >= DELTA ? buffer.getLong() : 0;
+    long firstDelta = transform == DELTA_OF_DELTA ? buffer.getLong() : 0;
+    long reference = buffer.getLong();
+    long[] values = new long[count];
+    int numPacked = count - transform;
+    if (width == 0) {
+      for (int i = transform; i < count; i++) {
+        values[i] = reference;
+      }
+    } else {
+      int numWords = (int) (((long) numPacked * width + 63) >>> 6);
+      long[] words = new long[numWords + 1];
+      for (int i = 0; i < numWords; i++) {
+        words[i] = buffer.getLong();
+      }
+      long mask = width == 64 ? -1L : (1L << width) - 1;
+      long bitPosition = 0;
+      for (int i = transform; i < count; i++) {
+        int word = (int) (bitPosition >>> 6);
+        int shift = (int) (bitPosition & 63);
+        long bits = (words[word] >>> shift) | ((words[word + 1] << 1) << (63 - shift));
+        values[i] = reference + (bits & mask);
+        bitPosition += width;
+      }
+    }
+    // reverse the transformation
+    if (transform == DELTA) {
+      values[0] = firstValue;
+      for (int i = 1; i < count; i++) {
+        values[i] += values[i - 1];
+      }
+    } else if (transform == DELTA_OF_DELTA) {
+      values[0] = firstValue;
+      long delta = firstDelta;
+      values[1] = firstValue + delta;
+      for (int i = 2; i < count; i++) {
+        delta += values[i];
+        values[i] = values[i - 1] + delta;
+      }
+    }
+    return values;
+  }
+
+  private static void fillVector(long[] values, ColumnVectorInfo vectorInfo, BitSet nullBits,
+      int pageSize) {
+    CarbonColumnVector vector = vectorInfo.vector;
+    DataType vectorDataType = vector.getType();
+    BitSet deletedRows = vectorInfo.deletedRows;
+    vector = ColumnarVectorWrapperDirectFactory
+        .getDirectVectorWrapperFactory(vector, vectorInfo.invertedIndex, nullBits, deletedRows,
+            true, false);
+    if (vectorDataType == DataTypes.BYTE) {
+      for (int i = 0; i < pageSize; i++) {
+        vector.putByte(i, (byte) values[i]);
+      }
+    } else if (vectorDataType == DataTypes.SHORT) {
+      for (int i = 0; i < pageSize; i++) {
+        vector.putShort(i, (short) values[i]);
+      }
+    } else if (vectorDataType == DataTypes.INT) {
+      for (int i = 0; i < pageSize; i++) {
+        vector.putInt(i, (int) values[i]);
+      }
+    } else if (vectorDataType == DataTypes.LONG) {
+      for (int i = 0; i < pageSize; i++) {
+        vector.putLong(i, values[i]);
+      }
+    } else if (vectorDataType == DataTypes.FLOAT) {
+      for (int i = 0; i < pageSize; i++) {
+        vector.putFloat(i, values[i]);
+      }
+    } else {
+      for (int i = 0; i < pageSize; i++) {
+        vector.putDouble(i, values[i]);
+      }
+    }
+    if ((deletedRows == null || deletedRows.isEmpty())
+        && !(vectorInfo.vector instanceof SequentialFill)) {
+      for (int i = nullBits.nextSetBit(0); i >= 0; i = nullBits.nextSetBit(i + 1)) {
+        vector.putNull(i);
+      }
+    }
+    if (vector instanceof ConvertableVector) {
+      ((ConvertableVector) vector).convert();
+    }
+  }
+}
@@ -38,6 +38,15 @@ public abstract class AbstractMemoryDMStore implements Serializable {
 
   public abstract DataMapRow getDataMapRow(CarbonRowSchema[] schema, int index);
 
+  /**
+   * Same as {@link #getDataMapRow(CarbonRowSchema[], int)}, but the given row may be
+   * repositioned and returned instead of creating a new row. Used to scan all the rows
+   * without creating objects, the returned row must not be retained by the caller.
+   */
+  public DataMapRow getDataMapRow(CarbonRowSchema[] schema, int index, DataMapRow reuseRow) {
+    return getDataMapRow(schema, index);
+  }
+
   public abstract void freeMemory();
 
   public abstract int getMemoryUsed();
@@ -246,6 +246,16 @@ public class UnsafeMemoryDMStore extends AbstractMemoryDMStore {
     return new UnsafeDataMapRow(schema, memoryBlock, pointers[index]);
   }
 
+  @Override
+  public DataMapRow getDataMapRow(CarbonRowSchema[] schema, int index, DataMapRow reuseRow) {
+    assert (index < rowCount);
+    if (reuseRow instanceof UnsafeDataMapRow && ((UnsafeDataMapRow) reuseRow)
+        .reposition(schema, memoryBlock, pointers[index])) {
+      return reuseRow;
+    }
+    return new UnsafeDataMapRow(schema, memoryBlock, pointers[index]);
+  }
+
   public void finishWriting() throws MemoryException {
     if (runningLength < allocatedSize) {
       MemoryBlock allocate =
@@ -734,17 +734,37 @@ public class BlockDataMap extends CoarseGrainDataMap
           .getFilterExecuterTree(filterExp, getSegmentProperties(), null, getMinMaxCacheColumns());
       // flag to be used for deciding whether use min/max in executor pruning for BlockletDataMap
       boolean useMinMaxForPruning = useMinMaxForExecutorPruning(filterExp);
+      // file name is required for implicit filter only, for other filters it is created
+      // only for the selected blocklets
+      boolean isFileNameRequired = filterExecuter instanceof ImplicitColumnFilterExecutor;
+      // rows and min max arrays are reused across the entries, so that no object is created
+      // for the entries which are pruned. A new row is created only for selected blocklets
+      DataMapRow row = null;
+      DataMapRow minRow = null;
+      DataMapRow maxRow = null;
+      DataMapRow minMaxFlagRow = null;
+      byte[][] minValues = null;
+      byte[][] maxValues = null;
+      boolean[] minMaxFlag = null;
       // min and max for executor pruning
       while (entryIndex < numEntries) {
-        DataMapRow row = memoryDMStore.getDataMapRow(schema, entryIndex);
-        boolean[] minMaxFlag = getMinMaxFlag(row, BLOCK_MIN_MAX_FLAG);
-        String fileName = getFileNameWithFilePath(row, filePath);
+        row = memoryDMStore.getDataMapRow(schema, entryIndex, row);
+        minRow = row.getRow(MIN_VALUES_INDEX, minRow);
+        maxRow = row.getRow(MAX_VALUES_INDEX, maxRow);
+        minMaxFlagRow = row.getRow(BLOCK_MIN_MAX_FLAG, minMaxFlagRow);
+        minValues = getMinMaxValue(minRow, minValues);
+        maxValues = getMinMaxValue(maxRow, maxValues);
+        minMaxFlag = getMinMaxFlag(minMaxFlagRow, minMaxFlag);
+        String fileName = isFileNameRequired ? getFileNameWithFilePath(row, filePath) : null;
         short blockletId = getBlockletId(row);
-        boolean isValid =
-            addBlockBasedOnMinMaxValue(filterExecuter, getMinMaxValue(row, MAX_VALUES_INDEX),
-                getMinMaxValue(row, MIN_VALUES_INDEX), minMaxFlag, fileName, blockletId);
+        boolean isValid = addBlockBasedOnMinMaxValue(filterExecuter, maxValues, minValues,
+            minMaxFlag, fileName, blockletId);
         if (isValid) {
-          blocklets.add(createBlocklet(row, fileName, blockletId, useMinMaxForPruning));
+          DataMapRow selectedRow = memoryDMStore.getDataMapRow(schema, entryIndex);
+          if (null == fileName) {
+            fileName = getFileNameWithFilePath(selectedRow, filePath);
+          }
+          blocklets.add(createBlocklet(selectedRow, fileName, blockletId, useMinMaxForPruning));
           if (ExplainCollector.enabled()) {
             hitBlocklets += getBlockletNumOfEntry(entryIndex);
           }
@@ -964,6 +984,34 @@ public class BlockDataMap extends CoarseGrainDataMap
     return minMaxFlag;
   }
 
+  /**
+   * read the min or max values of the row into the given array if it is of same size
+   */
+  private byte[][] getMinMaxValue(DataMapRow minMaxRow, byte[][] reuseMinMax) {
+    byte[][] minMax = reuseMinMax;
+    if (null == minMax || minMax.length != minMaxRow.getColumnCount()) {
+      minMax = new byte[minMaxRow.getColumnCount()][];
+    }
+    for (int i = 0; i < minMax.length; i++) {
+      minMax[i] = minMaxRow.getByteArray(i, minMax[i]);
+    }
+    return minMax;
+  }
+
+  /**
+   * read the min max flags of the row into the given array if it is of same size
+   */
+  private boolean[] getMinMaxFlag(DataMapRow minMaxFlagRow, boolean[] reuseMinMaxFlag) {
+    boolean[] minMaxFlag = reuseMinMaxFlag;
+    if (null == minMaxFlag || minMaxFlag.length != minMaxFlagRow.getColumnCount()) {
+      minMaxFlag = new boolean[minMaxFlagRow.getColumnCount()];
+    }
+    for (int i = 0; i < minMaxFlag.length; i++) {
+      minMaxFlag[i] = minMaxFlagRow.getBoolean(i);
+    }
+    return minMaxFlag;
+  }
+
   protected short getBlockletId(DataMapRow dataMapRow) {
     return BLOCK_DEFAULT_BLOCKLET_ID;
   }
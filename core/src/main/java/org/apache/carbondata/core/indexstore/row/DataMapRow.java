@@ -39,6 +39,22 @@ public abstract class DataMapRow implements Serializable {
 
   public abstract DataMapRow getRow(int ordinal);
 
+  /**
+   * Same as {@link #getByteArray(int)}, but implementations which copy the data may copy it
+   * into the given array if it is of the required length, instead of allocating a new array.
+   */
+  public byte[] getByteArray(int ordinal, byte[] reuseArray) {
+    return getByteArray(ordinal);
+  }
+
+  /**
+   * Same as {@link #getRow(int)}, but implementations which create a new row object may
+   * reposition the given row instead of creating a new one.
+   */
+  public DataMapRow getRow(int ordinal, DataMapRow reuseRow) {
+    return getRow(ordinal);
+  }
+
   public abstract void setRow(DataMapRow row, int ordinal);
 
   public abstract void setByteArray(byte[] byteArray, int ordinal);
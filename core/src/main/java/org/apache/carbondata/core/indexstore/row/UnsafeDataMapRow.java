@@ -44,6 +44,10 @@ public class UnsafeDataMapRow extends DataMapRow {
   }
 
   @Override public byte[] getByteArray(int ordinal) {
+    return getByteArray(ordinal, null);
+  }
+
+  @Override public byte[] getByteArray(int ordinal, byte[] reuseArray) {
     int length;
     int currentOffset;
     switch (schemas[ordinal].getSchemaType()) {
@@ -60,7 +64,7 @@ public class UnsafeDataMapRow extends DataMapRow {
         currentOffset = schemas[ordinal].getBytePosition();
         length = schemas[ordinal].getLength();
     }
-    byte[] data = new byte[length];
+    byte[] data = null != reuseArray && reuseArray.length == length ? reuseArray : new byte[length];
     getUnsafe()
         .copyMemory(block.getBaseObject(), block.getBaseOffset() + pointer + currentOffset, data,
             BYTE_ARRAY_OFFSET, data.length);
@@ -100,6 +104,31 @@ public class UnsafeDataMapRow extends DataMapRow {
     return new UnsafeDataMapRow(childSchemas, block, pointer);
   }
 
+  @Override public DataMapRow getRow(int ordinal, DataMapRow reuseRow) {
+    CarbonRowSchema[] childSchemas =
+        ((CarbonRowSchema.StructCarbonRowSchema) schemas[ordinal]).getChildSchemas();
+    if (reuseRow instanceof UnsafeDataMapRow && ((UnsafeDataMapRow) reuseRow)
+        .reposition(childSchemas, block, pointer)) {
+      return reuseRow;
+    }
+    return new UnsafeDataMapRow(childSchemas, block, pointer);
+  }
+
+  /**
+   * Point this row to another row of same schema, so that rows can be iterated without
+   * creating a new object for each of them
+   *
+   * @return false if this row is of different schema and cannot be repositioned
+   */
+  public boolean reposition(CarbonRowSchema[] schemas, MemoryBlock block, int pointer) {
+    if (this.schemas != schemas) {
+      return false;
+    }
+    this.block = block;
+    this.pointer = pointer;
+    return true;
+  }
+
   @Override public void setByteArray(byte[] byteArray, int ordinal) {
     throw new UnsupportedOperationException("Not supported to set on unsafe row");
   }
@@ -35,6 +35,12 @@ public class IntPointerBuffer {
 
   private int[] pointerBlock;
 
+  /**
+   * binary comparable prefix of the sort key of each row, it is used only while sorting the rows.
+   * It is on heap, so the page counts its size in the memory used by the page.
+   */
+  private long[] prefixBlock;
+
   private MemoryBlock pointerMemoryBlock;
 
   private String taskId;
@@ -46,21 +52,66 @@ public class IntPointerBuffer {
     this.taskId = taskId;
   }
 
+  public IntPointerBuffer(String taskId, boolean storePrefix) {
+    this(taskId);
+    if (storePrefix) {
+      prefixBlock = new long[length];
+    }
+  }
+
   public IntPointerBuffer(int length) {
     this.length = length;
     pointerBlock = new int[length];
   }
 
+  public IntPointerBuffer(int length, boolean storePrefix) {
+    this(length);
+    if (storePrefix) {
+      prefixBlock = new long[length];
+    }
+  }
+
   public void set(int rowId, int value) {
     pointerBlock[rowId] = value;
   }
 
+  public void set(int rowId, int value, long prefix) {
+    pointerBlock[rowId] = value;
+    prefixBlock[rowId] = prefix;
+  }
+
   public void set(int value) {
     ensureMemory();
     pointerBlock[actualSize] = value;
     actualSize++;
   }
 
+  public void set(int value, long prefix) {
+    ensureMemory();
+    pointerBlock[actualSize] = value;
+    prefixBlock[actualSize] = prefix;
+    actualSize++;
+  }
+
+  public long getPrefix(int rowId) {
+    return prefixBlock[rowId];
+  }
+
+  public boolean hasPrefix() {
+    return prefixBlock != null;
+  }
+
+  public long[] getPrefixBlock() {
+    return prefixBlock;
+  }
+
+  /**
+   * Size in bytes of the prefix block allocated for the rows
+   */
+  public long getPrefixMemorySize() {
+    return prefixBlock == null ? 0 : (long) length * 8;
+  }
+
   /**
    * Returns the value at position {@code rowId}.
    */
@@ -75,6 +126,8 @@ public class IntPointerBuffer {
   }
 
   public void loadToUnsafe() {
+    // rows are already sorted, prefix is not needed any more
+    prefixBlock = null;
     pointerMemoryBlock =
         UnsafeSortMemoryManager.INSTANCE.allocateMemory(this.taskId, pointerBlock.length * 4);
     // pointerMemoryBlock it means sort storage memory manager does not have space to loaf pointer
@@ -104,12 +157,18 @@ public class IntPointerBuffer {
       int[] memoryAddress = new int[localLength];
       System.arraycopy(pointerBlock, 0, memoryAddress, 0, length);
       pointerBlock = memoryAddress;
+      if (prefixBlock != null) {
+        long[] prefixes = new long[localLength];
+        System.arraycopy(prefixBlock, 0, prefixes, 0, length);
+        prefixBlock = prefixes;
+      }
       length = localLength;
     }
   }
 
   public void freeMemory() {
     pointerBlock = null;
+    prefixBlock = null;
     if (pointerMemoryBlock != null) {
       UnsafeSortMemoryManager.INSTANCE.freeMemory(this.taskId, pointerMemoryBlock);
     }
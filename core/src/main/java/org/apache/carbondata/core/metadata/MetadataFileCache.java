@@ -0,0 +1,94 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.core.metadata;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Process wide cache of the parsed content of the metadata files like table status file and
+ * segment file, so that the file is not read and parsed again when it is not modified.
+ *
+ * Cached content is valid only if the modification time and size of the file are same as when
+ * it was cached. The cached object is shared, so callers should cache and return copies of the
+ * mutable objects. Least recently used entries are removed when the number of entries exceeds
+ * the limit.
+ */
+public final class MetadataFileCache {
+
+  private static final int MAX_ENTRIES = 10000;
+
+  private static final MetadataFileCache INSTANCE = new MetadataFileCache();
+
+  private final Map<String, Entry> cache =
+      new LinkedHashMap<String, Entry>(16, 0.75f, true) {
+        @Override protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+          return size() > MAX_ENTRIES;
+        }
+      };
+
+  private MetadataFileCache() {
+  }
+
+  public static MetadataFileCache getInstance() {
+    return INSTANCE;
+  }
+
+  /**
+   * Get the cached content of the file, null if it is not cached or the file is modified after
+   * it is cached
+   */
+  @SuppressWarnings("unchecked")
+  public synchronized <T> T get(String filePath, long lastModifiedTime, long size) {
+    Entry entry = cache.get(filePath);
+    if (entry == null) {
+      return null;
+    }
+    if (entry.lastModifiedTime != lastModifiedTime || entry.size != size) {
+      cache.remove(filePath);
+      return null;
+    }
+    return (T) entry.value;
+  }
+
+  public synchronized void put(String filePath, long lastModifiedTime, long size, Object value) {
+    cache.put(filePath, new Entry(lastModifiedTime, size, value));
+  }
+
+  /**
+   * Remove the cached content of the file, called when the file is written
+   */
+  public synchronized void invalidate(String filePath) {
+    cache.remove(filePath);
+  }
+
+  private static final class Entry {
+
+    private final long lastModifiedTime;
+
+    private final long size;
+
+    private final Object value;
+
+    private Entry(long lastModifiedTime, long size, Object value) {
+      this.lastModifiedTime = lastModifiedTime;
+      this.size = size;
+      this.value = value;
+    }
+  }
+}
@@ -43,6 +43,7 @@ import org.apache.carbondata.core.statusmanager.LoadMetadataDetails;
 import org.apache.carbondata.core.statusmanager.SegmentStatus;
 import org.apache.carbondata.core.statusmanager.SegmentStatusManager;
 import org.apache.carbondata.core.statusmanager.SegmentUpdateStatusManager;
+import org.apache.carbondata.core.util.CarbonProperties;
 import org.apache.carbondata.core.util.CarbonUtil;
 import org.apache.carbondata.core.util.DataFileFooterConverter;
 import org.apache.carbondata.core.util.path.CarbonTablePath;
@@ -274,6 +275,7 @@ public class SegmentFileStore {
     } finally {
       CarbonUtil.closeStreams(brWriter);
       fileWrite.close();
+      MetadataFileCache.getInstance().invalidate(path);
     }
   }
 
@@ -456,12 +458,36 @@ public class SegmentFileStore {
   }
 
   /**
-   * This method reads the segment file which is written in json format
+   * This method reads the segment file which is written in json format. If metadata file cache
+   * is enabled, the parsed segment file is cached till the file is modified.
    *
    * @param segmentFilePath
    * @return
    */
   public static SegmentFile readSegmentFile(String segmentFilePath) throws IOException {
+    if (!CarbonProperties.isMetadataFileCacheEnabled()) {
+      return parseSegmentFile(segmentFilePath);
+    }
+    CarbonFile file =
+        FileFactory.getCarbonFile(segmentFilePath, FileFactory.getFileType(segmentFilePath));
+    if (!file.exists()) {
+      return null;
+    }
+    long lastModifiedTime = file.getLastModifiedTime();
+    long size = file.getSize();
+    MetadataFileCache cache = MetadataFileCache.getInstance();
+    SegmentFile segmentFile = cache.get(segmentFilePath, lastModifiedTime, size);
+    if (segmentFile == null) {
+      segmentFile = parseSegmentFile(segmentFilePath);
+      if (segmentFile == null) {
+        return null;
+      }
+      cache.put(segmentFilePath, lastModifiedTime, size, segmentFile);
+    }
+    return segmentFile.copy();
+  }
+
+  private static SegmentFile parseSegmentFile(String segmentFilePath) throws IOException {
     Gson gsonObjectToRead = new Gson();
     DataInputStream dataInputStream = null;
     BufferedReader buffReader = null;
@@ -1086,6 +1112,22 @@ public class SegmentFileStore {
       locationMap.put(path, details);
     }
 
+    /**
+     * Returns a deep copy of this segment file
+     */
+    SegmentFile copy() {
+      SegmentFile segmentFile = new SegmentFile();
+      if (locationMap == null) {
+        segmentFile.locationMap = null;
+      } else {
+        for (Map.Entry<String, FolderDetails> entry : locationMap.entrySet()) {
+          segmentFile.addPath(entry.getKey(),
+              entry.getValue() == null ? null : entry.getValue().copy());
+        }
+      }
+      return segmentFile;
+    }
+
   }
 
   /**
@@ -1123,6 +1165,19 @@ public class SegmentFileStore {
      */
     private boolean isRelative;
 
+    /**
+     * Returns a deep copy of this folder details
+     */
+    FolderDetails copy() {
+      FolderDetails folderDetails = new FolderDetails();
+      folderDetails.files = files == null ? null : new HashSet<>(files);
+      folderDetails.partitions = partitions == null ? null : new ArrayList<>(partitions);
+      folderDetails.status = status;
+      folderDetails.mergeFileName = mergeFileName;
+      folderDetails.isRelative = isRelative;
+      return folderDetails;
+    }
+
     public FolderDetails merge(FolderDetails folderDetails) {
       if (this == folderDetails || folderDetails == null) {
         return this;
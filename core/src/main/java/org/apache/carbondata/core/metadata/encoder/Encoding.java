@@ -37,7 +37,8 @@ public enum Encoding {
   ADAPTIVE_FLOATING,
   BOOL_BYTE,
   ADAPTIVE_DELTA_FLOATING,
-  DIRECT_COMPRESS_VARCHAR;
+  DIRECT_COMPRESS_VARCHAR,
+  BIT_PACKED_INTEGRAL;
 
   public static Encoding valueOf(int ordinal) {
     if (ordinal == DICTIONARY.ordinal()) {
@@ -72,6 +73,8 @@ public enum Encoding {
       return ADAPTIVE_DELTA_FLOATING;
     } else if (ordinal == DIRECT_COMPRESS_VARCHAR.ordinal()) {
       return DIRECT_COMPRESS_VARCHAR;
+    } else if (ordinal == BIT_PACKED_INTEGRAL.ordinal()) {
+      return BIT_PACKED_INTEGRAL;
     } else {
       throw new RuntimeException("create Encoding with invalid ordinal: " + ordinal);
     }
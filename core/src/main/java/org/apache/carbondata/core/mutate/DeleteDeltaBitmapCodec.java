@@ -0,0 +1,159 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.core.mutate;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.BitSet;
+
+/**
+ * Encodes the deleted rows of a page as compressed bitmap, in the same way as Roaring bitmap.
+ *
+ * Rows are divided into chunks of 65536 rows by the high 16 bits of the row id, and the low 16
+ * bits of the deleted rows in each chunk are stored in the smallest of the below containers:
+ * array container, sorted row ids, 2 bytes for each deleted row,
+ * run container, start and length of each run of deleted rows, 4 bytes for each run,
+ * bitmap container, one bit for each row till the last deleted row.
+ * As a page has less than 65536 rows, a page is usually encoded as one container.
+ */
+public final class DeleteDeltaBitmapCodec {
+
+  /**
+   * first 4 bytes of the delete delta file written in binary format, json file starts with '{'
+   */
+  public static final int BINARY_FORMAT_MAGIC = 0x43444456;
+
+  public static final byte BINARY_FORMAT_VERSION = 1;
+
+  private static final byte ARRAY_CONTAINER = 0;
+
+  private static final byte RUN_CONTAINER = 1;
+
+  private static final byte BITMAP_CONTAINER = 2;
+
+  private static final int CHUNK_SIZE = 1 << 16;
+
+  private DeleteDeltaBitmapCodec() {
+  }
+
+  /**
+   * Write the rows set in the bitmap
+   */
+  public static void write(BitSet rows, DataOutput output) throws IOException {
+    int numChunks = 0;
+    int row = rows.nextSetBit(0);
+    while (row >= 0) {
+      numChunks++;
+      row = rows.nextSetBit((row & -CHUNK_SIZE) + CHUNK_SIZE);
+    }
+    output.writeInt(numChunks);
+    row = rows.nextSetBit(0);
+    while (row >= 0) {
+      int chunkStart = row & -CHUNK_SIZE;
+      int chunkEnd = chunkStart + CHUNK_SIZE;
+      writeContainer(rows, chunkStart, chunkEnd, output);
+      row = rows.nextSetBit(chunkEnd);
+    }
+  }
+
+  private static void writeContainer(BitSet rows, int chunkStart, int chunkEnd,
+      DataOutput output) throws IOException {
+    // count the deleted rows and runs in the chunk
+    int cardinality = 0;
+    int numRuns = 0;
+    int lastRow = chunkStart;
+    int runStart = rows.nextSetBit(chunkStart);
+    while (runStart >= 0 && runStart < chunkEnd) {
+      int runEnd = Math.min(rows.nextClearBit(runStart), chunkEnd);
+      cardinality += runEnd - runStart;
+      numRuns++;
+      lastRow = runEnd - 1;
+      runStart = runEnd < chunkEnd ? rows.nextSetBit(runEnd) : -1;
+    }
+    int numWords = ((lastRow - chunkStart) >> 6) + 1;
+    output.writeShort(chunkStart >>> 16);
+    if (numRuns * 4 <= cardinality * 2 && numRuns * 4 <= numWords * 8) {
+      output.writeByte(RUN_CONTAINER);
+      output.writeShort(numRuns - 1);
+      runStart = rows.nextSetBit(chunkStart);
+      while (runStart >= 0 && runStart < chunkEnd) {
+        int runEnd = Math.min(rows.nextClearBit(runStart), chunkEnd);
+        output.writeShort(runStart - chunkStart);
+        output.writeShort(runEnd - runStart - 1);
+        runStart = runEnd < chunkEnd ? rows.nextSetBit(runEnd) : -1;
+      }
+    } else if (cardinality * 2 <= numWords * 8) {
+      output.writeByte(ARRAY_CONTAINER);
+      output.writeShort(cardinality - 1);
+      for (int row = rows.nextSetBit(chunkStart); row >= 0 && row < chunkEnd;
+           row = rows.nextSetBit(row + 1)) {
+        output.writeShort(row - chunkStart);
+      }
+    } else {
+      output.writeByte(BITMAP_CONTAINER);
+      output.writeShort(numWords - 1);
+      for (int i = 0; i < numWords; i++) {
+        long word = 0;
+        int wordStart = chunkStart + (i << 6);
+        for (int row = rows.nextSetBit(wordStart); row >= 0 && row < wordStart + 64;
+             row = rows.nextSetBit(row + 1)) {
+          word |= 1L << (row - wordStart);
+        }
+        output.writeLong(word);
+      }
+    }
+  }
+
+  /**
+   * Read the rows written by {@link #write(BitSet, DataOutput)} and set them in the bitmap
+   */
+  public static void read(DataInput input, BitSet rows) throws IOException {
+    int numChunks = input.readInt();
+    for (int i = 0; i < numChunks; i++) {
+      int chunkStart = input.readUnsignedShort() << 16;
+      byte containerType = input.readByte();
+      int size = input.readUnsignedShort() + 1;
+      switch (containerType) {
+        case ARRAY_CONTAINER:
+          for (int j = 0; j < size; j++) {
+            rows.set(chunkStart + input.readUnsignedShort());
+          }
+          break;
+        case RUN_CONTAINER:
+          for (int j = 0; j < size; j++) {
+            int runStart = chunkStart + input.readUnsignedShort();
+            rows.set(runStart, runStart + input.readUnsignedShort() + 1);
+          }
+          break;
+        case BITMAP_CONTAINER:
+          for (int j = 0; j < size; j++) {
+            long word = input.readLong();
+            int wordStart = chunkStart + (j << 6);
+            while (word != 0) {
+              rows.set(wordStart + Long.numberOfTrailingZeros(word));
+              word &= word - 1;
+            }
+          }
+          break;
+        default:
+          throw new IOException("Invalid container type in delete delta file: " + containerType);
+      }
+    }
+  }
+}
@@ -64,6 +64,10 @@ public class DeleteDeltaBlockDetails implements Serializable {
     return blockName.hashCode();
   }
 
+  public String getBlockName() {
+    return blockName;
+  }
+
   public List<DeleteDeltaBlockletDetails> getBlockletDetails() {
     List<DeleteDeltaBlockletDetails> deleteDeltaBlockletDetailsList = new ArrayList<>();
     if (null != blockletDetailsMap) {
@@ -46,6 +46,10 @@ public class DeleteDeltaBlockletDetails implements Serializable {
     return deletedRows.add(row);
   }
 
+  public String getId() {
+    return id;
+  }
+
   public Integer getPageId() {
     return pageId;
   }
@@ -48,6 +48,16 @@ public class DeleteDeltaVo {
     }
   }
 
+  /**
+   * Below method will be used to insert the rows
+   * which are deleted
+   *
+   * @param data bitmap of deleted rows
+   */
+  public void insertData(BitSet data) {
+    bitSet.or(data);
+  }
+
   /**
    * below method will be used to check the row is deleted or not
    *
@@ -18,6 +18,8 @@
 package org.apache.carbondata.core.reader;
 
 import java.io.IOException;
+import java.util.BitSet;
+import java.util.Map;
 
 import org.apache.carbondata.core.mutate.DeleteDeltaBlockDetails;
 
@@ -39,4 +41,12 @@ public interface CarbonDeleteDeltaFileReader {
   String read() throws IOException;
   DeleteDeltaBlockDetails readJson() throws IOException;
 
+  /**
+   * This method will be used to read the deleted rows of each page in the delete delta file.
+   *
+   * @return map of blockletid_pageid to deleted rows
+   * @throws IOException if an I/O error occurs
+   */
+  Map<String, BitSet> readDeletedRows() throws IOException;
+
 }
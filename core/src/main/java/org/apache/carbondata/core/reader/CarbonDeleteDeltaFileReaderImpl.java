@@ -17,17 +17,24 @@
 
 package org.apache.carbondata.core.reader;
 
+import java.io.BufferedInputStream;
 import java.io.BufferedReader;
 import java.io.DataInputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.StringWriter;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Map;
 
 import org.apache.carbondata.core.constants.CarbonCommonConstants;
 import org.apache.carbondata.core.datastore.impl.FileFactory;
 import org.apache.carbondata.core.fileoperations.AtomicFileOperationFactory;
 import org.apache.carbondata.core.fileoperations.AtomicFileOperations;
+import org.apache.carbondata.core.mutate.DeleteDeltaBitmapCodec;
 import org.apache.carbondata.core.mutate.DeleteDeltaBlockDetails;
+import org.apache.carbondata.core.mutate.DeleteDeltaBlockletDetails;
 import org.apache.carbondata.core.util.CarbonUtil;
 
 import com.google.gson.Gson;
@@ -81,15 +88,13 @@ public class CarbonDeleteDeltaFileReaderImpl implements CarbonDeleteDeltaFileRea
   }
 
   /**
-   * Reads delete delta file (json file) and returns DeleteDeltaBlockDetails
+   * Reads delete delta file (json or binary file) and returns DeleteDeltaBlockDetails
    * @return DeleteDeltaBlockDetails
    * @throws IOException
    */
   @Override public DeleteDeltaBlockDetails readJson() throws IOException {
-    Gson gsonObjectToRead = new Gson();
     DataInputStream dataInputStream = null;
-    BufferedReader buffReader = null;
-    InputStreamReader inStream = null;
+    BufferedInputStream bufferedStream = null;
     DeleteDeltaBlockDetails deleteDeltaBlockDetails;
     AtomicFileOperations fileOperation =
         AtomicFileOperationFactory.getAtomicFileOperations(filePath);
@@ -98,17 +103,121 @@ public class CarbonDeleteDeltaFileReaderImpl implements CarbonDeleteDeltaFileRea
         return new DeleteDeltaBlockDetails("");
       }
       dataInputStream = fileOperation.openForRead();
-      inStream = new InputStreamReader(dataInputStream,
-          CarbonCommonConstants.DEFAULT_CHARSET);
-      buffReader = new BufferedReader(inStream);
-      deleteDeltaBlockDetails =
-          gsonObjectToRead.fromJson(buffReader, DeleteDeltaBlockDetails.class);
+      bufferedStream = new BufferedInputStream(dataInputStream);
+      if (isBinaryFormat(bufferedStream)) {
+        deleteDeltaBlockDetails = readBinary(new DataInputStream(bufferedStream), null);
+      } else {
+        deleteDeltaBlockDetails = readJson(bufferedStream);
+      }
     } catch (IOException e) {
       return new DeleteDeltaBlockDetails("");
     } finally {
-      CarbonUtil.closeStreams(buffReader, inStream, dataInputStream);
+      CarbonUtil.closeStreams(bufferedStream, dataInputStream);
     }
 
     return deleteDeltaBlockDetails;
   }
+
+  /**
+   * Reads delete delta file (json or binary file) and returns the deleted rows of each page.
+   * Binary file is read directly into the bitmap without creating the set of deleted rows.
+   * @return map of blockletid_pageid to deleted rows
+   * @throws IOException
+   */
+  @Override public Map<String, BitSet> readDeletedRows() throws IOException {
+    Map<String, BitSet> deletedRows = new HashMap<>();
+    if (!FileFactory.isFileExist(filePath, FileFactory.getFileType(filePath))) {
+      return deletedRows;
+    }
+    AtomicFileOperations fileOperation =
+        AtomicFileOperationFactory.getAtomicFileOperations(filePath);
+    DataInputStream dataInputStream = null;
+    BufferedInputStream bufferedStream = null;
+    try {
+      dataInputStream = fileOperation.openForRead();
+      bufferedStream = new BufferedInputStream(dataInputStream);
+      if (isBinaryFormat(bufferedStream)) {
+        readBinary(new DataInputStream(bufferedStream), deletedRows);
+      } else {
+        DeleteDeltaBlockDetails deleteDeltaBlockDetails = readJson(bufferedStream);
+        for (DeleteDeltaBlockletDetails blocklet : deleteDeltaBlockDetails.getBlockletDetails()) {
+          BitSet rows = getOrCreate(deletedRows, blocklet.getBlockletKey());
+          for (Integer row : blocklet.getDeletedRows()) {
+            rows.set(row);
+          }
+        }
+      }
+    } finally {
+      CarbonUtil.closeStreams(bufferedStream, dataInputStream);
+    }
+    return deletedRows;
+  }
+
+  private static DeleteDeltaBlockDetails readJson(InputStream stream) throws IOException {
+    BufferedReader buffReader =
+        new BufferedReader(new InputStreamReader(stream, CarbonCommonConstants.DEFAULT_CHARSET));
+    return new Gson().fromJson(buffReader, DeleteDeltaBlockDetails.class);
+  }
+
+  /**
+   * Check whether the file is written in binary format, the stream is positioned after the
+   * magic number in case of binary file, otherwise it is reset to the start of the file
+   */
+  private static boolean isBinaryFormat(BufferedInputStream stream) throws IOException {
+    stream.mark(4);
+    int magic = 0;
+    for (int i = 0; i < 4; i++) {
+      int b = stream.read();
+      if (b < 0) {
+        stream.reset();
+        return false;
+      }
+      magic = (magic << 8) | b;
+    }
+    if (magic == DeleteDeltaBitmapCodec.BINARY_FORMAT_MAGIC) {
+      return true;
+    }
+    stream.reset();
+    return false;
+  }
+
+  /**
+   * Read the binary delete delta file. If deletedRows is not null, deleted rows of each page are
+   * added to it, otherwise DeleteDeltaBlockDetails with the deleted rows is returned
+   */
+  private static DeleteDeltaBlockDetails readBinary(DataInputStream input,
+      Map<String, BitSet> deletedRows) throws IOException {
+    byte version = input.readByte();
+    if (version != DeleteDeltaBitmapCodec.BINARY_FORMAT_VERSION) {
+      throw new IOException("Unsupported delete delta file version: " + version);
+    }
+    DeleteDeltaBlockDetails deleteDeltaBlockDetails = new DeleteDeltaBlockDetails(input.readUTF());
+    int numberOfPages = input.readInt();
+    for (int i = 0; i < numberOfPages; i++) {
+      String blockletId = input.readUTF();
+      int pageId = input.readInt();
+      DeleteDeltaBlockletDetails blocklet =
+          new DeleteDeltaBlockletDetails(blockletId, pageId == -1 ? null : pageId);
+      if (null != deletedRows) {
+        DeleteDeltaBitmapCodec.read(input, getOrCreate(deletedRows, blocklet.getBlockletKey()));
+      } else {
+        BitSet rows = new BitSet();
+        DeleteDeltaBitmapCodec.read(input, rows);
+        for (int row = rows.nextSetBit(0); row >= 0; row = rows.nextSetBit(row + 1)) {
+          blocklet.addDeletedRow(row);
+        }
+        deleteDeltaBlockDetails.addBlockletDetails(blocklet);
+      }
+    }
+    return deleteDeltaBlockDetails;
+  }
+
+  private static BitSet getOrCreate(Map<String, BitSet> deletedRows, String blockletKey) {
+    BitSet rows = deletedRows.get(blockletKey);
+    if (null == rows) {
+      rows = new BitSet();
+      deletedRows.put(blockletKey, rows);
+    }
+    return rows;
+  }
 }
@@ -19,6 +19,7 @@ package org.apache.carbondata.core.reader;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -125,10 +126,10 @@ public class CarbonDeleteFilesDataReader {
    * @return map of blockletid_pageid to deleted rows
    */
   public Map<String, DeleteDeltaVo> getDeletedRowsDataVo(String[] deltaFiles) {
-    List<Future<DeleteDeltaBlockDetails>> taskSubmitList = new ArrayList<>();
+    List<Future<Map<String, BitSet>>> taskSubmitList = new ArrayList<>();
     ExecutorService executorService = Executors.newFixedThreadPool(thread_pool_size);
     for (final String deltaFile : deltaFiles) {
-      taskSubmitList.add(executorService.submit(new DeleteDeltaFileReaderCallable(deltaFile)));
+      taskSubmitList.add(executorService.submit(new DeletedRowsReaderCallable(deltaFile)));
     }
     try {
       executorService.shutdown();
@@ -137,20 +138,20 @@ public class CarbonDeleteFilesDataReader {
       LOGGER.error("Error while reading the delete delta files : " + e.getMessage(), e);
     }
     Map<String, DeleteDeltaVo> pageIdToBlockLetVo = new HashMap<>();
-    List<DeleteDeltaBlockletDetails> blockletDetails = null;
+    Map<String, BitSet> deletedRows = null;
     for (int i = 0; i < taskSubmitList.size(); i++) {
       try {
-        blockletDetails = taskSubmitList.get(i).get().getBlockletDetails();
+        deletedRows = taskSubmitList.get(i).get();
       } catch (InterruptedException | ExecutionException e) {
         throw new RuntimeException(e);
       }
-      for (DeleteDeltaBlockletDetails blockletDetail : blockletDetails) {
-        DeleteDeltaVo deleteDeltaVo = pageIdToBlockLetVo.get(blockletDetail.getBlockletKey());
+      for (Map.Entry<String, BitSet> entry : deletedRows.entrySet()) {
+        DeleteDeltaVo deleteDeltaVo = pageIdToBlockLetVo.get(entry.getKey());
         if (null == deleteDeltaVo) {
           deleteDeltaVo = new DeleteDeltaVo();
-          pageIdToBlockLetVo.put(blockletDetail.getBlockletKey(), deleteDeltaVo);
+          pageIdToBlockLetVo.put(entry.getKey(), deleteDeltaVo);
         }
-        deleteDeltaVo.insertData(blockletDetail.getDeletedRows());
+        deleteDeltaVo.insertData(entry.getValue());
       }
     }
     return pageIdToBlockLetVo;
@@ -207,6 +208,16 @@ public class CarbonDeleteFilesDataReader {
       return deltaFileReader.readJson();
     }
   }
-}
-
 
+  private static class DeletedRowsReaderCallable implements Callable<Map<String, BitSet>> {
+    private String deltaFile;
+    DeletedRowsReaderCallable(String deltaFile) {
+      this.deltaFile = deltaFile;
+    }
+    @Override public Map<String, BitSet> call() throws IOException {
+      CarbonDeleteDeltaFileReaderImpl deltaFileReader =
+          new CarbonDeleteDeltaFileReaderImpl(deltaFile, FileFactory.getFileType(deltaFile));
+      return deltaFileReader.readDeletedRows();
+    }
+  }
+}
@@ -16,6 +16,7 @@
  */
 package org.apache.carbondata.core.scan.executor;
 
+import org.apache.carbondata.core.scan.executor.impl.AggregateQueryExecutor;
 import org.apache.carbondata.core.scan.executor.impl.DetailQueryExecutor;
 import org.apache.carbondata.core.scan.executor.impl.VectorDetailQueryExecutor;
 import org.apache.carbondata.core.scan.model.QueryModel;
@@ -29,7 +30,9 @@ import org.apache.hadoop.conf.Configuration;
 public class QueryExecutorFactory {
 
   public static QueryExecutor getQueryExecutor(QueryModel queryModel, Configuration configuration) {
-    if (queryModel.isVectorReader()) {
+    if (queryModel.isAggregatePushDown()) {
+      return new AggregateQueryExecutor(configuration);
+    } else if (queryModel.isVectorReader()) {
       return new VectorDetailQueryExecutor(configuration);
     } else {
       return new DetailQueryExecutor(configuration);
@@ -28,6 +28,10 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
 import org.apache.carbondata.common.CarbonIterator;
 import org.apache.carbondata.common.logging.LogServiceFactory;
@@ -67,6 +71,7 @@ import org.apache.carbondata.core.stats.QueryStatistic;
 import org.apache.carbondata.core.stats.QueryStatisticsConstants;
 import org.apache.carbondata.core.util.BlockletDataMapUtil;
 import org.apache.carbondata.core.util.CarbonProperties;
+import org.apache.carbondata.core.util.CarbonThreadFactory;
 import org.apache.carbondata.core.util.CarbonTimeStatisticsFactory;
 import org.apache.carbondata.core.util.CarbonUtil;
 import org.apache.carbondata.core.util.DataTypeUtil;
@@ -92,6 +97,13 @@ public abstract class AbstractQueryExecutor<E> implements QueryExecutor<E> {
    */
   protected QueryExecutorProperties queryProperties;
 
+  /**
+   * pool shared by all the queries of the executor to read the blocklets ahead of scan. Every
+   * query keeps at most carbon.query.prefetch.blocklet.count reads in the pool, so the pool is
+   * bounded by that count for each core instead of creating threads for every query
+   */
+  private static volatile ExecutorService ioExecutorService;
+
   // whether to clear/free unsafe memory or not
   private boolean freeUnsafeMemory;
 
@@ -110,6 +122,42 @@ public abstract class AbstractQueryExecutor<E> implements QueryExecutor<E> {
     // add executor service for query execution
     queryProperties.executorService = executorService;
   }
+
+  public void setIoExecutorService(ExecutorService ioExecutorService) {
+    // add executor service for reading the blocklets ahead of scan
+    queryProperties.ioExecutorService = ioExecutorService;
+  }
+
+  /**
+   * Returns the pool shared by all the queries to read the blocklets ahead of scan. The pool
+   * is not shut down when a query finishes, the reads of the query are finished when its
+   * blocks are closed.
+   */
+  protected static ExecutorService getSharedIoExecutorService() {
+    if (ioExecutorService == null) {
+      synchronized (AbstractQueryExecutor.class) {
+        if (ioExecutorService == null) {
+          int numOfThreads = Runtime.getRuntime().availableProcessors()
+              * CarbonProperties.getQueryPrefetchBlockletCount();
+          final ThreadFactory threadFactory =
+              new CarbonThreadFactory("QueryBlockletReadPool", true);
+          ThreadPoolExecutor executor = new ThreadPoolExecutor(numOfThreads, numOfThreads,
+              60L, TimeUnit.SECONDS, new LinkedBlockingQueue<Runnable>(), new ThreadFactory() {
+                @Override public Thread newThread(Runnable runnable) {
+                  // pool outlives the queries, it should not stop the JVM from exiting
+                  Thread thread = threadFactory.newThread(runnable);
+                  thread.setDaemon(true);
+                  return thread;
+                }
+              });
+          executor.allowCoreThreadTimeOut(true);
+          ioExecutorService = executor;
+        }
+      }
+    }
+    return ioExecutorService;
+  }
+
   /**
    * Below method will be used to fill the executor properties based on query
    * model it will parse the query model and get the detail and fill it in
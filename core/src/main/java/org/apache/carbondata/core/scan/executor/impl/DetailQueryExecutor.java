@@ -44,11 +44,13 @@ public class DetailQueryExecutor extends AbstractQueryExecutor<RowBatch> {
   public CarbonIterator<RowBatch> execute(QueryModel queryModel)
       throws QueryExecutionException, IOException {
     this.setExecutorService(Executors.newCachedThreadPool());
+    this.setIoExecutorService(getSharedIoExecutorService());
     List<BlockExecutionInfo> blockExecutionInfoList = getBlockExecutionInfos(queryModel);
     this.queryIterator = new DetailQueryResultIterator(
         blockExecutionInfoList,
         queryModel,
-        queryProperties.executorService
+        queryProperties.executorService,
+        queryProperties.ioExecutorService
     );
     return queryIterator;
   }
@@ -52,6 +52,10 @@ public class QueryExecutorProperties {
    * executor service to execute the query
    */
   public ExecutorService executorService;
+  /**
+   * executor service to read the blocklets ahead of the scan
+   */
+  public ExecutorService ioExecutorService;
   /**
    * list of blocks in which query will be executed
    */
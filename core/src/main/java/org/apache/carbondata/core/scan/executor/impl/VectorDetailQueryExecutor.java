@@ -41,11 +41,13 @@ public class VectorDetailQueryExecutor extends AbstractQueryExecutor<Object> {
   public CarbonIterator<Object> execute(QueryModel queryModel)
       throws QueryExecutionException, IOException {
     this.setExecutorService(Executors.newCachedThreadPool());
+    this.setIoExecutorService(getSharedIoExecutorService());
     List<BlockExecutionInfo> blockExecutionInfoList = getBlockExecutionInfos(queryModel);
     this.queryIterator = new VectorDetailQueryResultIterator(
         blockExecutionInfoList,
         queryModel,
-        queryProperties.executorService
+        queryProperties.executorService,
+        queryProperties.ioExecutorService
     );
     return this.queryIterator;
   }
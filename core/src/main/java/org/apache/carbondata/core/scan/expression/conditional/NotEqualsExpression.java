@@ -102,4 +102,8 @@ public class NotEqualsExpression extends BinaryConditionalExpression {
   public String getStatement() {
     return left.getStatement() + " <> " + right.getStatement();
   }
+
+  public boolean isNotNull() {
+    return isNotNull;
+  }
 }
@@ -2150,10 +2150,22 @@ public final class FilterUtil {
     if (null == dictionary) {
       return actualFilterValues;
     }
-    KeyGenerator keyGenerator = KeyGeneratorFactory
-        .getKeyGenerator(new int[] { CarbonCommonConstants.LOCAL_DICTIONARY_MAX });
-    int[] dummy = new int[1];
-    List<byte[]> encodedFilters = new ArrayList<>();
+    return getEncodedFilterValues(getLocalDictionaryFilterKeys(dictionary, actualFilterValues));
+  }
+
+  /**
+   * Below method will be used to get the surrogate keys of the local dictionary values which
+   * are same as the filter values, so that filter can be applied on the surrogate keys of the
+   * rows instead of comparing the actual values
+   * @param dictionary
+   * local dictionary of the blocklet
+   * @param actualFilterValues
+   * actual filter values
+   * @return bitset of the matching surrogate keys
+   */
+  public static BitSet getLocalDictionaryFilterKeys(CarbonDictionary dictionary,
+      byte[][] actualFilterValues) {
+    BitSet filterKeys = new BitSet(dictionary.getDictionarySize());
     for (byte[] actualFilter : actualFilterValues) {
       for (int i = 1; i < dictionary.getDictionarySize(); i++) {
         if (dictionary.getDictionaryValue(i) == null) {
@@ -2161,17 +2173,23 @@ public final class FilterUtil {
         }
         if (ByteUtil.UnsafeComparer.INSTANCE
             .compareTo(actualFilter, dictionary.getDictionaryValue(i)) == 0) {
-          try {
-            dummy[0] = i;
-            encodedFilters.add(keyGenerator.generateKey(dummy));
-          } catch (KeyGenException e) {
-            LOGGER.error(e.getMessage(), e);
-          }
+          filterKeys.set(i);
           break;
         }
       }
     }
-    return getSortedEncodedFilters(encodedFilters);
+    return filterKeys;
+  }
+
+  /**
+   * Below method will be used to convert the surrogate keys of the local dictionary to the
+   * sorted encoded filter values
+   * @param localDictionaryFilterKeys
+   * surrogate keys of the local dictionary
+   * @return encoded filter values
+   */
+  public static byte[][] getEncodedFilterValues(BitSet localDictionaryFilterKeys) {
+    return getEncodedFilterValuesForRange(localDictionaryFilterKeys, null, false);
   }
 
   /**
@@ -2302,7 +2320,8 @@ public final class FilterUtil {
             rawColumnChunk.getLocalDictionary(), isExclude);
     FilterExecuter filterExecuter;
     if (!isExclude) {
-      filterExecuter = new IncludeFilterExecuterImpl(encodedFilterValues, isNaturalSorted);
+      filterExecuter = new IncludeFilterExecuterImpl(encodedFilterValues,
+          includeDictionaryValues, isNaturalSorted);
     } else {
       filterExecuter = new ExcludeFilterExecuterImpl(encodedFilterValues, isNaturalSorted);
     }
@@ -59,6 +59,12 @@ public class IncludeFilterExecuterImpl implements FilterExecuter {
 
   private byte[][] filterValues;
 
+  /**
+   * surrogate keys of the local dictionary which match the filter, it is null if the column
+   * is not encoded with local dictionary
+   */
+  private BitSet localDictionaryFilterKeys;
+
   private FilterBitSetUpdater filterBitSetUpdater;
 
   public IncludeFilterExecuterImpl(byte[][] filterValues, boolean isNaturalSorted) {
@@ -68,6 +74,12 @@ public class IncludeFilterExecuterImpl implements FilterExecuter {
         BitSetUpdaterFactory.INSTANCE.getBitSetUpdater(FilterExecuterType.INCLUDE);
   }
 
+  public IncludeFilterExecuterImpl(byte[][] filterValues, BitSet localDictionaryFilterKeys,
+      boolean isNaturalSorted) {
+    this(filterValues, isNaturalSorted);
+    this.localDictionaryFilterKeys = localDictionaryFilterKeys;
+  }
+
   public IncludeFilterExecuterImpl(DimColumnResolvedFilterInfo dimColumnEvaluatorInfo,
       MeasureColumnResolvedFilterInfo msrColumnEvaluatorInfo, SegmentProperties segmentProperties,
       boolean isMeasure) {
@@ -114,26 +126,25 @@ public class IncludeFilterExecuterImpl implements FilterExecuter {
           rawBlockletColumnChunks.getDimensionRawColumnChunks()[chunkIndex];
       BitSetGroup bitSetGroup = new BitSetGroup(dimensionRawColumnChunk.getPagesCount());
       filterValues = dimColumnExecuterInfo.getFilterKeys();
-      boolean isDecoded = false;
+      localDictionaryFilterKeys = null;
+      if (null != dimensionRawColumnChunk.getLocalDictionary()) {
+        // evaluate the filter once on the local dictionary, then the rows are filtered by
+        // looking up their surrogate keys
+        localDictionaryFilterKeys = FilterUtil
+            .getLocalDictionaryFilterKeys(dimensionRawColumnChunk.getLocalDictionary(),
+                dimColumnExecuterInfo.getFilterKeys());
+        filterValues = FilterUtil.getEncodedFilterValues(localDictionaryFilterKeys);
+      }
       for (int i = 0; i < dimensionRawColumnChunk.getPagesCount(); i++) {
         if (dimensionRawColumnChunk.getMaxValues() != null) {
           if (isScanRequired(dimensionRawColumnChunk, i)) {
-            DimensionColumnPage dimensionColumnPage = dimensionRawColumnChunk.decodeColumnPage(i);
-            if (!isDecoded) {
-              filterValues =  FilterUtil
-                  .getEncodedFilterValues(dimensionRawColumnChunk.getLocalDictionary(),
-                      dimColumnExecuterInfo.getFilterKeys());
-              isDecoded = true;
-            }
-            BitSet bitSet = getFilteredIndexes(dimensionColumnPage,
-                dimensionRawColumnChunk.getRowCount()[i], useBitsetPipeLine,
-                rawBlockletColumnChunks.getBitSetGroup(), i);
+            BitSet bitSet = getFilteredIndexes(dimensionRawColumnChunk, i, useBitsetPipeLine,
+                rawBlockletColumnChunks.getBitSetGroup());
             bitSetGroup.setBitSet(bitSet, i);
           }
         } else {
-          BitSet bitSet = getFilteredIndexes(dimensionRawColumnChunk.decodeColumnPage(i),
-              dimensionRawColumnChunk.getRowCount()[i], useBitsetPipeLine,
-              rawBlockletColumnChunks.getBitSetGroup(), i);
+          BitSet bitSet = getFilteredIndexes(dimensionRawColumnChunk, i, useBitsetPipeLine,
+              rawBlockletColumnChunks.getBitSetGroup());
           bitSetGroup.setBitSet(bitSet, i);
         }
       }
@@ -347,6 +358,25 @@ public class IncludeFilterExecuterImpl implements FilterExecuter {
     return bitSet;
   }
 
+  /**
+   * Below method will be used to apply filter on the page of dimension column, page is not
+   * decoded if no filter value is present in the local dictionary of the blocklet
+   * @param dimensionRawColumnChunk
+   * @param pageNumber
+   * @param useBitsetPipeLine
+   * @param prvBitSetGroup
+   * @return filtered indexes bitset
+   */
+  BitSet getFilteredIndexes(DimensionRawColumnChunk dimensionRawColumnChunk, int pageNumber,
+      boolean useBitsetPipeLine, BitSetGroup prvBitSetGroup) {
+    int numberOfRows = dimensionRawColumnChunk.getRowCount()[pageNumber];
+    if (filterValues.length == 0 && null != dimensionRawColumnChunk.getLocalDictionary()) {
+      return new BitSet(numberOfRows);
+    }
+    return getFilteredIndexes(dimensionRawColumnChunk.decodeColumnPage(pageNumber),
+        numberOfRows, useBitsetPipeLine, prvBitSetGroup, pageNumber);
+  }
+
   /**
    * Below method will be used to apply filter on dimension column
    * @param dimensionColumnPage
@@ -396,7 +426,14 @@ public class IncludeFilterExecuterImpl implements FilterExecuter {
     int compareResult = 0;
     // if dimension data was natural sorted then get the index from previous bitset
     // and use the same in next column data, otherwise use the inverted index reverse
-    if (!dimensionColumnPage.isExplicitSorted()) {
+    if (!dimensionColumnPage.isExplicitSorted() && null != localDictionaryFilterKeys) {
+      for (int index = prvPageBitSet.nextSetBit(0);
+           index >= 0; index = prvPageBitSet.nextSetBit(index + 1)) {
+        if (localDictionaryFilterKeys.get(dimensionColumnPage.getSurrogate(index))) {
+          bitSet.set(index);
+        }
+      }
+    } else if (!dimensionColumnPage.isExplicitSorted()) {
       for (int index = prvPageBitSet.nextSetBit(0);
            index >= 0; index = prvPageBitSet.nextSetBit(index + 1)) {
         compareResult = CarbonUtil
@@ -466,6 +503,13 @@ public class IncludeFilterExecuterImpl implements FilterExecuter {
           startIndex = rangeIndex[1] + 1;
         }
       }
+    } else if (null != localDictionaryFilterKeys) {
+      // integer lookup of the surrogate key instead of comparing the value with filter values
+      for (int i = 0; i < numerOfRows; i++) {
+        if (localDictionaryFilterKeys.get(dimensionColumnPage.getSurrogate(i))) {
+          bitSet.set(i);
+        }
+      }
     } else {
       if (filterValues.length > 1) {
         for (int i = 0; i < numerOfRows; i++) {
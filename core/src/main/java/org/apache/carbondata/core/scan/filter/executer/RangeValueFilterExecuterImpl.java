@@ -411,7 +411,6 @@ public class RangeValueFilterExecuterImpl implements FilterExecuter {
             bitSetGroup.setBitSet(bitSet, i);
           } else {
             BitSet bitSet;
-            DimensionColumnPage dimensionColumnPage = rawColumnChunk.decodeColumnPage(i);
             if (null != rawColumnChunk.getLocalDictionary()) {
               if (null == filterExecuter) {
                 filterExecuter = FilterUtil
@@ -422,17 +421,16 @@ public class RangeValueFilterExecuterImpl implements FilterExecuter {
               }
               if (!isExclude) {
                 bitSet = ((IncludeFilterExecuterImpl) filterExecuter)
-                    .getFilteredIndexes(dimensionColumnPage,
-                        rawColumnChunk.getRowCount()[i], useBitsetPipeLine,
-                        blockChunkHolder.getBitSetGroup(), i);
+                    .getFilteredIndexes(rawColumnChunk, i, useBitsetPipeLine,
+                        blockChunkHolder.getBitSetGroup());
               } else {
                 bitSet = ((ExcludeFilterExecuterImpl) filterExecuter)
-                    .getFilteredIndexes(dimensionColumnPage,
+                    .getFilteredIndexes(rawColumnChunk.decodeColumnPage(i),
                         rawColumnChunk.getRowCount()[i], useBitsetPipeLine,
                         blockChunkHolder.getBitSetGroup(), i);
               }
             } else {
-              bitSet = getFilteredIndexes(dimensionColumnPage,
+              bitSet = getFilteredIndexes(rawColumnChunk.decodeColumnPage(i),
                   rawColumnChunk.getRowCount()[i]);
             }
             bitSetGroup.setBitSet(bitSet, i);
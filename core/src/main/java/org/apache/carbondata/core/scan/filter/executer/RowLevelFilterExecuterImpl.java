@@ -116,6 +116,12 @@ public class RowLevelFilterExecuterImpl implements FilterExecuter {
    */
   private DirectDictionaryGenerator timestampDictionaryGenerator;
 
+  /**
+   * evaluator to apply the filter on complete page instead of row by row,
+   * null if the expression is not supported for page level evaluation
+   */
+  private VectorFilterEvaluator vectorFilterEvaluator;
+
   public RowLevelFilterExecuterImpl(List<DimColumnResolvedFilterInfo> dimColEvaluatorInfoList,
       List<MeasureColumnResolvedFilterInfo> msrColEvalutorInfoList, Expression exp,
       AbsoluteTableIdentifier tableIdentifier, SegmentProperties segmentProperties,
@@ -154,6 +160,10 @@ public class RowLevelFilterExecuterImpl implements FilterExecuter {
         DirectDictionaryKeyGeneratorFactory.getDirectDictionaryGenerator(DataTypes.TIMESTAMP);
     initDimensionChunkIndexes();
     initMeasureChunkIndexes();
+    if (this.dimColEvaluatorInfoList.isEmpty()) {
+      this.vectorFilterEvaluator = VectorFilterEvaluator
+          .create(exp, this.msrColEvalutorInfoList, isMeasurePresentInCurrentBlock);
+    }
   }
 
   /**
@@ -242,6 +252,13 @@ public class RowLevelFilterExecuterImpl implements FilterExecuter {
       }
     }
     BitSetGroup bitSetGroup = new BitSetGroup(pageNumbers);
+    if (null != vectorFilterEvaluator) {
+      for (int i = 0; i < pageNumbers; i++) {
+        bitSetGroup.setBitSet(
+            vectorFilterEvaluator.evaluate(rawBlockletColumnChunks, i, numberOfRows[i]), i);
+      }
+      return bitSetGroup;
+    }
     for (int i = 0; i < pageNumbers; i++) {
       BitSet set = new BitSet(numberOfRows[i]);
       RowIntf row = new RowImpl();
@@ -497,8 +514,8 @@ public class RowLevelFilterExecuterImpl implements FilterExecuter {
 
       Object msrValue;
       ColumnPage columnPage =
-          blockChunkHolder.getMeasureRawColumnChunks()[msrColEvalutorInfoList.get(0)
-              .getColumnIndex()].decodeColumnPage(pageIndex);
+          blockChunkHolder.getMeasureRawColumnChunks()[msrColumnEvalutorInfo.getColumnIndex()]
+              .decodeColumnPage(pageIndex);
       if (msrType == DataTypes.BOOLEAN) {
         msrValue = columnPage.getBoolean(index);
       } else if (msrType == DataTypes.SHORT) {
@@ -633,8 +650,12 @@ public class RowLevelFilterExecuterImpl implements FilterExecuter {
       }
     }
 
-    for (MeasureColumnResolvedFilterInfo msrColumnEvalutorInfo : msrColEvalutorInfoList) {
-      int chunkIndex = msrColEvalutorInfoList.get(0).getColumnIndex();
+    for (int i = 0; i < msrColEvalutorInfoList.size(); i++) {
+      // restructured measure is filled with default value, so no chunk to read
+      if (!isMeasurePresentInCurrentBlock[i]) {
+        continue;
+      }
+      int chunkIndex = msrColEvalutorInfoList.get(i).getColumnIndex();
       if (null == rawBlockletColumnChunks.getMeasureRawColumnChunks()[chunkIndex]) {
         rawBlockletColumnChunks.getMeasureRawColumnChunks()[chunkIndex] =
             rawBlockletColumnChunks.getDataBlock()
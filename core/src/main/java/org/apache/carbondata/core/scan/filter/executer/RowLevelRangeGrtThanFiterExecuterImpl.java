@@ -304,7 +304,6 @@ public class RowLevelRangeGrtThanFiterExecuterImpl extends RowLevelFilterExecute
               bitSetGroup.setBitSet(bitSet, i);
             } else {
               BitSet bitSet = null;
-              DimensionColumnPage dimensionColumnPage = rawColumnChunk.decodeColumnPage(i);
               if (null != rawColumnChunk.getLocalDictionary()) {
                 if (null == filterExecuter) {
                   filterExecuter = FilterUtil
@@ -315,17 +314,16 @@ public class RowLevelRangeGrtThanFiterExecuterImpl extends RowLevelFilterExecute
                 }
                 if (!isExclude) {
                   bitSet = ((IncludeFilterExecuterImpl) filterExecuter)
-                      .getFilteredIndexes(dimensionColumnPage,
-                          rawColumnChunk.getRowCount()[i], useBitsetPipeLine,
-                          rawBlockletColumnChunks.getBitSetGroup(), i);
+                      .getFilteredIndexes(rawColumnChunk, i, useBitsetPipeLine,
+                          rawBlockletColumnChunks.getBitSetGroup());
                 } else {
                   bitSet = ((ExcludeFilterExecuterImpl) filterExecuter)
-                      .getFilteredIndexes(dimensionColumnPage,
+                      .getFilteredIndexes(rawColumnChunk.decodeColumnPage(i),
                           rawColumnChunk.getRowCount()[i], useBitsetPipeLine,
                           rawBlockletColumnChunks.getBitSetGroup(), i);
                 }
               } else {
-                bitSet = getFilteredIndexes(dimensionColumnPage,
+                bitSet = getFilteredIndexes(rawColumnChunk.decodeColumnPage(i),
                     rawColumnChunk.getRowCount()[i]);
               }
               bitSetGroup.setBitSet(bitSet, i);
@@ -246,7 +246,6 @@ public class RowLevelRangeGrtrThanEquaToFilterExecuterImpl extends RowLevelFilte
               bitSet.flip(0, rawColumnChunk.getRowCount()[i]);
               bitSetGroup.setBitSet(bitSet, i);
             } else {
-              DimensionColumnPage dimensionColumnPage = rawColumnChunk.decodeColumnPage(i);
               BitSet bitSet = null;
               if (null != rawColumnChunk.getLocalDictionary()) {
                 if (null == filterExecuter) {
@@ -258,17 +257,16 @@ public class RowLevelRangeGrtrThanEquaToFilterExecuterImpl extends RowLevelFilte
                 }
                 if (!isExclude) {
                   bitSet = ((IncludeFilterExecuterImpl) filterExecuter)
-                      .getFilteredIndexes(dimensionColumnPage,
-                          rawColumnChunk.getRowCount()[i], useBitsetPipeLine,
-                          rawBlockletColumnChunks.getBitSetGroup(), i);
+                      .getFilteredIndexes(rawColumnChunk, i, useBitsetPipeLine,
+                          rawBlockletColumnChunks.getBitSetGroup());
                 } else {
                   bitSet = ((ExcludeFilterExecuterImpl) filterExecuter)
-                      .getFilteredIndexes(dimensionColumnPage,
+                      .getFilteredIndexes(rawColumnChunk.decodeColumnPage(i),
                           rawColumnChunk.getRowCount()[i], useBitsetPipeLine,
                           rawBlockletColumnChunks.getBitSetGroup(), i);
                 }
               } else {
-                bitSet = getFilteredIndexes(dimensionColumnPage,
+                bitSet = getFilteredIndexes(rawColumnChunk.decodeColumnPage(i),
                     rawColumnChunk.getRowCount()[i]);
               }
               bitSetGroup.setBitSet(bitSet, i);
@@ -239,7 +239,6 @@ public class RowLevelRangeLessThanEqualFilterExecuterImpl extends RowLevelFilter
         if (rawColumnChunk.getMinValues() != null) {
           if (isScanRequired(rawColumnChunk, i)) {
             BitSet bitSet;
-            DimensionColumnPage dimensionColumnPage = rawColumnChunk.decodeColumnPage(i);
             if (null != rawColumnChunk.getLocalDictionary()) {
               if (null == filterExecuter) {
                 filterExecuter = FilterUtil
@@ -250,17 +249,16 @@ public class RowLevelRangeLessThanEqualFilterExecuterImpl extends RowLevelFilter
               }
               if (!isExclude) {
                 bitSet = ((IncludeFilterExecuterImpl) filterExecuter)
-                    .getFilteredIndexes(dimensionColumnPage,
-                        rawColumnChunk.getRowCount()[i], useBitsetPipeLine,
-                        rawBlockletColumnChunks.getBitSetGroup(), i);
+                    .getFilteredIndexes(rawColumnChunk, i, useBitsetPipeLine,
+                        rawBlockletColumnChunks.getBitSetGroup());
               } else {
                 bitSet = ((ExcludeFilterExecuterImpl) filterExecuter)
-                    .getFilteredIndexes(dimensionColumnPage,
+                    .getFilteredIndexes(rawColumnChunk.decodeColumnPage(i),
                         rawColumnChunk.getRowCount()[i], useBitsetPipeLine,
                         rawBlockletColumnChunks.getBitSetGroup(), i);
               }
             } else {
-              bitSet = getFilteredIndexes(dimensionColumnPage,
+              bitSet = getFilteredIndexes(rawColumnChunk.decodeColumnPage(i),
                   rawColumnChunk.getRowCount()[i]);
             }
             bitSetGroup.setBitSet(bitSet, i);
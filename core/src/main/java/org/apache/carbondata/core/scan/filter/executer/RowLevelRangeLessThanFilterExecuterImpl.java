@@ -237,7 +237,6 @@ public class RowLevelRangeLessThanFilterExecuterImpl extends RowLevelFilterExecu
         if (rawColumnChunk.getMinValues() != null) {
           if (isScanRequired(rawColumnChunk, i)) {
             BitSet bitSet;
-            DimensionColumnPage dimensionColumnPage = rawColumnChunk.decodeColumnPage(i);
             if (null != rawColumnChunk.getLocalDictionary()) {
               if (null == filterExecuter) {
                 filterExecuter = FilterUtil
@@ -248,17 +247,16 @@ public class RowLevelRangeLessThanFilterExecuterImpl extends RowLevelFilterExecu
               }
               if (!isExclude) {
                 bitSet = ((IncludeFilterExecuterImpl) filterExecuter)
-                    .getFilteredIndexes(dimensionColumnPage,
-                        rawColumnChunk.getRowCount()[i], useBitsetPipeLine,
-                        rawBlockletColumnChunks.getBitSetGroup(), i);
+                    .getFilteredIndexes(rawColumnChunk, i, useBitsetPipeLine,
+                        rawBlockletColumnChunks.getBitSetGroup());
               } else {
                 bitSet = ((ExcludeFilterExecuterImpl) filterExecuter)
-                    .getFilteredIndexes(dimensionColumnPage,
+                    .getFilteredIndexes(rawColumnChunk.decodeColumnPage(i),
                         rawColumnChunk.getRowCount()[i], useBitsetPipeLine,
                         rawBlockletColumnChunks.getBitSetGroup(), i);
               }
             } else {
-              bitSet = getFilteredIndexes(dimensionColumnPage,
+              bitSet = getFilteredIndexes(rawColumnChunk.decodeColumnPage(i),
                   rawColumnChunk.getRowCount()[i]);
             }
             bitSetGroup.setBitSet(bitSet, i);
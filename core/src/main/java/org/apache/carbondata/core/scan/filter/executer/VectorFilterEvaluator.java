@@ -0,0 +1,440 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.carbondata.core.scan.filter.executer;
+
+import java.math.BigDecimal;
+import java.util.BitSet;
+import java.util.List;
+
+import org.apache.carbondata.core.datastore.page.ColumnPage;
+import org.apache.carbondata.core.metadata.datatype.DataType;
+import org.apache.carbondata.core.metadata.datatype.DataTypes;
+import org.apache.carbondata.core.scan.expression.ColumnExpression;
+import org.apache.carbondata.core.scan.expression.Expression;
+import org.apache.carbondata.core.scan.expression.LiteralExpression;
+import org.apache.carbondata.core.scan.expression.conditional.EqualToExpression;
+import org.apache.carbondata.core.scan.expression.conditional.GreaterThanEqualToExpression;
+import org.apache.carbondata.core.scan.expression.conditional.GreaterThanExpression;
+import org.apache.carbondata.core.scan.expression.conditional.LessThanEqualToExpression;
+import org.apache.carbondata.core.scan.expression.conditional.LessThanExpression;
+import org.apache.carbondata.core.scan.expression.conditional.NotEqualsExpression;
+import org.apache.carbondata.core.scan.expression.logical.AndExpression;
+import org.apache.carbondata.core.scan.expression.logical.OrExpression;
+import org.apache.carbondata.core.scan.filter.resolver.resolverinfo.MeasureColumnResolvedFilterInfo;
+import org.apache.carbondata.core.scan.processor.RawBlockletColumnChunks;
+
+/**
+ * Evaluates a row level filter expression for a complete decoded page at once, instead of
+ * building a row and evaluating the expression tree for every record.
+ *
+ * Only comparisons (=, <>, <, <=, >, >=) between numeric measures and literals or between two
+ * measures of the same type, combined with AND / OR, are supported. For any other expression
+ * {@link #create} returns null and the caller has to fall back to row by row evaluation.
+ * The result of evaluation is same as the row based evaluation of the expression.
+ */
+abstract class VectorFilterEvaluator {
+
+  /**
+   * Evaluate the expression for all the rows of the given page
+   *
+   * @param rawBlockletColumnChunks blocklet chunks, measure chunks must be already read
+   * @param pageIndex page to evaluate
+   * @param numberOfRows number of rows in the page
+   * @return bitset of rows for which the expression is true
+   */
+  abstract BitSet evaluate(RawBlockletColumnChunks rawBlockletColumnChunks, int pageIndex,
+      int numberOfRows);
+
+  /**
+   * Create evaluator for the expression
+   *
+   * @param exp filter expression
+   * @param msrColEvaluatorInfoList resolved measures of the expression
+   * @param isMeasurePresentInCurrentBlock whether the measure is present in current block
+   * @return evaluator or null if the expression cannot be evaluated page wise
+   */
+  static VectorFilterEvaluator create(Expression exp,
+      List<MeasureColumnResolvedFilterInfo> msrColEvaluatorInfoList,
+      boolean[] isMeasurePresentInCurrentBlock) {
+    if (exp instanceof AndExpression || exp instanceof OrExpression) {
+      VectorFilterEvaluator left = create(exp.getChildren().get(0), msrColEvaluatorInfoList,
+          isMeasurePresentInCurrentBlock);
+      if (null == left) {
+        return null;
+      }
+      VectorFilterEvaluator right = create(exp.getChildren().get(1), msrColEvaluatorInfoList,
+          isMeasurePresentInCurrentBlock);
+      if (null == right) {
+        return null;
+      }
+      return new LogicalEvaluator(left, right, exp instanceof AndExpression);
+    }
+    CompareOperator operator = CompareOperator.of(exp);
+    if (null == operator) {
+      return null;
+    }
+    Expression left = exp.getChildren().get(0);
+    Expression right = exp.getChildren().get(1);
+    if (left instanceof LiteralExpression && right instanceof ColumnExpression) {
+      // keep the column always on left side, so flip the operator
+      Expression temp = left;
+      left = right;
+      right = temp;
+      operator = operator.flip();
+    }
+    if (!(left instanceof ColumnExpression)) {
+      return null;
+    }
+    MeasureColumnResolvedFilterInfo leftMeasure = getMeasureInfo((ColumnExpression) left,
+        msrColEvaluatorInfoList, isMeasurePresentInCurrentBlock);
+    if (null == leftMeasure) {
+      return null;
+    }
+    DataType dataType = leftMeasure.getType();
+    if (right instanceof ColumnExpression) {
+      MeasureColumnResolvedFilterInfo rightMeasure = getMeasureInfo((ColumnExpression) right,
+          msrColEvaluatorInfoList, isMeasurePresentInCurrentBlock);
+      if (null == rightMeasure || !isSameType(dataType, rightMeasure.getType())) {
+        return null;
+      }
+      return new ColumnComparator(operator, leftMeasure.getColumnIndex(),
+          rightMeasure.getColumnIndex(), dataType);
+    }
+    if (right instanceof LiteralExpression) {
+      LiteralExpression literal = (LiteralExpression) right;
+      Object value = literal.getLiteralExpValue();
+      if (null == value || !isSameType(dataType, literal.getLiteralExpDataType())) {
+        return null;
+      }
+      if (isIntegral(dataType) && (value instanceof Short || value instanceof Integer
+          || value instanceof Long)) {
+        return new LongLiteralComparator(operator, leftMeasure.getColumnIndex(),
+            ((Number) value).longValue());
+      } else if (dataType == DataTypes.DOUBLE && value instanceof Double) {
+        return new DoubleLiteralComparator(operator, leftMeasure.getColumnIndex(),
+            (Double) value);
+      } else if (DataTypes.isDecimal(dataType) && value instanceof BigDecimal) {
+        return new DecimalLiteralComparator(operator, leftMeasure.getColumnIndex(),
+            (BigDecimal) value);
+      }
+    }
+    return null;
+  }
+
+  private static MeasureColumnResolvedFilterInfo getMeasureInfo(ColumnExpression column,
+      List<MeasureColumnResolvedFilterInfo> msrColEvaluatorInfoList,
+      boolean[] isMeasurePresentInCurrentBlock) {
+    for (int i = 0; i < msrColEvaluatorInfoList.size(); i++) {
+      MeasureColumnResolvedFilterInfo msrColumnEvaluatorInfo = msrColEvaluatorInfoList.get(i);
+      if (msrColumnEvaluatorInfo.getRowIndex() == column.getColIndex()) {
+        // restructured measures are filled with default value in row based evaluation
+        if (!isMeasurePresentInCurrentBlock[i]) {
+          return null;
+        }
+        DataType dataType = msrColumnEvaluatorInfo.getType();
+        if (isIntegral(dataType) || dataType == DataTypes.DOUBLE || DataTypes
+            .isDecimal(dataType)) {
+          return msrColumnEvaluatorInfo;
+        }
+        return null;
+      }
+    }
+    return null;
+  }
+
+  private static boolean isIntegral(DataType dataType) {
+    return dataType == DataTypes.SHORT || dataType == DataTypes.INT || dataType == DataTypes.LONG;
+  }
+
+  private static boolean isSameType(DataType left, DataType right) {
+    return left == right || (DataTypes.isDecimal(left) && DataTypes.isDecimal(right));
+  }
+
+  private static ColumnPage getPage(RawBlockletColumnChunks rawBlockletColumnChunks,
+      int chunkIndex, int pageIndex) {
+    return rawBlockletColumnChunks.getMeasureRawColumnChunks()[chunkIndex]
+        .decodeColumnPage(pageIndex);
+  }
+
+  /**
+   * Comparison operators, the semantics for double values is same as
+   * the row level conditional expressions
+   */
+  enum CompareOperator {
+    EQUALS, NOT_EQUALS, LESS_THAN, LESS_THAN_EQUALS, GREATER_THAN, GREATER_THAN_EQUALS;
+
+    static CompareOperator of(Expression exp) {
+      if (exp instanceof EqualToExpression) {
+        // "is null" check is not supported
+        return ((EqualToExpression) exp).isNull ? null : EQUALS;
+      } else if (exp instanceof NotEqualsExpression) {
+        return ((NotEqualsExpression) exp).isNotNull() ? null : NOT_EQUALS;
+      } else if (exp instanceof LessThanExpression) {
+        return LESS_THAN;
+      } else if (exp instanceof LessThanEqualToExpression) {
+        return LESS_THAN_EQUALS;
+      } else if (exp instanceof GreaterThanExpression) {
+        return GREATER_THAN;
+      } else if (exp instanceof GreaterThanEqualToExpression) {
+        return GREATER_THAN_EQUALS;
+      }
+      return null;
+    }
+
+    CompareOperator flip() {
+      switch (this) {
+        case LESS_THAN:
+          return GREATER_THAN;
+        case LESS_THAN_EQUALS:
+          return GREATER_THAN_EQUALS;
+        case GREATER_THAN:
+          return LESS_THAN;
+        case GREATER_THAN_EQUALS:
+          return LESS_THAN_EQUALS;
+        default:
+          return this;
+      }
+    }
+
+    boolean matches(int compareResult) {
+      switch (this) {
+        case EQUALS:
+          return compareResult == 0;
+        case NOT_EQUALS:
+          return compareResult != 0;
+        case LESS_THAN:
+          return compareResult < 0;
+        case LESS_THAN_EQUALS:
+          return compareResult <= 0;
+        case GREATER_THAN:
+          return compareResult > 0;
+        default:
+          return compareResult >= 0;
+      }
+    }
+
+    boolean matches(double left, double right) {
+      switch (this) {
+        case EQUALS:
+          return left == right || (Double.isNaN(left) && Double.isNaN(right));
+        case NOT_EQUALS:
+          return left != right;
+        case LESS_THAN:
+          return left < right;
+        case LESS_THAN_EQUALS:
+          return left <= right;
+        case GREATER_THAN:
+          return left > right;
+        default:
+          return left >= right;
+      }
+    }
+  }
+
+  /**
+   * AND / OR of two evaluators
+   */
+  private static class LogicalEvaluator extends VectorFilterEvaluator {
+
+    private VectorFilterEvaluator left;
+
+    private VectorFilterEvaluator right;
+
+    private boolean isAnd;
+
+    LogicalEvaluator(VectorFilterEvaluator left, VectorFilterEvaluator right, boolean isAnd) {
+      this.left = left;
+      this.right = right;
+      this.isAnd = isAnd;
+    }
+
+    @Override
+    BitSet evaluate(RawBlockletColumnChunks rawBlockletColumnChunks, int pageIndex,
+        int numberOfRows) {
+      BitSet bitSet = left.evaluate(rawBlockletColumnChunks, pageIndex, numberOfRows);
+      if (isAnd) {
+        // no need to evaluate right side when nothing is selected
+        if (!bitSet.isEmpty()) {
+          bitSet.and(right.evaluate(rawBlockletColumnChunks, pageIndex, numberOfRows));
+        }
+      } else {
+        bitSet.or(right.evaluate(rawBlockletColumnChunks, pageIndex, numberOfRows));
+      }
+      return bitSet;
+    }
+  }
+
+  /**
+   * Compares integral measure (short, int, long) with a literal
+   */
+  private static class LongLiteralComparator extends VectorFilterEvaluator {
+
+    private CompareOperator operator;
+
+    private int chunkIndex;
+
+    private long literal;
+
+    LongLiteralComparator(CompareOperator operator, int chunkIndex, long literal) {
+      this.operator = operator;
+      this.chunkIndex = chunkIndex;
+      this.literal = literal;
+    }
+
+    @Override
+    BitSet evaluate(RawBlockletColumnChunks rawBlockletColumnChunks, int pageIndex,
+        int numberOfRows) {
+      ColumnPage page = getPage(rawBlockletColumnChunks, chunkIndex, pageIndex);
+      BitSet nullBits = page.getNullBits();
+      BitSet bitSet = new BitSet(numberOfRows);
+      for (int i = 0; i < numberOfRows; i++) {
+        if (!nullBits.get(i) && operator.matches(Long.compare(page.getLong(i), literal))) {
+          bitSet.set(i);
+        }
+      }
+      return bitSet;
+    }
+  }
+
+  /**
+   * Compares double measure with a literal
+   */
+  private static class DoubleLiteralComparator extends VectorFilterEvaluator {
+
+    private CompareOperator operator;
+
+    private int chunkIndex;
+
+    private double literal;
+
+    DoubleLiteralComparator(CompareOperator operator, int chunkIndex, double literal) {
+      this.operator = operator;
+      this.chunkIndex = chunkIndex;
+      this.literal = literal;
+    }
+
+    @Override
+    BitSet evaluate(RawBlockletColumnChunks rawBlockletColumnChunks, int pageIndex,
+        int numberOfRows) {
+      ColumnPage page = getPage(rawBlockletColumnChunks, chunkIndex, pageIndex);
+      BitSet nullBits = page.getNullBits();
+      BitSet bitSet = new BitSet(numberOfRows);
+      for (int i = 0; i < numberOfRows; i++) {
+        if (!nullBits.get(i) && operator.matches(page.getDouble(i), literal)) {
+          bitSet.set(i);
+        }
+      }
+      return bitSet;
+    }
+  }
+
+  /**
+   * Compares decimal measure with a literal
+   */
+  private static class DecimalLiteralComparator extends VectorFilterEvaluator {
+
+    private CompareOperator operator;
+
+    private int chunkIndex;
+
+    private BigDecimal literal;
+
+    DecimalLiteralComparator(CompareOperator operator, int chunkIndex, BigDecimal literal) {
+      this.operator = operator;
+      this.chunkIndex = chunkIndex;
+      this.literal = literal;
+    }
+
+    @Override
+    BitSet evaluate(RawBlockletColumnChunks rawBlockletColumnChunks, int pageIndex,
+        int numberOfRows) {
+      ColumnPage page = getPage(rawBlockletColumnChunks, chunkIndex, pageIndex);
+      BitSet nullBits = page.getNullBits();
+      BitSet bitSet = new BitSet(numberOfRows);
+      for (int i = 0; i < numberOfRows; i++) {
+        if (nullBits.get(i)) {
+          continue;
+        }
+        BigDecimal value = page.getDecimal(i);
+        if (null != value && operator.matches(value.compareTo(literal))) {
+          bitSet.set(i);
+        }
+      }
+      return bitSet;
+    }
+  }
+
+  /**
+   * Compares two measures of same data type
+   */
+  private static class ColumnComparator extends VectorFilterEvaluator {
+
+    private CompareOperator operator;
+
+    private int leftChunkIndex;
+
+    private int rightChunkIndex;
+
+    private DataType dataType;
+
+    ColumnComparator(CompareOperator operator, int leftChunkIndex, int rightChunkIndex,
+        DataType dataType) {
+      this.operator = operator;
+      this.leftChunkIndex = leftChunkIndex;
+      this.rightChunkIndex = rightChunkIndex;
+      this.dataType = dataType;
+    }
+
+    @Override
+    BitSet evaluate(RawBlockletColumnChunks rawBlockletColumnChunks, int pageIndex,
+        int numberOfRows) {
+      ColumnPage leftPage = getPage(rawBlockletColumnChunks, leftChunkIndex, pageIndex);
+      ColumnPage rightPage = getPage(rawBlockletColumnChunks, rightChunkIndex, pageIndex);
+      BitSet bitSet = new BitSet(numberOfRows);
+      // rows having null on any side never match
+      BitSet nullBits = (BitSet) leftPage.getNullBits().clone();
+      nullBits.or(rightPage.getNullBits());
+      if (isIntegral(dataType)) {
+        for (int i = 0; i < numberOfRows; i++) {
+          if (!nullBits.get(i) && operator
+              .matches(Long.compare(leftPage.getLong(i), rightPage.getLong(i)))) {
+            bitSet.set(i);
+          }
+        }
+      } else if (dataType == DataTypes.DOUBLE) {
+        for (int i = 0; i < numberOfRows; i++) {
+          if (!nullBits.get(i) && operator.matches(leftPage.getDouble(i), rightPage.getDouble(i))) {
+            bitSet.set(i);
+          }
+        }
+      } else {
+        for (int i = 0; i < numberOfRows; i++) {
+          if (nullBits.get(i)) {
+            continue;
+          }
+          BigDecimal leftValue = leftPage.getDecimal(i);
+          BigDecimal rightValue = rightPage.getDecimal(i);
+          if (null != leftValue && null != rightValue && operator
+              .matches(leftValue.compareTo(rightValue))) {
+            bitSet.set(i);
+          }
+        }
+      }
+      return bitSet;
+    }
+  }
+}
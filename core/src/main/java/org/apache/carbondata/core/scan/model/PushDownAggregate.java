@@ -0,0 +1,61 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.core.scan.model;
+
+/**
+ * Aggregate function which is computed inside the scan when the query model is in
+ * aggregate push down mode. The measure is referred by its index in the projection measures
+ * of the query model.
+ */
+public class PushDownAggregate {
+
+  public enum AggregateType {
+    COUNT_STAR, COUNT, MIN, MAX, SUM
+  }
+
+  private AggregateType aggregateType;
+
+  /**
+   * index of the measure in the projection measures, -1 for count(*)
+   */
+  private int measureIndex;
+
+  public PushDownAggregate(AggregateType aggregateType, int measureIndex) {
+    if (aggregateType == AggregateType.COUNT_STAR) {
+      measureIndex = -1;
+    } else if (measureIndex < 0) {
+      throw new IllegalArgumentException(
+          "Measure is required for " + aggregateType + " aggregate");
+    }
+    this.aggregateType = aggregateType;
+    this.measureIndex = measureIndex;
+  }
+
+  public AggregateType getAggregateType() {
+    return aggregateType;
+  }
+
+  public int getMeasureIndex() {
+    return measureIndex;
+  }
+
+  @Override
+  public String toString() {
+    return aggregateType + "(" + (measureIndex < 0 ? "*" : String.valueOf(measureIndex)) + ")";
+  }
+}
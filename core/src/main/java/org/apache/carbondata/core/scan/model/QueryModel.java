@@ -122,6 +122,12 @@ public class QueryModel {
    */
   private boolean isDirectVectorFill;
 
+  /**
+   * aggregates to be computed inside the scan, if set the executor returns one row of partial
+   * aggregate values per split instead of the projected rows
+   */
+  private List<PushDownAggregate> pushDownAggregates;
+
   private QueryModel(CarbonTable carbonTable) {
     tableBlockInfos = new ArrayList<TableBlockInfo>();
     this.table = carbonTable;
@@ -411,6 +417,18 @@ public class QueryModel {
     isDirectVectorFill = directVectorFill;
   }
 
+  public List<PushDownAggregate> getPushDownAggregates() {
+    return pushDownAggregates;
+  }
+
+  public void setPushDownAggregates(List<PushDownAggregate> pushDownAggregates) {
+    this.pushDownAggregates = pushDownAggregates;
+  }
+
+  public boolean isAggregatePushDown() {
+    return null != pushDownAggregates && !pushDownAggregates.isEmpty();
+  }
+
   @Override
   public String toString() {
     return String.format("scan on table %s.%s, %d projection columns with filter (%s)",
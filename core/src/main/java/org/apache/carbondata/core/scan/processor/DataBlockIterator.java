@@ -17,17 +17,18 @@
 package org.apache.carbondata.core.scan.processor;
 
 import java.io.IOException;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Future;
-import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.apache.carbondata.common.CarbonIterator;
 import org.apache.carbondata.core.datastore.DataRefNode;
 import org.apache.carbondata.core.datastore.FileReader;
+import org.apache.carbondata.core.datastore.chunk.AbstractRawColumnChunk;
 import org.apache.carbondata.core.scan.collector.ResultCollectorFactory;
 import org.apache.carbondata.core.scan.collector.ScannedResultCollector;
 import org.apache.carbondata.core.scan.executor.infos.BlockExecutionInfo;
@@ -37,7 +38,11 @@ import org.apache.carbondata.core.scan.scanner.BlockletScanner;
 import org.apache.carbondata.core.scan.scanner.impl.BlockletFilterScanner;
 import org.apache.carbondata.core.scan.scanner.impl.BlockletFullScanner;
 import org.apache.carbondata.core.stats.QueryStatisticsModel;
+import org.apache.carbondata.core.util.CarbonSessionInfo;
+import org.apache.carbondata.core.util.CarbonTaskInfo;
 import org.apache.carbondata.core.util.TaskMetricsMap;
+import org.apache.carbondata.core.util.ThreadLocalSessionInfo;
+import org.apache.carbondata.core.util.ThreadLocalTaskInfo;
 
 /**
  * This abstract class provides a skeletal implementation of the
@@ -66,11 +71,37 @@ public class DataBlockIterator extends CarbonIterator<List<Object[]>> {
    */
   private int batchSize;
 
+  /**
+   * executor service to scan the blocklet
+   */
   private ExecutorService executorService;
 
+  /**
+   * executor service to read the blocklets ahead of the scan
+   */
+  private ExecutorService ioExecutorService;
+
   private Future<BlockletScannedResult> future;
 
-  private Future<RawBlockletColumnChunks> futureIo;
+  /**
+   * blocklets which are being read ahead, in the order of scan
+   */
+  private ArrayDeque<Future<RawBlockletColumnChunks>> readFutures;
+
+  /**
+   * maximum number of blocklets to read ahead
+   */
+  private int prefetchBlockletCount;
+
+  /**
+   * maximum size in bytes of the blocklets to read ahead
+   */
+  private long prefetchMaxSize;
+
+  /**
+   * size of the last blocklet read, used to limit the blocklets read ahead
+   */
+  private volatile long lastReadSize;
 
   private BlockletScannedResult scannedResult;
 
@@ -78,12 +109,9 @@ public class DataBlockIterator extends CarbonIterator<List<Object[]>> {
 
   private FileReader fileReader;
 
-  private AtomicBoolean nextBlock;
-
-  private AtomicBoolean nextRead;
-
   public DataBlockIterator(BlockExecutionInfo blockExecutionInfo, FileReader fileReader,
-      int batchSize, QueryStatisticsModel queryStatisticsModel, ExecutorService executorService) {
+      int batchSize, QueryStatisticsModel queryStatisticsModel, ExecutorService executorService,
+      ExecutorService ioExecutorService, int prefetchBlockletCount, long prefetchMaxSize) {
     this.blockExecutionInfo = blockExecutionInfo;
     this.blockExecutionInfo.setQueryStatisticsModel(queryStatisticsModel);
     this.fileReader = fileReader;
@@ -98,8 +126,10 @@ public class DataBlockIterator extends CarbonIterator<List<Object[]>> {
         ResultCollectorFactory.getScannedResultCollector(blockExecutionInfo);
     this.batchSize = batchSize;
     this.executorService = executorService;
-    this.nextBlock = new AtomicBoolean(false);
-    this.nextRead = new AtomicBoolean(false);
+    this.ioExecutorService = ioExecutorService;
+    this.prefetchBlockletCount = prefetchBlockletCount;
+    this.prefetchMaxSize = prefetchMaxSize;
+    this.readFutures = new ArrayDeque<>(prefetchBlockletCount);
   }
 
   @Override
@@ -126,7 +156,7 @@ public class DataBlockIterator extends CarbonIterator<List<Object[]>> {
       if (null != scannedResult) {
         scannedResult.freeMemory();
       }
-      return blockletIterator.hasNext() || nextBlock.get() || nextRead.get();
+      return blockletIterator.hasNext() || future != null || !readFutures.isEmpty();
     }
   }
 
@@ -145,8 +175,6 @@ public class DataBlockIterator extends CarbonIterator<List<Object[]>> {
           }
           scannedResult = processNextBlocklet();
         }
-        nextBlock.set(false);
-        nextRead.set(false);
         return false;
       }
     } catch (Exception ex) {
@@ -157,16 +185,13 @@ public class DataBlockIterator extends CarbonIterator<List<Object[]>> {
   private BlockletScannedResult processNextBlocklet() throws Exception {
     BlockletScannedResult result = null;
     if (blockExecutionInfo.isPrefetchBlocklet()) {
-      if (blockletIterator.hasNext() || nextBlock.get() || nextRead.get()) {
-        if (future == null) {
-          future = scanNextBlockletAsync();
-        }
+      if (future == null) {
+        future = scanNextBlockletAsync();
+      }
+      if (future != null) {
         result = future.get();
-        nextBlock.set(false);
-        if (blockletIterator.hasNext() || nextRead.get()) {
-          nextBlock.set(true);
-          future = scanNextBlockletAsync();
-        }
+        // start the scan of next blocklet while the current one is processed
+        future = scanNextBlockletAsync();
       }
     } else {
       if (blockletIterator.hasNext()) {
@@ -201,45 +226,92 @@ public class DataBlockIterator extends CarbonIterator<List<Object[]>> {
     return rawBlockletColumnChunks;
   }
 
+  /**
+   * Submit the scan of the next blocklet which is read ahead, returns null if all the
+   * blocklets are scanned
+   */
   private Future<BlockletScannedResult> scanNextBlockletAsync() {
+    fillReadAheadBlocklets();
+    final Future<RawBlockletColumnChunks> futureIo = readFutures.poll();
+    if (futureIo == null) {
+      return null;
+    }
+    // keep reading ahead while this blocklet is scanned
+    fillReadAheadBlocklets();
     return executorService.submit(new Callable<BlockletScannedResult>() {
       @Override public BlockletScannedResult call() throws Exception {
-        if (futureIo == null) {
-          futureIo = readNextBlockletAsync();
-        }
         RawBlockletColumnChunks rawBlockletColumnChunks = futureIo.get();
-        futureIo = null;
-        nextRead.set(false);
-        if (rawBlockletColumnChunks != null) {
-          if (blockletIterator.hasNext()) {
-            nextRead.set(true);
-            futureIo = readNextBlockletAsync();
-          }
-          return blockletScanner.scanBlocklet(rawBlockletColumnChunks);
-        }
-        return null;
+        lastReadSize = getReadSize(rawBlockletColumnChunks);
+        return blockletScanner.scanBlocklet(rawBlockletColumnChunks);
       }
     });
   }
 
-  private Future<RawBlockletColumnChunks> readNextBlockletAsync() {
-    return executorService.submit(new Callable<RawBlockletColumnChunks>() {
+  /**
+   * Submit the read of next blocklets till the configured number of blocklets are read ahead.
+   * When the blocklets are big, less blocklets are read ahead so that the read data does not
+   * cross the configured size, but at least one blocklet is always read ahead.
+   */
+  private void fillReadAheadBlocklets() {
+    int maxReadAhead = prefetchBlockletCount;
+    long readSize = lastReadSize;
+    if (readSize > 0) {
+      maxReadAhead = (int) Math.max(1, Math.min(maxReadAhead, prefetchMaxSize / readSize));
+    }
+    while (readFutures.size() < maxReadAhead && blockletIterator.hasNext()) {
+      RawBlockletColumnChunks rawBlockletColumnChunks = getNextBlockletColumnChunks();
+      if (rawBlockletColumnChunks == null) {
+        // remaining blocklets are not required to scan
+        break;
+      }
+      readFutures.add(readBlockletAsync(rawBlockletColumnChunks));
+    }
+  }
+
+  private Future<RawBlockletColumnChunks> readBlockletAsync(
+      final RawBlockletColumnChunks rawBlockletColumnChunks) {
+    // read pool is shared by the queries, so its threads do not inherit the task of the query
+    final Long parentThreadId = TaskMetricsMap.getThreadLocal().get();
+    final CarbonTaskInfo taskInfo = ThreadLocalTaskInfo.getCarbonTaskInfo();
+    final CarbonSessionInfo sessionInfo = ThreadLocalSessionInfo.getCarbonSessionInfo();
+    return ioExecutorService.submit(new Callable<RawBlockletColumnChunks>() {
       @Override public RawBlockletColumnChunks call() throws Exception {
+        TaskMetricsMap.getThreadLocal().set(parentThreadId);
+        ThreadLocalTaskInfo.setCarbonTaskInfo(taskInfo);
+        ThreadLocalSessionInfo.setCarbonSessionInfo(sessionInfo);
         try {
           TaskMetricsMap.getInstance().registerThreadCallback();
-          if (blockletIterator.hasNext()) {
-            return readNextBlockletColumnChunks();
-          } else {
-            return null;
-          }
+          blockletScanner.readBlocklet(rawBlockletColumnChunks);
+          return rawBlockletColumnChunks;
         } finally {
           // update read bytes metrics for this thread
           TaskMetricsMap.getInstance().updateReadBytes(Thread.currentThread().getId());
+          TaskMetricsMap.getThreadLocal().remove();
+          ThreadLocalTaskInfo.clearCarbonTaskInfo();
+          ThreadLocalSessionInfo.unsetAll();
         }
       }
     });
   }
 
+  /**
+   * Total size of the column chunks read for the blocklet
+   */
+  private static long getReadSize(RawBlockletColumnChunks rawBlockletColumnChunks) {
+    long size = 0;
+    for (AbstractRawColumnChunk chunk : rawBlockletColumnChunks.getDimensionRawColumnChunks()) {
+      if (chunk != null) {
+        size += chunk.getLength();
+      }
+    }
+    for (AbstractRawColumnChunk chunk : rawBlockletColumnChunks.getMeasureRawColumnChunks()) {
+      if (chunk != null) {
+        size += chunk.getLength();
+      }
+    }
+    return size;
+  }
+
   public void processNextBatch(CarbonColumnarBatch columnarBatch) {
     if (updateScanner()) {
       this.scannerResultAggregator.collectResultInColumnarBatch(scannedResult, columnarBatch);
@@ -267,5 +339,13 @@ public class DataBlockIterator extends CarbonIterator<List<Object[]>> {
         throw new RuntimeException(e);
       }
     }
+    // wait for the blocklets being read ahead, as file reader is closed after this
+    while (!readFutures.isEmpty()) {
+      try {
+        readFutures.poll().get();
+      } catch (InterruptedException | ExecutionException e) {
+        throw new RuntimeException(e);
+      }
+    }
   }
 }
\ No newline at end of file
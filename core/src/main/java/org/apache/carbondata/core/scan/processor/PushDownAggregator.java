@@ -0,0 +1,353 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.core.scan.processor;
+
+import java.math.BigDecimal;
+import java.util.BitSet;
+import java.util.List;
+
+import org.apache.carbondata.core.datastore.page.ColumnPage;
+import org.apache.carbondata.core.metadata.datatype.DataType;
+import org.apache.carbondata.core.metadata.datatype.DataTypes;
+import org.apache.carbondata.core.scan.model.PushDownAggregate;
+import org.apache.carbondata.core.scan.model.PushDownAggregate.AggregateType;
+import org.apache.carbondata.core.util.DataTypeUtil;
+
+/**
+ * Holds the partial values of the aggregates pushed down to the scan. Values are aggregated
+ * from the page statistics, from the decoded column pages or from the default value of a
+ * measure which is not present in the block.
+ */
+public class PushDownAggregator {
+
+  private PushDownAggregate[] aggregates;
+
+  /**
+   * data type of the measure of each aggregate, null for count(*)
+   */
+  private DataType[] dataTypes;
+
+  /**
+   * number of not null values aggregated
+   */
+  private long[] counts;
+
+  private long[] longValues;
+
+  private double[] doubleValues;
+
+  private BigDecimal[] decimalValues;
+
+  /**
+   * @param aggregates       aggregates to compute
+   * @param measureDataTypes data type of each projection measure
+   */
+  public PushDownAggregator(List<PushDownAggregate> aggregates, DataType[] measureDataTypes) {
+    int numberOfAggregates = aggregates.size();
+    this.aggregates = aggregates.toArray(new PushDownAggregate[numberOfAggregates]);
+    this.dataTypes = new DataType[numberOfAggregates];
+    for (int i = 0; i < numberOfAggregates; i++) {
+      PushDownAggregate aggregate = this.aggregates[i];
+      if (aggregate.getAggregateType() == AggregateType.COUNT_STAR) {
+        continue;
+      }
+      DataType dataType = measureDataTypes[aggregate.getMeasureIndex()];
+      if (!isIntegral(dataType) && !isFloating(dataType) && !DataTypes.isDecimal(dataType)) {
+        throw new UnsupportedOperationException(
+            "Aggregate push down is not supported for data type " + dataType.getName());
+      }
+      dataTypes[i] = dataType;
+    }
+    this.counts = new long[numberOfAggregates];
+    this.longValues = new long[numberOfAggregates];
+    this.doubleValues = new double[numberOfAggregates];
+    this.decimalValues = new BigDecimal[numberOfAggregates];
+  }
+
+  private static boolean isIntegral(DataType dataType) {
+    return dataType == DataTypes.BYTE || dataType == DataTypes.SHORT
+        || dataType == DataTypes.INT || dataType == DataTypes.LONG;
+  }
+
+  private static boolean isFloating(DataType dataType) {
+    return dataType == DataTypes.FLOAT || dataType == DataTypes.DOUBLE;
+  }
+
+  public int getNumberOfAggregates() {
+    return aggregates.length;
+  }
+
+  public PushDownAggregate getAggregate(int index) {
+    return aggregates[index];
+  }
+
+  /**
+   * Add the number of selected rows to all count(*) aggregates
+   */
+  public void aggregateRowCount(long rowCount) {
+    for (int i = 0; i < aggregates.length; i++) {
+      if (aggregates[i].getAggregateType() == AggregateType.COUNT_STAR) {
+        counts[i] += rowCount;
+      }
+    }
+  }
+
+  /**
+   * Aggregate the min or max of a page from its statistics, it can be used only when all the
+   * rows of the page are selected.
+   * As null values are collected as zero in the page statistics, only a non zero min or max is
+   * the actual value of the page.
+   *
+   * @return false if the page statistics can not be used and the page has to be decoded
+   */
+  public boolean aggregatePageStatistics(int index, byte[] minValue, byte[] maxValue) {
+    AggregateType aggregateType = aggregates[index].getAggregateType();
+    byte[] statsValue;
+    if (aggregateType == AggregateType.MIN) {
+      statsValue = minValue;
+    } else if (aggregateType == AggregateType.MAX) {
+      statsValue = maxValue;
+    } else {
+      return false;
+    }
+    Object value = DataTypeUtil.getMeasureObjectFromDataType(statsValue, dataTypes[index]);
+    if (null == value || isZero(index, value)) {
+      return false;
+    }
+    aggregateValue(index, value, 1);
+    return true;
+  }
+
+  private boolean isZero(int index, Object value) {
+    if (isIntegral(dataTypes[index])) {
+      return ((Number) value).longValue() == 0;
+    } else if (isFloating(dataTypes[index])) {
+      return ((Number) value).doubleValue() == 0;
+    } else {
+      return ((BigDecimal) value).signum() == 0;
+    }
+  }
+
+  /**
+   * Aggregate the value of a measure which is same for all the selected rows, like the default
+   * value of a measure added after the block is written
+   */
+  public void aggregateDefaultValue(int index, Object defaultValue, long rowCount) {
+    if (aggregates[index].getAggregateType() != AggregateType.COUNT_STAR && null != defaultValue
+        && rowCount > 0) {
+      aggregateValue(index, defaultValue, rowCount);
+    }
+  }
+
+  private void aggregateValue(int index, Object value, long rowCount) {
+    if (isIntegral(dataTypes[index])) {
+      long longValue = ((Number) value).longValue();
+      updateLong(index, rowCount, longValue * rowCount, longValue, longValue);
+    } else if (isFloating(dataTypes[index])) {
+      double doubleValue = ((Number) value).doubleValue();
+      updateDouble(index, rowCount, doubleValue * rowCount, doubleValue, doubleValue);
+    } else {
+      BigDecimal decimal = value instanceof BigDecimal ?
+          (BigDecimal) value :
+          new BigDecimal(value.toString());
+      updateDecimal(index, rowCount, decimal.multiply(BigDecimal.valueOf(rowCount)), decimal,
+          decimal);
+    }
+  }
+
+  /**
+   * Aggregate the not null values of the decoded page
+   *
+   * @param index        aggregate index
+   * @param page         decoded measure page
+   * @param rowCount     number of rows in the page
+   * @param selectedRows rows to aggregate, null if all the rows are selected
+   */
+  public void aggregatePage(int index, ColumnPage page, int rowCount, BitSet selectedRows) {
+    if (aggregates[index].getAggregateType() == AggregateType.COUNT_STAR) {
+      return;
+    }
+    DataType dataType = dataTypes[index];
+    if (isIntegral(dataType)) {
+      aggregateLongPage(index, page, dataType == DataTypes.BYTE, rowCount, selectedRows);
+    } else if (isFloating(dataType)) {
+      aggregateDoublePage(index, page, dataType == DataTypes.FLOAT, rowCount, selectedRows);
+    } else {
+      aggregateDecimalPage(index, page, rowCount, selectedRows);
+    }
+  }
+
+  private static int nextRow(BitSet selectedRows, int rowId) {
+    return null == selectedRows ? rowId : selectedRows.nextSetBit(rowId);
+  }
+
+  private void aggregateLongPage(int index, ColumnPage page, boolean isByte, int rowCount,
+      BitSet selectedRows) {
+    BitSet nullBits = page.getNullBits();
+    boolean hasNull = !nullBits.isEmpty();
+    long count = 0;
+    long sum = 0;
+    long min = Long.MAX_VALUE;
+    long max = Long.MIN_VALUE;
+    for (int rowId = nextRow(selectedRows, 0);
+         rowId >= 0 && rowId < rowCount; rowId = nextRow(selectedRows, rowId + 1)) {
+      if (hasNull && nullBits.get(rowId)) {
+        continue;
+      }
+      long value = isByte ? page.getByte(rowId) : page.getLong(rowId);
+      sum += value;
+      min = Math.min(min, value);
+      max = Math.max(max, value);
+      count++;
+    }
+    updateLong(index, count, sum, min, max);
+  }
+
+  private void aggregateDoublePage(int index, ColumnPage page, boolean isFloat, int rowCount,
+      BitSet selectedRows) {
+    BitSet nullBits = page.getNullBits();
+    boolean hasNull = !nullBits.isEmpty();
+    long count = 0;
+    double sum = 0;
+    double min = Double.POSITIVE_INFINITY;
+    double max = Double.NEGATIVE_INFINITY;
+    for (int rowId = nextRow(selectedRows, 0);
+         rowId >= 0 && rowId < rowCount; rowId = nextRow(selectedRows, rowId + 1)) {
+      if (hasNull && nullBits.get(rowId)) {
+        continue;
+      }
+      double value = isFloat ? page.getFloat(rowId) : page.getDouble(rowId);
+      sum += value;
+      min = Math.min(min, value);
+      max = Math.max(max, value);
+      count++;
+    }
+    updateDouble(index, count, sum, min, max);
+  }
+
+  private void aggregateDecimalPage(int index, ColumnPage page, int rowCount,
+      BitSet selectedRows) {
+    BitSet nullBits = page.getNullBits();
+    long count = 0;
+    BigDecimal sum = BigDecimal.ZERO;
+    BigDecimal min = null;
+    BigDecimal max = null;
+    for (int rowId = nextRow(selectedRows, 0);
+         rowId >= 0 && rowId < rowCount; rowId = nextRow(selectedRows, rowId + 1)) {
+      if (nullBits.get(rowId)) {
+        continue;
+      }
+      BigDecimal value = page.getDecimal(rowId);
+      if (null == value) {
+        continue;
+      }
+      sum = sum.add(value);
+      min = null == min || value.compareTo(min) < 0 ? value : min;
+      max = null == max || value.compareTo(max) > 0 ? value : max;
+      count++;
+    }
+    updateDecimal(index, count, sum, min, max);
+  }
+
+  private void updateLong(int index, long count, long sum, long min, long max) {
+    if (count == 0) {
+      return;
+    }
+    switch (aggregates[index].getAggregateType()) {
+      case SUM:
+        longValues[index] += sum;
+        break;
+      case MIN:
+        longValues[index] = counts[index] == 0 ? min : Math.min(longValues[index], min);
+        break;
+      case MAX:
+        longValues[index] = counts[index] == 0 ? max : Math.max(longValues[index], max);
+        break;
+      default:
+        break;
+    }
+    counts[index] += count;
+  }
+
+  private void updateDouble(int index, long count, double sum, double min, double max) {
+    if (count == 0) {
+      return;
+    }
+    switch (aggregates[index].getAggregateType()) {
+      case SUM:
+        doubleValues[index] += sum;
+        break;
+      case MIN:
+        doubleValues[index] = counts[index] == 0 ? min : Math.min(doubleValues[index], min);
+        break;
+      case MAX:
+        doubleValues[index] = counts[index] == 0 ? max : Math.max(doubleValues[index], max);
+        break;
+      default:
+        break;
+    }
+    counts[index] += count;
+  }
+
+  private void updateDecimal(int index, long count, BigDecimal sum, BigDecimal min,
+      BigDecimal max) {
+    if (count == 0) {
+      return;
+    }
+    BigDecimal current = decimalValues[index];
+    switch (aggregates[index].getAggregateType()) {
+      case SUM:
+        decimalValues[index] = null == current ? sum : current.add(sum);
+        break;
+      case MIN:
+        decimalValues[index] = null == current || min.compareTo(current) < 0 ? min : current;
+        break;
+      case MAX:
+        decimalValues[index] = null == current || max.compareTo(current) > 0 ? max : current;
+        break;
+      default:
+        break;
+    }
+    counts[index] += count;
+  }
+
+  /**
+   * @return partial value of each aggregate, count is returned as long, sum, min and max are
+   * returned as long for integral measures, double for floating measures and decimal as per the
+   * computing engine. Sum, min and max are null if there is no not null value.
+   */
+  public Object[] getResult() {
+    Object[] result = new Object[aggregates.length];
+    for (int i = 0; i < aggregates.length; i++) {
+      AggregateType aggregateType = aggregates[i].getAggregateType();
+      if (aggregateType == AggregateType.COUNT_STAR || aggregateType == AggregateType.COUNT) {
+        result[i] = counts[i];
+      } else if (counts[i] == 0) {
+        result[i] = null;
+      } else if (isIntegral(dataTypes[i])) {
+        result[i] = longValues[i];
+      } else if (isFloating(dataTypes[i])) {
+        result[i] = doubleValues[i];
+      } else {
+        result[i] = DataTypeUtil.getDataTypeConverter()
+            .convertFromBigDecimalToDecimal(decimalValues[i]);
+      }
+    }
+    return result;
+  }
+}
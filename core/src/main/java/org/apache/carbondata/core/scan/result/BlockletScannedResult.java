@@ -391,7 +391,9 @@ public abstract class BlockletScannedResult {
    */
   public void fillDataChunks() {
     freeDataChunkMemory();
-    if (pageCounter >= pageFilteredRowCount.length) {
+    // no need to decode the projection columns of the page if filter did not select any row in
+    // it, rows are read only from the pages which have filtered rows
+    if (pageCounter >= pageFilteredRowCount.length || pageFilteredRowCount[pageCounter] == 0) {
       return;
     }
     long startTime = System.currentTimeMillis();
@@ -61,6 +61,12 @@ public abstract class AbstractDetailQueryResultIterator<E> extends CarbonIterato
       new ConcurrentHashMap<>();
 
   protected ExecutorService execService;
+
+  /**
+   * executor service used to read the blocklets ahead of the scan
+   */
+  private ExecutorService ioExecService;
+
   /**
    * execution info of the block
    */
@@ -81,20 +87,31 @@ public abstract class AbstractDetailQueryResultIterator<E> extends CarbonIterato
    * number of cores which can be used
    */
   protected int batchSize;
+  /**
+   * number of blocklets to read ahead when prefetch is enabled
+   */
+  private int prefetchBlockletCount;
+  /**
+   * maximum size of the blocklets to read ahead
+   */
+  private long prefetchMaxSize;
   /**
    * queryStatisticsModel to store query statistics object
    */
-  private QueryStatisticsModel queryStatisticsModel;
+  QueryStatisticsModel queryStatisticsModel;
 
   AbstractDetailQueryResultIterator(List<BlockExecutionInfo> infos, QueryModel queryModel,
-      ExecutorService execService) {
+      ExecutorService execService, ExecutorService ioExecService) {
     batchSize = CarbonProperties.getQueryBatchSize();
+    prefetchBlockletCount = CarbonProperties.getQueryPrefetchBlockletCount();
+    prefetchMaxSize = CarbonProperties.getQueryPrefetchMaxSize();
     this.recorder = queryModel.getStatisticsRecorder();
     this.blockExecutionInfos = infos;
     this.fileReader = FileFactory.getFileHolder(
         FileFactory.getFileType(queryModel.getAbsoluteTableIdentifier().getTablePath()));
     this.fileReader.setReadPageByPage(queryModel.isReadPageByPage());
     this.execService = execService;
+    this.ioExecService = ioExecService;
     initialiseInfos();
     initQueryStatiticsModel();
   }
@@ -226,7 +243,7 @@ public abstract class AbstractDetailQueryResultIterator<E> extends CarbonIterato
       BlockExecutionInfo executionInfo = blockExecutionInfos.get(0);
       blockExecutionInfos.remove(executionInfo);
       return new DataBlockIterator(executionInfo, fileReader, batchSize, queryStatisticsModel,
-          execService);
+          execService, ioExecService, prefetchBlockletCount, prefetchMaxSize);
     }
     return null;
   }
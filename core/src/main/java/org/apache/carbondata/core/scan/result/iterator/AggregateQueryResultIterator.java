@@ -0,0 +1,220 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.core.scan.result.iterator;
+
+import java.io.IOException;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ExecutorService;
+
+import org.apache.carbondata.core.constants.CarbonCommonConstants;
+import org.apache.carbondata.core.datastore.DataRefNode;
+import org.apache.carbondata.core.datastore.chunk.impl.MeasureRawColumnChunk;
+import org.apache.carbondata.core.metadata.datatype.DataType;
+import org.apache.carbondata.core.mutate.CarbonUpdateUtil;
+import org.apache.carbondata.core.mutate.DeleteDeltaVo;
+import org.apache.carbondata.core.mutate.TupleIdEnum;
+import org.apache.carbondata.core.scan.executor.infos.BlockExecutionInfo;
+import org.apache.carbondata.core.scan.executor.infos.MeasureInfo;
+import org.apache.carbondata.core.scan.expression.exception.FilterUnsupportedException;
+import org.apache.carbondata.core.scan.filter.executer.FilterExecuter;
+import org.apache.carbondata.core.scan.model.ProjectionMeasure;
+import org.apache.carbondata.core.scan.model.PushDownAggregate;
+import org.apache.carbondata.core.scan.model.PushDownAggregate.AggregateType;
+import org.apache.carbondata.core.scan.model.QueryModel;
+import org.apache.carbondata.core.scan.processor.PushDownAggregator;
+import org.apache.carbondata.core.scan.processor.RawBlockletColumnChunks;
+import org.apache.carbondata.core.scan.scanner.BlockletScanner;
+import org.apache.carbondata.core.scan.scanner.impl.BlockletFilterScanner;
+import org.apache.carbondata.core.scan.scanner.impl.BlockletFullScanner;
+import org.apache.carbondata.core.util.BitSetGroup;
+import org.apache.carbondata.core.util.CarbonProperties;
+import org.apache.carbondata.core.util.CarbonUtil;
+
+/**
+ * Iterator for the aggregate push down query, it aggregates all the blocks of the split and
+ * returns only one row having the partial value of each aggregate.
+ * For the pages in which all the rows are selected min and max are taken from the page
+ * statistics and count(*) from the page row count, so those pages are not decoded. Other
+ * pages are decoded and only the selected rows are aggregated.
+ */
+public class AggregateQueryResultIterator extends AbstractDetailQueryResultIterator<Object[]> {
+
+  private PushDownAggregator aggregator;
+
+  private boolean useBitSetPipeLine;
+
+  private boolean isAggregated;
+
+  public AggregateQueryResultIterator(List<BlockExecutionInfo> infos, QueryModel queryModel,
+      ExecutorService execService, ExecutorService ioExecService) {
+    super(infos, queryModel, execService, ioExecService);
+    List<ProjectionMeasure> projectionMeasures = queryModel.getProjectionMeasures();
+    DataType[] measureDataTypes = new DataType[projectionMeasures.size()];
+    for (int i = 0; i < measureDataTypes.length; i++) {
+      measureDataTypes[i] = projectionMeasures.get(i).getMeasure().getDataType();
+    }
+    this.aggregator =
+        new PushDownAggregator(queryModel.getPushDownAggregates(), measureDataTypes);
+    this.useBitSetPipeLine = Boolean.parseBoolean(CarbonProperties.getInstance()
+        .getProperty(CarbonCommonConstants.BITSET_PIPE_LINE,
+            CarbonCommonConstants.BITSET_PIPE_LINE_DEFAULT));
+  }
+
+  @Override
+  public boolean hasNext() {
+    return !isAggregated;
+  }
+
+  @Override
+  public Object[] next() {
+    if (isAggregated) {
+      throw new NoSuchElementException();
+    }
+    try {
+      for (BlockExecutionInfo blockExecutionInfo : blockExecutionInfos) {
+        aggregateBlock(blockExecutionInfo);
+      }
+    } catch (IOException | FilterUnsupportedException e) {
+      throw new RuntimeException(e);
+    }
+    blockExecutionInfos.clear();
+    isAggregated = true;
+    return aggregator.getResult();
+  }
+
+  private void aggregateBlock(BlockExecutionInfo blockExecutionInfo)
+      throws IOException, FilterUnsupportedException {
+    BlockletScanner blockletScanner;
+    if (blockExecutionInfo.getFilterExecuterTree() != null) {
+      blockletScanner = new BlockletFilterScanner(blockExecutionInfo, queryStatisticsModel);
+    } else {
+      blockletScanner = new BlockletFullScanner(blockExecutionInfo, queryStatisticsModel);
+    }
+    // chunk index of each projection measure in this block, -1 if the measure is added after
+    // the block is written
+    MeasureInfo measureInfo = blockExecutionInfo.getMeasureInfo();
+    int[] measureChunkIndexes = new int[measureInfo.getMeasureExists().length];
+    int measureExistIndex = 0;
+    for (int i = 0; i < measureChunkIndexes.length; i++) {
+      measureChunkIndexes[i] = measureInfo.getMeasureExists()[i] ?
+          measureInfo.getMeasureOrdinals()[measureExistIndex++] :
+          -1;
+    }
+    DataRefNode dataBlock = blockExecutionInfo.getFirstDataBlock();
+    for (int i = 0; null != dataBlock && i < blockExecutionInfo.getNumberOfBlockToScan();
+         i++, dataBlock = dataBlock.getNextDataRefNode()) {
+      if (dataBlock.getColumnsMaxValue() != null && !blockletScanner.isScanRequired(dataBlock)) {
+        continue;
+      }
+      RawBlockletColumnChunks rawBlockletColumnChunks = RawBlockletColumnChunks.newInstance(
+          blockExecutionInfo.getTotalNumberDimensionToRead(),
+          blockExecutionInfo.getTotalNumberOfMeasureToRead(), fileReader, dataBlock);
+      try {
+        blockletScanner.readBlocklet(rawBlockletColumnChunks);
+        aggregateBlocklet(blockExecutionInfo, rawBlockletColumnChunks, measureChunkIndexes);
+      } finally {
+        CarbonUtil.freeMemory(rawBlockletColumnChunks.getDimensionRawColumnChunks(),
+            rawBlockletColumnChunks.getMeasureRawColumnChunks());
+      }
+    }
+  }
+
+  private void aggregateBlocklet(BlockExecutionInfo blockExecutionInfo,
+      RawBlockletColumnChunks rawBlockletColumnChunks, int[] measureChunkIndexes)
+      throws IOException, FilterUnsupportedException {
+    DataRefNode dataBlock = rawBlockletColumnChunks.getDataBlock();
+    BitSetGroup bitSetGroup = null;
+    FilterExecuter filterExecuter = blockExecutionInfo.getFilterExecuterTree();
+    if (null != filterExecuter) {
+      rawBlockletColumnChunks.setBitSetGroup(dataBlock.getIndexedData());
+      bitSetGroup = filterExecuter.applyFilter(rawBlockletColumnChunks, useBitSetPipeLine);
+      if (bitSetGroup.isEmpty()) {
+        return;
+      }
+    }
+    Map<String, DeleteDeltaVo> deletedRecordsMap = blockExecutionInfo.getDeletedRecordsMap();
+    String blockletNumber = null;
+    if (null != deletedRecordsMap) {
+      blockletNumber = CarbonUpdateUtil.getRequiredFieldFromTID(
+          blockExecutionInfo.getBlockIdString() + CarbonCommonConstants.FILE_SEPARATOR
+              + dataBlock.blockletIndex(), TupleIdEnum.BLOCKLET_ID);
+    }
+    MeasureRawColumnChunk[] measureRawColumnChunks =
+        rawBlockletColumnChunks.getMeasureRawColumnChunks();
+    for (int pageNumber = 0; pageNumber < dataBlock.numberOfPages(); pageNumber++) {
+      int rowCount = dataBlock.getPageRowCount(pageNumber);
+      // selected rows of the page, null if all the rows are selected
+      BitSet selectedRows = null;
+      if (null != bitSetGroup) {
+        BitSet bitSet = bitSetGroup.getBitSet(pageNumber);
+        if (null == bitSet || bitSet.isEmpty()) {
+          continue;
+        }
+        if (bitSet.cardinality() < rowCount) {
+          selectedRows = bitSet;
+        }
+      }
+      if (null != deletedRecordsMap) {
+        DeleteDeltaVo deleteDeltaVo = deletedRecordsMap.get(blockletNumber + '_' + pageNumber);
+        if (null != deleteDeltaVo && !deleteDeltaVo.getBitSet().isEmpty()) {
+          if (null == selectedRows) {
+            selectedRows = new BitSet(rowCount);
+            selectedRows.set(0, rowCount);
+          } else {
+            selectedRows = (BitSet) selectedRows.clone();
+          }
+          selectedRows.andNot(deleteDeltaVo.getBitSet());
+        }
+      }
+      int selectedRowCount = null == selectedRows ? rowCount : selectedRows.cardinality();
+      if (selectedRowCount == 0) {
+        continue;
+      }
+      aggregator.aggregateRowCount(selectedRowCount);
+      for (int i = 0; i < aggregator.getNumberOfAggregates(); i++) {
+        PushDownAggregate aggregate = aggregator.getAggregate(i);
+        if (aggregate.getAggregateType() == AggregateType.COUNT_STAR) {
+          continue;
+        }
+        int measureChunkIndex = measureChunkIndexes[aggregate.getMeasureIndex()];
+        if (measureChunkIndex < 0) {
+          aggregator.aggregateDefaultValue(i, blockExecutionInfo.getMeasureInfo()
+              .getDefaultValues()[aggregate.getMeasureIndex()], selectedRowCount);
+          continue;
+        }
+        MeasureRawColumnChunk measureRawColumnChunk = measureRawColumnChunks[measureChunkIndex];
+        if (null == measureRawColumnChunk) {
+          measureRawColumnChunk = dataBlock
+              .readMeasureChunk(rawBlockletColumnChunks.getFileReader(), measureChunkIndex);
+          measureRawColumnChunks[measureChunkIndex] = measureRawColumnChunk;
+        }
+        if (null == selectedRows && null != measureRawColumnChunk.getMinValues()
+            && aggregator.aggregatePageStatistics(i,
+            measureRawColumnChunk.getMinValues()[pageNumber],
+            measureRawColumnChunk.getMaxValues()[pageNumber])) {
+          continue;
+        }
+        aggregator.aggregatePage(i, measureRawColumnChunk.decodeColumnPage(pageNumber),
+            rowCount, selectedRows);
+      }
+    }
+  }
+}
@@ -33,8 +33,8 @@ public class DetailQueryResultIterator extends AbstractDetailQueryResultIterator
   private final Object lock = new Object();
 
   public DetailQueryResultIterator(List<BlockExecutionInfo> infos, QueryModel queryModel,
-      ExecutorService execService) {
-    super(infos, queryModel, execService);
+      ExecutorService execService, ExecutorService ioExecService) {
+    super(infos, queryModel, execService, ioExecService);
   }
 
   @Override public RowBatch next() {
@@ -31,8 +31,8 @@ public class VectorDetailQueryResultIterator extends AbstractDetailQueryResultIt
   private final Object lock = new Object();
 
   public VectorDetailQueryResultIterator(List<BlockExecutionInfo> infos, QueryModel queryModel,
-      ExecutorService execService) {
-    super(infos, queryModel, execService);
+      ExecutorService execService, ExecutorService ioExecService) {
+    super(infos, queryModel, execService, ioExecService);
   }
 
   @Override
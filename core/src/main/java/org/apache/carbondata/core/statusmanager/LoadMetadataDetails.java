@@ -50,7 +50,7 @@ import org.apache.log4j.Logger;
  | "loadStartTime":"1513336827593","visibility":"true","fileFormat":"COLUMNAR_V3"}]          |
  |-------------------------------------------------------------------------------------------|
  */
-public class LoadMetadataDetails implements Serializable {
+public class LoadMetadataDetails implements Serializable, Cloneable {
 
   private static final long serialVersionUID = 1106104914918491724L;
   private String timestamp;
@@ -447,4 +447,15 @@ public class LoadMetadataDetails implements Serializable {
   public void setExtraInfo(String extraInfo) {
     this.extraInfo = extraInfo;
   }
+
+  /**
+   * Returns a copy of this load metadata, all the fields are immutable so copy is shallow
+   */
+  public LoadMetadataDetails copy() {
+    try {
+      return (LoadMetadataDetails) clone();
+    } catch (CloneNotSupportedException e) {
+      throw new RuntimeException(e);
+    }
+  }
 }
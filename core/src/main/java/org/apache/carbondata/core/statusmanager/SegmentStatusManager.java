@@ -33,6 +33,7 @@ import java.util.List;
 import org.apache.carbondata.common.logging.LogServiceFactory;
 import org.apache.carbondata.core.constants.CarbonCommonConstants;
 import org.apache.carbondata.core.datamap.Segment;
+import org.apache.carbondata.core.datastore.filesystem.CarbonFile;
 import org.apache.carbondata.core.datastore.impl.FileFactory;
 import org.apache.carbondata.core.fileoperations.AtomicFileOperationFactory;
 import org.apache.carbondata.core.fileoperations.AtomicFileOperations;
@@ -44,6 +45,7 @@ import org.apache.carbondata.core.locks.ICarbonLock;
 import org.apache.carbondata.core.locks.LockUsage;
 import org.apache.carbondata.core.metadata.AbsoluteTableIdentifier;
 import org.apache.carbondata.core.metadata.CarbonTableIdentifier;
+import org.apache.carbondata.core.metadata.MetadataFileCache;
 import org.apache.carbondata.core.metadata.schema.table.CarbonTable;
 import org.apache.carbondata.core.mutate.CarbonUpdateUtil;
 import org.apache.carbondata.core.readcommitter.ReadCommittedScope;
@@ -248,8 +250,39 @@ public class SegmentStatusManager {
     }
   }
 
+  /**
+   * Reads the table status file. If metadata file cache is enabled, the parsed load details are
+   * cached till the file is modified.
+   */
   public static LoadMetadataDetails[] readTableStatusFile(String tableStatusPath)
       throws IOException {
+    if (!CarbonProperties.isMetadataFileCacheEnabled()) {
+      return parseTableStatusFile(tableStatusPath);
+    }
+    CarbonFile file =
+        FileFactory.getCarbonFile(tableStatusPath, FileFactory.getFileType(tableStatusPath));
+    if (!file.exists()) {
+      return new LoadMetadataDetails[0];
+    }
+    long lastModifiedTime = file.getLastModifiedTime();
+    long size = file.getSize();
+    MetadataFileCache cache = MetadataFileCache.getInstance();
+    LoadMetadataDetails[] loadMetadataDetails =
+        cache.get(tableStatusPath, lastModifiedTime, size);
+    if (loadMetadataDetails == null) {
+      loadMetadataDetails = parseTableStatusFile(tableStatusPath);
+      cache.put(tableStatusPath, lastModifiedTime, size, loadMetadataDetails);
+    }
+    // callers may modify the load details, so return a copy of the cached details
+    LoadMetadataDetails[] copy = new LoadMetadataDetails[loadMetadataDetails.length];
+    for (int i = 0; i < copy.length; i++) {
+      copy[i] = loadMetadataDetails[i].copy();
+    }
+    return copy;
+  }
+
+  private static LoadMetadataDetails[] parseTableStatusFile(String tableStatusPath)
+      throws IOException {
     Gson gsonObjectToRead = new Gson();
     DataInputStream dataInputStream = null;
     BufferedReader buffReader = null;
@@ -532,6 +565,7 @@ public class SegmentStatusManager {
       }
       CarbonUtil.closeStreams(brWriter);
       fileWrite.close();
+      MetadataFileCache.getInstance().invalidate(dataLoadLocation);
     }
 
   }
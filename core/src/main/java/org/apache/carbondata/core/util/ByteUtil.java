@@ -195,6 +195,43 @@ public final class ByteUtil {
       return length1 - length2;
     }
 
+    /**
+     * Lexicographically compare the bytes present in memory, it gives the same result as
+     * {@link #compareTo(byte[], int, int, byte[], int, int)} without copying them to arrays
+     *
+     * @param baseObject1 base object of the left operand, null for off-heap memory
+     * @param address1    address of the left operand
+     * @param length1     length of the left operand
+     * @param baseObject2 base object of the right operand, null for off-heap memory
+     * @param address2    address of the right operand
+     * @param length2     length of the right operand
+     * @return 0 if equal, < 0 if left is less than right, etc.
+     */
+    public int compareTo(Object baseObject1, long address1, int length1, Object baseObject2,
+        long address2, int length2) {
+      int minLength = Math.min(length1, length2);
+      int minWords = minLength / SIZEOF_LONG;
+      for (int i = 0; i < minWords * SIZEOF_LONG; i += SIZEOF_LONG) {
+        long lw = CarbonUnsafe.getUnsafe().getLong(baseObject1, address1 + i);
+        long rw = CarbonUnsafe.getUnsafe().getLong(baseObject2, address2 + i);
+        if (lw != rw) {
+          if (CarbonUnsafe.ISLITTLEENDIAN) {
+            lw = Long.reverseBytes(lw);
+            rw = Long.reverseBytes(rw);
+          }
+          return lessThanUnsigned(lw, rw) ? -1 : 1;
+        }
+      }
+      for (int i = minWords * SIZEOF_LONG; i < minLength; i++) {
+        int a = CarbonUnsafe.getUnsafe().getByte(baseObject1, address1 + i) & 0xff;
+        int b = CarbonUnsafe.getUnsafe().getByte(baseObject2, address2 + i) & 0xff;
+        if (a != b) {
+          return a - b;
+        }
+      }
+      return length1 - length2;
+    }
+
     /**
      * Return negative value if {@code buffer1} less than {@code buffer2},
      * return 0 if they are equal, otherwise return positive value.
@@ -321,7 +321,8 @@ public class CarbonMetadataUtil {
     // but in thrift definition, this field is required so we cannot set it to null, otherwise
     // it will cause deserialization error in runtime (required field cannot be null).
     chunkCompressionMeta.setCompression_codec(CompressionCodec.DEPRECATED);
-    chunkCompressionMeta.setCompressor_name(inputPage.getColumnCompressorName());
+    chunkCompressionMeta.setCompressor_name(CompressorFactory.getInstance()
+        .getCompressor(inputPage.getColumnCompressorName()).getName());
     chunkCompressionMeta.setTotal_compressed_size(encodedDataLength);
     chunkCompressionMeta.setTotal_uncompressed_size(inputPage.getPageLengthInBytes());
     return chunkCompressionMeta;
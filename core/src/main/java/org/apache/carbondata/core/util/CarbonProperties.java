@@ -1789,4 +1789,229 @@ public final class CarbonProperties {
       return !prefetchEnable.equalsIgnoreCase("false");
     }
   }
+
+  /**
+   * Returns the number of blocklets to be read ahead in query when prefetch is enabled
+   */
+  public static int getQueryPrefetchBlockletCount() {
+    String blockletCountStr = CarbonProperties.getInstance().getProperty(
+        CarbonCommonConstants.CARBON_QUERY_PREFETCH_BLOCKLET_COUNT,
+        CarbonCommonConstants.CARBON_QUERY_PREFETCH_BLOCKLET_COUNT_DEFAULT);
+    int blockletCount;
+    try {
+      blockletCount = Integer.parseInt(blockletCountStr);
+    } catch (NumberFormatException e) {
+      blockletCount = -1;
+    }
+    if (blockletCount < 1
+        || blockletCount > CarbonCommonConstants.CARBON_QUERY_PREFETCH_BLOCKLET_COUNT_MAX) {
+      LOGGER.info("Invalid value for carbon.query.prefetch.blocklet.count, value should be "
+          + "between 1 and " + CarbonCommonConstants.CARBON_QUERY_PREFETCH_BLOCKLET_COUNT_MAX
+          + ". Using the default value " + CarbonCommonConstants
+          .CARBON_QUERY_PREFETCH_BLOCKLET_COUNT_DEFAULT);
+      blockletCount =
+          Integer.parseInt(CarbonCommonConstants.CARBON_QUERY_PREFETCH_BLOCKLET_COUNT_DEFAULT);
+    }
+    return blockletCount;
+  }
+
+  /**
+   * Returns the maximum size in bytes of the blocklets read ahead in query
+   */
+  public static long getQueryPrefetchMaxSize() {
+    String maxSizeStr = CarbonProperties.getInstance().getProperty(
+        CarbonCommonConstants.CARBON_QUERY_PREFETCH_MAX_SIZE_IN_MB,
+        CarbonCommonConstants.CARBON_QUERY_PREFETCH_MAX_SIZE_IN_MB_DEFAULT);
+    long maxSizeInMB;
+    try {
+      maxSizeInMB = Long.parseLong(maxSizeStr);
+    } catch (NumberFormatException e) {
+      maxSizeInMB = -1;
+    }
+    if (maxSizeInMB <= 0) {
+      LOGGER.info("Invalid value for carbon.query.prefetch.max.size.inmb, value should be "
+          + "greater than 0. Using the default value "
+          + CarbonCommonConstants.CARBON_QUERY_PREFETCH_MAX_SIZE_IN_MB_DEFAULT);
+      maxSizeInMB =
+          Long.parseLong(CarbonCommonConstants.CARBON_QUERY_PREFETCH_MAX_SIZE_IN_MB_DEFAULT);
+    }
+    return maxSizeInMB * 1024 * 1024;
+  }
+
+  /**
+   * Returns the maximum gap in bytes between the ranges of file to read them together
+   */
+  public static int getQueryReadMergeGap() {
+    String mergeGapStr = CarbonProperties.getInstance().getProperty(
+        CarbonCommonConstants.CARBON_QUERY_READ_MERGE_GAP_IN_KB,
+        CarbonCommonConstants.CARBON_QUERY_READ_MERGE_GAP_IN_KB_DEFAULT);
+    int mergeGapInKB;
+    try {
+      mergeGapInKB = Integer.parseInt(mergeGapStr);
+    } catch (NumberFormatException e) {
+      mergeGapInKB = -1;
+    }
+    if (mergeGapInKB < 0 || mergeGapInKB > Integer.MAX_VALUE / 1024) {
+      LOGGER.info("Invalid value for carbon.query.read.merge.gap.inkb, value should be "
+          + "0 or greater. Using the default value "
+          + CarbonCommonConstants.CARBON_QUERY_READ_MERGE_GAP_IN_KB_DEFAULT);
+      mergeGapInKB =
+          Integer.parseInt(CarbonCommonConstants.CARBON_QUERY_READ_MERGE_GAP_IN_KB_DEFAULT);
+    }
+    return mergeGapInKB * 1024;
+  }
+
+  /**
+   * Returns whether the local files are read through memory map
+   */
+  public static boolean isLocalFileMemoryMapEnabled() {
+    return Boolean.parseBoolean(CarbonProperties.getInstance().getProperty(
+        CarbonCommonConstants.CARBON_LOCAL_FILE_MEMORY_MAP_ENABLE,
+        CarbonCommonConstants.CARBON_LOCAL_FILE_MEMORY_MAP_ENABLE_DEFAULT));
+  }
+
+  /**
+   * Returns the maximum size in bytes of the encoded pages waiting to be written in data load
+   */
+  public static long getLoadPageBufferSize() {
+    String bufferSizeStr = CarbonProperties.getInstance().getProperty(
+        CarbonCommonConstants.CARBON_LOAD_PAGE_BUFFER_SIZE_IN_MB,
+        CarbonCommonConstants.CARBON_LOAD_PAGE_BUFFER_SIZE_IN_MB_DEFAULT);
+    long bufferSizeInMB;
+    try {
+      bufferSizeInMB = Long.parseLong(bufferSizeStr);
+    } catch (NumberFormatException e) {
+      bufferSizeInMB = -1;
+    }
+    if (bufferSizeInMB <= 0) {
+      LOGGER.info("Invalid value for carbon.load.page.buffer.size.inmb, value should be "
+          + "greater than 0. Using the default value "
+          + CarbonCommonConstants.CARBON_LOAD_PAGE_BUFFER_SIZE_IN_MB_DEFAULT);
+      bufferSizeInMB =
+          Long.parseLong(CarbonCommonConstants.CARBON_LOAD_PAGE_BUFFER_SIZE_IN_MB_DEFAULT);
+    }
+    return bufferSizeInMB * 1024 * 1024;
+  }
+
+  /**
+   * Returns the size in bytes of the buffer used to write the carbondata file asynchronously in
+   * data load, 0 if the asynchronous write is disabled
+   */
+  public static int getLoadAsyncWriteBufferSize() {
+    String bufferSizeStr = CarbonProperties.getInstance().getProperty(
+        CarbonCommonConstants.CARBON_LOAD_ASYNC_WRITE_BUFFER_SIZE_IN_MB,
+        CarbonCommonConstants.CARBON_LOAD_ASYNC_WRITE_BUFFER_SIZE_IN_MB_DEFAULT);
+    int bufferSizeInMB;
+    try {
+      bufferSizeInMB = Integer.parseInt(bufferSizeStr);
+    } catch (NumberFormatException e) {
+      bufferSizeInMB = -1;
+    }
+    if (bufferSizeInMB < 0
+        || bufferSizeInMB > CarbonCommonConstants.CARBON_LOAD_ASYNC_WRITE_BUFFER_SIZE_IN_MB_MAX) {
+      LOGGER.info("Invalid value for carbon.load.async.write.buffer.size.inmb, value should be "
+          + "between 0 and " + CarbonCommonConstants.CARBON_LOAD_ASYNC_WRITE_BUFFER_SIZE_IN_MB_MAX
+          + ". Using the default value "
+          + CarbonCommonConstants.CARBON_LOAD_ASYNC_WRITE_BUFFER_SIZE_IN_MB_DEFAULT);
+      bufferSizeInMB =
+          Integer.parseInt(CarbonCommonConstants.CARBON_LOAD_ASYNC_WRITE_BUFFER_SIZE_IN_MB_DEFAULT);
+    }
+    return bufferSizeInMB * 1024 * 1024;
+  }
+
+  /**
+   * Returns whether the delete delta file is written in binary format
+   */
+  public static boolean isDeleteDeltaBinaryFormatEnabled() {
+    return Boolean.parseBoolean(CarbonProperties.getInstance().getProperty(
+        CarbonCommonConstants.CARBON_DELETE_DELTA_BINARY_FORMAT_ENABLE,
+        CarbonCommonConstants.CARBON_DELETE_DELTA_BINARY_FORMAT_ENABLE_DEFAULT));
+  }
+
+  /**
+   * Returns whether the parsed table status file and segment files are cached
+   */
+  public static boolean isMetadataFileCacheEnabled() {
+    return Boolean.parseBoolean(CarbonProperties.getInstance().getProperty(
+        CarbonCommonConstants.CARBON_METADATA_FILE_CACHE_ENABLE,
+        CarbonCommonConstants.CARBON_METADATA_FILE_CACHE_ENABLE_DEFAULT));
+  }
+
+  /**
+   * Returns the number of threads to merge the sorted runs in the final merge of unsafe sort
+   */
+  public static int getSortFinalMergeThreads() {
+    String threadsStr = CarbonProperties.getInstance().getProperty(
+        CarbonCommonConstants.CARBON_LOAD_SORT_FINAL_MERGE_THREADS,
+        CarbonCommonConstants.CARBON_LOAD_SORT_FINAL_MERGE_THREADS_DEFAULT);
+    int threads;
+    try {
+      threads = Integer.parseInt(threadsStr);
+    } catch (NumberFormatException e) {
+      threads = -1;
+    }
+    if (threads < 1 || threads > CarbonCommonConstants.CARBON_LOAD_SORT_FINAL_MERGE_THREADS_MAX) {
+      LOGGER.info("Invalid value for carbon.load.sort.final.merge.threads, value should be "
+          + "between 1 and " + CarbonCommonConstants.CARBON_LOAD_SORT_FINAL_MERGE_THREADS_MAX
+          + ". Using the default value "
+          + CarbonCommonConstants.CARBON_LOAD_SORT_FINAL_MERGE_THREADS_DEFAULT);
+      threads =
+          Integer.parseInt(CarbonCommonConstants.CARBON_LOAD_SORT_FINAL_MERGE_THREADS_DEFAULT);
+    }
+    return threads;
+  }
+
+  /**
+   * Returns whether the rows of a batch are converted field by field in data load
+   */
+  public static boolean isLoadConvertByFieldEnabled() {
+    return Boolean.parseBoolean(CarbonProperties.getInstance().getProperty(
+        CarbonCommonConstants.CARBON_LOAD_CONVERT_BY_FIELD_ENABLE,
+        CarbonCommonConstants.CARBON_LOAD_CONVERT_BY_FIELD_ENABLE_DEFAULT));
+  }
+
+  /**
+   * Returns whether the integral measure pages are encoded using bit packing in data load
+   */
+  public static boolean isBitPackingEncodingEnabled() {
+    return Boolean.parseBoolean(CarbonProperties.getInstance().getProperty(
+        CarbonCommonConstants.CARBON_LOAD_BIT_PACKING_ENCODING_ENABLE,
+        CarbonCommonConstants.CARBON_LOAD_BIT_PACKING_ENCODING_ENABLE_DEFAULT));
+  }
+
+  /**
+   * Returns the maximum number of lucene index shards whose index searchers are cached
+   */
+  public static int getLuceneIndexSearcherCacheSize() {
+    String cacheSizeStr = CarbonProperties.getInstance().getProperty(
+        CarbonCommonConstants.CARBON_LUCENE_INDEX_SEARCHER_CACHE_SIZE,
+        CarbonCommonConstants.CARBON_LUCENE_INDEX_SEARCHER_CACHE_SIZE_DEFAULT);
+    int cacheSize;
+    try {
+      cacheSize = Integer.parseInt(cacheSizeStr);
+    } catch (NumberFormatException e) {
+      cacheSize = -1;
+    }
+    if (cacheSize < 0) {
+      LOGGER.info("Invalid value for carbon.lucene.index.searcher.cache.size, value should be "
+          + "0 or greater. Using the default value "
+          + CarbonCommonConstants.CARBON_LUCENE_INDEX_SEARCHER_CACHE_SIZE_DEFAULT);
+      cacheSize =
+          Integer.parseInt(CarbonCommonConstants.CARBON_LUCENE_INDEX_SEARCHER_CACHE_SIZE_DEFAULT);
+    }
+    return cacheSize;
+  }
+
+  /**
+   * Returns the local directory to copy the cached lucene index shards, null if it is not
+   * configured
+   */
+  public static String getLuceneIndexLocalCacheDir() {
+    String localCacheDir = CarbonProperties.getInstance().getProperty(
+        CarbonCommonConstants.CARBON_LUCENE_INDEX_LOCAL_CACHE_DIR);
+    if (localCacheDir == null || localCacheDir.trim().isEmpty()) {
+      return null;
+    }
+    return localCacheDir.trim();
+  }
 }
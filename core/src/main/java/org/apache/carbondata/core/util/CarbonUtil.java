@@ -1449,8 +1449,41 @@ public final class CarbonUtil {
     }, 0, data.length);
   }
 
+  /**
+   * Copy length bytes from offset of the buffer to a heap buffer. It is used for the buffers
+   * which do not have backing array, like the slice of memory mapped file, so that only the
+   * range which is decoded is copied
+   *
+   * @param buffer buffer to copy from, its position is not changed
+   * @param offset index of the buffer to start copy from
+   * @param length number of bytes to copy
+   * @return heap buffer with the bytes starting from index 0
+   */
+  public static ByteBuffer getHeapBuffer(ByteBuffer buffer, int offset, int length) {
+    byte[] data = new byte[length];
+    ByteBuffer duplicate = buffer.duplicate();
+    duplicate.position(offset);
+    duplicate.get(data);
+    return ByteBuffer.wrap(data);
+  }
+
+  /**
+   * Returns the buffer if it has backing array, otherwise its content till the limit is copied
+   * to a heap buffer. It is used by the readers of V1 and V2 format, which read the whole
+   * column chunk from the array of the buffer
+   */
+  public static ByteBuffer toHeapBuffer(ByteBuffer buffer) {
+    if (buffer.hasArray()) {
+      return buffer;
+    }
+    return getHeapBuffer(buffer, 0, buffer.limit());
+  }
+
   public static DataChunk3 readDataChunk3(ByteBuffer dataChunkBuffer, int offset, int length)
       throws IOException {
+    if (!dataChunkBuffer.hasArray()) {
+      return readDataChunk3(getHeapBuffer(dataChunkBuffer, offset, length), 0, length);
+    }
     byte[] data = dataChunkBuffer.array();
     return (DataChunk3) read(data, new ThriftReader.TBaseCreator() {
       @Override public TBase create() {
@@ -1477,6 +1510,9 @@ public final class CarbonUtil {
 
   public static DataChunk2 readDataChunk(ByteBuffer dataChunkBuffer, int offset, int length)
       throws IOException {
+    if (!dataChunkBuffer.hasArray()) {
+      return readDataChunk(getHeapBuffer(dataChunkBuffer, offset, length), 0, length);
+    }
     byte[] data = dataChunkBuffer.array();
     return (DataChunk2) read(data, new ThriftReader.TBaseCreator() {
       @Override public TBase create() {
@@ -3216,6 +3252,7 @@ public final class CarbonUtil {
         case ADAPTIVE_DELTA_INTEGRAL:
         case ADAPTIVE_FLOATING:
         case ADAPTIVE_DELTA_FLOATING:
+        case BIT_PACKED_INTEGRAL:
           return true;
       }
     }
@@ -21,11 +21,16 @@ import java.io.BufferedWriter;
 import java.io.DataOutputStream;
 import java.io.IOException;
 import java.io.OutputStreamWriter;
+import java.util.BitSet;
+import java.util.List;
 
 import org.apache.carbondata.common.logging.LogServiceFactory;
 import org.apache.carbondata.core.constants.CarbonCommonConstants;
 import org.apache.carbondata.core.datastore.impl.FileFactory;
+import org.apache.carbondata.core.mutate.DeleteDeltaBitmapCodec;
 import org.apache.carbondata.core.mutate.DeleteDeltaBlockDetails;
+import org.apache.carbondata.core.mutate.DeleteDeltaBlockletDetails;
+import org.apache.carbondata.core.util.CarbonProperties;
 
 import com.google.gson.Gson;
 import org.apache.log4j.Logger;
@@ -58,11 +63,16 @@ public class CarbonDeleteDeltaWriterImpl implements CarbonDeleteDeltaWriter {
   }
 
   /**
-   * This method will write the deleted records data in the json format.
+   * This method will write the deleted records data in the json format, or in binary format
+   * if it is enabled.
    * @param deleteDeltaBlockDetails
    * @throws IOException
    */
   @Override public void write(DeleteDeltaBlockDetails deleteDeltaBlockDetails) throws IOException {
+    if (CarbonProperties.isDeleteDeltaBinaryFormatEnabled()) {
+      writeBinary(deleteDeltaBlockDetails);
+      return;
+    }
     BufferedWriter brWriter = null;
     try {
       FileFactory.createNewFile(filePath, fileType);
@@ -88,4 +98,41 @@ public class CarbonDeleteDeltaWriterImpl implements CarbonDeleteDeltaWriter {
     }
 
   }
+
+  /**
+   * This method will write the deleted records data in binary format, with the deleted rows of
+   * each page as compressed bitmap.
+   * File format:
+   * <magic><version><block name><number of pages>
+   * <blocklet id><page id><deleted rows bitmap> for each page
+   */
+  private void writeBinary(DeleteDeltaBlockDetails deleteDeltaBlockDetails) throws IOException {
+    try {
+      FileFactory.createNewFile(filePath, fileType);
+      dataOutStream = FileFactory.getDataOutputStream(filePath, fileType);
+      dataOutStream.writeInt(DeleteDeltaBitmapCodec.BINARY_FORMAT_MAGIC);
+      dataOutStream.writeByte(DeleteDeltaBitmapCodec.BINARY_FORMAT_VERSION);
+      dataOutStream.writeUTF(deleteDeltaBlockDetails.getBlockName());
+      List<DeleteDeltaBlockletDetails> blockletDetails =
+          deleteDeltaBlockDetails.getBlockletDetails();
+      dataOutStream.writeInt(blockletDetails.size());
+      for (DeleteDeltaBlockletDetails blocklet : blockletDetails) {
+        dataOutStream.writeUTF(blocklet.getId());
+        dataOutStream.writeInt(null == blocklet.getPageId() ? -1 : blocklet.getPageId());
+        BitSet deletedRows = new BitSet();
+        for (Integer row : blocklet.getDeletedRows()) {
+          deletedRows.set(row);
+        }
+        DeleteDeltaBitmapCodec.write(deletedRows, dataOutStream);
+      }
+      dataOutStream.flush();
+    } catch (IOException ioe) {
+      LOGGER.error("Error message: " + ioe.getLocalizedMessage());
+      throw ioe;
+    } finally {
+      if (null != dataOutStream) {
+        dataOutStream.close();
+      }
+    }
+  }
 }
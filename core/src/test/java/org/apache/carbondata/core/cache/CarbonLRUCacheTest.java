@@ -22,7 +22,9 @@ import org.junit.AfterClass;
 import org.junit.BeforeClass;
 import org.junit.Test;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 
@@ -67,6 +69,50 @@ public class CarbonLRUCacheTest {
     assertFalse(carbonLRUCacheForConfig.put("Column2", cacheable, 107374182400L));//100GB
   }
 
+  @Test public void testLeastRecentlyUsedEntryIsEvictedAcrossSegments() {
+    final long entrySize = 400 * 1024L;
+    Cacheable largeCacheable = new MockUp<Cacheable>() {
+      @SuppressWarnings("unused") @Mock long getMemorySize() {
+        return entrySize;
+      }
+    }.getMockInstance();
+    CarbonLRUCache lruCache = new CarbonLRUCache("prop3", "1");
+    assertTrue(lruCache.put("Block1", largeCacheable, entrySize));
+    assertTrue(lruCache.put("Block2", largeCacheable, entrySize));
+    // access Block1 so that Block2 becomes least recently used
+    assertNotNull(lruCache.get("Block1"));
+    assertTrue(lruCache.put("Block3", largeCacheable, entrySize));
+    assertNull(lruCache.get("Block2"));
+    assertNotNull(lruCache.get("Block1"));
+    assertNotNull(lruCache.get("Block3"));
+    assertEquals(2, lruCache.getCacheMap().size());
+    assertEquals(2 * entrySize, lruCache.getCurrentSize());
+    lruCache.clear();
+    assertEquals(0, lruCache.getCurrentSize());
+  }
+
+  @Test public void testPutOfPresentKeyIsNotCountedAgain() {
+    final long entrySize = 400 * 1024L;
+    Cacheable largeCacheable = new MockUp<Cacheable>() {
+      @SuppressWarnings("unused") @Mock long getMemorySize() {
+        return entrySize;
+      }
+    }.getMockInstance();
+    Cacheable otherCacheable = new MockUp<Cacheable>() {
+      @SuppressWarnings("unused") @Mock long getMemorySize() {
+        return entrySize;
+      }
+    }.getMockInstance();
+    CarbonLRUCache lruCache = new CarbonLRUCache("prop4", "1");
+    assertTrue(lruCache.put("Block1", largeCacheable, entrySize));
+    assertTrue(lruCache.put("Block1", otherCacheable, entrySize));
+    // the present entry is kept
+    assertTrue(lruCache.get("Block1") == largeCacheable);
+    assertEquals(entrySize, lruCache.getCurrentSize());
+    lruCache.remove("Block1");
+    assertEquals(0, lruCache.getCurrentSize());
+  }
+
   @AfterClass public static void cleanUp() {
     carbonLRUCache.clear();
     assertNull(carbonLRUCache.get("Column1"));
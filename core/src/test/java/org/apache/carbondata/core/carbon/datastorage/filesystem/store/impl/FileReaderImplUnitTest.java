@@ -21,8 +21,17 @@ import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.OutputStreamWriter;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
+import org.apache.carbondata.core.constants.CarbonCommonConstants;
 import org.apache.carbondata.core.datastore.impl.FileReaderImpl;
+import org.apache.carbondata.core.util.CarbonProperties;
 
 import mockit.Mock;
 import mockit.MockUp;
@@ -151,4 +160,113 @@ public class FileReaderImplUnitTest {
 
   }
 
+  @Test public void testConcurrentReadWithOffset() throws Exception {
+    final FileReaderImpl reader = new FileReaderImpl();
+    final byte[] content = "Hello World".getBytes("UTF-8");
+    ExecutorService executorService = Executors.newFixedThreadPool(4);
+    List<Future<Boolean>> results = new ArrayList<>();
+    for (int i = 0; i < 100; i++) {
+      final int offset = i % (content.length - 2);
+      results.add(executorService.submit(new Callable<Boolean>() {
+        @Override public Boolean call() throws IOException {
+          byte[] bytes = reader.readByteArray(fileName, offset, 3);
+          return bytes[0] == content[offset] && bytes[1] == content[offset + 1]
+              && bytes[2] == content[offset + 2];
+        }
+      }));
+    }
+    for (Future<Boolean> result : results) {
+      assertThat(result.get(), is(equalTo(true)));
+    }
+    executorService.shutdown();
+    reader.finish();
+  }
+
+  @Test public void testReadByteBuffers() throws IOException {
+    // "Hello World", ranges are not in order and the ranges near to each other are merged
+    ByteBuffer[] buffers = fileHolder
+        .readByteBuffers(fileName, new long[] { 6L, 0L, 2L }, new int[] { 5, 2, 3 });
+    assertThat(buffers.length, is(equalTo(3)));
+    assertThat(readString(buffers[0]), is(equalTo("World")));
+    assertThat(readString(buffers[1]), is(equalTo("He")));
+    assertThat(readString(buffers[2]), is(equalTo("llo")));
+    assertThat(buffers[0].array() == buffers[1].array(), is(equalTo(true)));
+  }
+
+  private static String readString(ByteBuffer buffer) {
+    return new String(buffer.array(), buffer.position(), buffer.remaining());
+  }
+
+  @Test public void testReadWithMemoryMap() throws IOException {
+    CarbonProperties.getInstance()
+        .addProperty(CarbonCommonConstants.CARBON_LOCAL_FILE_MEMORY_MAP_ENABLE, "true");
+    FileReaderImpl reader = new FileReaderImpl();
+    try {
+      assertThat(reader.readByteArray(fileName, 2L, 2), is(equalTo(new byte[] { 108, 108 })));
+      assertThat(reader.readInt(fileName, 1L), is(equalTo(1701604463)));
+      assertThat(reader.readLong(fileName, 1L), is(equalTo(7308335519855243122L)));
+      // read beyond the file end is done from file channel
+      assertThat(reader.readByteArray(fileName, 10L, 2), is(equalTo(new byte[] { 100, 0 })));
+      // buffer is the slice of the mapped file, data is not copied to heap
+      ByteBuffer buffer = reader.readByteBuffer(fileName, 6L, 5);
+      assertThat(buffer.hasArray(), is(equalTo(false)));
+      assertThat(buffer.isDirect(), is(equalTo(true)));
+      assertThat(readDirectString(buffer), is(equalTo("World")));
+      ByteBuffer[] buffers =
+          reader.readByteBuffers(fileName, new long[] { 6L, 0L }, new int[] { 5, 2 });
+      assertThat(readDirectString(buffers[0]), is(equalTo("World")));
+      assertThat(readDirectString(buffers[1]), is(equalTo("He")));
+    } finally {
+      reader.finish();
+      CarbonProperties.getInstance()
+          .addProperty(CarbonCommonConstants.CARBON_LOCAL_FILE_MEMORY_MAP_ENABLE,
+              CarbonCommonConstants.CARBON_LOCAL_FILE_MEMORY_MAP_ENABLE_DEFAULT);
+    }
+  }
+
+  @Test public void testMemoryMapSharedByReaders() throws IOException {
+    CarbonProperties.getInstance()
+        .addProperty(CarbonCommonConstants.CARBON_LOCAL_FILE_MEMORY_MAP_ENABLE, "true");
+    File sharedFile = new File("TestMemoryMap.carbondata");
+    String sharedFileName = sharedFile.getAbsolutePath();
+    try {
+      writeFile(sharedFile, "Hello World");
+      FileReaderImpl reader = new FileReaderImpl();
+      assertThat(readDirectString(reader.readByteBuffer(sharedFileName, 0L, 5)),
+          is(equalTo("Hello")));
+      // mapping is valid after the reader which mapped it is finished
+      reader.finish();
+      FileReaderImpl otherReader = new FileReaderImpl();
+      assertThat(readDirectString(otherReader.readByteBuffer(sharedFileName, 6L, 5)),
+          is(equalTo("World")));
+      otherReader.finish();
+      // mapping of the file written again with other size is not used
+      writeFile(sharedFile, "Hello Carbon");
+      FileReaderImpl newReader = new FileReaderImpl();
+      assertThat(readDirectString(newReader.readByteBuffer(sharedFileName, 6L, 6)),
+          is(equalTo("Carbon")));
+      newReader.finish();
+    } finally {
+      sharedFile.delete();
+      CarbonProperties.getInstance()
+          .addProperty(CarbonCommonConstants.CARBON_LOCAL_FILE_MEMORY_MAP_ENABLE,
+              CarbonCommonConstants.CARBON_LOCAL_FILE_MEMORY_MAP_ENABLE_DEFAULT);
+    }
+  }
+
+  private static void writeFile(File file, String content) throws IOException {
+    FileOutputStream stream = new FileOutputStream(file);
+    try {
+      stream.write(content.getBytes("UTF-8"));
+    } finally {
+      stream.close();
+    }
+  }
+
+  private static String readDirectString(ByteBuffer buffer) throws IOException {
+    byte[] data = new byte[buffer.remaining()];
+    buffer.duplicate().get(data);
+    return new String(data, "UTF-8");
+  }
+
 }
@@ -0,0 +1,137 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.core.datamap;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class DataMapPruneExecutorTest {
+
+  private static AtomicIntegerArray pruneAll(int numberOfTasks, int numOfThreads)
+      throws IOException {
+    final AtomicIntegerArray pruned = new AtomicIntegerArray(numberOfTasks);
+    DataMapPruneExecutor.execute(numberOfTasks, numOfThreads,
+        new DataMapPruneExecutor.PruneTask() {
+          @Override public void prune(int index) {
+            pruned.incrementAndGet(index);
+          }
+        });
+    return pruned;
+  }
+
+  @Test public void testEachTaskIsPrunedOnce() throws IOException {
+    AtomicIntegerArray pruned = pruneAll(1000, 4);
+    for (int i = 0; i < pruned.length(); i++) {
+      assertEquals(1, pruned.get(i));
+    }
+    // less tasks than threads
+    pruned = pruneAll(2, 4);
+    assertEquals(1, pruned.get(0));
+    assertEquals(1, pruned.get(1));
+  }
+
+  @Test public void testConcurrentQueriesShareThePool() throws Exception {
+    ExecutorService queries = Executors.newFixedThreadPool(8);
+    List<Future<AtomicIntegerArray>> results = new ArrayList<>();
+    for (int i = 0; i < 8; i++) {
+      results.add(queries.submit(new Callable<AtomicIntegerArray>() {
+        @Override public AtomicIntegerArray call() throws IOException {
+          return pruneAll(500, 4);
+        }
+      }));
+    }
+    for (Future<AtomicIntegerArray> result : results) {
+      AtomicIntegerArray pruned = result.get();
+      for (int i = 0; i < pruned.length(); i++) {
+        assertEquals(1, pruned.get(i));
+      }
+    }
+    queries.shutdown();
+  }
+
+  @Test public void testFailureIsThrownToQuery() {
+    try {
+      DataMapPruneExecutor.execute(100, 4, new DataMapPruneExecutor.PruneTask() {
+        @Override public void prune(int index) throws IOException {
+          if (index == 10) {
+            throw new IOException("failed to read index file");
+          }
+        }
+      });
+      fail("prune failure should be thrown");
+    } catch (IOException e) {
+      assertEquals("failed to read index file", e.getMessage());
+    }
+  }
+
+  @Test public void testRemainingTasksAreSkippedAfterFailure() {
+    final AtomicIntegerArray pruned = new AtomicIntegerArray(100);
+    try {
+      DataMapPruneExecutor.execute(100, 1, new DataMapPruneExecutor.PruneTask() {
+        @Override public void prune(int index) throws IOException {
+          pruned.incrementAndGet(index);
+          if (index == 10) {
+            throw new IOException("failed to read index file");
+          }
+        }
+      });
+      fail("prune failure should be thrown");
+    } catch (IOException e) {
+      assertEquals("failed to read index file", e.getMessage());
+    }
+    for (int i = 11; i < pruned.length(); i++) {
+      assertEquals(0, pruned.get(i));
+    }
+  }
+
+  @Test public void testCancelledQueryStopsPruning() {
+    final AtomicIntegerArray pruned = new AtomicIntegerArray(100);
+    try {
+      DataMapPruneExecutor.execute(100, 1, new DataMapPruneExecutor.PruneTask() {
+        @Override public void prune(int index) {
+          pruned.incrementAndGet(index);
+          if (index == 10) {
+            // query is cancelled while pruning
+            Thread.currentThread().interrupt();
+          }
+        }
+      });
+      fail("cancelled pruning should be thrown");
+    } catch (Exception e) {
+      assertTrue(e.getCause() instanceof InterruptedException);
+    } finally {
+      // clear the interrupt status for the other tests
+      Thread.interrupted();
+    }
+    for (int i = 11; i < pruned.length(); i++) {
+      assertEquals(0, pruned.get(i));
+    }
+  }
+}
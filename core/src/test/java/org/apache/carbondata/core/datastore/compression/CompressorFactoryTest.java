@@ -0,0 +1,75 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.core.datastore.compression;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class CompressorFactoryTest {
+
+  private static byte[] newData() {
+    byte[] data = new byte[10000];
+    for (int i = 0; i < data.length; i++) {
+      data[i] = (byte) (i % 13);
+    }
+    return data;
+  }
+
+  @Test public void testLz4Compressor() {
+    Compressor compressor = CompressorFactory.getInstance().getCompressor("LZ4");
+    Assert.assertEquals("lz4", compressor.getName());
+    byte[] data = newData();
+    byte[] compressed = compressor.compressByte(data);
+    Assert.assertTrue(compressed.length < data.length);
+    Assert.assertArrayEquals(data, compressor.unCompressByte(compressed));
+    // compressed data in the middle of the array, uncompressed to the reusable buffer
+    byte[] input = new byte[compressed.length + 6];
+    System.arraycopy(compressed, 0, input, 3, compressed.length);
+    Assert.assertEquals(data.length, compressor.unCompressedLength(input, 3, compressed.length));
+    byte[] output = new byte[data.length + 100];
+    compressor.rawUncompress(input, 3, compressed.length, output);
+    for (int i = 0; i < data.length; i++) {
+      Assert.assertEquals(data[i], output[i]);
+    }
+    long[] longs = new long[] { Long.MIN_VALUE, -1L, 0L, 12345L, Long.MAX_VALUE };
+    byte[] compressedLongs = compressor.compressLong(longs);
+    Assert.assertArrayEquals(longs,
+        compressor.unCompressLong(compressedLongs, 0, compressedLongs.length));
+  }
+
+  @Test public void testZstdCompressorWithLevel() {
+    Compressor compressor = CompressorFactory.getInstance().getCompressor("zstd:19");
+    Assert.assertSame(compressor, CompressorFactory.getInstance().getCompressor("ZSTD:19"));
+    // level is not part of the name written to the file
+    Assert.assertEquals("zstd", compressor.getName());
+    byte[] data = newData();
+    byte[] compressed = compressor.compressByte(data);
+    Assert.assertArrayEquals(data,
+        CompressorFactory.getInstance().getCompressor("zstd").unCompressByte(compressed));
+  }
+
+  @Test(expected = UnsupportedOperationException.class)
+  public void testInvalidZstdLevel() {
+    CompressorFactory.getInstance().getCompressor("zstd:30");
+  }
+
+  @Test(expected = UnsupportedOperationException.class)
+  public void testLevelForUnsupportedCompressor() {
+    CompressorFactory.getInstance().getCompressor("snappy:3");
+  }
+}
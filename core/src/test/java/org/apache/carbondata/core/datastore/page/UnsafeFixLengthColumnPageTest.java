@@ -0,0 +1,109 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.core.datastore.page;
+
+import java.io.IOException;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+
+import org.apache.carbondata.core.datastore.ColumnType;
+import org.apache.carbondata.core.datastore.TableSpec;
+import org.apache.carbondata.core.datastore.compression.AbstractCompressor;
+import org.apache.carbondata.core.datastore.compression.Compressor;
+import org.apache.carbondata.core.datastore.compression.CompressorFactory;
+import org.apache.carbondata.core.datastore.page.encoding.ColumnPageEncoderMeta;
+import org.apache.carbondata.core.memory.MemoryException;
+import org.apache.carbondata.core.memory.UnsafeMemoryManager;
+import org.apache.carbondata.core.metadata.datatype.DataType;
+import org.apache.carbondata.core.metadata.datatype.DataTypes;
+
+import org.junit.Assert;
+import org.junit.Assume;
+import org.junit.Test;
+
+public class UnsafeFixLengthColumnPageTest {
+
+  private static ColumnPageEncoderMeta newMeta(DataType dataType) {
+    return new ColumnPageEncoderMeta(
+        TableSpec.ColumnSpec.newInstance("test", dataType, ColumnType.MEASURE), dataType,
+        "snappy");
+  }
+
+  @Test public void testRawCompressIsSameAsArrayCompress() throws MemoryException, IOException {
+    Compressor compressor = CompressorFactory.getInstance().getCompressor("snappy");
+    Assume.assumeTrue(UnsafeMemoryManager.isOffHeap());
+    ColumnPage page = new UnsafeFixLengthColumnPage(newMeta(DataTypes.LONG), 1000);
+    long[] values = new long[1000];
+    for (int i = 0; i < values.length; i++) {
+      values[i] = i % 7 == 0 ? -i : i * 31L;
+      page.putLong(i, values[i]);
+    }
+    try {
+      Assert.assertArrayEquals(compressor.compressLong(values), page.compress(compressor));
+    } finally {
+      page.freeMemory();
+    }
+  }
+
+  @Test public void testRawDecompress() throws MemoryException {
+    AbstractCompressor compressor =
+        (AbstractCompressor) CompressorFactory.getInstance().getCompressor("snappy");
+    Assume.assumeTrue(
+        UnsafeFixLengthColumnPage.isRawUncompressSupported(DataTypes.INT, compressor));
+    int[] values = new int[1000];
+    for (int i = 0; i < values.length; i++) {
+      values[i] = i * 17 - 500;
+    }
+    byte[] compressed = compressor.compressInt(values);
+    // compressed data in the middle of the array, like the data read from the file
+    byte[] data = new byte[compressed.length + 10];
+    System.arraycopy(compressed, 0, data, 5, compressed.length);
+    ColumnPage page = UnsafeFixLengthColumnPage
+        .decompress(newMeta(DataTypes.INT), compressor, data, 5, compressed.length);
+    try {
+      Assert.assertEquals(values.length * 4, page.getPageLengthInBytes());
+      for (int i = 0; i < values.length; i++) {
+        Assert.assertEquals(values[i], page.getInt(i));
+      }
+      Assert.assertArrayEquals(values, page.getIntPage());
+    } finally {
+      page.freeMemory();
+    }
+  }
+
+  @Test public void testRawDecompressNotUsedForCompressorInterface() {
+    final Compressor snappy = CompressorFactory.getInstance().getCompressor("snappy");
+    Assume.assumeTrue(UnsafeFixLengthColumnPage.isRawUncompressSupported(DataTypes.INT, snappy));
+    // a custom compressor implementing only the interface, it does not have the address based
+    // uncompress even if it supports unsafe compress
+    Compressor customCompressor = (Compressor) Proxy.newProxyInstance(
+        Compressor.class.getClassLoader(), new Class<?>[] { Compressor.class },
+        new InvocationHandler() {
+          @Override
+          public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            return method.invoke(snappy, args);
+          }
+        });
+    Assert.assertTrue(customCompressor.supportUnsafe());
+    Assert.assertTrue(
+        UnsafeFixLengthColumnPage.isRawCompressSupported(DataTypes.INT, customCompressor));
+    Assert.assertFalse(
+        UnsafeFixLengthColumnPage.isRawUncompressSupported(DataTypes.INT, customCompressor));
+  }
+}
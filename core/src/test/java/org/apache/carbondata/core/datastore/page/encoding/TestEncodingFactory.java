@@ -20,6 +20,7 @@ package org.apache.carbondata.core.datastore.page.encoding;
 import org.apache.carbondata.core.datastore.TableSpec;
 import org.apache.carbondata.core.datastore.page.encoding.adaptive.AdaptiveDeltaIntegralCodec;
 import org.apache.carbondata.core.datastore.page.encoding.adaptive.AdaptiveIntegralCodec;
+import org.apache.carbondata.core.datastore.page.encoding.bitpacking.BitPackingIntegralCodec;
 import org.apache.carbondata.core.datastore.page.encoding.compress.DirectCompressCodec;
 import org.apache.carbondata.core.datastore.page.statistics.PrimitivePageStatsCollector;
 import org.apache.carbondata.core.metadata.datatype.DataTypes;
@@ -90,4 +91,55 @@ public class TestEncodingFactory extends TestCase {
     assert (columnPageCodec instanceof DirectCompressCodec);
     assert ("DirectCompressCodec".equals(columnPageCodec.getName()));
   }
+
+  @Test public void testSelectBitPackingOnlyWhenSmaller() {
+    PrimitivePageStatsCollector primitivePageStatsCollector =
+        PrimitivePageStatsCollector.newInstance(DataTypes.LONG);
+    // 10 bits are enough for the range, adaptive needs 2 bytes
+    primitivePageStatsCollector.update(0L);
+    primitivePageStatsCollector.update(1000L);
+    ColumnPageCodec columnPageCodec = DefaultEncodingFactory
+        .selectCodecByAlgorithmForIntegralMeasure(primitivePageStatsCollector, 32000, null);
+    assert (columnPageCodec instanceof BitPackingIntegralCodec);
+    // for very small page, the header of bit packing is bigger than the saving
+    columnPageCodec = DefaultEncodingFactory
+        .selectCodecByAlgorithmForIntegralMeasure(primitivePageStatsCollector, 4, null);
+    assert (columnPageCodec instanceof AdaptiveIntegralCodec);
+    assert (DataTypes.SHORT == ((AdaptiveIntegralCodec) columnPageCodec).getTargetDataType());
+
+    // 8 bits are required for the range, same as adaptive to byte
+    primitivePageStatsCollector = PrimitivePageStatsCollector.newInstance(DataTypes.LONG);
+    primitivePageStatsCollector.update((long) Byte.MIN_VALUE);
+    primitivePageStatsCollector.update((long) Byte.MAX_VALUE);
+    columnPageCodec = DefaultEncodingFactory
+        .selectCodecByAlgorithmForIntegralMeasure(primitivePageStatsCollector, 32000, null);
+    assert (columnPageCodec instanceof AdaptiveIntegralCodec);
+    assert (DataTypes.BYTE == ((AdaptiveIntegralCodec) columnPageCodec).getTargetDataType());
+
+    // 20 bits are required for the range, delta adaptive to 3 bytes is smaller for small page
+    primitivePageStatsCollector = PrimitivePageStatsCollector.newInstance(DataTypes.LONG);
+    primitivePageStatsCollector.update(Long.MAX_VALUE - 1000000);
+    primitivePageStatsCollector.update(Long.MAX_VALUE);
+    columnPageCodec = DefaultEncodingFactory
+        .selectCodecByAlgorithmForIntegralMeasure(primitivePageStatsCollector, 32000, null);
+    assert (columnPageCodec instanceof BitPackingIntegralCodec);
+    columnPageCodec = DefaultEncodingFactory
+        .selectCodecByAlgorithmForIntegralMeasure(primitivePageStatsCollector, 4, null);
+    assert (columnPageCodec instanceof AdaptiveDeltaIntegralCodec);
+    assert (DataTypes.SHORT_INT
+        == ((AdaptiveDeltaIntegralCodec) columnPageCodec).getTargetDataType());
+
+    // full range of long can not be reduced by any codec
+    primitivePageStatsCollector.update(Long.MIN_VALUE);
+    columnPageCodec = DefaultEncodingFactory
+        .selectCodecByAlgorithmForIntegralMeasure(primitivePageStatsCollector, 32000, null);
+    assert (columnPageCodec instanceof DirectCompressCodec);
+
+    // same value in all rows needs no bits
+    primitivePageStatsCollector = PrimitivePageStatsCollector.newInstance(DataTypes.INT);
+    primitivePageStatsCollector.update(5);
+    columnPageCodec = DefaultEncodingFactory
+        .selectCodecByAlgorithmForIntegralMeasure(primitivePageStatsCollector, 32000, null);
+    assert (columnPageCodec instanceof BitPackingIntegralCodec);
+  }
 }
@@ -0,0 +1,121 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.core.datastore.page.encoding.bitpacking;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Random;
+
+import org.apache.carbondata.core.datastore.ColumnType;
+import org.apache.carbondata.core.datastore.TableSpec;
+import org.apache.carbondata.core.datastore.page.ColumnPage;
+import org.apache.carbondata.core.datastore.page.encoding.ColumnPageDecoder;
+import org.apache.carbondata.core.datastore.page.encoding.ColumnPageEncoderMeta;
+import org.apache.carbondata.core.datastore.page.encoding.EncodedColumnPage;
+import org.apache.carbondata.core.datastore.page.statistics.PrimitivePageStatsCollector;
+import org.apache.carbondata.core.memory.MemoryException;
+import org.apache.carbondata.core.metadata.datatype.DataType;
+import org.apache.carbondata.core.metadata.datatype.DataTypes;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class BitPackingIntegralCodecTest {
+
+  private static long[] roundTrip(long[] values) {
+    return BitPackingIntegralCodec.decode(ByteBuffer.wrap(BitPackingIntegralCodec.encode(values)));
+  }
+
+  @Test public void testRandomValues() {
+    Random random = new Random(1);
+    for (int i = 0; i < 1000; i++) {
+      long[] values = new long[random.nextInt(100)];
+      long base = random.nextLong();
+      int bits = 1 + random.nextInt(63);
+      for (int j = 0; j < values.length; j++) {
+        values[j] = base + (random.nextLong() >>> (64 - bits));
+      }
+      assertArrayEquals(values, roundTrip(values));
+    }
+  }
+
+  @Test public void testExtremeValues() {
+    long[] values = new long[] { Long.MIN_VALUE, Long.MAX_VALUE, 0, -1, Long.MAX_VALUE };
+    assertArrayEquals(values, roundTrip(values));
+    assertArrayEquals(new long[0], roundTrip(new long[0]));
+    assertArrayEquals(new long[] { 7 }, roundTrip(new long[] { 7 }));
+  }
+
+  @Test public void testRegularIntervalValuesUseDeltaOfDelta() {
+    long[] values = new long[32000];
+    for (int i = 0; i < values.length; i++) {
+      values[i] = 1500000000000L + i * 1000L;
+    }
+    byte[] encoded = BitPackingIntegralCodec.encode(values);
+    // all the delta of delta are 0, so no bits are required for the values
+    assertTrue(encoded.length < 64);
+    assertArrayEquals(values, roundTrip(values));
+  }
+
+  /**
+   * value of row i in the page of the data type, it is boxed as the data type for putData
+   */
+  private static Object getValue(DataType dataType, int i) {
+    if (dataType == DataTypes.BYTE) {
+      return (byte) (i % 100 - 50);
+    } else if (dataType == DataTypes.SHORT) {
+      return (short) (-1000 + i * 3 % 17);
+    } else if (dataType == DataTypes.INT) {
+      return 100000 + i * 3 % 17;
+    } else {
+      return 1500000000000L + i * 1000L;
+    }
+  }
+
+  @Test public void testEncodeAndDecodePage() throws IOException, MemoryException {
+    DataType[] dataTypes =
+        new DataType[] { DataTypes.BYTE, DataTypes.SHORT, DataTypes.INT, DataTypes.LONG };
+    for (DataType dataType : dataTypes) {
+      TableSpec.ColumnSpec spec =
+          TableSpec.ColumnSpec.newInstance("test", dataType, ColumnType.MEASURE);
+      ColumnPage page = ColumnPage
+          .newPage(new ColumnPageEncoderMeta(spec, dataType, "snappy"), 1000);
+      page.setStatsCollector(PrimitivePageStatsCollector.newInstance(dataType));
+      for (int i = 0; i < 1000; i++) {
+        page.putData(i, getValue(dataType, i));
+      }
+      BitPackingIntegralCodec codec = new BitPackingIntegralCodec(dataType);
+      EncodedColumnPage encodedPage = codec.createEncoder(null).encode(page);
+      byte[] encoded = encodedPage.getEncodedData().array();
+      ColumnPageDecoder decoder = codec.createDecoder(
+          new ColumnPageEncoderMeta(spec, dataType, page.getStatistics(), "snappy"));
+      ColumnPage decodedPage = decoder.decode(encoded, 0, encoded.length);
+      // row based readers and filters read integral measures by getLong and getDouble
+      for (int i = 0; i < 1000; i++) {
+        long expected = ((Number) getValue(dataType, i)).longValue();
+        assertEquals(expected, decodedPage.getLong(i));
+        assertEquals((double) expected, decodedPage.getDouble(i), 0);
+      }
+      page.freeMemory();
+      decodedPage.freeMemory();
+    }
+  }
+}
@@ -0,0 +1,82 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.core.metadata;
+
+import java.io.File;
+import java.io.IOException;
+
+import org.apache.carbondata.core.constants.CarbonCommonConstants;
+import org.apache.carbondata.core.statusmanager.LoadMetadataDetails;
+import org.apache.carbondata.core.statusmanager.SegmentStatus;
+import org.apache.carbondata.core.statusmanager.SegmentStatusManager;
+import org.apache.carbondata.core.util.CarbonProperties;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class MetadataFileCacheTest {
+
+  private File tableStatusFile;
+
+  @Before public void setUp() throws IOException {
+    CarbonProperties.getInstance()
+        .addProperty(CarbonCommonConstants.CARBON_METADATA_FILE_CACHE_ENABLE, "true");
+    tableStatusFile = File.createTempFile("tablestatus", "");
+  }
+
+  @After public void tearDown() {
+    CarbonProperties.getInstance()
+        .addProperty(CarbonCommonConstants.CARBON_METADATA_FILE_CACHE_ENABLE,
+            CarbonCommonConstants.CARBON_METADATA_FILE_CACHE_ENABLE_DEFAULT);
+    tableStatusFile.delete();
+  }
+
+  @Test public void testCacheIsInvalidWhenFileIsModified() {
+    MetadataFileCache cache = MetadataFileCache.getInstance();
+    cache.put("/tmp/metadata", 100L, 10L, "content");
+    Assert.assertEquals("content", cache.<String>get("/tmp/metadata", 100L, 10L));
+    Assert.assertNull(cache.get("/tmp/metadata", 101L, 10L));
+    Assert.assertNull(cache.get("/tmp/metadata", 100L, 10L));
+    cache.put("/tmp/metadata", 100L, 10L, "content");
+    cache.invalidate("/tmp/metadata");
+    Assert.assertNull(cache.get("/tmp/metadata", 100L, 10L));
+  }
+
+  @Test public void testReadTableStatusFromCache() throws IOException {
+    String path = tableStatusFile.getAbsolutePath();
+    LoadMetadataDetails load = new LoadMetadataDetails();
+    load.setLoadName("0");
+    load.setSegmentStatus(SegmentStatus.SUCCESS);
+    SegmentStatusManager.writeLoadDetailsIntoFile(path, new LoadMetadataDetails[] { load });
+    LoadMetadataDetails[] details = SegmentStatusManager.readTableStatusFile(path);
+    Assert.assertEquals(1, details.length);
+    // modifying the returned details should not modify the cached details
+    details[0].setSegmentStatus(SegmentStatus.MARKED_FOR_DELETE);
+    details = SegmentStatusManager.readTableStatusFile(path);
+    Assert.assertEquals(SegmentStatus.SUCCESS, details[0].getSegmentStatus());
+
+    LoadMetadataDetails newLoad = new LoadMetadataDetails();
+    newLoad.setLoadName("1");
+    newLoad.setSegmentStatus(SegmentStatus.SUCCESS);
+    SegmentStatusManager
+        .writeLoadDetailsIntoFile(path, new LoadMetadataDetails[] { load, newLoad });
+    Assert.assertEquals(2, SegmentStatusManager.readTableStatusFile(path).length);
+  }
+}
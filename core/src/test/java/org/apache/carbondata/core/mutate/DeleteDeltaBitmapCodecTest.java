@@ -0,0 +1,89 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.core.mutate;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.BitSet;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class DeleteDeltaBitmapCodecTest {
+
+  private static byte[] write(BitSet rows) throws IOException {
+    ByteArrayOutputStream stream = new ByteArrayOutputStream();
+    DeleteDeltaBitmapCodec.write(rows, new DataOutputStream(stream));
+    return stream.toByteArray();
+  }
+
+  private static BitSet read(byte[] data) throws IOException {
+    BitSet rows = new BitSet();
+    DeleteDeltaBitmapCodec.read(new DataInputStream(new ByteArrayInputStream(data)), rows);
+    return rows;
+  }
+
+  @Test public void testSparseRows() throws IOException {
+    BitSet rows = new BitSet();
+    rows.set(3);
+    rows.set(1000);
+    rows.set(31999);
+    byte[] data = write(rows);
+    // array container: 4 bytes count, 2 bytes key, 1 byte type, 2 bytes size, 2 bytes per row
+    Assert.assertEquals(4 + 2 + 1 + 2 + 3 * 2, data.length);
+    Assert.assertEquals(rows, read(data));
+  }
+
+  @Test public void testContinuousRows() throws IOException {
+    BitSet rows = new BitSet();
+    rows.set(0, 20000);
+    rows.set(25000, 32000);
+    byte[] data = write(rows);
+    // run container: 4 bytes for each run
+    Assert.assertEquals(4 + 2 + 1 + 2 + 2 * 4, data.length);
+    Assert.assertEquals(rows, read(data));
+  }
+
+  @Test public void testDenseRows() throws IOException {
+    BitSet rows = new BitSet();
+    for (int i = 0; i < 32000; i += 3) {
+      rows.set(i);
+    }
+    byte[] data = write(rows);
+    // bitmap container: 8 bytes for every 64 rows
+    Assert.assertEquals(4 + 2 + 1 + 2 + 500 * 8, data.length);
+    Assert.assertEquals(rows, read(data));
+  }
+
+  @Test public void testRowsInMultipleChunks() throws IOException {
+    BitSet rows = new BitSet();
+    rows.set(5);
+    rows.set(65535, 65540);
+    rows.set(200000);
+    BitSet result = new BitSet();
+    result.set(7);
+    DeleteDeltaBitmapCodec
+        .read(new DataInputStream(new ByteArrayInputStream(write(rows))), result);
+    rows.set(7);
+    Assert.assertEquals(rows, result);
+    Assert.assertEquals(new BitSet(), read(write(new BitSet())));
+  }
+}
@@ -17,6 +17,7 @@
 package org.apache.carbondata.core.scan.filter;
 
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.List;
 import java.util.UUID;
 
@@ -41,6 +42,7 @@ import org.apache.carbondata.core.scan.expression.exception.FilterUnsupportedExc
 import org.apache.carbondata.core.scan.expression.logical.AndExpression;
 import org.apache.carbondata.core.scan.expression.logical.TrueExpression;
 import org.apache.carbondata.core.scan.filter.intf.RowImpl;
+import org.apache.carbondata.core.scan.result.vector.impl.CarbonDictionaryImpl;
 import org.apache.carbondata.core.util.BitSetGroup;
 
 import mockit.Mock;
@@ -441,4 +443,22 @@ public class FilterUtilTest extends AbstractDictionaryCacheTest {
     // after removing the right node instance of right node should be of true expression
     assert (((AndExpression) expression).getRight() instanceof InExpression);
   }
+
+  @Test public void testGetLocalDictionaryFilterKeys() {
+    byte[][] dictionaryValues = new byte[][] { null, CarbonCommonConstants.MEMBER_DEFAULT_VAL_ARRAY,
+        "a".getBytes(), "b".getBytes(), "c".getBytes() };
+    CarbonDictionaryImpl dictionary =
+        new CarbonDictionaryImpl(dictionaryValues, dictionaryValues.length - 1);
+    byte[][] filterValues = new byte[][] { "c".getBytes(), "b".getBytes(), "x".getBytes() };
+    BitSet filterKeys = FilterUtil.getLocalDictionaryFilterKeys(dictionary, filterValues);
+    BitSet expected = new BitSet();
+    expected.set(3);
+    expected.set(4);
+    assertEquals(expected, filterKeys);
+    byte[][] encodedFilterValues = FilterUtil.getEncodedFilterValues(dictionary, filterValues);
+    assertEquals(2, encodedFilterValues.length);
+    assertArrayEquals(FilterUtil.getEncodedFilterValues(filterKeys), encodedFilterValues);
+    assertTrue(FilterUtil
+        .getLocalDictionaryFilterKeys(dictionary, new byte[][] { "x".getBytes() }).isEmpty());
+  }
 }
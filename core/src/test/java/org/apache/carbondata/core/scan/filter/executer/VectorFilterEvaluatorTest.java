@@ -0,0 +1,179 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.carbondata.core.scan.filter.executer;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+
+import org.apache.carbondata.core.datastore.ColumnType;
+import org.apache.carbondata.core.datastore.TableSpec;
+import org.apache.carbondata.core.datastore.chunk.impl.MeasureRawColumnChunk;
+import org.apache.carbondata.core.datastore.page.ColumnPage;
+import org.apache.carbondata.core.datastore.page.encoding.ColumnPageEncoderMeta;
+import org.apache.carbondata.core.datastore.page.statistics.PrimitivePageStatsCollector;
+import org.apache.carbondata.core.memory.MemoryException;
+import org.apache.carbondata.core.metadata.datatype.DataType;
+import org.apache.carbondata.core.metadata.datatype.DataTypes;
+import org.apache.carbondata.core.scan.expression.ColumnExpression;
+import org.apache.carbondata.core.scan.expression.Expression;
+import org.apache.carbondata.core.scan.expression.LiteralExpression;
+import org.apache.carbondata.core.scan.expression.conditional.EqualToExpression;
+import org.apache.carbondata.core.scan.expression.conditional.GreaterThanExpression;
+import org.apache.carbondata.core.scan.expression.conditional.LessThanEqualToExpression;
+import org.apache.carbondata.core.scan.expression.conditional.NotEqualsExpression;
+import org.apache.carbondata.core.scan.expression.logical.AndExpression;
+import org.apache.carbondata.core.scan.expression.logical.OrExpression;
+import org.apache.carbondata.core.scan.filter.resolver.resolverinfo.MeasureColumnResolvedFilterInfo;
+import org.apache.carbondata.core.scan.processor.RawBlockletColumnChunks;
+
+import mockit.Invocation;
+import mockit.Mock;
+import mockit.MockUp;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+public class VectorFilterEvaluatorTest {
+
+  private static ColumnPage[] pages;
+
+  private static RawBlockletColumnChunks chunks;
+
+  @BeforeClass public static void setUp() throws MemoryException {
+    pages = new ColumnPage[3];
+    pages[0] = newPage(DataTypes.LONG, new Object[] { 1L, 5L, null, 10L, 7L });
+    pages[1] = newPage(DataTypes.LONG, new Object[] { 2L, 5L, 3L, 9L, null });
+    pages[2] = newPage(DataTypes.DOUBLE, new Object[] { 1.5, Double.NaN, 3.0, null, -1.0 });
+    chunks = RawBlockletColumnChunks.newInstance(0, pages.length, null, null);
+    for (int i = 0; i < pages.length; i++) {
+      chunks.getMeasureRawColumnChunks()[i] = new MeasureRawColumnChunk(i, null, 0, 0, null);
+    }
+    new MockUp<MeasureRawColumnChunk>() {
+      @Mock public ColumnPage decodeColumnPage(Invocation invocation, int pageNumber) {
+        MeasureRawColumnChunk chunk = invocation.getInvokedInstance();
+        return pages[chunk.getColumnIndex()];
+      }
+    };
+  }
+
+  private static ColumnPage newPage(DataType dataType, Object[] values) throws MemoryException {
+    ColumnPage page = ColumnPage.newPage(new ColumnPageEncoderMeta(
+        TableSpec.ColumnSpec.newInstance("test", dataType, ColumnType.MEASURE), dataType,
+        "snappy"), values.length);
+    page.setStatsCollector(PrimitivePageStatsCollector.newInstance(dataType));
+    for (int i = 0; i < values.length; i++) {
+      page.putData(i, values[i]);
+    }
+    return page;
+  }
+
+  private static ColumnExpression column(String name, DataType dataType, int colIndex) {
+    ColumnExpression column = new ColumnExpression(name, dataType);
+    column.setColIndex(colIndex);
+    return column;
+  }
+
+  private static List<MeasureColumnResolvedFilterInfo> measures(DataType... dataTypes) {
+    List<MeasureColumnResolvedFilterInfo> measures = new ArrayList<>();
+    for (int i = 0; i < dataTypes.length; i++) {
+      MeasureColumnResolvedFilterInfo info = new MeasureColumnResolvedFilterInfo();
+      info.setRowIndex(i);
+      info.setColumnIndex(i);
+      info.setType(dataTypes[i]);
+      measures.add(info);
+    }
+    return measures;
+  }
+
+  private static BitSet evaluate(Expression expression, DataType... dataTypes) {
+    VectorFilterEvaluator evaluator = VectorFilterEvaluator
+        .create(expression, measures(dataTypes), new boolean[] { true, true, true });
+    assertNotNull(evaluator);
+    return evaluator.evaluate(chunks, 0, 5);
+  }
+
+  private static BitSet bits(int... indexes) {
+    BitSet bitSet = new BitSet();
+    for (int index : indexes) {
+      bitSet.set(index);
+    }
+    return bitSet;
+  }
+
+  @Test public void testLongLiteralComparison() {
+    Expression expression = new GreaterThanExpression(column("a", DataTypes.LONG, 0),
+        new LiteralExpression(5L, DataTypes.LONG));
+    assertEquals(bits(3, 4), evaluate(expression, DataTypes.LONG));
+    // literal on left side
+    expression = new GreaterThanExpression(new LiteralExpression(5L, DataTypes.LONG),
+        column("a", DataTypes.LONG, 0));
+    assertEquals(bits(0), evaluate(expression, DataTypes.LONG));
+  }
+
+  @Test public void testColumnComparisonSkipsNulls() {
+    Expression expression = new LessThanEqualToExpression(column("a", DataTypes.LONG, 0),
+        column("b", DataTypes.LONG, 1));
+    assertEquals(bits(0, 1), evaluate(expression, DataTypes.LONG, DataTypes.LONG));
+  }
+
+  @Test public void testDoubleComparisonWithNaN() {
+    Expression expression = new EqualToExpression(column("c", DataTypes.DOUBLE, 0),
+        new LiteralExpression(Double.NaN, DataTypes.DOUBLE));
+    List<MeasureColumnResolvedFilterInfo> measures = measures(DataTypes.DOUBLE);
+    measures.get(0).setColumnIndex(2);
+    VectorFilterEvaluator evaluator =
+        VectorFilterEvaluator.create(expression, measures, new boolean[] { true });
+    assertEquals(bits(1), evaluator.evaluate(chunks, 0, 5));
+    expression = new NotEqualsExpression(column("c", DataTypes.DOUBLE, 0),
+        new LiteralExpression(3.0, DataTypes.DOUBLE));
+    evaluator = VectorFilterEvaluator.create(expression, measures, new boolean[] { true });
+    assertEquals(bits(0, 1, 4), evaluator.evaluate(chunks, 0, 5));
+  }
+
+  @Test public void testLogicalExpression() {
+    Expression greater = new GreaterThanExpression(column("a", DataTypes.LONG, 0),
+        new LiteralExpression(1L, DataTypes.LONG));
+    Expression equals = new EqualToExpression(column("b", DataTypes.LONG, 1),
+        new LiteralExpression(2L, DataTypes.LONG));
+    assertEquals(bits(0, 1, 3, 4),
+        evaluate(new OrExpression(greater, equals), DataTypes.LONG, DataTypes.LONG));
+    assertEquals(bits(),
+        evaluate(new AndExpression(greater, equals), DataTypes.LONG, DataTypes.LONG));
+  }
+
+  @Test public void testUnsupportedExpressionFallsBack() {
+    // different data types are evaluated row by row
+    Expression expression = new GreaterThanExpression(column("a", DataTypes.LONG, 0),
+        new LiteralExpression(5, DataTypes.INT));
+    assertNull(VectorFilterEvaluator
+        .create(expression, measures(DataTypes.LONG), new boolean[] { true }));
+    // null check is evaluated row by row
+    expression = new EqualToExpression(column("a", DataTypes.LONG, 0),
+        new LiteralExpression(null, DataTypes.LONG), true);
+    assertNull(VectorFilterEvaluator
+        .create(expression, measures(DataTypes.LONG), new boolean[] { true }));
+    // restructured measure is filled with default value
+    expression = new GreaterThanExpression(column("a", DataTypes.LONG, 0),
+        new LiteralExpression(5L, DataTypes.LONG));
+    assertNull(VectorFilterEvaluator
+        .create(expression, measures(DataTypes.LONG), new boolean[] { false }));
+  }
+}
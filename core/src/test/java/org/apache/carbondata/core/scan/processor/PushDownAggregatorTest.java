@@ -0,0 +1,131 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.core.scan.processor;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+
+import org.apache.carbondata.core.datastore.ColumnType;
+import org.apache.carbondata.core.datastore.TableSpec;
+import org.apache.carbondata.core.datastore.page.ColumnPage;
+import org.apache.carbondata.core.datastore.page.encoding.ColumnPageEncoderMeta;
+import org.apache.carbondata.core.datastore.page.statistics.PrimitivePageStatsCollector;
+import org.apache.carbondata.core.memory.MemoryException;
+import org.apache.carbondata.core.metadata.datatype.DataType;
+import org.apache.carbondata.core.metadata.datatype.DataTypes;
+import org.apache.carbondata.core.scan.model.PushDownAggregate;
+import org.apache.carbondata.core.scan.model.PushDownAggregate.AggregateType;
+import org.apache.carbondata.core.util.CarbonUtil;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class PushDownAggregatorTest {
+
+  private static PushDownAggregator newAggregator(DataType dataType) {
+    List<PushDownAggregate> aggregates = new ArrayList<>();
+    aggregates.add(new PushDownAggregate(AggregateType.COUNT_STAR, -1));
+    aggregates.add(new PushDownAggregate(AggregateType.COUNT, 0));
+    aggregates.add(new PushDownAggregate(AggregateType.SUM, 0));
+    aggregates.add(new PushDownAggregate(AggregateType.MIN, 0));
+    aggregates.add(new PushDownAggregate(AggregateType.MAX, 0));
+    return new PushDownAggregator(aggregates, new DataType[] { dataType });
+  }
+
+  private static ColumnPage newPage(DataType dataType, Object[] values) throws MemoryException {
+    TableSpec.ColumnSpec spec =
+        TableSpec.ColumnSpec.newInstance("test", dataType, ColumnType.MEASURE);
+    ColumnPage page = ColumnPage
+        .newPage(new ColumnPageEncoderMeta(spec, dataType, "snappy"), values.length);
+    page.setStatsCollector(PrimitivePageStatsCollector.newInstance(dataType));
+    for (int i = 0; i < values.length; i++) {
+      page.putData(i, values[i]);
+    }
+    return page;
+  }
+
+  private static void aggregatePage(PushDownAggregator aggregator, ColumnPage page,
+      int rowCount, BitSet selectedRows) {
+    aggregator.aggregateRowCount(null == selectedRows ? rowCount : selectedRows.cardinality());
+    for (int i = 0; i < aggregator.getNumberOfAggregates(); i++) {
+      aggregator.aggregatePage(i, page, rowCount, selectedRows);
+    }
+  }
+
+  @Test public void testAggregateLongPage() throws MemoryException {
+    ColumnPage page = newPage(DataTypes.LONG, new Object[] { 5L, null, -3L, 10L, 7L });
+    PushDownAggregator aggregator = newAggregator(DataTypes.LONG);
+    aggregatePage(aggregator, page, 5, null);
+    assertArrayEquals(new Object[] { 5L, 4L, 19L, -3L, 10L }, aggregator.getResult());
+
+    BitSet selectedRows = new BitSet();
+    selectedRows.set(0);
+    selectedRows.set(1);
+    selectedRows.set(4);
+    aggregator = newAggregator(DataTypes.LONG);
+    aggregatePage(aggregator, page, 5, selectedRows);
+    assertArrayEquals(new Object[] { 3L, 2L, 12L, 5L, 7L }, aggregator.getResult());
+    page.freeMemory();
+  }
+
+  @Test public void testAggregateDoublePage() throws MemoryException {
+    ColumnPage page = newPage(DataTypes.DOUBLE, new Object[] { 1.5d, 2.5d, null });
+    PushDownAggregator aggregator = newAggregator(DataTypes.DOUBLE);
+    aggregatePage(aggregator, page, 3, null);
+    aggregatePage(aggregator, page, 3, null);
+    assertArrayEquals(new Object[] { 6L, 4L, 8.0d, 1.5d, 2.5d }, aggregator.getResult());
+    page.freeMemory();
+  }
+
+  @Test public void testAggregateOnlyNullValues() throws MemoryException {
+    ColumnPage page = newPage(DataTypes.LONG, new Object[] { null, null });
+    PushDownAggregator aggregator = newAggregator(DataTypes.LONG);
+    aggregatePage(aggregator, page, 2, null);
+    assertArrayEquals(new Object[] { 2L, 0L, null, null, null }, aggregator.getResult());
+    page.freeMemory();
+  }
+
+  @Test public void testAggregatePageStatistics() {
+    PushDownAggregator aggregator = newAggregator(DataTypes.INT);
+    byte[] min = CarbonUtil.getValueAsBytes(DataTypes.INT, -4);
+    byte[] max = CarbonUtil.getValueAsBytes(DataTypes.INT, 9);
+    byte[] zero = CarbonUtil.getValueAsBytes(DataTypes.INT, 0);
+    // count and sum can not be computed from the statistics
+    assertFalse(aggregator.aggregatePageStatistics(1, min, max));
+    assertFalse(aggregator.aggregatePageStatistics(2, min, max));
+    assertTrue(aggregator.aggregatePageStatistics(3, min, max));
+    assertTrue(aggregator.aggregatePageStatistics(4, min, max));
+    // zero can be the null value, so page has to be decoded
+    assertFalse(aggregator.aggregatePageStatistics(3, zero, max));
+    assertFalse(aggregator.aggregatePageStatistics(4, min, zero));
+    assertArrayEquals(new Object[] { 0L, 0L, null, -4L, 9L }, aggregator.getResult());
+  }
+
+  @Test public void testAggregateDefaultValue() {
+    PushDownAggregator aggregator = newAggregator(DataTypes.INT);
+    aggregator.aggregateRowCount(3);
+    for (int i = 0; i < aggregator.getNumberOfAggregates(); i++) {
+      aggregator.aggregateDefaultValue(i, 4, 3);
+    }
+    assertArrayEquals(new Object[] { 3L, 3L, 12L, 4L, 4L }, aggregator.getResult());
+  }
+}
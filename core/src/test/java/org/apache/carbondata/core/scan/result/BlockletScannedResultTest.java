@@ -0,0 +1,102 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.carbondata.core.scan.result;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.apache.carbondata.core.datastore.ReusableDataBuffer;
+import org.apache.carbondata.core.datastore.chunk.DimensionColumnPage;
+import org.apache.carbondata.core.datastore.chunk.impl.DimensionRawColumnChunk;
+import org.apache.carbondata.core.datastore.chunk.impl.MeasureRawColumnChunk;
+import org.apache.carbondata.core.datastore.page.ColumnPage;
+import org.apache.carbondata.core.scan.executor.infos.BlockExecutionInfo;
+import org.apache.carbondata.core.scan.model.ProjectionDimension;
+import org.apache.carbondata.core.scan.result.impl.FilterQueryScannedResult;
+import org.apache.carbondata.core.stats.QueryStatistic;
+import org.apache.carbondata.core.stats.QueryStatisticsConstants;
+import org.apache.carbondata.core.stats.QueryStatisticsModel;
+
+import mockit.Mock;
+import mockit.MockUp;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class BlockletScannedResultTest {
+
+  private List<Integer> decodedDimensionPages;
+
+  private List<Integer> decodedMeasurePages;
+
+  private BlockletScannedResult scannedResult;
+
+  @Before public void setUp() {
+    decodedDimensionPages = new ArrayList<>();
+    decodedMeasurePages = new ArrayList<>();
+    new MockUp<DimensionRawColumnChunk>() {
+      @Mock public DimensionColumnPage convertToDimColDataChunkWithOutCache(int index,
+          ReusableDataBuffer reusableDataBuffer) {
+        decodedDimensionPages.add(index);
+        return null;
+      }
+    };
+    new MockUp<MeasureRawColumnChunk>() {
+      @Mock public ColumnPage convertToColumnPageWithOutCache(int index,
+          ReusableDataBuffer reusableDataBuffer) {
+        decodedMeasurePages.add(index);
+        return null;
+      }
+    };
+    BlockExecutionInfo blockExecutionInfo = new BlockExecutionInfo();
+    blockExecutionInfo.setProjectionDimensions(new ProjectionDimension[0]);
+    QueryStatisticsModel queryStatisticsModel = new QueryStatisticsModel();
+    queryStatisticsModel.getStatisticsTypeAndObjMap()
+        .put(QueryStatisticsConstants.PAGE_UNCOMPRESS_TIME, new QueryStatistic());
+    scannedResult = new FilterQueryScannedResult(blockExecutionInfo, queryStatisticsModel);
+    scannedResult.setDimRawColumnChunks(
+        new DimensionRawColumnChunk[] { new DimensionRawColumnChunk(0, null, 0, 0, null) });
+    scannedResult.setMsrRawColumnChunks(
+        new MeasureRawColumnChunk[] { new MeasureRawColumnChunk(0, null, 0, 0, null) });
+    scannedResult.setDimensionColumnPages(new DimensionColumnPage[1][4]);
+    scannedResult.setMeasureColumnPages(new ColumnPage[1][4]);
+    // filter selected no row in the second and the last page
+    scannedResult.setPageFilteredRowCount(new int[] { 5, 0, 3, 0 });
+  }
+
+  @Test public void testPageWithoutFilteredRowsIsNotDecoded() {
+    scannedResult.fillDataChunks();
+    scannedResult.incrementPageCounter();
+    scannedResult.incrementPageCounter();
+    scannedResult.incrementPageCounter();
+    assertEquals(Arrays.asList(0, 2), decodedDimensionPages);
+    assertEquals(Arrays.asList(0, 2), decodedMeasurePages);
+  }
+
+  @Test public void testFirstPageWithoutFilteredRowsIsNotDecoded() {
+    scannedResult.setPageFilteredRowCount(new int[] { 0, 0, 3, 0 });
+    scannedResult.fillDataChunks();
+    assertEquals(0, decodedDimensionPages.size());
+    assertEquals(0, decodedMeasurePages.size());
+    scannedResult.incrementPageCounter();
+    scannedResult.incrementPageCounter();
+    assertEquals(Arrays.asList(2), decodedDimensionPages);
+    assertEquals(Arrays.asList(2), decodedMeasurePages);
+  }
+}
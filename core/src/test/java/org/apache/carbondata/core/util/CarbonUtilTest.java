@@ -45,6 +45,8 @@ import org.apache.carbondata.core.metadata.schema.table.column.CarbonDimension;
 import org.apache.carbondata.core.metadata.schema.table.column.CarbonMeasure;
 import org.apache.carbondata.core.metadata.schema.table.column.ColumnSchema;
 import org.apache.carbondata.core.scan.model.ProjectionDimension;
+import org.apache.carbondata.format.DataChunk2;
+import org.apache.carbondata.format.DataChunk3;
 
 import mockit.Mock;
 import mockit.MockUp;
@@ -1011,6 +1013,29 @@ public class CarbonUtilTest {
     Assert.assertTrue(schemaString.length() > schema.length());
   }
 
+  @Test
+  public void testReadDataChunk3FromBufferWithoutArray() throws IOException {
+    DataChunk3 dataChunk = new DataChunk3();
+    dataChunk.setData_chunk_list(new ArrayList<DataChunk2>());
+    dataChunk.setPage_offset(Arrays.asList(0, 10));
+    dataChunk.setPage_length(Arrays.asList(10, 20));
+    byte[] data = CarbonUtil.getByteArray(dataChunk);
+    // direct buffer like the slice of memory mapped file, data chunk is after 3 bytes
+    ByteBuffer buffer = ByteBuffer.allocateDirect(data.length + 3);
+    buffer.position(3);
+    buffer.put(data);
+    buffer.position(0);
+    DataChunk3 result = CarbonUtil.readDataChunk3(buffer, 3, data.length);
+    assertEquals(dataChunk.getPage_offset(), result.getPage_offset());
+    assertEquals(dataChunk.getPage_length(), result.getPage_length());
+    assertEquals(0, buffer.position());
+    ByteBuffer heapBuffer = CarbonUtil.toHeapBuffer(buffer);
+    assertTrue(heapBuffer.hasArray());
+    assertEquals(buffer, heapBuffer);
+    // buffer which has array is not copied
+    assertTrue(heapBuffer == CarbonUtil.toHeapBuffer(heapBuffer));
+  }
+
   private String generateString(int length) {
     StringBuilder builder = new StringBuilder();
     for (int i = 0; i < length; i++) {
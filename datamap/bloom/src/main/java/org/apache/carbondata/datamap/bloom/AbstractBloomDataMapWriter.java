@@ -44,22 +44,27 @@ public abstract class AbstractBloomDataMapWriter extends DataMapWriter {
   private int bloomFilterSize;
   private double bloomFilterFpp;
   private boolean compressBloom;
+  private int bloomIndexVersion;
   protected int currentBlockletId;
   private List<String> currentDMFiles;
   private List<DataOutputStream> currentDataOutStreams;
   protected List<CarbonBloomFilter> indexBloomFilters;
+  // used instead of indexBloomFilters for V2 bloom index
+  protected List<SplitBlockBloomFilter> splitBlockBloomFilters;
 
   AbstractBloomDataMapWriter(String tablePath, String dataMapName, List<CarbonColumn> indexColumns,
       Segment segment, String shardName, SegmentProperties segmentProperties,
-      int bloomFilterSize, double bloomFilterFpp, boolean compressBloom)
+      int bloomFilterSize, double bloomFilterFpp, boolean compressBloom, int bloomIndexVersion)
       throws IOException {
     super(tablePath, dataMapName, indexColumns, segment, shardName);
     this.bloomFilterSize = bloomFilterSize;
     this.bloomFilterFpp = bloomFilterFpp;
     this.compressBloom = compressBloom;
+    this.bloomIndexVersion = bloomIndexVersion;
     currentDMFiles = new ArrayList<>(indexColumns.size());
     currentDataOutStreams = new ArrayList<>(indexColumns.size());
     indexBloomFilters = new ArrayList<>(indexColumns.size());
+    splitBlockBloomFilters = new ArrayList<>(indexColumns.size());
     initDataMapFile();
     resetBloomFilters();
   }
@@ -78,6 +83,14 @@ public abstract class AbstractBloomDataMapWriter extends DataMapWriter {
 
   protected void resetBloomFilters() {
     indexBloomFilters.clear();
+    splitBlockBloomFilters.clear();
+    if (bloomIndexVersion == BloomIndexFileStore.BLOOM_INDEX_VERSION_V2) {
+      int numBlocks = SplitBlockBloomFilter.getNumberOfBlocks(bloomFilterSize, bloomFilterFpp);
+      for (int i = 0; i < indexColumns.size(); i++) {
+        splitBlockBloomFilters.add(new SplitBlockBloomFilter(numBlocks));
+      }
+      return;
+    }
     int[] stats = calculateBloomStats();
     for (int i = 0; i < indexColumns.size(); i++) {
       indexBloomFilters
@@ -146,7 +159,11 @@ public abstract class AbstractBloomDataMapWriter extends DataMapWriter {
     if (indexValue.length == 0) {
       indexValue = CarbonCommonConstants.MEMBER_DEFAULT_VAL_ARRAY;
     }
-    indexBloomFilters.get(indexColIdx).add(new Key(indexValue));
+    if (bloomIndexVersion == BloomIndexFileStore.BLOOM_INDEX_VERSION_V2) {
+      splitBlockBloomFilters.get(indexColIdx).add(indexValue);
+    } else {
+      indexBloomFilters.get(indexColIdx).add(new Key(indexValue));
+    }
   }
 
   protected abstract byte[] convertDictionaryValue(int indexColIdx, Object value);
@@ -167,6 +184,7 @@ public abstract class AbstractBloomDataMapWriter extends DataMapWriter {
         FileFactory.createNewFile(dmFile, FileFactory.getFileType(dmFile));
         dataOutStream = FileFactory.getDataOutputStream(dmFile,
             FileFactory.getFileType(dmFile));
+        BloomIndexFileStore.writeBloomIndexHeader(dataOutStream, bloomIndexVersion);
       } catch (IOException e) {
         CarbonUtil.closeStreams(dataOutStream);
         throw new IOException(e);
@@ -180,11 +198,17 @@ public abstract class AbstractBloomDataMapWriter extends DataMapWriter {
   protected void writeBloomDataMapFile() {
     try {
       for (int indexColId = 0; indexColId < indexColumns.size(); indexColId++) {
-        CarbonBloomFilter bloomFilter = indexBloomFilters.get(indexColId);
-        bloomFilter.setBlockletNo(currentBlockletId);
-        // only in higher version of guava-bloom-filter, it provides readFrom/writeTo interface.
-        // In lower version, we use default java serializer to write bloomfilter.
-        bloomFilter.write(this.currentDataOutStreams.get(indexColId));
+        if (bloomIndexVersion == BloomIndexFileStore.BLOOM_INDEX_VERSION_V2) {
+          SplitBlockBloomFilter bloomFilter = splitBlockBloomFilters.get(indexColId);
+          bloomFilter.setBlockletNo(currentBlockletId);
+          bloomFilter.write(this.currentDataOutStreams.get(indexColId));
+        } else {
+          CarbonBloomFilter bloomFilter = indexBloomFilters.get(indexColId);
+          bloomFilter.setBlockletNo(currentBlockletId);
+          // only in higher version of guava-bloom-filter, it provides readFrom/writeTo interface.
+          // In lower version, we use default java serializer to write bloomfilter.
+          bloomFilter.write(this.currentDataOutStreams.get(indexColId));
+        }
         this.currentDataOutStreams.get(indexColId).flush();
       }
     } catch (Exception e) {
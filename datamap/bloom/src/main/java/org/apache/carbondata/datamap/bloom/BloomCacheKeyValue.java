@@ -76,13 +76,26 @@ public class BloomCacheKeyValue {
 
     private List<CarbonBloomFilter> bloomFilters;
 
-    private int size;
+    // bloom filters of V2 bloom index files, one group for each shard
+    private List<SplitBlockBloomFilterGroup> splitBlockBloomFilters;
 
-    public CacheValue(List<CarbonBloomFilter> bloomFilters) {
+    private long size;
+
+    // number of queries using this value, memory is released only when it is not accessed
+    private int accessCount;
+
+    private boolean invalidated;
+
+    public CacheValue(List<CarbonBloomFilter> bloomFilters,
+        List<SplitBlockBloomFilterGroup> splitBlockBloomFilters) {
       this.bloomFilters = bloomFilters;
+      this.splitBlockBloomFilters = splitBlockBloomFilters;
       for (CarbonBloomFilter bloomFilter : bloomFilters) {
         size += bloomFilter.getSize();
       }
+      for (SplitBlockBloomFilterGroup splitBlockBloomFilter : splitBlockBloomFilters) {
+        size += splitBlockBloomFilter.getSize();
+      }
     }
 
     @Override
@@ -91,8 +104,8 @@ public class BloomCacheKeyValue {
     }
 
     @Override
-    public int getAccessCount() {
-      return 0;
+    public synchronized int getAccessCount() {
+      return accessCount;
     }
 
     @Override
@@ -100,13 +113,57 @@ public class BloomCacheKeyValue {
       return size;
     }
 
-    @Override public void invalidate() {
+    /**
+     * release the bloom filters, if the value is being accessed, they are released
+     * when the last access is cleared
+     */
+    @Override public synchronized void invalidate() {
+      invalidated = true;
+      if (accessCount == 0) {
+        release();
+      }
+    }
+
+    /**
+     * @return false if the value is already invalidated and can not be accessed
+     */
+    public synchronized boolean incrementAccessCount() {
+      if (invalidated) {
+        return false;
+      }
+      accessCount++;
+      return true;
+    }
+
+    /**
+     * clear the access after the bloom filters are used
+     */
+    public synchronized void clear() {
+      if (accessCount > 0) {
+        accessCount--;
+      }
+      if (invalidated && accessCount == 0) {
+        release();
+      }
+    }
+
+    private void release() {
+      if (splitBlockBloomFilters != null) {
+        for (SplitBlockBloomFilterGroup splitBlockBloomFilter : splitBlockBloomFilters) {
+          splitBlockBloomFilter.freeMemory();
+        }
+      }
       bloomFilters = null;
+      splitBlockBloomFilters = null;
     }
 
     public List<CarbonBloomFilter> getBloomFilters() {
       return bloomFilters;
     }
+
+    public List<SplitBlockBloomFilterGroup> getSplitBlockBloomFilters() {
+      return splitBlockBloomFilters;
+    }
   }
 
 }
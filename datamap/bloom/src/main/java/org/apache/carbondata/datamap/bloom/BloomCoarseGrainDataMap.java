@@ -21,6 +21,7 @@ import java.io.IOException;
 import java.io.UnsupportedEncodingException;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.BitSet;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -192,40 +193,21 @@ public class BloomCoarseGrainDataMap extends CoarseGrainDataMap {
       BloomCacheKeyValue.CacheKey cacheKey = new BloomCacheKeyValue.CacheKey(
           this.indexPath.toString(), bloomQueryModel.columnName);
       BloomCacheKeyValue.CacheValue cacheValue = cache.get(cacheKey);
-      List<CarbonBloomFilter> bloomIndexList = cacheValue.getBloomFilters();
-      for (CarbonBloomFilter bloomFilter : bloomIndexList) {
-        if (needShardPrune && !filteredShard.contains(bloomFilter.getShardName())) {
-          // skip shard which has been pruned in Main datamap
-          continue;
-        }
-        boolean scanRequired = false;
-        for (byte[] value: bloomQueryModel.filterValues) {
-          scanRequired = bloomFilter.membershipTest(new Key(value));
-          if (scanRequired) {
-            // if any filter value hit this bloomfilter
-            // no need to check other filter values
-            break;
-          }
-        }
-        if (scanRequired) {
-          if (LOGGER.isDebugEnabled()) {
-            LOGGER.debug(String.format("BloomCoarseGrainDataMap: Need to scan -> blocklet#%s",
-                String.valueOf(bloomFilter.getBlockletNo())));
-          }
-          Blocklet blocklet = new Blocklet(bloomFilter.getShardName(),
-              String.valueOf(bloomFilter.getBlockletNo()));
-          tempHitBlockletsResult.add(blocklet);
-        } else if (LOGGER.isDebugEnabled()) {
-          LOGGER.debug(String.format("BloomCoarseGrainDataMap: Skip scan -> blocklet#%s",
-              String.valueOf(bloomFilter.getBlockletNo())));
-        }
-        // get intersect result between query models
-        // pre-condition: only And/In/EqualTo expression exists in single bloom datamap
-        if (null == hitBlocklets) {
-          hitBlocklets = tempHitBlockletsResult;
-        } else {
-          hitBlocklets.retainAll(tempHitBlockletsResult);
-        }
+      try {
+        pruneByBloomFilters(cacheValue.getBloomFilters(), bloomQueryModel,
+            tempHitBlockletsResult);
+        pruneBySplitBlockBloomFilters(cacheValue.getSplitBlockBloomFilters(), bloomQueryModel,
+            tempHitBlockletsResult);
+      } finally {
+        // release the access so that the bloom filters can be evicted
+        cacheValue.clear();
+      }
+      // get intersect result between query models
+      // pre-condition: only And/In/EqualTo expression exists in single bloom datamap
+      if (null == hitBlocklets) {
+        hitBlocklets = tempHitBlockletsResult;
+      } else {
+        hitBlocklets.retainAll(tempHitBlockletsResult);
       }
     }
     if (hitBlocklets == null) {
@@ -237,6 +219,67 @@ public class BloomCoarseGrainDataMap extends CoarseGrainDataMap {
     return new ArrayList<>(hitBlocklets);
   }
 
+  /**
+   * prune blocklets by the hadoop bloom filters of V1 bloom index
+   */
+  private void pruneByBloomFilters(List<CarbonBloomFilter> bloomIndexList,
+      BloomQueryModel bloomQueryModel, Set<Blocklet> hitBlocklets) {
+    for (CarbonBloomFilter bloomFilter : bloomIndexList) {
+      if (needShardPrune && !filteredShard.contains(bloomFilter.getShardName())) {
+        // skip shard which has been pruned in Main datamap
+        continue;
+      }
+      boolean scanRequired = false;
+      for (byte[] value: bloomQueryModel.filterValues) {
+        scanRequired = bloomFilter.membershipTest(new Key(value));
+        if (scanRequired) {
+          // if any filter value hit this bloomfilter
+          // no need to check other filter values
+          break;
+        }
+      }
+      if (scanRequired) {
+        if (LOGGER.isDebugEnabled()) {
+          LOGGER.debug(String.format("BloomCoarseGrainDataMap: Need to scan -> blocklet#%s",
+              String.valueOf(bloomFilter.getBlockletNo())));
+        }
+        Blocklet blocklet = new Blocklet(bloomFilter.getShardName(),
+            String.valueOf(bloomFilter.getBlockletNo()));
+        hitBlocklets.add(blocklet);
+      } else if (LOGGER.isDebugEnabled()) {
+        LOGGER.debug(String.format("BloomCoarseGrainDataMap: Skip scan -> blocklet#%s",
+            String.valueOf(bloomFilter.getBlockletNo())));
+      }
+    }
+  }
+
+  /**
+   * prune blocklets by the split block bloom filters of V2 bloom index, each filter value is
+   * tested against the bloom filters of all the blocklets in a shard at once
+   */
+  private void pruneBySplitBlockBloomFilters(List<SplitBlockBloomFilterGroup> bloomIndexList,
+      BloomQueryModel bloomQueryModel, Set<Blocklet> hitBlocklets) {
+    for (SplitBlockBloomFilterGroup bloomFilterGroup : bloomIndexList) {
+      if (needShardPrune && !filteredShard.contains(bloomFilterGroup.getShardName())) {
+        // skip shard which has been pruned in Main datamap
+        continue;
+      }
+      BitSet hitFilters = new BitSet(bloomFilterGroup.getNumberOfBlocklets());
+      for (byte[] value: bloomQueryModel.filterValues) {
+        bloomFilterGroup.membershipTest(value, hitFilters);
+      }
+      for (int i = hitFilters.nextSetBit(0); i >= 0; i = hitFilters.nextSetBit(i + 1)) {
+        hitBlocklets.add(new Blocklet(bloomFilterGroup.getShardName(),
+            String.valueOf(bloomFilterGroup.getBlockletNo(i))));
+      }
+      if (LOGGER.isDebugEnabled()) {
+        LOGGER.debug(String.format("BloomCoarseGrainDataMap: Need to scan %d of %d blocklets"
+                + " in shard %s", hitFilters.cardinality(),
+            bloomFilterGroup.getNumberOfBlocklets(), bloomFilterGroup.getShardName()));
+      }
+    }
+  }
+
   private List<BloomQueryModel> createQueryModel(Expression expression)
       throws DictionaryGenerationException, UnsupportedEncodingException {
     List<BloomQueryModel> queryModels = new ArrayList<BloomQueryModel>();
@@ -91,11 +91,22 @@ public class BloomCoarseGrainDataMapFactory extends DataMapFactory<CoarseGrainDa
    */
   private static final boolean DEFAULT_BLOOM_COMPRESS = true;
 
+  /**
+   * property for version of bloom index file, version 1 uses hadoop bloom filter and
+   * version 2 uses split block bloom filter which is faster to test but can not be compressed
+   */
+  private static final String BLOOM_VERSION = "bloom_version";
+  /**
+   * Default value of bloom index version
+   */
+  private static final int DEFAULT_BLOOM_VERSION = BloomIndexFileStore.BLOOM_INDEX_VERSION_V1;
+
   private DataMapMeta dataMapMeta;
   private String dataMapName;
   private int bloomFilterSize;
   private double bloomFilterFpp;
   private boolean bloomCompress;
+  private int bloomVersion;
   private Cache<BloomCacheKeyValue.CacheKey, BloomCacheKeyValue.CacheValue> cache;
   // segmentId -> list of index file
   private Map<String, Set<String>> segmentMap = new ConcurrentHashMap<>();
@@ -112,6 +123,7 @@ public class BloomCoarseGrainDataMapFactory extends DataMapFactory<CoarseGrainDa
     this.bloomFilterSize = validateAndGetBloomFilterSize(dataMapSchema);
     this.bloomFilterFpp = validateAndGetBloomFilterFpp(dataMapSchema);
     this.bloomCompress = validateAndGetBloomCompress(dataMapSchema);
+    this.bloomVersion = validateAndGetBloomVersion(dataMapSchema);
     List<ExpressionType> optimizedOperations = new ArrayList<ExpressionType>();
     // todo: support more optimize operations
     optimizedOperations.add(ExpressionType.EQUALS);
@@ -204,6 +216,34 @@ public class BloomCoarseGrainDataMapFactory extends DataMapFactory<CoarseGrainDa
     return Boolean.parseBoolean(bloomCompress);
   }
 
+  /**
+   * validate bloom DataMap BLOOM_VERSION
+   * 1. BLOOM_VERSION property is optional, 1 will be the default value.
+   * 2. BLOOM_VERSION should be 1 or 2
+   */
+  private int validateAndGetBloomVersion(DataMapSchema dmSchema)
+      throws MalformedDataMapCommandException {
+    String bloomVersionStr = dmSchema.getProperties().get(BLOOM_VERSION);
+    if (StringUtils.isBlank(bloomVersionStr)) {
+      return DEFAULT_BLOOM_VERSION;
+    }
+    int bloomVersion;
+    try {
+      bloomVersion = Integer.parseInt(bloomVersionStr.trim());
+    } catch (NumberFormatException e) {
+      throw new MalformedDataMapCommandException(
+          String.format("Invalid value of bloom version '%s', it should be an integer",
+              bloomVersionStr));
+    }
+    if (bloomVersion != BloomIndexFileStore.BLOOM_INDEX_VERSION_V1
+        && bloomVersion != BloomIndexFileStore.BLOOM_INDEX_VERSION_V2) {
+      throw new MalformedDataMapCommandException(
+          String.format("Invalid value of bloom version '%s', it should be 1 or 2",
+              bloomVersionStr));
+    }
+    return bloomVersion;
+  }
+
   @Override
   public DataMapWriter createWriter(Segment segment, String shardName,
       SegmentProperties segmentProperties) throws IOException {
@@ -212,7 +252,7 @@ public class BloomCoarseGrainDataMapFactory extends DataMapFactory<CoarseGrainDa
             this.dataMapName, getCarbonTable().getTableName() , shardName));
     return new BloomDataMapWriter(getCarbonTable().getTablePath(), this.dataMapName,
         this.dataMapMeta.getIndexedColumns(), segment, shardName, segmentProperties,
-        this.bloomFilterSize, this.bloomFilterFpp, bloomCompress);
+        this.bloomFilterSize, this.bloomFilterFpp, bloomCompress, bloomVersion);
   }
 
   @Override
@@ -220,7 +260,7 @@ public class BloomCoarseGrainDataMapFactory extends DataMapFactory<CoarseGrainDa
       SegmentProperties segmentProperties) throws IOException {
     return new BloomDataMapBuilder(getCarbonTable().getTablePath(), this.dataMapName,
         this.dataMapMeta.getIndexedColumns(), segment, shardName, segmentProperties,
-        this.bloomFilterSize, this.bloomFilterFpp, bloomCompress);
+        this.bloomFilterSize, this.bloomFilterFpp, bloomCompress, bloomVersion);
   }
 
   /**
@@ -37,9 +37,10 @@ public class BloomDataMapBuilder extends AbstractBloomDataMapWriter implements D
 
   BloomDataMapBuilder(String tablePath, String dataMapName, List<CarbonColumn> indexColumns,
       Segment segment, String shardName, SegmentProperties segmentProperties,
-      int bloomFilterSize, double bloomFilterFpp, boolean bloomCompress) throws IOException {
+      int bloomFilterSize, double bloomFilterFpp, boolean bloomCompress, int bloomIndexVersion)
+      throws IOException {
     super(tablePath, dataMapName, indexColumns, segment, shardName, segmentProperties,
-        bloomFilterSize, bloomFilterFpp, bloomCompress);
+        bloomFilterSize, bloomFilterFpp, bloomCompress, bloomIndexVersion);
   }
 
   @Override
@@ -73,7 +74,7 @@ public class BloomDataMapBuilder extends AbstractBloomDataMapWriter implements D
   @Override
   public void finish() throws IOException {
     if (!isWritingFinished()) {
-      if (indexBloomFilters.size() > 0) {
+      if (indexBloomFilters.size() > 0 || splitBlockBloomFilters.size() > 0) {
         writeBloomDataMapFile();
       }
       releaseResouce();
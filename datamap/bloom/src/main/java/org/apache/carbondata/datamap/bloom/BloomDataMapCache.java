@@ -25,8 +25,6 @@ import org.apache.carbondata.core.cache.Cache;
 import org.apache.carbondata.core.cache.CarbonLRUCache;
 import org.apache.carbondata.core.memory.MemoryException;
 
-import org.apache.hadoop.util.bloom.CarbonBloomFilter;
-
 /**
  * This class is used to add cache for bloomfilter datamap to accelerate query through it.
  * The cache is implemented using carbon lru cache.
@@ -46,15 +44,25 @@ public class BloomDataMapCache
     this.lruCache = lruCache;
   }
 
+  /**
+   * The access count of the returned value is incremented, it should be cleared by
+   * {@link BloomCacheKeyValue.CacheValue#clear()} after the bloom filters are used, so that
+   * the memory of bloom filters is not released while they are being used.
+   */
   @Override
   public BloomCacheKeyValue.CacheValue get(BloomCacheKeyValue.CacheKey key)
       throws IOException {
     BloomCacheKeyValue.CacheValue cacheValue = getIfPresent(key);
-    if (cacheValue == null) {
-      List<CarbonBloomFilter> bloomFilters =
-              BloomIndexFileStore.loadBloomFilterFromFile(key.getShardPath(), key.getIndexColumn());
-      cacheValue = new BloomCacheKeyValue.CacheValue(bloomFilters);
-      lruCache.put(key.toString(), cacheValue, cacheValue.getMemorySize());
+    if (cacheValue != null && cacheValue.incrementAccessCount()) {
+      return cacheValue;
+    }
+    cacheValue =
+            BloomIndexFileStore.loadBloomFilterFromFile(key.getShardPath(), key.getIndexColumn());
+    cacheValue.incrementAccessCount();
+    if (!lruCache.put(key.toString(), cacheValue, cacheValue.getMemorySize())
+        || getIfPresent(key) != cacheValue) {
+      // value is not added to cache, release it after it is used
+      cacheValue.invalidate();
     }
     return cacheValue;
   }
@@ -88,5 +96,11 @@ public class BloomDataMapCache
 
   @Override
   public void clearAccessCount(List<BloomCacheKeyValue.CacheKey> keys) {
+    for (BloomCacheKeyValue.CacheKey key : keys) {
+      BloomCacheKeyValue.CacheValue cacheValue = getIfPresent(key);
+      if (cacheValue != null) {
+        cacheValue.clear();
+      }
+    }
   }
 }
@@ -50,10 +50,10 @@ public class BloomDataMapWriter extends AbstractBloomDataMapWriter {
 
   BloomDataMapWriter(String tablePath, String dataMapName, List<CarbonColumn> indexColumns,
       Segment segment, String shardName, SegmentProperties segmentProperties,
-      int bloomFilterSize, double bloomFilterFpp, boolean compressBloom)
+      int bloomFilterSize, double bloomFilterFpp, boolean compressBloom, int bloomIndexVersion)
       throws IOException {
     super(tablePath, dataMapName, indexColumns, segment, shardName, segmentProperties,
-        bloomFilterSize, bloomFilterFpp, compressBloom);
+        bloomFilterSize, bloomFilterFpp, compressBloom, bloomIndexVersion);
 
     columnarSplitter = segmentProperties.getFixedLengthKeySplitter();
     this.indexCol2MdkIdx = new HashMap<>();
@@ -21,6 +21,7 @@ import java.io.DataInputStream;
 import java.io.DataOutputStream;
 import java.io.File;
 import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.nio.charset.Charset;
 import java.util.ArrayList;
 import java.util.List;
@@ -57,6 +58,15 @@ public class BloomIndexFileStore {
    * if flag file not exists and mergeShard generated, query will use mergeShard
    */
   public static final String MERGE_INPROGRESS_FILE = "mergeShard.inprogress";
+  /**
+   * version of bloom index file
+   * V1 file contains hadoop bloom filters and it does not have a header
+   * V2 file contains split block bloom filters and it starts with the header marker and version
+   */
+  public static final int BLOOM_INDEX_VERSION_V1 = 1;
+  public static final int BLOOM_INDEX_VERSION_V2 = 2;
+  // V1 file starts with the blocklet number, which can not be negative
+  private static final int BLOOM_INDEX_HEADER_MARKER = -1;
 
 
   public static void mergeBloomIndexFile(String dmSegmentPathString, List<String> indexCols) {
@@ -149,7 +159,7 @@ public class BloomIndexFileStore {
   /**
    * load bloom filter from bloom index file
    */
-  public static List<CarbonBloomFilter> loadBloomFilterFromFile(
+  public static BloomCacheKeyValue.CacheValue loadBloomFilterFromFile(
           String shardPath, String colName) {
     if (shardPath.endsWith(MERGE_BLOOM_INDEX_SHARD_NAME)) {
       return loadMergeBloomIndex(shardPath, colName);
@@ -161,22 +171,22 @@ public class BloomIndexFileStore {
   /**
    * load bloom filter of {@code colName} from {@code shardPath}
    */
-  public static List<CarbonBloomFilter> loadBloomIndex(
+  public static BloomCacheKeyValue.CacheValue loadBloomIndex(
           String shardPath, String colName) {
     DataInputStream dataInStream = null;
     List<CarbonBloomFilter> bloomFilters = new ArrayList<>();
+    List<SplitBlockBloomFilterGroup> splitBlockBloomFilters = new ArrayList<>();
     try {
       String indexFile = getBloomIndexFile(shardPath, colName);
       dataInStream = FileFactory.getDataInputStream(indexFile, FileFactory.getFileType(indexFile));
-      while (dataInStream.available() > 0) {
-        CarbonBloomFilter bloomFilter = new CarbonBloomFilter();
-        bloomFilter.readFields(dataInStream);
-        bloomFilter.setShardName(new Path(shardPath).getName());
-        bloomFilters.add(bloomFilter);
-      }
-      LOGGER.info(String.format("Read %d bloom indices from %s", bloomFilters.size(), indexFile));
+      byte[] indexFileBytes = new byte[(int) FileFactory.getCarbonFile(indexFile).getSize()];
+      dataInStream.readFully(indexFileBytes);
+      readBloomIndex(indexFileBytes, new Path(shardPath).getName(), bloomFilters,
+          splitBlockBloomFilters);
+      LOGGER.info(String.format("Read %d bloom indices from %s",
+          bloomFilters.size() + splitBlockBloomFilters.size(), indexFile));
 
-      return bloomFilters;
+      return new BloomCacheKeyValue.CacheValue(bloomFilters, splitBlockBloomFilters);
     } catch (IOException e) {
       LOGGER.error("Error occurs while reading bloom index", e);
       throw new RuntimeException("Error occurs while reading bloom index", e);
@@ -189,11 +199,12 @@ public class BloomIndexFileStore {
   /**
    * load bloom filter of {@code colName} from {@code mergeShardPath}
    */
-  public static List<CarbonBloomFilter> loadMergeBloomIndex(
+  public static BloomCacheKeyValue.CacheValue loadMergeBloomIndex(
           String mergeShardPath, String colName) {
     String mergeIndexFile = getMergeBloomIndexFile(mergeShardPath, colName);
     DataInputStream mergeIndexInStream = null;
     List<CarbonBloomFilter> bloomFilters = new ArrayList<>();
+    List<SplitBlockBloomFilterGroup> splitBlockBloomFilters = new ArrayList<>();
     try {
       mergeIndexInStream = FileFactory.getDataInputStream(
           mergeIndexFile, FileFactory.getFileType(mergeIndexFile));
@@ -207,20 +218,13 @@ public class BloomIndexFileStore {
         int indexFileByteLength = mergeIndexInStream.readInt();
         byte[] indexFileBytes = new byte[indexFileByteLength];
         mergeIndexInStream.readFully(indexFileBytes);
-        // warp byte array as input stream to get bloom filters
-        ByteArrayInputStream byteArrayInputStream = new ByteArrayInputStream(indexFileBytes);
-        DataInputStream indexDataInStream = new DataInputStream(byteArrayInputStream);
-        while (indexDataInStream.available() > 0) {
-          CarbonBloomFilter bloomFilter = new CarbonBloomFilter();
-          bloomFilter.readFields(indexDataInStream);
-          bloomFilter.setShardName(shardName);
-          bloomFilters.add(bloomFilter);
-        }
+        readBloomIndex(indexFileBytes, shardName, bloomFilters, splitBlockBloomFilters);
       }
-      LOGGER.info(
-          String.format("Read %d bloom indices from %s", bloomFilters.size(), mergeIndexFile));
-      return bloomFilters;
+      LOGGER.info(String.format("Read %d bloom indices from %s",
+          bloomFilters.size() + splitBlockBloomFilters.size(), mergeIndexFile));
+      return new BloomCacheKeyValue.CacheValue(bloomFilters, splitBlockBloomFilters);
     } catch (IOException e) {
+      freeMemory(splitBlockBloomFilters);
       LOGGER.error("Error occurs while reading merge bloom index", e);
       throw new RuntimeException("Error occurs while reading merge bloom index", e);
     } finally {
@@ -228,6 +232,51 @@ public class BloomIndexFileStore {
     }
   }
 
+  /**
+   * read the bloom filters in the data of a bloom index file according to its version,
+   * V1 file is read as hadoop bloom filters of each blocklet and V2 file is read as
+   * one split block bloom filter group
+   */
+  private static void readBloomIndex(byte[] indexFileBytes, String shardName,
+      List<CarbonBloomFilter> bloomFilters, List<SplitBlockBloomFilterGroup> splitBlockBloomFilters)
+      throws IOException {
+    if (indexFileBytes.length >= 8
+        && ByteBuffer.wrap(indexFileBytes).getInt() == BLOOM_INDEX_HEADER_MARKER) {
+      int version = ByteBuffer.wrap(indexFileBytes).getInt(4);
+      if (version != BLOOM_INDEX_VERSION_V2) {
+        throw new IOException("Unsupported bloom index version: " + version);
+      }
+      splitBlockBloomFilters.add(SplitBlockBloomFilterGroup.read(indexFileBytes, 8, shardName));
+      return;
+    }
+    // warp byte array as input stream to get bloom filters
+    ByteArrayInputStream byteArrayInputStream = new ByteArrayInputStream(indexFileBytes);
+    DataInputStream indexDataInStream = new DataInputStream(byteArrayInputStream);
+    while (indexDataInStream.available() > 0) {
+      CarbonBloomFilter bloomFilter = new CarbonBloomFilter();
+      bloomFilter.readFields(indexDataInStream);
+      bloomFilter.setShardName(shardName);
+      bloomFilters.add(bloomFilter);
+    }
+  }
+
+  private static void freeMemory(List<SplitBlockBloomFilterGroup> splitBlockBloomFilters) {
+    for (SplitBlockBloomFilterGroup splitBlockBloomFilter : splitBlockBloomFilters) {
+      splitBlockBloomFilter.freeMemory();
+    }
+  }
+
+  /**
+   * write the header of bloom index file, V1 file does not have a header
+   */
+  public static void writeBloomIndexHeader(DataOutputStream dataOutStream, int version)
+      throws IOException {
+    if (version != BLOOM_INDEX_VERSION_V1) {
+      dataOutStream.writeInt(BLOOM_INDEX_HEADER_MARKER);
+      dataOutStream.writeInt(version);
+    }
+  }
+
   /**
    * get bloom index file
    */
@@ -0,0 +1,217 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.datamap.bloom;
+
+import java.io.DataOutput;
+import java.io.IOException;
+
+import org.apache.carbondata.common.annotations.InterfaceAudience;
+
+/**
+ * Split block bloom filter. The bit array is divided into blocks of the size of a cache line and
+ * all the bits of a key are set in a single block. Only one 64 bits hash is computed for a key,
+ * its upper half selects the block and its lower half is multiplied with different salts to
+ * select one bit in each word of the block.
+ * So a membership test reads one cache line, while the hadoop bloom filter computes k hashes and
+ * reads k random positions of the whole bit array.
+ */
+@InterfaceAudience.Internal
+public class SplitBlockBloomFilter {
+
+  /**
+   * number of words in a block, 8 words of 64 bits is the size of a cache line
+   */
+  static final int WORDS_PER_BLOCK = 8;
+
+  private static final int BITS_PER_BLOCK = WORDS_PER_BLOCK * Long.SIZE;
+
+  /**
+   * the number of blocks is not searched if the average number of keys in a block is more than
+   * this, almost all the bits are set and the fpp is close to 1 anyway
+   */
+  private static final int MAX_KEYS_PER_BLOCK = 512;
+
+  private static final int[] SALT = new int[] {
+      0x47b6137b, 0x44974d91, 0x8824ad5b, 0xa2b7289d,
+      0x705495c7, 0x2df1424b, 0x9efc4947, 0x5c6bfb31 };
+
+  private static final long SEED = 0x5bd1e995L;
+
+  private int blockletNo;
+
+  private int numBlocks;
+
+  private long[] words;
+
+  public SplitBlockBloomFilter(int numBlocks) {
+    this.numBlocks = numBlocks;
+    this.words = new long[numBlocks * WORDS_PER_BLOCK];
+  }
+
+  /**
+   * It calculates the minimum number of blocks whose false positive probability is not more than
+   * the fpp. As all the bits of a key are in one block, the split block bloom filter needs more
+   * bits than the hadoop bloom filter for the same fpp, so the number of bits of the hadoop bloom
+   * filter, -n * ln(p) / (ln(2) ^ 2), is only the lower bound of the search.
+   */
+  public static int getNumberOfBlocks(int expectedInsertions, double fpp) {
+    double sizeInBits = -expectedInsertions * Math.log(fpp) / (Math.pow(Math.log(2), 2));
+    int maxBlocks = Integer.MAX_VALUE / WORDS_PER_BLOCK;
+    int low = (int) Math.max(1, Math.min(Math.ceil(sizeInBits / BITS_PER_BLOCK), maxBlocks));
+    if (expectedInsertions <= 0 || (double) expectedInsertions / low > MAX_KEYS_PER_BLOCK) {
+      // the filter is too small to be useful, the fpp is not reachable by few more blocks
+      return low;
+    }
+    if (getFalsePositiveProbability(expectedInsertions, low) <= fpp) {
+      return low;
+    }
+    // find an upper bound by doubling and then binary search between the bounds
+    int high = low;
+    while (getFalsePositiveProbability(expectedInsertions, high) > fpp) {
+      if (high == maxBlocks) {
+        return maxBlocks;
+      }
+      low = high;
+      high = (int) Math.min((long) high * 2, maxBlocks);
+    }
+    while (high - low > 1) {
+      int mid = low + (high - low) / 2;
+      if (getFalsePositiveProbability(expectedInsertions, mid) > fpp) {
+        low = mid;
+      } else {
+        high = mid;
+      }
+    }
+    return high;
+  }
+
+  /**
+   * False positive probability of the split block bloom filter. The number of keys in a block
+   * follows the poisson distribution with mean n / numBlocks, and with j keys in the block a bit
+   * of a word is set with probability 1 - (1 - 1 / 64) ^ j, so the probability is
+   * sum of poisson(j) * (1 - (1 - 1 / 64) ^ j) ^ 8
+   */
+  static double getFalsePositiveProbability(int expectedInsertions, int numBlocks) {
+    double mean = (double) expectedInsertions / numBlocks;
+    // terms beyond this are negligible
+    long maxKeys = (long) Math.ceil(mean + 12 * Math.sqrt(mean) + 20);
+    double probability = 0;
+    double logPoisson = -mean;
+    for (long j = 0; j <= maxKeys; j++) {
+      if (j > 0) {
+        logPoisson += Math.log(mean) - Math.log(j);
+      }
+      double bitSet = 1 - Math.pow(1 - 1.0 / Long.SIZE, j);
+      probability += Math.exp(logPoisson) * Math.pow(bitSet, WORDS_PER_BLOCK);
+    }
+    return Math.min(1, probability);
+  }
+
+  public void add(byte[] key) {
+    long hash = hash(key);
+    int offset = getBlockIndex(hash, numBlocks) * WORDS_PER_BLOCK;
+    for (int i = 0; i < WORDS_PER_BLOCK; i++) {
+      words[offset + i] |= getMask(hash, i);
+    }
+  }
+
+  public boolean membershipTest(byte[] key) {
+    long hash = hash(key);
+    int offset = getBlockIndex(hash, numBlocks) * WORDS_PER_BLOCK;
+    for (int i = 0; i < WORDS_PER_BLOCK; i++) {
+      long mask = getMask(hash, i);
+      if ((words[offset + i] & mask) != mask) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * write the blocklet number, number of blocks and the words of the bloom filter,
+   * it is read by {@link SplitBlockBloomFilterGroup}
+   */
+  public void write(DataOutput out) throws IOException {
+    out.writeInt(blockletNo);
+    out.writeInt(numBlocks);
+    for (long word : words) {
+      out.writeLong(word);
+    }
+  }
+
+  /**
+   * 64 bits MurmurHash2 (MurmurHash64A) of the key
+   */
+  static long hash(byte[] key) {
+    final long m = 0xc6a4a7935bd1e995L;
+    final int r = 47;
+    long h = SEED ^ (key.length * m);
+    int numWords = key.length >>> 3;
+    for (int i = 0; i < numWords; i++) {
+      int offset = i << 3;
+      long k = (key[offset] & 0xffL)
+          | ((key[offset + 1] & 0xffL) << 8)
+          | ((key[offset + 2] & 0xffL) << 16)
+          | ((key[offset + 3] & 0xffL) << 24)
+          | ((key[offset + 4] & 0xffL) << 32)
+          | ((key[offset + 5] & 0xffL) << 40)
+          | ((key[offset + 6] & 0xffL) << 48)
+          | ((key[offset + 7] & 0xffL) << 56);
+      k *= m;
+      k ^= k >>> r;
+      k *= m;
+      h ^= k;
+      h *= m;
+    }
+    int tail = numWords << 3;
+    if (tail < key.length) {
+      long k = 0;
+      for (int i = key.length - 1; i >= tail; i--) {
+        k = (k << 8) | (key[i] & 0xffL);
+      }
+      h ^= k;
+      h *= m;
+    }
+    h ^= h >>> r;
+    h *= m;
+    h ^= h >>> r;
+    return h;
+  }
+
+  /**
+   * select the block by the upper 32 bits of the hash
+   */
+  static int getBlockIndex(long hash, int numBlocks) {
+    return (int) (((hash >>> 32) * numBlocks) >>> 32);
+  }
+
+  /**
+   * select the bit in the word of the block by the lower 32 bits of the hash
+   */
+  static long getMask(long hash, int wordIndex) {
+    return 1L << (((int) hash * SALT[wordIndex]) >>> 26);
+  }
+
+  public int getBlockletNo() {
+    return blockletNo;
+  }
+
+  public void setBlockletNo(int blockletNo) {
+    this.blockletNo = blockletNo;
+  }
+}
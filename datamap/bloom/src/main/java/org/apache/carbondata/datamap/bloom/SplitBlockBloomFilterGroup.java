@@ -0,0 +1,181 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.datamap.bloom;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.BitSet;
+
+import org.apache.carbondata.common.annotations.InterfaceAudience;
+import org.apache.carbondata.core.memory.CarbonUnsafe;
+import org.apache.carbondata.core.memory.MemoryBlock;
+import org.apache.carbondata.core.memory.UnsafeMemoryManager;
+
+/**
+ * Split block bloom filters of all the blocklets in one bloom index file of a shard.
+ * The words of all the filters are copied as they are in the file to one memory block allocated
+ * from {@link UnsafeMemoryManager}, which is off-heap if it is enabled, and probed in place.
+ * The memory is counted in the unsafe working memory shared with data loading and query.
+ * So a key is tested against all the blocklets in a tight loop and its hash and masks are
+ * computed only once.
+ */
+@InterfaceAudience.Internal
+public class SplitBlockBloomFilterGroup {
+
+  /**
+   * memory of the bloom cache is not released by the query task, so it is allocated for this
+   * task id and released when the cache value is invalidated
+   */
+  private static final String BLOOM_CACHE_TASK_ID = "BloomDataMapCache";
+
+  private String shardName;
+
+  private int[] blockletNos;
+
+  private int[] numBlocks;
+
+  // offset of the first word of each bloom filter in words
+  private int[] offsets;
+
+  // words of the bloom filters, they are in big endian as written by DataOutput
+  private MemoryBlock memoryBlock;
+
+  private SplitBlockBloomFilterGroup(String shardName, int[] blockletNos, int[] numBlocks,
+      int[] offsets, MemoryBlock memoryBlock) {
+    this.shardName = shardName;
+    this.blockletNos = blockletNos;
+    this.numBlocks = numBlocks;
+    this.offsets = offsets;
+    this.memoryBlock = memoryBlock;
+  }
+
+  /**
+   * read all the bloom filters written by {@link SplitBlockBloomFilter#write} from the data of
+   * bloom index file
+   *
+   * @param data data of bloom index file
+   * @param offset offset of the first bloom filter in data
+   * @param shardName shard of the bloom index file
+   * @throws IOException if the data is not complete bloom filters
+   */
+  public static SplitBlockBloomFilterGroup read(byte[] data, int offset, String shardName)
+      throws IOException {
+    // first pass to get the number of bloom filters and words, and validate them before
+    // allocating the memory and copying the words
+    ByteBuffer buffer = ByteBuffer.wrap(data);
+    int numFilters = 0;
+    long totalWords = 0;
+    for (long position = offset; position < data.length; numFilters++) {
+      if (position + 8 > data.length) {
+        throw new IOException("Incomplete bloom filter header at " + position + " of shard "
+            + shardName + ", data length is " + data.length);
+      }
+      int numBlocks = buffer.getInt((int) position + 4);
+      if (numBlocks <= 0) {
+        throw new IOException("Invalid number of blocks " + numBlocks + " at " + position
+            + " of shard " + shardName);
+      }
+      long filterWords = (long) numBlocks * SplitBlockBloomFilter.WORDS_PER_BLOCK;
+      if (position + 8 + filterWords * 8 > data.length) {
+        throw new IOException("Incomplete bloom filter of " + numBlocks + " blocks at " + position
+            + " of shard " + shardName + ", data length is " + data.length);
+      }
+      totalWords += filterWords;
+      position += 8 + filterWords * 8;
+    }
+    int[] blockletNos = new int[numFilters];
+    int[] numBlocks = new int[numFilters];
+    int[] offsets = new int[numFilters];
+    MemoryBlock memoryBlock =
+        UnsafeMemoryManager.allocateMemoryWithRetry(BLOOM_CACHE_TASK_ID, totalWords * 8);
+    int position = offset;
+    int wordOffset = 0;
+    for (int i = 0; i < numFilters; i++) {
+      blockletNos[i] = buffer.getInt(position);
+      numBlocks[i] = buffer.getInt(position + 4);
+      offsets[i] = wordOffset;
+      int filterWords = numBlocks[i] * SplitBlockBloomFilter.WORDS_PER_BLOCK;
+      CarbonUnsafe.getUnsafe().copyMemory(data, CarbonUnsafe.BYTE_ARRAY_OFFSET + position + 8,
+          memoryBlock.getBaseObject(), memoryBlock.getBaseOffset() + wordOffset * 8L,
+          filterWords * 8L);
+      position += 8 + filterWords * 8;
+      wordOffset += filterWords;
+    }
+    return new SplitBlockBloomFilterGroup(shardName, blockletNos, numBlocks, offsets,
+        memoryBlock);
+  }
+
+  /**
+   * test the key against the bloom filters of all the blocklets
+   *
+   * @param key key to test
+   * @param result bit i is set if the bloom filter i may contain the key
+   */
+  public void membershipTest(byte[] key, BitSet result) {
+    long hash = SplitBlockBloomFilter.hash(key);
+    long[] masks = new long[SplitBlockBloomFilter.WORDS_PER_BLOCK];
+    for (int i = 0; i < masks.length; i++) {
+      masks[i] = SplitBlockBloomFilter.getMask(hash, i);
+      if (CarbonUnsafe.ISLITTLEENDIAN) {
+        // words are kept in big endian, so reverse the mask instead of each word
+        masks[i] = Long.reverseBytes(masks[i]);
+      }
+    }
+    Object baseObject = memoryBlock.getBaseObject();
+    long baseOffset = memoryBlock.getBaseOffset();
+    for (int filterIndex = 0; filterIndex < blockletNos.length; filterIndex++) {
+      long address = baseOffset + (offsets[filterIndex] + (long) SplitBlockBloomFilter
+          .getBlockIndex(hash, numBlocks[filterIndex]) * SplitBlockBloomFilter.WORDS_PER_BLOCK) * 8;
+      boolean hit = true;
+      for (int i = 0; i < masks.length; i++) {
+        hit &= (CarbonUnsafe.getUnsafe().getLong(baseObject, address + i * 8) & masks[i])
+            == masks[i];
+      }
+      if (hit) {
+        result.set(filterIndex);
+      }
+    }
+  }
+
+  public int getNumberOfBlocklets() {
+    return blockletNos.length;
+  }
+
+  public int getBlockletNo(int filterIndex) {
+    return blockletNos[filterIndex];
+  }
+
+  public String getShardName() {
+    return shardName;
+  }
+
+  /**
+   * @return size of the bloom filters in bytes, including the memory block
+   */
+  public long getSize() {
+    return memoryBlock.size() + blockletNos.length * 12L;
+  }
+
+  boolean isMemoryFreed() {
+    return memoryBlock.isFreedStatus();
+  }
+
+  public void freeMemory() {
+    UnsafeMemoryManager.INSTANCE.freeMemory(BLOOM_CACHE_TASK_ID, memoryBlock);
+  }
+}
@@ -0,0 +1,215 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.carbondata.datamap.bloom;
+
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.carbondata.core.cache.CarbonLRUCache;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class BloomDataMapCacheTest {
+
+  private static final String INDEX_COLUMN = "name";
+
+  private static final int NUM_BLOCKLETS = 10;
+
+  @Rule public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  private static byte[] getKey(int blockletNo, int i) {
+    return (blockletNo + "_" + i).getBytes(Charset.forName("UTF-8"));
+  }
+
+  /**
+   * write a V2 bloom index file of NUM_BLOCKLETS blocklets with {@code numKeys} keys each
+   */
+  private String writeV2Shard(String shardName, int numKeys) throws IOException {
+    File shardDir = temporaryFolder.newFolder(shardName);
+    DataOutputStream out = new DataOutputStream(new FileOutputStream(
+        BloomIndexFileStore.getBloomIndexFile(shardDir.getPath(), INDEX_COLUMN)));
+    try {
+      BloomIndexFileStore.writeBloomIndexHeader(out, BloomIndexFileStore.BLOOM_INDEX_VERSION_V2);
+      for (int blockletNo = 0; blockletNo < NUM_BLOCKLETS; blockletNo++) {
+        SplitBlockBloomFilter bloomFilter =
+            new SplitBlockBloomFilter(SplitBlockBloomFilter.getNumberOfBlocks(numKeys, 0.01));
+        bloomFilter.setBlockletNo(blockletNo);
+        for (int i = 0; i < numKeys; i++) {
+          bloomFilter.add(getKey(blockletNo, i));
+        }
+        bloomFilter.write(out);
+      }
+    } finally {
+      out.close();
+    }
+    return shardDir.getPath();
+  }
+
+  private static void assertAllKeysHit(BloomCacheKeyValue.CacheValue cacheValue, int numKeys) {
+    for (SplitBlockBloomFilterGroup group : cacheValue.getSplitBlockBloomFilters()) {
+      Assert.assertFalse(group.isMemoryFreed());
+      for (int filterIndex = 0; filterIndex < group.getNumberOfBlocklets(); filterIndex++) {
+        int blockletNo = group.getBlockletNo(filterIndex);
+        for (int i = 0; i < numKeys; i += 97) {
+          BitSet result = new BitSet();
+          group.membershipTest(getKey(blockletNo, i), result);
+          Assert.assertTrue(result.get(filterIndex));
+        }
+      }
+      Assert.assertFalse(group.isMemoryFreed());
+    }
+  }
+
+  @Test public void testRejectedValueIsFreedAfterClear() throws IOException {
+    // index of about 2MB does not fit in the cache of 1MB
+    int numKeys = 20000;
+    String shardPath = writeV2Shard("bigShard", numKeys * 8);
+    CarbonLRUCache lruCache = new CarbonLRUCache("carbon.bloom.test.lru.size", "1");
+    BloomDataMapCache cache = new BloomDataMapCache(lruCache);
+    BloomCacheKeyValue.CacheKey key = new BloomCacheKeyValue.CacheKey(shardPath, INDEX_COLUMN);
+
+    BloomCacheKeyValue.CacheValue cacheValue = cache.get(key);
+    Assert.assertNull(cache.getIfPresent(key));
+    Assert.assertEquals(0, lruCache.getCurrentSize());
+    // the value is still usable until the access is cleared
+    List<SplitBlockBloomFilterGroup> groups =
+        new ArrayList<>(cacheValue.getSplitBlockBloomFilters());
+    Assert.assertEquals(1, groups.size());
+    assertAllKeysHit(cacheValue, numKeys * 8);
+
+    cacheValue.clear();
+    Assert.assertTrue(groups.get(0).isMemoryFreed());
+    Assert.assertNull(cacheValue.getSplitBlockBloomFilters());
+  }
+
+  @Test public void testEvictedValueIsFreedAfterClear() throws IOException {
+    int numKeys = 20000;
+    String shardPath = writeV2Shard("shard", numKeys);
+    CarbonLRUCache lruCache = new CarbonLRUCache("carbon.bloom.test.lru.size", "1");
+    BloomDataMapCache cache = new BloomDataMapCache(lruCache);
+    BloomCacheKeyValue.CacheKey key = new BloomCacheKeyValue.CacheKey(shardPath, INDEX_COLUMN);
+
+    BloomCacheKeyValue.CacheValue cacheValue = cache.get(key);
+    Assert.assertTrue(cache.getIfPresent(key) == cacheValue);
+    SplitBlockBloomFilterGroup group = cacheValue.getSplitBlockBloomFilters().get(0);
+    cache.invalidate(key);
+    Assert.assertNull(cache.getIfPresent(key));
+    assertAllKeysHit(cacheValue, numKeys);
+
+    cacheValue.clear();
+    Assert.assertTrue(group.isMemoryFreed());
+    // a new value is loaded after the old one is invalidated
+    BloomCacheKeyValue.CacheValue newCacheValue = cache.get(key);
+    Assert.assertTrue(newCacheValue != cacheValue);
+    assertAllKeysHit(newCacheValue, numKeys);
+    newCacheValue.clear();
+    lruCache.clear();
+    Assert.assertTrue(newCacheValue.getSplitBlockBloomFilters() == null);
+  }
+
+  @Test public void testConcurrentGetAndEvict() throws Exception {
+    // each index is about 250KB, so only 4 of them fit in the cache of 1MB and they are
+    // evicted while other threads are using them
+    final int numKeys = 20000;
+    final List<BloomCacheKeyValue.CacheKey> keys = new ArrayList<>();
+    for (int shard = 0; shard < 6; shard++) {
+      keys.add(new BloomCacheKeyValue.CacheKey(writeV2Shard("shard" + shard, numKeys),
+          INDEX_COLUMN));
+    }
+    final CarbonLRUCache lruCache = new CarbonLRUCache("carbon.bloom.test.lru.size", "1");
+    final BloomDataMapCache cache = new BloomDataMapCache(lruCache);
+    // all the groups ever loaded, they must be freed in the end
+    final Set<SplitBlockBloomFilterGroup> loadedGroups =
+        Collections.newSetFromMap(new ConcurrentHashMap<SplitBlockBloomFilterGroup, Boolean>());
+
+    int numThreads = 8;
+    ExecutorService executorService = Executors.newFixedThreadPool(numThreads);
+    List<Future<Void>> futures = new ArrayList<>();
+    for (int thread = 0; thread < numThreads; thread++) {
+      final Random random = new Random(thread);
+      final boolean evictor = thread == 0;
+      futures.add(executorService.submit(new Callable<Void>() {
+        @Override
+        public Void call() throws Exception {
+          for (int i = 0; i < 200; i++) {
+            BloomCacheKeyValue.CacheKey key = keys.get(random.nextInt(keys.size()));
+            if (evictor && i % 2 == 0) {
+              cache.invalidate(key);
+              continue;
+            }
+            BloomCacheKeyValue.CacheValue cacheValue = cache.get(key);
+            try {
+              loadedGroups.addAll(cacheValue.getSplitBlockBloomFilters());
+              assertAllKeysHit(cacheValue, numKeys);
+            } finally {
+              cacheValue.clear();
+            }
+          }
+          return null;
+        }
+      }));
+    }
+    executorService.shutdown();
+    for (Future<Void> future : futures) {
+      future.get();
+    }
+    Assert.assertTrue(executorService.awaitTermination(1, TimeUnit.MINUTES));
+
+    // only the values in the cache are not freed and their size is counted once
+    long cachedSize = 0;
+    int cachedGroups = 0;
+    for (BloomCacheKeyValue.CacheKey key : keys) {
+      BloomCacheKeyValue.CacheValue cacheValue = cache.getIfPresent(key);
+      if (cacheValue != null) {
+        Assert.assertEquals(0, cacheValue.getAccessCount());
+        cachedSize += cacheValue.getMemorySize();
+        cachedGroups += cacheValue.getSplitBlockBloomFilters().size();
+      }
+    }
+    Assert.assertEquals(cachedSize, lruCache.getCurrentSize());
+    int notFreedGroups = 0;
+    for (SplitBlockBloomFilterGroup group : loadedGroups) {
+      if (!group.isMemoryFreed()) {
+        notFreedGroups++;
+      }
+    }
+    Assert.assertEquals(cachedGroups, notFreedGroups);
+
+    lruCache.clear();
+    for (SplitBlockBloomFilterGroup group : loadedGroups) {
+      Assert.assertTrue(group.isMemoryFreed());
+    }
+  }
+}
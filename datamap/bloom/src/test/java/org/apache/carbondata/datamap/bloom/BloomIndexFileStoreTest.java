@@ -0,0 +1,158 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.carbondata.datamap.bloom;
+
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.List;
+
+import org.apache.hadoop.util.bloom.CarbonBloomFilter;
+import org.apache.hadoop.util.bloom.Key;
+import org.apache.hadoop.util.hash.Hash;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class BloomIndexFileStoreTest {
+
+  private static final String INDEX_COLUMN = "name";
+
+  private static final int NUM_BLOCKLETS = 3;
+
+  private static final int NUM_KEYS = 1000;
+
+  @Rule public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  private static byte[] getKey(String shardName, int blockletNo, int i) {
+    return (shardName + "_" + blockletNo + "_" + i).getBytes(Charset.forName("UTF-8"));
+  }
+
+  private static void writeV1Shard(File shardDir) throws IOException {
+    DataOutputStream out = new DataOutputStream(new FileOutputStream(
+        BloomIndexFileStore.getBloomIndexFile(shardDir.getPath(), INDEX_COLUMN)));
+    try {
+      BloomIndexFileStore.writeBloomIndexHeader(out, BloomIndexFileStore.BLOOM_INDEX_VERSION_V1);
+      for (int blockletNo = 0; blockletNo < NUM_BLOCKLETS; blockletNo++) {
+        CarbonBloomFilter bloomFilter = new CarbonBloomFilter(9586, 7, Hash.MURMUR_HASH, false);
+        bloomFilter.setBlockletNo(blockletNo);
+        for (int i = 0; i < NUM_KEYS; i++) {
+          bloomFilter.add(new Key(getKey(shardDir.getName(), blockletNo, i)));
+        }
+        bloomFilter.write(out);
+      }
+    } finally {
+      out.close();
+    }
+  }
+
+  private static void writeV2Shard(File shardDir) throws IOException {
+    DataOutputStream out = new DataOutputStream(new FileOutputStream(
+        BloomIndexFileStore.getBloomIndexFile(shardDir.getPath(), INDEX_COLUMN)));
+    try {
+      BloomIndexFileStore.writeBloomIndexHeader(out, BloomIndexFileStore.BLOOM_INDEX_VERSION_V2);
+      for (int blockletNo = 0; blockletNo < NUM_BLOCKLETS; blockletNo++) {
+        SplitBlockBloomFilter bloomFilter =
+            new SplitBlockBloomFilter(SplitBlockBloomFilter.getNumberOfBlocks(NUM_KEYS, 0.01));
+        bloomFilter.setBlockletNo(blockletNo);
+        for (int i = 0; i < NUM_KEYS; i++) {
+          bloomFilter.add(getKey(shardDir.getName(), blockletNo, i));
+        }
+        bloomFilter.write(out);
+      }
+    } finally {
+      out.close();
+    }
+  }
+
+  @Test public void testLoadMergedIndexOfV1AndV2Shards() throws IOException {
+    File segmentDir = temporaryFolder.newFolder("segment");
+    List<String> shardNames = new ArrayList<>();
+    for (int shard = 0; shard < 4; shard++) {
+      File shardDir = new File(segmentDir, "shard" + shard);
+      Assert.assertTrue(shardDir.mkdirs());
+      if (shard % 2 == 0) {
+        writeV1Shard(shardDir);
+      } else {
+        writeV2Shard(shardDir);
+      }
+      shardNames.add(shardDir.getName());
+    }
+
+    BloomIndexFileStore.mergeBloomIndexFile(segmentDir.getPath(),
+        Collections.singletonList(INDEX_COLUMN));
+    String mergeShardPath =
+        segmentDir.getPath() + File.separator + BloomIndexFileStore.MERGE_BLOOM_INDEX_SHARD_NAME;
+    BloomCacheKeyValue.CacheValue cacheValue =
+        BloomIndexFileStore.loadBloomFilterFromFile(mergeShardPath, INDEX_COLUMN);
+    try {
+      List<CarbonBloomFilter> bloomFilters = cacheValue.getBloomFilters();
+      List<SplitBlockBloomFilterGroup> groups = cacheValue.getSplitBlockBloomFilters();
+      Assert.assertEquals(2 * NUM_BLOCKLETS, bloomFilters.size());
+      Assert.assertEquals(2, groups.size());
+
+      for (CarbonBloomFilter bloomFilter : bloomFilters) {
+        Assert.assertTrue(bloomFilter.getShardName().equals(shardNames.get(0))
+            || bloomFilter.getShardName().equals(shardNames.get(2)));
+        for (int i = 0; i < NUM_KEYS; i++) {
+          Assert.assertTrue(bloomFilter.membershipTest(
+              new Key(getKey(bloomFilter.getShardName(), bloomFilter.getBlockletNo(), i))));
+        }
+      }
+      for (SplitBlockBloomFilterGroup group : groups) {
+        Assert.assertTrue(group.getShardName().equals(shardNames.get(1))
+            || group.getShardName().equals(shardNames.get(3)));
+        Assert.assertEquals(NUM_BLOCKLETS, group.getNumberOfBlocklets());
+        for (int filterIndex = 0; filterIndex < NUM_BLOCKLETS; filterIndex++) {
+          int blockletNo = group.getBlockletNo(filterIndex);
+          for (int i = 0; i < NUM_KEYS; i++) {
+            BitSet result = new BitSet();
+            group.membershipTest(getKey(group.getShardName(), blockletNo, i), result);
+            Assert.assertTrue(result.get(filterIndex));
+          }
+        }
+      }
+    } finally {
+      cacheValue.invalidate();
+    }
+  }
+
+  @Test public void testLoadV1AndV2Index() throws IOException {
+    File v1ShardDir = temporaryFolder.newFolder("v1shard");
+    writeV1Shard(v1ShardDir);
+    BloomCacheKeyValue.CacheValue v1Value =
+        BloomIndexFileStore.loadBloomFilterFromFile(v1ShardDir.getPath(), INDEX_COLUMN);
+    Assert.assertEquals(NUM_BLOCKLETS, v1Value.getBloomFilters().size());
+    Assert.assertTrue(v1Value.getSplitBlockBloomFilters().isEmpty());
+    v1Value.invalidate();
+
+    File v2ShardDir = temporaryFolder.newFolder("v2shard");
+    writeV2Shard(v2ShardDir);
+    BloomCacheKeyValue.CacheValue v2Value =
+        BloomIndexFileStore.loadBloomFilterFromFile(v2ShardDir.getPath(), INDEX_COLUMN);
+    Assert.assertTrue(v2Value.getBloomFilters().isEmpty());
+    Assert.assertEquals(1, v2Value.getSplitBlockBloomFilters().size());
+    Assert.assertEquals("v2shard", v2Value.getSplitBlockBloomFilters().get(0).getShardName());
+    v2Value.invalidate();
+  }
+}
@@ -0,0 +1,172 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.carbondata.datamap.bloom;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.util.Arrays;
+import java.util.BitSet;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class SplitBlockBloomFilterTest {
+
+  private static byte[] getKey(String prefix, int i) {
+    return (prefix + i).getBytes(Charset.forName("UTF-8"));
+  }
+
+  @Test public void testNoFalseNegative() {
+    int numKeys = 100000;
+    SplitBlockBloomFilter bloomFilter =
+        new SplitBlockBloomFilter(SplitBlockBloomFilter.getNumberOfBlocks(numKeys, 0.001));
+    for (int i = 0; i < numKeys; i++) {
+      bloomFilter.add(getKey("key", i));
+    }
+    for (int i = 0; i < numKeys; i++) {
+      Assert.assertTrue(bloomFilter.membershipTest(getKey("key", i)));
+    }
+  }
+
+  @Test public void testNumberOfBlocksIsMinimumForFpp() {
+    int[] expectedInsertions = new int[] { 1, 100, 32000, 640000 };
+    double[] fpps = new double[] { 0.1, 0.01, 0.001, 0.00001 };
+    for (int n : expectedInsertions) {
+      for (double fpp : fpps) {
+        int numBlocks = SplitBlockBloomFilter.getNumberOfBlocks(n, fpp);
+        Assert.assertTrue(SplitBlockBloomFilter.getFalsePositiveProbability(n, numBlocks) <= fpp);
+        if (numBlocks > 1) {
+          Assert.assertTrue(
+              SplitBlockBloomFilter.getFalsePositiveProbability(n, numBlocks - 1) > fpp);
+        }
+      }
+    }
+  }
+
+  @Test public void testMeasuredFalsePositiveProbability() {
+    int numKeys = 32000;
+    double fpp = 0.001;
+    SplitBlockBloomFilter bloomFilter =
+        new SplitBlockBloomFilter(SplitBlockBloomFilter.getNumberOfBlocks(numKeys, fpp));
+    for (int i = 0; i < numKeys; i++) {
+      bloomFilter.add(getKey("key", i));
+    }
+    int numTests = 1000000;
+    int falsePositives = 0;
+    for (int i = 0; i < numTests; i++) {
+      if (bloomFilter.membershipTest(getKey("absent", i))) {
+        falsePositives++;
+      }
+    }
+    // 1000 false positives are expected, the standard deviation is about 32
+    Assert.assertTrue(falsePositives < numTests * fpp * 1.2);
+  }
+
+  @Test public void testWriteAndReadGroup() throws IOException {
+    int numBlocklets = 5;
+    int numKeys = 1000;
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    DataOutputStream out = new DataOutputStream(bytes);
+    BloomIndexFileStore.writeBloomIndexHeader(out, BloomIndexFileStore.BLOOM_INDEX_VERSION_V2);
+    for (int blockletNo = 0; blockletNo < numBlocklets; blockletNo++) {
+      // blocklets have different sizes
+      int blockletKeys = numKeys * (blockletNo + 1);
+      SplitBlockBloomFilter bloomFilter =
+          new SplitBlockBloomFilter(SplitBlockBloomFilter.getNumberOfBlocks(blockletKeys, 0.01));
+      bloomFilter.setBlockletNo(blockletNo);
+      for (int i = 0; i < blockletKeys; i++) {
+        bloomFilter.add(getKey("blocklet" + blockletNo + "_", i));
+      }
+      bloomFilter.write(out);
+    }
+    out.close();
+
+    SplitBlockBloomFilterGroup group =
+        SplitBlockBloomFilterGroup.read(bytes.toByteArray(), 8, "shard");
+    try {
+      Assert.assertEquals("shard", group.getShardName());
+      Assert.assertEquals(numBlocklets, group.getNumberOfBlocklets());
+      for (int filterIndex = 0; filterIndex < numBlocklets; filterIndex++) {
+        Assert.assertEquals(filterIndex, group.getBlockletNo(filterIndex));
+      }
+      for (int blockletNo = 0; blockletNo < numBlocklets; blockletNo++) {
+        int blockletKeys = numKeys * (blockletNo + 1);
+        int[] hits = new int[numBlocklets];
+        for (int i = 0; i < blockletKeys; i++) {
+          BitSet result = new BitSet();
+          group.membershipTest(getKey("blocklet" + blockletNo + "_", i), result);
+          Assert.assertTrue(result.get(blockletNo));
+          for (int filterIndex = result.nextSetBit(0); filterIndex >= 0;
+               filterIndex = result.nextSetBit(filterIndex + 1)) {
+            hits[filterIndex]++;
+          }
+        }
+        // keys of other blocklets only hit by false positive
+        for (int filterIndex = 0; filterIndex < numBlocklets; filterIndex++) {
+          if (filterIndex != blockletNo) {
+            Assert.assertTrue(hits[filterIndex] < blockletKeys * 0.05);
+          }
+        }
+      }
+    } finally {
+      group.freeMemory();
+    }
+  }
+
+  private static byte[] writeFilters(int numFilters, int numBlocks) throws IOException {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    DataOutputStream out = new DataOutputStream(bytes);
+    for (int blockletNo = 0; blockletNo < numFilters; blockletNo++) {
+      SplitBlockBloomFilter bloomFilter = new SplitBlockBloomFilter(numBlocks);
+      bloomFilter.setBlockletNo(blockletNo);
+      bloomFilter.write(out);
+    }
+    out.close();
+    return bytes.toByteArray();
+  }
+
+  private static void assertReadFails(byte[] data) {
+    try {
+      SplitBlockBloomFilterGroup.read(data, 0, "shard").freeMemory();
+      Assert.fail("read should fail for corrupted data");
+    } catch (IOException e) {
+      // expected
+    }
+  }
+
+  @Test public void testReadTruncatedData() throws IOException {
+    byte[] data = writeFilters(2, 4);
+    // truncated in the words of the last filter
+    assertReadFails(Arrays.copyOf(data, data.length - 8));
+    // truncated in the header of the last filter
+    assertReadFails(Arrays.copyOf(data, data.length / 2 + 4));
+  }
+
+  @Test public void testReadInvalidNumberOfBlocks() throws IOException {
+    byte[] data = writeFilters(2, 4);
+    ByteBuffer.wrap(data).putInt(4, -1);
+    assertReadFails(data);
+    // filter without blocks has no words to test the membership
+    ByteBuffer.wrap(data).putInt(4, 0);
+    assertReadFails(data);
+    ByteBuffer.wrap(data).putInt(4, Integer.MAX_VALUE);
+    assertReadFails(data);
+  }
+}
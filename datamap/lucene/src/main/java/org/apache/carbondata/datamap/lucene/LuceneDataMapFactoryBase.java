@@ -266,6 +266,8 @@ abstract class LuceneDataMapFactoryBase<T extends DataMap> extends DataMapFactor
     try {
       String datamapPath = CarbonTablePath
           .getDataMapStorePath(tableIdentifier.getTablePath(), segmentId, dataMapName);
+      // close the cached index searchers before deleting the index
+      LuceneIndexSearcherCache.getInstance().invalidate(FileFactory.getPath(datamapPath));
       if (FileFactory.isFileExist(datamapPath)) {
         CarbonFile file = FileFactory.getCarbonFile(datamapPath,
             FileFactory.getFileType(datamapPath));
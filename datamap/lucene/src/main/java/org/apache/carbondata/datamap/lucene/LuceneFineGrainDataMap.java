@@ -20,6 +20,7 @@ package org.apache.carbondata.datamap.lucene;
 import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -43,20 +44,17 @@ import org.apache.hadoop.fs.Path;
 import org.apache.log4j.Logger;
 import org.apache.lucene.analysis.Analyzer;
 import org.apache.lucene.analysis.standard.StandardAnalyzer;
-import org.apache.lucene.document.Document;
-import org.apache.lucene.index.DirectoryReader;
-import org.apache.lucene.index.IndexReader;
 import org.apache.lucene.index.IndexableField;
+import org.apache.lucene.index.LeafReader;
+import org.apache.lucene.index.LeafReaderContext;
 import org.apache.lucene.queryparser.classic.MultiFieldQueryParser;
 import org.apache.lucene.queryparser.classic.ParseException;
 import org.apache.lucene.queryparser.classic.QueryParser;
+import org.apache.lucene.search.CollectionTerminatedException;
 import org.apache.lucene.search.IndexSearcher;
 import org.apache.lucene.search.Query;
-import org.apache.lucene.search.ScoreDoc;
-import org.apache.lucene.search.TopDocs;
-import org.apache.lucene.store.Directory;
+import org.apache.lucene.search.SimpleCollector;
 import org.apache.lucene.util.BytesRef;
-import org.apache.solr.store.hdfs.HdfsDirectory;
 
 @InterfaceAudience.Internal
 public class LuceneFineGrainDataMap extends FineGrainDataMap {
@@ -68,18 +66,10 @@ public class LuceneFineGrainDataMap extends FineGrainDataMap {
       LogServiceFactory.getLogService(LuceneFineGrainDataMap.class.getName());
 
   /**
-   * search limit will help in deciding the size of priority queue which is used by lucene to store
-   * the documents in heap. By default it is 100 means in one search max of 10 documents can be
-   * stored in heap by lucene. This way it will help in reducing the GC.
-   * Note: If it is removed or it's value is increased it will lead to almost 90%
-   * of the query time in GC in worst case scenarios if it's value is increased beyond a limit
+   * index directories of this datamap, the searchers are taken from
+   * {@link LuceneIndexSearcherCache} when pruning
    */
-  private static final int SEARCH_LIMIT = 100;
-
-  /**
-   * searcher object for this datamap
-   */
-  private Map<String, IndexSearcher> indexSearcherMap = null;
+  private Map<String, CarbonFile> indexDirMap = null;
 
   /**
    * analyzer for lucene index
@@ -92,8 +82,6 @@ public class LuceneFineGrainDataMap extends FineGrainDataMap {
 
   private boolean storeBlockletWise;
 
-  private IndexReader indexReader;
-
   LuceneFineGrainDataMap(Analyzer analyzer, DataMapSchema schema) {
     this.analyzer = analyzer;
     writeCacheSize = LuceneDataMapFactoryBase.validateAndGetWriteCacheSize(schema);
@@ -112,7 +100,7 @@ public class LuceneFineGrainDataMap extends FineGrainDataMap {
 
     this.filePath = indexPath.getName();
 
-    this.indexSearcherMap = new HashMap<>();
+    this.indexDirMap = new HashMap<>();
 
     // get file system , use hdfs file system , realized in solr project
     CarbonFile indexFilePath = FileFactory.getCarbonFile(indexPath.toString());
@@ -133,30 +121,15 @@ public class LuceneFineGrainDataMap extends FineGrainDataMap {
     if (storeBlockletWise) {
       CarbonFile[] blockletDirs = indexFilePath.listFiles();
       for (CarbonFile blockletDir : blockletDirs) {
-        IndexSearcher indexSearcher = createIndexSearcher(new Path(blockletDir.getAbsolutePath()));
-        indexSearcherMap.put(blockletDir.getName(), indexSearcher);
+        indexDirMap.put(blockletDir.getName(), blockletDir);
       }
 
     } else {
-      IndexSearcher indexSearcher = createIndexSearcher(indexPath);
-      indexSearcherMap.put("-1", indexSearcher);
+      indexDirMap.put("-1", indexFilePath);
 
     }
     LOGGER.info(
-        "Time taken to initialize lucene searcher: " + (System.currentTimeMillis() - startTime));
-  }
-
-  private IndexSearcher createIndexSearcher(Path indexPath) throws IOException {
-    // open this index path , use HDFS default configuration
-    Directory indexDir = new HdfsDirectory(indexPath, FileFactory.getConfiguration());
-
-    this.indexReader = DirectoryReader.open(indexDir);
-    if (indexReader == null) {
-      throw new RuntimeException("failed to create index reader object");
-    }
-
-    // create a index searcher object
-    return new IndexSearcher(indexReader);
+        "Time taken to initialize lucene datamap: " + (System.currentTimeMillis() - startTime));
   }
 
   /**
@@ -240,60 +213,25 @@ public class LuceneFineGrainDataMap extends FineGrainDataMap {
       return null;
     }
     // temporary data, delete duplicated data
-    // Map<BlockId, Map<BlockletId, Map<PageId, Set<RowId>>>>
-    Map<String, Map<Integer, List<Short>>> mapBlocks = new HashMap<>();
+    // Map<BlockletId, Map<PageId, Set<RowId>>>
+    Map<String, Map<Integer, BitSet>> mapBlocks = new HashMap<>();
 
     long luceneSearchStartTime = System.currentTimeMillis();
-    for (Map.Entry<String, IndexSearcher> searcherEntry : indexSearcherMap.entrySet()) {
-      IndexSearcher indexSearcher = searcherEntry.getValue();
-      // take the min of total documents available in the reader and limit if set by the user
-      maxDocs = Math.min(maxDocs, indexSearcher.getIndexReader().maxDoc());
-      // execute index search
-      TopDocs result = null;
-      // the number of documents to be queried in one search. It will always be minimum of
-      // search result and maxDocs
-      int numberOfDocumentsToBeQueried = 0;
-      // counter for maintaining the total number of documents finished querying
-      int documentHitCounter = 0;
+    LuceneIndexSearcherCache searcherCache = LuceneIndexSearcherCache.getInstance();
+    for (Map.Entry<String, CarbonFile> indexDirEntry : indexDirMap.entrySet()) {
+      CarbonFile indexDir = indexDirEntry.getValue();
+      IndexSearcher indexSearcher = searcherCache.acquire(
+          new Path(indexDir.getAbsolutePath()), indexDir.getLastModifiedTime());
       try {
-        numberOfDocumentsToBeQueried = Math.min(maxDocs, SEARCH_LIMIT);
-        result = indexSearcher.search(query, numberOfDocumentsToBeQueried);
-        documentHitCounter += numberOfDocumentsToBeQueried;
+        // collect all the hits without scoring, at most maxDocs hits from each index
+        indexSearcher.search(query, new RowIdCollector(mapBlocks, indexDirEntry.getKey(), maxDocs));
       } catch (IOException e) {
         String errorMessage =
             String.format("failed to search lucene data, detail is %s", e.getMessage());
         LOGGER.error(errorMessage, e);
         throw new IOException(errorMessage, e);
-      }
-
-      ByteBuffer intBuffer = ByteBuffer.allocate(4);
-      // last scoreDoc in a result to be used in searchAfter API
-      ScoreDoc lastScoreDoc = null;
-      while (true) {
-        for (ScoreDoc scoreDoc : result.scoreDocs) {
-          // get a document
-          Document doc = indexSearcher.doc(scoreDoc.doc);
-          // get all fields
-          List<IndexableField> fieldsInDoc = doc.getFields();
-          if (writeCacheSize > 0) {
-            // It fills rowids to the map, its value is combined with multiple rows.
-            fillMapForCombineRows(intBuffer, mapBlocks, fieldsInDoc, searcherEntry.getKey());
-          } else {
-            // Fill rowids to the map
-            fillMap(intBuffer, mapBlocks, fieldsInDoc, searcherEntry.getKey());
-          }
-          lastScoreDoc = scoreDoc;
-        }
-        // result will have the total number of hits therefore we always need to query on the
-        // left over documents
-        int remainingHits = result.totalHits - documentHitCounter;
-        // break the loop if count reaches maxDocs to be searched or remaining hits become <=0
-        if (remainingHits <= 0 || documentHitCounter >= maxDocs) {
-          break;
-        }
-        numberOfDocumentsToBeQueried = Math.min(remainingHits, SEARCH_LIMIT);
-        result = indexSearcher.searchAfter(lastScoreDoc, query, numberOfDocumentsToBeQueried);
-        documentHitCounter += numberOfDocumentsToBeQueried;
+      } finally {
+        searcherCache.release(indexSearcher);
       }
     }
     LOGGER.info(
@@ -304,21 +242,23 @@ public class LuceneFineGrainDataMap extends FineGrainDataMap {
     List<FineGrainBlocklet> blocklets = new ArrayList<>();
 
     // transform all blocks into result type blocklets
-    // Map<BlockId, Map<BlockletId, Map<PageId, Set<RowId>>>>
-    for (Map.Entry<String, Map<Integer, List<Short>>> mapBlocklet :
+    // Map<BlockletId, Map<PageId, Set<RowId>>>
+    for (Map.Entry<String, Map<Integer, BitSet>> mapBlocklet :
         mapBlocks.entrySet()) {
       String blockletId = mapBlocklet.getKey();
-      Map<Integer, List<Short>> mapPageIds = mapBlocklet.getValue();
+      Map<Integer, BitSet> mapPageIds = mapBlocklet.getValue();
       List<FineGrainBlocklet.Page> pages = new ArrayList<FineGrainBlocklet.Page>();
 
       // for pages in this blocklet Map<PageId, Set<RowId>>>
-      for (Map.Entry<Integer, List<Short>> mapPageId : mapPageIds.entrySet()) {
+      for (Map.Entry<Integer, BitSet> mapPageId : mapPageIds.entrySet()) {
         // construct array rowid
-        int[] rowIds = new int[mapPageId.getValue().size()];
+        BitSet setRowId = mapPageId.getValue();
+        int[] rowIds = new int[setRowId.cardinality()];
         int i = 0;
         // for rowids in this page Set<RowId>
-        for (Short rowid : mapPageId.getValue()) {
-          rowIds[i++] = rowid;
+        for (int rowId = setRowId.nextSetBit(0); rowId >= 0;
+             rowId = setRowId.nextSetBit(rowId + 1)) {
+          rowIds[i++] = rowId;
         }
         // construct one page
         FineGrainBlocklet.Page page = new FineGrainBlocklet.Page();
@@ -341,7 +281,7 @@ public class LuceneFineGrainDataMap extends FineGrainDataMap {
    * rows and combine as per there uniqueness.
    */
   private void fillMapForCombineRows(ByteBuffer intBuffer,
-      Map<String, Map<Integer, List<Short>>> mapBlocks, List<IndexableField> fieldsInDoc,
+      Map<String, Map<Integer, BitSet>> mapBlocks, List<IndexableField> fieldsInDoc,
       String blockletId) {
     for (int i = 0; i < fieldsInDoc.size(); i++) {
       BytesRef bytesRef = fieldsInDoc.get(i).binaryValue();
@@ -360,19 +300,9 @@ public class LuceneFineGrainDataMap extends FineGrainDataMap {
         pageId = intBuffer.getShort();
       }
 
-      Map<Integer, List<Short>> mapPageIds = mapBlocks.get(blockletId);
-      if (mapPageIds == null) {
-        mapPageIds = new HashMap<>();
-        mapBlocks.put(blockletId, mapPageIds);
-      }
-      List<Short> setRowId = mapPageIds.get(pageId);
-      if (setRowId == null) {
-        setRowId = new ArrayList<>();
-        mapPageIds.put(pageId, setRowId);
-      }
-
+      BitSet setRowId = getRowIds(mapBlocks, blockletId, pageId);
       while (buffer.hasRemaining()) {
-        setRowId.add(buffer.getShort());
+        setRowId.set(buffer.getShort());
       }
     }
   }
@@ -380,7 +310,7 @@ public class LuceneFineGrainDataMap extends FineGrainDataMap {
   /**
    * Fill the map with rowids from documents
    */
-  private void fillMap(ByteBuffer intBuffer, Map<String, Map<Integer, List<Short>>> mapBlocks,
+  private void fillMap(ByteBuffer intBuffer, Map<String, Map<Integer, BitSet>> mapBlocks,
       List<IndexableField> fieldsInDoc, String blockletId) {
     int combineKey = fieldsInDoc.get(0).numericValue().intValue();
     intBuffer.clear();
@@ -398,17 +328,25 @@ public class LuceneFineGrainDataMap extends FineGrainDataMap {
       pageId = intBuffer.getShort();
       rowId = fieldsInDoc.get(1).numericValue().shortValue();
     }
-    Map<Integer, List<Short>> mapPageIds = mapBlocks.get(blockletId);
+    getRowIds(mapBlocks, blockletId, pageId).set(rowId);
+  }
+
+  /**
+   * Get the row ids of the page from the map, it is added to the map if not present
+   */
+  private BitSet getRowIds(Map<String, Map<Integer, BitSet>> mapBlocks, String blockletId,
+      int pageId) {
+    Map<Integer, BitSet> mapPageIds = mapBlocks.get(blockletId);
     if (mapPageIds == null) {
       mapPageIds = new HashMap<>();
       mapBlocks.put(blockletId, mapPageIds);
     }
-    List<Short> setRowId = mapPageIds.get(pageId);
+    BitSet setRowId = mapPageIds.get(pageId);
     if (setRowId == null) {
-      setRowId = new ArrayList<>();
+      setRowId = new BitSet();
       mapPageIds.put(pageId, setRowId);
     }
-    setRowId.add(rowId);
+    return setRowId;
   }
 
   @Override
@@ -426,18 +364,65 @@ public class LuceneFineGrainDataMap extends FineGrainDataMap {
 
   @Override
   public void finish() {
-    if (null != indexReader) {
-      try {
-        int referenceCount = indexReader.getRefCount();
-        if (referenceCount > 0) {
-          indexReader.decRef();
-          if (null != indexSearcherMap) {
-            indexSearcherMap.clear();
-          }
-        }
-      } catch (IOException e) {
-        LOGGER.error("Ignoring the exception, Error while closing the lucene index reader", e);
+    // searchers are released after each prune and closed by the searcher cache
+    if (null != indexDirMap) {
+      indexDirMap.clear();
+    }
+  }
+
+  /**
+   * Collects the row ids of all the hits into the map without scoring them, so that the hits are
+   * not kept in a priority queue and not searched again page by page
+   */
+  private class RowIdCollector extends SimpleCollector {
+
+    private Map<String, Map<Integer, BitSet>> mapBlocks;
+
+    private String blockletId;
+
+    private int maxDocs;
+
+    private int numberOfHits;
+
+    private LeafReader reader;
+
+    private ByteBuffer intBuffer = ByteBuffer.allocate(4);
+
+    private RowIdCollector(Map<String, Map<Integer, BitSet>> mapBlocks, String blockletId,
+        int maxDocs) {
+      this.mapBlocks = mapBlocks;
+      this.blockletId = blockletId;
+      this.maxDocs = maxDocs;
+    }
+
+    @Override
+    protected void doSetNextReader(LeafReaderContext context) throws IOException {
+      if (numberOfHits >= maxDocs) {
+        throw new CollectionTerminatedException();
       }
+      this.reader = context.reader();
+    }
+
+    @Override
+    public void collect(int doc) throws IOException {
+      if (numberOfHits >= maxDocs) {
+        throw new CollectionTerminatedException();
+      }
+      numberOfHits++;
+      // get all fields
+      List<IndexableField> fieldsInDoc = reader.document(doc).getFields();
+      if (writeCacheSize > 0) {
+        // It fills rowids to the map, its value is combined with multiple rows.
+        fillMapForCombineRows(intBuffer, mapBlocks, fieldsInDoc, blockletId);
+      } else {
+        // Fill rowids to the map
+        fillMap(intBuffer, mapBlocks, fieldsInDoc, blockletId);
+      }
+    }
+
+    @Override
+    public boolean needsScores() {
+      return false;
     }
   }
 }
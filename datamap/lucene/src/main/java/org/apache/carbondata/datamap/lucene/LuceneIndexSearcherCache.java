@@ -0,0 +1,239 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.datamap.lucene;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+import org.apache.carbondata.common.logging.LogServiceFactory;
+import org.apache.carbondata.core.datastore.impl.FileFactory;
+import org.apache.carbondata.core.util.CarbonProperties;
+
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.Path;
+import org.apache.log4j.Logger;
+import org.apache.lucene.index.DirectoryReader;
+import org.apache.lucene.index.IndexReader;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.IOContext;
+import org.apache.lucene.store.MMapDirectory;
+import org.apache.solr.store.hdfs.HdfsDirectory;
+
+/**
+ * Cache of the index searchers of lucene index shards, it is shared by all the queries so that
+ * the index of a shard is not opened for every query.
+ *
+ * Reference count of the index reader decides when it is closed: the cache holds one reference
+ * of each cached reader and a query holds one while it is searching. When the least recently
+ * used shard is evicted the cache releases its reference, so the reader is closed after the
+ * queries using it finish.
+ *
+ * If the local cache directory is configured, cached shards on non local file system are copied
+ * to it and read by memory map, and the copy is deleted when the reader is closed.
+ */
+final class LuceneIndexSearcherCache {
+
+  private static final Logger LOGGER =
+      LogServiceFactory.getLogService(LuceneIndexSearcherCache.class.getName());
+
+  private static final LuceneIndexSearcherCache INSTANCE = new LuceneIndexSearcherCache(
+      CarbonProperties.getLuceneIndexSearcherCacheSize(),
+      CarbonProperties.getLuceneIndexLocalCacheDir());
+
+  private final int maxSize;
+
+  private final String localCacheDir;
+
+  /**
+   * fully qualified index path -> cached searcher, in the access order
+   */
+  private final LinkedHashMap<String, CachedSearcher> searchers;
+
+  LuceneIndexSearcherCache(int maxSize, String localCacheDir) {
+    this.maxSize = maxSize;
+    this.localCacheDir = localCacheDir;
+    this.searchers = new LinkedHashMap<>(16, 0.75f, true);
+  }
+
+  static LuceneIndexSearcherCache getInstance() {
+    return INSTANCE;
+  }
+
+  /**
+   * Get the index searcher of the index shard, it should be released by
+   * {@link #release(IndexSearcher)} after searching
+   *
+   * @param indexPath path of the index shard
+   * @param lastModifiedTime last modified time of the index shard, cached searcher is not used
+   *                         if the index is modified after it is opened
+   */
+  IndexSearcher acquire(Path indexPath, long lastModifiedTime) throws IOException {
+    Path qualifiedPath = makeQualified(indexPath);
+    String key = qualifiedPath.toString();
+    synchronized (this) {
+      CachedSearcher cachedSearcher = searchers.get(key);
+      if (cachedSearcher != null) {
+        if (cachedSearcher.lastModifiedTime == lastModifiedTime
+            && cachedSearcher.searcher.getIndexReader().tryIncRef()) {
+          return cachedSearcher.searcher;
+        }
+        // index is rebuilt after it is opened
+        searchers.remove(key);
+        decRef(cachedSearcher.searcher.getIndexReader());
+      }
+    }
+    boolean cacheable = maxSize > 0;
+    IndexSearcher searcher = new IndexSearcher(openIndexReader(qualifiedPath, cacheable));
+    if (cacheable) {
+      synchronized (this) {
+        // the index may be opened by other query at the same time, then this one is not cached
+        if (!searchers.containsKey(key)) {
+          searcher.getIndexReader().incRef();
+          searchers.put(key, new CachedSearcher(searcher, lastModifiedTime));
+          evict();
+        }
+      }
+    }
+    return searcher;
+  }
+
+  /**
+   * Release the index searcher returned by {@link #acquire(Path, long)}
+   */
+  void release(IndexSearcher searcher) {
+    decRef(searcher.getIndexReader());
+  }
+
+  /**
+   * Remove the cached searchers of the index shard at the path or the index shards under it,
+   * shards of other paths sharing the same prefix, like datamap1 and datamap10, are not removed
+   */
+  void invalidate(Path indexPath) throws IOException {
+    String path = makeQualified(indexPath).toString();
+    invalidate(path, path.endsWith(Path.SEPARATOR) ? path : path + Path.SEPARATOR);
+  }
+
+  private synchronized void invalidate(String path, String parentPath) {
+    Iterator<Map.Entry<String, CachedSearcher>> iterator = searchers.entrySet().iterator();
+    while (iterator.hasNext()) {
+      Map.Entry<String, CachedSearcher> entry = iterator.next();
+      if (entry.getKey().equals(path) || entry.getKey().startsWith(parentPath)) {
+        iterator.remove();
+        decRef(entry.getValue().searcher.getIndexReader());
+      }
+    }
+  }
+
+  private void evict() {
+    Iterator<CachedSearcher> iterator = searchers.values().iterator();
+    while (searchers.size() > maxSize && iterator.hasNext()) {
+      CachedSearcher cachedSearcher = iterator.next();
+      iterator.remove();
+      decRef(cachedSearcher.searcher.getIndexReader());
+    }
+  }
+
+  /**
+   * Path with the scheme and authority of its file system, so that the path written with and
+   * without them, like the path of the carbon file and the path of the table, have same key
+   */
+  private static Path makeQualified(Path path) throws IOException {
+    return path.getFileSystem(FileFactory.getConfiguration()).makeQualified(path);
+  }
+
+  private IndexReader openIndexReader(Path indexPath, boolean cacheable) throws IOException {
+    if (cacheable && localCacheDir != null
+        && FileFactory.getFileType(indexPath.toString()) != FileFactory.FileType.LOCAL) {
+      return openLocalCopy(indexPath);
+    }
+    // open this index path , use HDFS default configuration
+    Directory indexDir = new HdfsDirectory(indexPath, FileFactory.getConfiguration());
+    IndexReader indexReader = DirectoryReader.open(indexDir);
+    if (indexReader == null) {
+      throw new RuntimeException("failed to create index reader object");
+    }
+    return indexReader;
+  }
+
+  /**
+   * copy the index files to local cache directory and open them by memory map
+   *
+   * @param indexPath fully qualified path of the index shard
+   */
+  private IndexReader openLocalCopy(Path indexPath) throws IOException {
+    final File localDir = new File(localCacheDir, UUID.randomUUID().toString());
+    if (!localDir.mkdirs()) {
+      throw new IOException("Failed to create directory " + localDir);
+    }
+    // HdfsDirectory closes the FileSystem on closing, so disable the cache of FileSystem for it
+    // and the FileSystem shared by others is not closed
+    Configuration conf = new Configuration(FileFactory.getConfiguration());
+    conf.setBoolean("fs." + indexPath.toUri().getScheme() + ".impl.disable.cache", true);
+    Directory indexDir = new HdfsDirectory(indexPath, conf);
+    final Directory localIndexDir = new MMapDirectory(localDir.toPath());
+    IndexReader indexReader;
+    try {
+      for (String fileName : indexDir.listAll()) {
+        localIndexDir.copyFrom(indexDir, fileName, fileName, IOContext.READONCE);
+      }
+      indexReader = DirectoryReader.open(localIndexDir);
+    } catch (IOException e) {
+      localIndexDir.close();
+      FileFactory.deleteAllFilesOfDir(localDir);
+      throw e;
+    } finally {
+      // index is read from the local copy, source is not required after copying
+      indexDir.close();
+    }
+    indexReader.addReaderClosedListener(new IndexReader.ReaderClosedListener() {
+      @Override
+      public void onClose(IndexReader reader) throws IOException {
+        localIndexDir.close();
+        if (!FileFactory.deleteAllFilesOfDir(localDir)) {
+          LOGGER.warn("Failed to delete the local copy of lucene index " + localDir);
+        }
+      }
+    });
+    return indexReader;
+  }
+
+  private static void decRef(IndexReader indexReader) {
+    try {
+      indexReader.decRef();
+    } catch (IOException e) {
+      LOGGER.error("Ignoring the exception, Error while closing the lucene index reader", e);
+    }
+  }
+
+  private static class CachedSearcher {
+
+    private final IndexSearcher searcher;
+
+    private final long lastModifiedTime;
+
+    private CachedSearcher(IndexSearcher searcher, long lastModifiedTime) {
+      this.searcher = searcher;
+      this.lastModifiedTime = lastModifiedTime;
+    }
+  }
+}
@@ -0,0 +1,247 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.carbondata.datamap.lucene;
+
+import java.io.File;
+import java.io.IOException;
+
+import org.apache.carbondata.core.datastore.impl.FileFactory;
+
+import mockit.Invocation;
+import mockit.Mock;
+import mockit.MockUp;
+import org.apache.hadoop.fs.Path;
+import org.apache.lucene.analysis.standard.StandardAnalyzer;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.MatchAllDocsQuery;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.FSDirectory;
+import org.apache.solr.store.hdfs.HdfsDirectory;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class LuceneIndexSearcherCacheTest {
+
+  @Rule public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  /**
+   * add {@code numDocs} documents to the index in the directory
+   */
+  private static Path writeIndex(File indexDir, int numDocs) throws IOException {
+    if (!indexDir.exists() && !indexDir.mkdirs()) {
+      throw new IOException("Failed to create directory " + indexDir);
+    }
+    Directory directory = FSDirectory.open(indexDir.toPath());
+    IndexWriter indexWriter =
+        new IndexWriter(directory, new IndexWriterConfig(new StandardAnalyzer()));
+    try {
+      for (int i = 0; i < numDocs; i++) {
+        Document document = new Document();
+        document.add(new StringField("id", String.valueOf(i), Field.Store.NO));
+        indexWriter.addDocument(document);
+      }
+    } finally {
+      indexWriter.close();
+      directory.close();
+    }
+    return new Path(indexDir.getAbsolutePath());
+  }
+
+  private static int countDocs(IndexSearcher searcher) throws IOException {
+    return searcher.count(new MatchAllDocsQuery());
+  }
+
+  @Test public void testAcquireAndRelease() throws IOException {
+    Path indexPath = writeIndex(temporaryFolder.newFolder("shard"), 10);
+    LuceneIndexSearcherCache cache = new LuceneIndexSearcherCache(2, null);
+
+    IndexSearcher searcher = cache.acquire(indexPath, 1L);
+    // one reference of the cache and one of the query
+    Assert.assertEquals(2, searcher.getIndexReader().getRefCount());
+    IndexSearcher sameSearcher = cache.acquire(indexPath, 1L);
+    Assert.assertSame(searcher, sameSearcher);
+    Assert.assertEquals(3, searcher.getIndexReader().getRefCount());
+    Assert.assertEquals(10, countDocs(sameSearcher));
+
+    cache.release(sameSearcher);
+    cache.release(searcher);
+    // the reader is kept open by the cache
+    Assert.assertEquals(1, searcher.getIndexReader().getRefCount());
+    Assert.assertEquals(10, countDocs(searcher));
+
+    cache.invalidate(indexPath);
+    Assert.assertEquals(0, searcher.getIndexReader().getRefCount());
+  }
+
+  @Test public void testNotCachedWhenCacheSizeIsZero() throws IOException {
+    Path indexPath = writeIndex(temporaryFolder.newFolder("shard"), 10);
+    LuceneIndexSearcherCache cache = new LuceneIndexSearcherCache(0, null);
+
+    IndexSearcher searcher = cache.acquire(indexPath, 1L);
+    Assert.assertEquals(1, searcher.getIndexReader().getRefCount());
+    IndexSearcher otherSearcher = cache.acquire(indexPath, 1L);
+    Assert.assertNotSame(searcher, otherSearcher);
+    cache.release(searcher);
+    cache.release(otherSearcher);
+    Assert.assertEquals(0, searcher.getIndexReader().getRefCount());
+    Assert.assertEquals(0, otherSearcher.getIndexReader().getRefCount());
+  }
+
+  @Test public void testEvictionWhileSearching() throws IOException {
+    Path indexPath1 = writeIndex(temporaryFolder.newFolder("shard1"), 10);
+    Path indexPath2 = writeIndex(temporaryFolder.newFolder("shard2"), 20);
+    LuceneIndexSearcherCache cache = new LuceneIndexSearcherCache(1, null);
+
+    IndexSearcher searcher1 = cache.acquire(indexPath1, 1L);
+    // shard1 is evicted when shard2 is cached, but it is still being searched
+    IndexSearcher searcher2 = cache.acquire(indexPath2, 1L);
+    Assert.assertEquals(1, searcher1.getIndexReader().getRefCount());
+    Assert.assertEquals(10, countDocs(searcher1));
+
+    cache.release(searcher1);
+    Assert.assertEquals(0, searcher1.getIndexReader().getRefCount());
+    // shard1 is opened again as it is not cached
+    IndexSearcher newSearcher1 = cache.acquire(indexPath1, 1L);
+    Assert.assertNotSame(searcher1, newSearcher1);
+    Assert.assertEquals(10, countDocs(newSearcher1));
+    cache.release(newSearcher1);
+
+    cache.release(searcher2);
+    Assert.assertEquals(0, searcher2.getIndexReader().getRefCount());
+    cache.invalidate(new Path(temporaryFolder.getRoot().getAbsolutePath()));
+    Assert.assertEquals(0, newSearcher1.getIndexReader().getRefCount());
+  }
+
+  @Test public void testReopenAfterModified() throws IOException {
+    File indexDir = temporaryFolder.newFolder("shard");
+    Path indexPath = writeIndex(indexDir, 10);
+    LuceneIndexSearcherCache cache = new LuceneIndexSearcherCache(2, null);
+
+    IndexSearcher searcher = cache.acquire(indexPath, 1L);
+    Assert.assertEquals(10, countDocs(searcher));
+
+    writeIndex(indexDir, 5);
+    IndexSearcher newSearcher = cache.acquire(indexPath, 2L);
+    Assert.assertNotSame(searcher, newSearcher);
+    Assert.assertEquals(15, countDocs(newSearcher));
+    // old reader is removed from cache but still open for the running search
+    Assert.assertEquals(1, searcher.getIndexReader().getRefCount());
+    Assert.assertEquals(10, countDocs(searcher));
+    cache.release(searcher);
+    Assert.assertEquals(0, searcher.getIndexReader().getRefCount());
+
+    cache.release(newSearcher);
+    Assert.assertSame(newSearcher, cache.acquire(indexPath, 2L));
+    cache.release(newSearcher);
+    cache.invalidate(indexPath);
+    Assert.assertEquals(0, newSearcher.getIndexReader().getRefCount());
+  }
+
+  @Test public void testInvalidateOnlyMatchesPath() throws IOException {
+    File segmentDir = temporaryFolder.newFolder("segment");
+    Path indexPath1 = writeIndex(new File(segmentDir, "datamap1" + File.separator + "shard"), 10);
+    Path indexPath10 =
+        writeIndex(new File(segmentDir, "datamap10" + File.separator + "shard"), 10);
+    LuceneIndexSearcherCache cache = new LuceneIndexSearcherCache(4, null);
+    IndexSearcher searcher1 = cache.acquire(indexPath1, 1L);
+    IndexSearcher searcher10 = cache.acquire(indexPath10, 1L);
+    cache.release(searcher1);
+    cache.release(searcher10);
+
+    cache.invalidate(indexPath1.getParent());
+    Assert.assertEquals(0, searcher1.getIndexReader().getRefCount());
+    Assert.assertEquals(1, searcher10.getIndexReader().getRefCount());
+    Assert.assertSame(searcher10, cache.acquire(indexPath10, 1L));
+    cache.release(searcher10);
+
+    // exact path of the shard
+    cache.invalidate(indexPath10);
+    Assert.assertEquals(0, searcher10.getIndexReader().getRefCount());
+  }
+
+  @Test public void testInvalidatePathWithoutScheme() throws IOException {
+    File segmentDir = temporaryFolder.newFolder("segment");
+    Path indexPath = writeIndex(new File(segmentDir, "shard"), 10);
+    // path of the index file on non local file system has the scheme, but path of the
+    // datamap built from the table path may not have it
+    Path qualifiedIndexPath = new Path("file", null, indexPath.toUri().getPath());
+    Assert.assertEquals("file", qualifiedIndexPath.toUri().getScheme());
+    Assert.assertNull(indexPath.toUri().getScheme());
+    LuceneIndexSearcherCache cache = new LuceneIndexSearcherCache(2, null);
+
+    IndexSearcher searcher = cache.acquire(qualifiedIndexPath, 1L);
+    Assert.assertSame(searcher, cache.acquire(indexPath, 1L));
+    cache.release(searcher);
+    cache.release(searcher);
+    cache.invalidate(new Path(segmentDir.getAbsolutePath()));
+    Assert.assertEquals(0, searcher.getIndexReader().getRefCount());
+
+    searcher = cache.acquire(indexPath, 1L);
+    cache.release(searcher);
+    cache.invalidate(new Path("file", null, segmentDir.getAbsolutePath()));
+    Assert.assertEquals(0, searcher.getIndexReader().getRefCount());
+  }
+
+  @Test public void testLocalCopyIsDeletedOnClose() throws IOException {
+    Path indexPath1 = writeIndex(temporaryFolder.newFolder("shard1"), 10);
+    Path indexPath2 = writeIndex(temporaryFolder.newFolder("shard2"), 20);
+    File localCacheDir = temporaryFolder.newFolder("localCache");
+    // index on non local file system is copied to local cache directory
+    new MockUp<FileFactory>() {
+      @Mock
+      public FileFactory.FileType getFileType(String path) {
+        return FileFactory.FileType.HDFS;
+      }
+    };
+    // index is copied from the source directory, which is closed after copying
+    final int[] numClosedSourceDirs = new int[1];
+    new MockUp<HdfsDirectory>() {
+      @Mock
+      public void close(Invocation invocation) {
+        numClosedSourceDirs[0]++;
+        invocation.proceed();
+      }
+    };
+    LuceneIndexSearcherCache cache =
+        new LuceneIndexSearcherCache(1, localCacheDir.getAbsolutePath());
+    IndexSearcher searcher1 = cache.acquire(indexPath1, 1L);
+    Assert.assertEquals(1, localCacheDir.listFiles().length);
+    Assert.assertEquals(1, numClosedSourceDirs[0]);
+    Assert.assertEquals(10, countDocs(searcher1));
+
+    // shard1 is evicted but its copy is kept until the search finishes
+    IndexSearcher searcher2 = cache.acquire(indexPath2, 1L);
+    Assert.assertEquals(2, localCacheDir.listFiles().length);
+    Assert.assertEquals(2, numClosedSourceDirs[0]);
+    Assert.assertEquals(10, countDocs(searcher1));
+    cache.release(searcher1);
+    Assert.assertEquals(1, localCacheDir.listFiles().length);
+
+    cache.release(searcher2);
+    Assert.assertEquals(1, localCacheDir.listFiles().length);
+    Assert.assertEquals(20, countDocs(searcher2));
+    cache.invalidate(indexPath2);
+    Assert.assertEquals(0, localCacheDir.listFiles().length);
+  }
+}
@@ -62,6 +62,7 @@ enum Encoding{
 	BOOL_BYTE = 12;   // Identifies that a column is encoded using BooleanPageCodec
 	ADAPTIVE_DELTA_FLOATING = 13; // Identifies that a column is encoded using AdaptiveDeltaFloatingCodec
 	DIRECT_COMPRESS_VARCHAR = 14;  // Identifies that a columm is encoded using DirectCompressCodec, it is used for long string columns
+	BIT_PACKED_INTEGRAL = 15; // Identifies that a column is encoded using BitPackingIntegralCodec
 }
 
 enum PartitionType{
@@ -251,6 +251,20 @@ public class StreamBlockletReader {
     offset += len;
   }
 
+  /**
+   * @return position of the next value in the decompressed blocklet data
+   */
+  public int getOffset() {
+    return offset;
+  }
+
+  /**
+   * move to the position returned by {@link #getOffset()} to read the values again
+   */
+  public void setOffset(int offset) {
+    this.offset = offset;
+  }
+
   public int getRowNums() {
     return rowNums;
   }
@@ -20,6 +20,7 @@ package org.apache.carbondata.hadoop.stream;
 import java.io.IOException;
 import java.math.BigDecimal;
 import java.nio.ByteBuffer;
+import java.util.Arrays;
 import java.util.BitSet;
 import java.util.HashMap;
 import java.util.List;
@@ -53,6 +54,8 @@ import org.apache.carbondata.core.scan.filter.intf.RowImpl;
 import org.apache.carbondata.core.scan.filter.intf.RowIntf;
 import org.apache.carbondata.core.scan.filter.resolver.FilterResolverIntf;
 import org.apache.carbondata.core.scan.model.QueryModel;
+import org.apache.carbondata.core.scan.result.vector.CarbonColumnVector;
+import org.apache.carbondata.core.scan.result.vector.CarbonColumnarBatch;
 import org.apache.carbondata.core.util.CarbonMetadataUtil;
 import org.apache.carbondata.core.util.CarbonUtil;
 import org.apache.carbondata.core.util.DataTypeUtil;
@@ -306,17 +309,7 @@ public class StreamRecordReader extends RecordReader<Void, Object> {
             }
           }
         } else {
-          if (input.nextBlocklet()) {
-            BlockletHeader header = input.readBlockletHeader();
-            if (isScanRequired(header)) {
-              if (skipScanData) {
-                input.skipBlockletData(false);
-              } else {
-                input.readBlockletData(header);
-              }
-            } else {
-              input.skipBlockletData(true);
-            }
+          if (nextScanBlocklet()) {
             scanMore = true;
           } else {
             isFinished = true;
@@ -330,6 +323,74 @@ public class StreamRecordReader extends RecordReader<Void, Object> {
     }
   }
 
+  /**
+   * move to the next blocklet and read its data if it is required to scan
+   *
+   * @return false if there is no more blocklet
+   */
+  private boolean nextScanBlocklet() throws IOException {
+    if (!input.nextBlocklet()) {
+      return false;
+    }
+    BlockletHeader header = input.readBlockletHeader();
+    if (isScanRequired(header)) {
+      if (skipScanData) {
+        input.skipBlockletData(false);
+      } else {
+        input.readBlockletData(header);
+      }
+    } else {
+      input.skipBlockletData(true);
+    }
+    return true;
+  }
+
+  /**
+   * Fill the next rows to the column vectors of the batch, the vector of each projection column
+   * should be in the same order as the projection.
+   * Values are decoded from the blocklet data and put to the vectors directly instead of
+   * creating the row. In case of filter, only the filter columns of the row are decoded first
+   * and the projection columns are decoded only if the row is selected by the filter.
+   *
+   * @return false if there is no more rows
+   */
+  public boolean nextColumnarBatch(CarbonColumnarBatch columnarBatch) throws IOException {
+    if (isFirstRow) {
+      isFirstRow = false;
+      initializeAtFirstRow();
+    }
+    CarbonColumnVector[] vectors = columnarBatch.columnVectors;
+    int batchSize = columnarBatch.getBatchSize();
+    int rowId = 0;
+    try {
+      while (rowId < batchSize && !isFinished) {
+        if (!input.hasNext()) {
+          isFinished = !nextScanBlocklet();
+          continue;
+        }
+        input.nextRow();
+        if (skipScanData) {
+          rowId++;
+          continue;
+        }
+        if (null != filter) {
+          int rowOffset = input.getOffset();
+          readRowToVector(null, rowId);
+          if (!filter.applyFilter(filterRow, carbonTable.getDimensionOrdinalMax())) {
+            continue;
+          }
+          input.setOffset(rowOffset);
+        }
+        readRowToVector(vectors, rowId++);
+      }
+    } catch (FilterUnsupportedException e) {
+      throw new IOException("Failed to filter row in vector reader", e);
+    }
+    columnarBatch.setActualSize(rowId);
+    columnarBatch.setRowCounter(rowId);
+    return rowId > 0;
+  }
+
   @Override public boolean nextKeyValue() throws IOException, InterruptedException {
     if (isFirstRow) {
       isFirstRow = false;
@@ -547,6 +608,210 @@ public class StreamRecordReader extends RecordReader<Void, Object> {
     }
   }
 
+  /**
+   * Decode the current row, if vectors is null the filter columns are decoded to the filter row
+   * otherwise the projection columns are put to the vectors
+   */
+  private void readRowToVector(CarbonColumnVector[] vectors, int rowId) {
+    boolean isFillFilter = null == vectors;
+    boolean[] isColumnRequired = isFillFilter ? isFilterRequired : isProjectionRequired;
+    short nullLen = input.readShort();
+    BitSet nullBitSet = allNonNull;
+    if (nullLen > 0) {
+      nullBitSet = BitSet.valueOf(input.readBytes(nullLen));
+    }
+    int colCount = 0;
+    // primitive type dimension
+    for (; colCount < isNoDictColumn.length; colCount++) {
+      if (nullBitSet.get(colCount)) {
+        if (isColumnRequired[colCount]) {
+          if (isFillFilter) {
+            filterValues[filterMap[colCount]] = CarbonCommonConstants.MEMBER_DEFAULT_VAL_ARRAY;
+          } else {
+            vectors[projectionMap[colCount]].putNull(rowId);
+          }
+        }
+      } else if (isNoDictColumn[colCount]) {
+        int v = input.readShort();
+        if (isColumnRequired[colCount]) {
+          byte[] b = input.readBytes(v);
+          if (isFillFilter) {
+            filterValues[filterMap[colCount]] = b;
+          } else {
+            putNoDictionaryValue(vectors[projectionMap[colCount]], rowId, b,
+                storageColumns[colCount]);
+          }
+        } else {
+          input.skipBytes(v);
+        }
+      } else if (isColumnRequired[colCount]) {
+        if (isFillFilter) {
+          filterValues[filterMap[colCount]] = input.readBytes(4);
+        } else if (null != directDictionaryGenerators[colCount]) {
+          putValue(vectors[projectionMap[colCount]], rowId,
+              directDictionaryGenerators[colCount].getValueFromSurrogate(input.readInt()),
+              storageColumns[colCount]);
+        } else {
+          vectors[projectionMap[colCount]].putInt(rowId, input.readInt());
+        }
+      } else {
+        input.skipBytes(4);
+      }
+    }
+    // complex type dimension
+    for (; colCount < dimensionCount; colCount++) {
+      if (nullBitSet.get(colCount)) {
+        if (isColumnRequired[colCount]) {
+          if (isFillFilter) {
+            filterValues[filterMap[colCount]] = null;
+          } else {
+            vectors[projectionMap[colCount]].putNull(rowId);
+          }
+        }
+      } else {
+        short v = input.readShort();
+        if (isColumnRequired[colCount]) {
+          byte[] b = input.readBytes(v);
+          if (isFillFilter) {
+            filterValues[filterMap[colCount]] = b;
+          } else {
+            vectors[projectionMap[colCount]].putObject(rowId,
+                queryTypes[colCount].getDataBasedOnDataType(ByteBuffer.wrap(b)));
+          }
+        } else {
+          input.skipBytes(v);
+        }
+      }
+    }
+    // measure
+    DataType dataType;
+    for (int msrCount = 0; msrCount < measureCount; msrCount++, colCount++) {
+      if (nullBitSet.get(colCount)) {
+        if (isColumnRequired[colCount]) {
+          if (isFillFilter) {
+            filterValues[filterMap[colCount]] = null;
+          } else {
+            vectors[projectionMap[colCount]].putNull(rowId);
+          }
+        }
+        continue;
+      }
+      dataType = measureDataTypes[msrCount];
+      if (!isColumnRequired[colCount]) {
+        skipMeasureValue(dataType);
+        continue;
+      }
+      if (isFillFilter) {
+        filterValues[filterMap[colCount]] = readMeasureValue(dataType);
+        continue;
+      }
+      CarbonColumnVector vector = vectors[projectionMap[colCount]];
+      if (dataType == DataTypes.BOOLEAN) {
+        vector.putBoolean(rowId, input.readBoolean());
+      } else if (dataType == DataTypes.SHORT) {
+        vector.putShort(rowId, input.readShort());
+      } else if (dataType == DataTypes.INT) {
+        vector.putInt(rowId, input.readInt());
+      } else if (dataType == DataTypes.LONG) {
+        vector.putLong(rowId, input.readLong());
+      } else if (dataType == DataTypes.DOUBLE) {
+        vector.putDouble(rowId, input.readDouble());
+      } else if (DataTypes.isDecimal(dataType)) {
+        int len = input.readShort();
+        vector.putDecimal(rowId, DataTypeUtil.byteToBigDecimal(input.readBytes(len)),
+            storageColumns[colCount].getColumnSchema().getPrecision());
+      }
+    }
+  }
+
+  private void skipMeasureValue(DataType dataType) {
+    if (dataType == DataTypes.BOOLEAN) {
+      input.skipBytes(1);
+    } else if (dataType == DataTypes.SHORT) {
+      input.skipBytes(2);
+    } else if (dataType == DataTypes.INT) {
+      input.skipBytes(4);
+    } else if (dataType == DataTypes.LONG || dataType == DataTypes.DOUBLE) {
+      input.skipBytes(8);
+    } else if (DataTypes.isDecimal(dataType)) {
+      input.skipBytes(input.readShort());
+    }
+  }
+
+  private Object readMeasureValue(DataType dataType) {
+    if (dataType == DataTypes.BOOLEAN) {
+      return input.readBoolean();
+    } else if (dataType == DataTypes.SHORT) {
+      return input.readShort();
+    } else if (dataType == DataTypes.INT) {
+      return input.readInt();
+    } else if (dataType == DataTypes.LONG) {
+      return input.readLong();
+    } else if (dataType == DataTypes.DOUBLE) {
+      return input.readDouble();
+    } else if (DataTypes.isDecimal(dataType)) {
+      int len = input.readShort();
+      return DataTypeUtil.byteToBigDecimal(input.readBytes(len));
+    }
+    return null;
+  }
+
+  /**
+   * put the value of no dictionary dimension, string and binary values are put as bytes
+   * without converting to the object
+   */
+  private static void putNoDictionaryValue(CarbonColumnVector vector, int rowId, byte[] value,
+      CarbonColumn column) {
+    DataType dataType = column.getDataType();
+    if (dataType == DataTypes.STRING || dataType == DataTypes.VARCHAR) {
+      if (Arrays.equals(CarbonCommonConstants.MEMBER_DEFAULT_VAL_ARRAY, value)) {
+        vector.putNull(rowId);
+      } else {
+        vector.putByteArray(rowId, value);
+      }
+    } else if (dataType == DataTypes.BINARY) {
+      if (value.length == 0) {
+        vector.putNull(rowId);
+      } else {
+        vector.putByteArray(rowId, value);
+      }
+    } else if (DataTypes.isDecimal(dataType)) {
+      if (value.length == 0) {
+        vector.putNull(rowId);
+      } else {
+        vector.putDecimal(rowId, DataTypeUtil.byteToBigDecimal(value),
+            column.getColumnSchema().getPrecision());
+      }
+    } else {
+      putValue(vector, rowId,
+          DataTypeUtil.getDataBasedOnDataTypeForNoDictionaryColumn(value, dataType), column);
+    }
+  }
+
+  private static void putValue(CarbonColumnVector vector, int rowId, Object value,
+      CarbonColumn column) {
+    DataType dataType = column.getDataType();
+    if (null == value) {
+      vector.putNull(rowId);
+    } else if (dataType == DataTypes.BOOLEAN) {
+      vector.putBoolean(rowId, (boolean) value);
+    } else if (dataType == DataTypes.BYTE) {
+      vector.putByte(rowId, (byte) value);
+    } else if (dataType == DataTypes.SHORT) {
+      vector.putShort(rowId, (short) value);
+    } else if (dataType == DataTypes.INT || dataType == DataTypes.DATE) {
+      vector.putInt(rowId, (int) value);
+    } else if (dataType == DataTypes.LONG || dataType == DataTypes.TIMESTAMP) {
+      vector.putLong(rowId, (long) value);
+    } else if (dataType == DataTypes.FLOAT) {
+      vector.putFloat(rowId, (float) value);
+    } else if (dataType == DataTypes.DOUBLE) {
+      vector.putDouble(rowId, (double) value);
+    } else {
+      vector.putObject(rowId, value);
+    }
+  }
+
   private void readRawRowFromStream() {
     input.nextRow();
     short nullLen = input.readShort();
@@ -71,6 +71,8 @@ public class CarbonVectorizedRecordReader extends AbstractRecordReader<Object> {
   // it is used when same col is used in projection many times.So need to fetch only that col.
   private List<Integer> projectionMapping = new ArrayList<>();
 
+  private StructField[] projectionFields;
+
 
   public CarbonVectorizedRecordReader(QueryModel queryModel) {
     this.queryModel = queryModel;
@@ -143,6 +145,34 @@ public class CarbonVectorizedRecordReader extends AbstractRecordReader<Object> {
 
   private void initBatch() {
     if (carbonColumnarBatch == null) {
+      StructField[] fields = getProjectionFields();
+      CarbonColumnVector[] vectors = new CarbonColumnVector[fields.length];
+
+      Map<String, Integer> colmap = new HashMap<>();
+      for (int i = 0; i < fields.length; i++) {
+        vectors[i] = new CarbonColumnVectorImpl(
+                CarbonV3DataFormatConstants.NUMBER_OF_ROWS_PER_BLOCKLET_COLUMN_PAGE_DEFAULT,
+                fields[i].getDataType());
+        if (colmap.containsKey(fields[i].getFieldName())) {
+          int reusedIndex = colmap.get(fields[i].getFieldName());
+          projectionMapping.add(reusedIndex);
+        } else {
+          colmap.put(fields[i].getFieldName(), i);
+          projectionMapping.add(i);
+        }
+      }
+      carbonColumnarBatch = new CarbonColumnarBatch(vectors,
+          CarbonV3DataFormatConstants.NUMBER_OF_ROWS_PER_BLOCKLET_COLUMN_PAGE_DEFAULT,
+          new boolean[] {});
+    }
+  }
+
+  /**
+   * Returns the projected fields in the order in which the columns are filled in a batch,
+   * with the data type used to fill each column vector.
+   */
+  public StructField[] getProjectionFields() {
+    if (projectionFields == null) {
       List<ProjectionDimension> queryDimension = queryModel.getProjectionDimensions();
       List<ProjectionMeasure> queryMeasures = queryModel.getProjectionMeasures();
       StructField[] fields = new StructField[queryDimension.size() + queryMeasures.size()];
@@ -166,25 +196,30 @@ public class CarbonVectorizedRecordReader extends AbstractRecordReader<Object> {
           fields[msr.getOrdinal()] = new StructField(msr.getColumnName(), DataTypes.DOUBLE);
         }
       }
-      CarbonColumnVector[] vectors = new CarbonColumnVector[fields.length];
+      projectionFields = fields;
+    }
+    return projectionFields;
+  }
 
-      Map<String, Integer> colmap = new HashMap<>();
-      for (int i = 0; i < fields.length; i++) {
-        vectors[i] = new CarbonColumnVectorImpl(
-                CarbonV3DataFormatConstants.NUMBER_OF_ROWS_PER_BLOCKLET_COLUMN_PAGE_DEFAULT,
-                fields[i].getDataType());
-        if (colmap.containsKey(fields[i].getFieldName())) {
-          int reusedIndex = colmap.get(fields[i].getFieldName());
-          projectionMapping.add(reusedIndex);
-        } else {
-          colmap.put(fields[i].getFieldName(), i);
-          projectionMapping.add(i);
-        }
+  /**
+   * Fills the next batch of rows directly into the vectors of the given batch instead of the
+   * reader's own batch, so that callers can use their own vector implementation. Vectors must
+   * follow the order and data types of {@link #getProjectionFields()}. This should not be mixed
+   * with the row wise read of the same reader.
+   *
+   * @return number of rows filled, 0 if there are no more rows to read
+   */
+  public int nextColumnarBatch(CarbonColumnarBatch columnarBatch) {
+    while (iterator.hasNext()) {
+      columnarBatch.reset();
+      iterator.processNextBatch(columnarBatch);
+      int actualSize = columnarBatch.getActualSize();
+      if (actualSize > 0) {
+        rowCount += actualSize;
+        return actualSize;
       }
-      carbonColumnarBatch = new CarbonColumnarBatch(vectors,
-          CarbonV3DataFormatConstants.NUMBER_OF_ROWS_PER_BLOCKLET_COLUMN_PAGE_DEFAULT,
-          new boolean[] {});
     }
+    return 0;
   }
 
   // if same col is given in projection many time then below logic is used to scan only once
@@ -43,6 +43,7 @@ import org.apache.carbondata.core.scan.model.ProjectionDimension;
 import org.apache.carbondata.core.scan.model.ProjectionMeasure;
 import org.apache.carbondata.core.scan.model.QueryModel;
 import org.apache.carbondata.core.scan.result.iterator.AbstractDetailQueryResultIterator;
+import org.apache.carbondata.core.scan.result.vector.CarbonColumnarBatch;
 import org.apache.carbondata.core.scan.result.vector.impl.CarbonColumnVectorImpl;
 import org.apache.carbondata.core.statusmanager.FileFormat;
 import org.apache.carbondata.core.util.CarbonTimeStatisticsFactory;
@@ -260,15 +261,10 @@ class CarbondataPageSource implements ConnectorPageSource {
             .createDirectStreamReader(batchSize, dataTypes[i], fields[i], dictionaries[i]);
       }
 
-      while (rowReader.nextKeyValue()) {
-        Object[] values = (Object[]) rowReader.getCurrentValue();
-        for (int index = 0; index < columnCount; index++) {
-          columns[index].putObject(count, values[index]);
-        }
-        count++;
-        if (count == batchSize) {
-          break;
-        }
+      // decode the stream rows directly to the column vectors
+      CarbonColumnarBatch columnarBatch = new CarbonColumnarBatch(columns, batchSize, null);
+      if (rowReader.nextColumnarBatch(columnarBatch)) {
+        count = columnarBatch.getActualSize();
       }
       if (count == 0) {
         close();
@@ -283,7 +279,7 @@ class CarbondataPageSource implements ConnectorPageSource {
     } catch (PrestoException e) {
       closeWithSuppression(e);
       throw e;
-    } catch (RuntimeException | InterruptedException | IOException e) {
+    } catch (RuntimeException | IOException e) {
       closeWithSuppression(e);
       throw new CarbonDataLoadingException("Exception when creating the Carbon data Block", e);
     }
@@ -0,0 +1,129 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.carbondata.spark.testsuite.dataload
+
+import java.io.File
+
+import scala.collection.JavaConverters._
+
+import org.apache.commons.io.FileUtils
+import org.apache.spark.sql.test.util.QueryTest
+import org.scalatest.BeforeAndAfterAll
+
+import org.apache.carbondata.core.constants.CarbonCommonConstants
+import org.apache.carbondata.core.util.CarbonProperties
+
+/**
+ * Test that converting the rows of a batch field by field gives the same rows and bad
+ * records as converting row by row
+ */
+class TestLoadWithConvertByField extends QueryTest with BeforeAndAfterAll {
+
+  val csvFilePath = s"$resourcesPath/badrecords/datasample.csv"
+  val badRecordPath = new File(currentPath + "/target/test/convertByFieldBadRecords")
+  val fieldTable = "field_convert_table"
+  val rowTable = "row_convert_table"
+
+  override def beforeAll(): Unit = {
+    dropTables()
+    FileUtils.deleteQuietly(badRecordPath)
+    badRecordPath.mkdirs()
+  }
+
+  override def afterAll(): Unit = {
+    dropTables()
+    FileUtils.deleteQuietly(badRecordPath)
+    CarbonProperties.getInstance().addProperty(
+      CarbonCommonConstants.CARBON_LOAD_CONVERT_BY_FIELD_ENABLE,
+      CarbonCommonConstants.CARBON_LOAD_CONVERT_BY_FIELD_ENABLE_DEFAULT)
+  }
+
+  private def dropTables(): Unit = {
+    sql(s"drop table if exists $fieldTable")
+    sql(s"drop table if exists $rowTable")
+  }
+
+  private def loadTable(tableName: String, badRecordsAction: String,
+      convertByField: Boolean): Unit = {
+    CarbonProperties.getInstance().addProperty(
+      CarbonCommonConstants.CARBON_LOAD_CONVERT_BY_FIELD_ENABLE, convertByField.toString)
+    try {
+      sql(s"drop table if exists $tableName")
+      sql(
+        s"""CREATE TABLE $tableName(ID BigInt, date Timestamp, country String,
+          actual_price Double, Quantity int, sold_price Decimal(19,2)) STORED BY 'carbondata'
+          TBLPROPERTIES('DICTIONARY_INCLUDE'='country,Quantity')""")
+      // load twice, so that the rows of the second load are converted by the same converter
+      // instance after the bad records of the first load
+      for (_ <- 1 to 2) {
+        sql(s"LOAD DATA local inpath '$csvFilePath' INTO TABLE $tableName OPTIONS" +
+            s"('bad_records_action'='$badRecordsAction', 'bad_records_logger_enable'='true', " +
+            s"'DELIMITER'=',', 'QUOTECHAR'='\"', 'timestampformat'='yyyy/MM/dd', " +
+            s"'BAD_RECORD_PATH'='${ badRecordPath.getCanonicalPath }')")
+      }
+    } finally {
+      CarbonProperties.getInstance().addProperty(
+        CarbonCommonConstants.CARBON_LOAD_CONVERT_BY_FIELD_ENABLE,
+        CarbonCommonConstants.CARBON_LOAD_CONVERT_BY_FIELD_ENABLE_DEFAULT)
+    }
+  }
+
+  private def getBadRecords(tableName: String): Seq[String] = {
+    val tableBadRecordPath = new File(badRecordPath, s"default/$tableName")
+    if (!tableBadRecordPath.exists()) {
+      Seq.empty
+    } else {
+      FileUtils.listFiles(tableBadRecordPath, Array("csv", "log"), true).asScala.toSeq
+        .sortBy { file =>
+          (file.getParent.substring(tableBadRecordPath.getPath.length), file.getName)
+        }
+        .flatMap(file => FileUtils.readLines(file).asScala)
+    }
+  }
+
+  private def assertSameResult(badRecordsAction: String, expectedCount: Int): Unit = {
+    FileUtils.deleteQuietly(badRecordPath)
+    loadTable(rowTable, badRecordsAction, convertByField = false)
+    loadTable(fieldTable, badRecordsAction, convertByField = true)
+    assertResult(expectedCount)(sql(s"select * from $fieldTable").count())
+    checkAnswer(sql(s"select * from $fieldTable"), sql(s"select * from $rowTable"))
+    // nulls and dictionary columns
+    checkAnswer(
+      sql(s"select country, Quantity, count(*) from $fieldTable where date is null " +
+          s"group by country, Quantity"),
+      sql(s"select country, Quantity, count(*) from $rowTable where date is null " +
+          s"group by country, Quantity"))
+    checkAnswer(sql(s"select ID from $fieldTable where country is null"),
+      sql(s"select ID from $rowTable where country is null"))
+    // bad records are logged and redirected in the same order
+    val badRecords = getBadRecords(fieldTable)
+    assert(badRecords.nonEmpty)
+    assertResult(getBadRecords(rowTable))(badRecords)
+  }
+
+  test("convert by field gives same rows as row convert with bad_records_action=force") {
+    assertSameResult("FORCE", 12)
+  }
+
+  test("convert by field gives same rows as row convert with bad_records_action=ignore") {
+    assertSameResult("IGNORE", 4)
+  }
+
+  test("convert by field gives same rows as row convert with bad_records_action=redirect") {
+    assertSameResult("REDIRECT", 4)
+  }
+}
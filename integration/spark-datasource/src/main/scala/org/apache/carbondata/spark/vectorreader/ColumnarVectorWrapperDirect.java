@@ -31,7 +31,7 @@ import org.apache.spark.sql.types.Decimal;
 /**
  * Fills the vector directly with out considering any deleted rows.
  */
-class ColumnarVectorWrapperDirect implements CarbonColumnVector {
+public class ColumnarVectorWrapperDirect implements CarbonColumnVector {
 
   /**
    * It is one column vector adapter class.
@@ -51,7 +51,7 @@ class ColumnarVectorWrapperDirect implements CarbonColumnVector {
 
   private CarbonColumnVector dictionaryVector;
 
-  ColumnarVectorWrapperDirect(CarbonVectorProxy writableColumnVector, int ordinal) {
+  public ColumnarVectorWrapperDirect(CarbonVectorProxy writableColumnVector, int ordinal) {
     this.sparkColumnVectorProxy = writableColumnVector.getColumnVector(ordinal);
     this.carbonVectorProxy = writableColumnVector;
     this.ordinal = ordinal;
@@ -19,12 +19,14 @@ package org.apache.carbondata.stream;
 
 import java.io.IOException;
 
-import org.apache.carbondata.core.scan.expression.exception.FilterUnsupportedException;
+import org.apache.carbondata.core.constants.CarbonV3DataFormatConstants;
 import org.apache.carbondata.core.scan.model.QueryModel;
+import org.apache.carbondata.core.scan.result.vector.CarbonColumnVector;
+import org.apache.carbondata.core.scan.result.vector.CarbonColumnarBatch;
 import org.apache.carbondata.core.util.DataTypeUtil;
-import org.apache.carbondata.format.BlockletHeader;
 import org.apache.carbondata.hadoop.InputMetricsStats;
 import org.apache.carbondata.hadoop.stream.StreamRecordReader;
+import org.apache.carbondata.spark.vectorreader.ColumnarVectorWrapperDirect;
 
 import org.apache.spark.memory.MemoryMode;
 import org.apache.spark.sql.CarbonVectorProxy;
@@ -41,6 +43,7 @@ public class CarbonStreamRecordReader extends StreamRecordReader {
   // vector reader
   protected boolean isVectorReader;
   private CarbonVectorProxy vectorProxy;
+  private CarbonColumnarBatch columnarBatch;
   private StructType outputSchema;
   private InternalRow outputRow;
 
@@ -59,6 +62,15 @@ public class CarbonStreamRecordReader extends StreamRecordReader {
     outputRow = new GenericInternalRow(outputValues);
     outputSchema = new StructType((StructField[])
         DataTypeUtil.getDataTypeConverter().convertCarbonSchemaToSparkSchema(projection));
+    if (isVectorReader) {
+      vectorProxy = new CarbonVectorProxy(MemoryMode.OFF_HEAP, outputSchema,
+          CarbonV3DataFormatConstants.NUMBER_OF_ROWS_PER_BLOCKLET_COLUMN_PAGE_DEFAULT, false);
+      CarbonColumnVector[] vectors = new CarbonColumnVector[projection.length];
+      for (int i = 0; i < vectors.length; i++) {
+        vectors[i] = new ColumnarVectorWrapperDirect(vectorProxy, i);
+      }
+      columnarBatch = new CarbonColumnarBatch(vectors, vectorProxy.numRows(), null);
+    }
   }
 
   @Override public boolean nextKeyValue() throws IOException, InterruptedException {
@@ -95,74 +107,16 @@ public class CarbonStreamRecordReader extends StreamRecordReader {
   }
 
   /**
-   * for vector reader, check next columnar batch
+   * for vector reader, decode the next rows of stream blocklets to the column vectors
    */
   private boolean nextColumnarBatch() throws IOException {
-    boolean hasNext;
-    boolean scanMore = false;
-    do {
-      // move to the next blocklet
-      hasNext = input.nextBlocklet();
-      if (hasNext) {
-        // read blocklet header
-        BlockletHeader header = input.readBlockletHeader();
-        if (isScanRequired(header)) {
-          scanMore = !scanBlockletAndFillVector(header);
-        } else {
-          input.skipBlockletData(true);
-          scanMore = true;
-        }
-      } else {
-        isFinished = true;
-        scanMore = false;
-      }
-    } while (scanMore);
+    vectorProxy.reset();
+    columnarBatch.reset();
+    boolean hasNext = nextColumnarBatch(columnarBatch);
+    vectorProxy.setNumRows(columnarBatch.getActualSize());
     return hasNext;
   }
 
-  private boolean scanBlockletAndFillVector(BlockletHeader header) throws IOException {
-    // if filter is null and output projection is empty, use the row number of blocklet header
-    if (skipScanData) {
-      int rowNums = header.getBlocklet_info().getNum_rows();
-      vectorProxy = new CarbonVectorProxy(MemoryMode.OFF_HEAP, outputSchema, rowNums, false);
-      vectorProxy.setNumRows(rowNums);
-      input.skipBlockletData(true);
-      return rowNums > 0;
-    }
-
-    input.readBlockletData(header);
-    vectorProxy =
-        new CarbonVectorProxy(MemoryMode.OFF_HEAP, outputSchema, input.getRowNums(), false);
-    int rowNum = 0;
-    if (null == filter) {
-      while (input.hasNext()) {
-        readRowFromStream();
-        putRowToColumnBatch(rowNum++);
-      }
-    } else {
-      try {
-        while (input.hasNext()) {
-          readRowFromStream();
-          if (filter.applyFilter(filterRow, carbonTable.getDimensionOrdinalMax())) {
-            putRowToColumnBatch(rowNum++);
-          }
-        }
-      } catch (FilterUnsupportedException e) {
-        throw new IOException("Failed to filter row in vector reader", e);
-      }
-    }
-    vectorProxy.setNumRows(rowNum);
-    return rowNum > 0;
-  }
-
-  private void putRowToColumnBatch(int rowId) {
-    for (int i = 0; i < projection.length; i++) {
-      Object value = outputValues[i];
-      vectorProxy.getColumnVector(i).putRowToColumnBatch(rowId,value);
-
-    }
-  }
-
   @Override public void close() throws IOException {
     super.close();
     if (null != vectorProxy) {
@@ -40,6 +40,7 @@ import org.apache.carbondata.core.constants.CarbonCommonConstants
 import org.apache.carbondata.core.datastore.impl.FileFactory
 import org.apache.carbondata.core.metadata.schema.datamap.DataMapClassProvider.TIMESERIES
 import org.apache.carbondata.core.metadata.schema.table.CarbonTable
+import org.apache.carbondata.core.reader.CarbonHeaderReader
 import org.apache.carbondata.core.statusmanager.{FileFormat, SegmentStatus}
 import org.apache.carbondata.core.util.CarbonProperties
 import org.apache.carbondata.core.util.path.CarbonTablePath
@@ -128,6 +129,13 @@ class TestStreamingTableOpName extends QueryTest with BeforeAndAfterAll {
 
     createTable(tableName = "stream_table_empty", streaming = true, withBatchLoad = false)
 
+    // 20. streaming table with compression level
+    createTable(tableName = "stream_table_compressor", streaming = true, withBatchLoad = false,
+      columnCompressor = "zstd:9")
+
+    // 21. query streaming segment by vector reader and row reader
+    createTable(tableName = "stream_table_vector", streaming = true, withBatchLoad = false)
+
     var csvDataDir = integrationPath + "/spark2/target/csvdatanew"
     generateCSVDataFile(spark, idStart = 10, rowNums = 5, csvDataDir)
     generateCSVDataFile(spark, idStart = 10, rowNums = 5, csvDataDir, SaveMode.Append)
@@ -221,6 +229,8 @@ class TestStreamingTableOpName extends QueryTest with BeforeAndAfterAll {
     sql("drop table if exists streaming.stream_table_drop")
     sql("drop table if exists streaming.agg_table_block")
     sql("drop table if exists streaming.stream_table_empty")
+    sql("drop table if exists streaming.stream_table_compressor")
+    sql("drop table if exists streaming.stream_table_vector")
   }
 
   // normal table not support streaming ingest
@@ -279,6 +289,82 @@ class TestStreamingTableOpName extends QueryTest with BeforeAndAfterAll {
     assertResult(exceptedRow)(row)
   }
 
+  test("streaming ingest with compression level of zstd") {
+    executeStreamingIngest(
+      tableName = "stream_table_compressor",
+      batchNums = 2,
+      rowNumsEachBatch = 10,
+      intervalOfSource = 2,
+      intervalOfIngest = 2,
+      continueSeconds = 12,
+      generateBadRecords = false,
+      badRecordAction = "force",
+      autoHandoff = false
+    )
+    checkAnswer(
+      sql("select count(*) from streaming.stream_table_compressor"),
+      Seq(Row(20)))
+    checkAnswer(
+      sql("select * from streaming.stream_table_compressor where id = 1"),
+      Seq(Row(1, "name_1", "city_1", 10000.0, BigDecimal.valueOf(0.01), 80.01, Date.valueOf("1990-01-01"), Timestamp.valueOf("2010-01-01 10:01:01.0"), Timestamp.valueOf("2010-01-01 10:01:01.0"))))
+
+    // only the compressor name is written to the file header, level is not required to read
+    val carbonTable = CarbonEnv.getCarbonTable(Option("streaming"), "stream_table_compressor")(spark)
+    val streamFiles = FileFactory
+      .getCarbonFile(CarbonTablePath.getSegmentPath(carbonTable.getTablePath, "0"))
+      .listFiles()
+      .filter(_.getName.endsWith(CarbonTablePath.CARBON_DATA_EXT))
+    assert(streamFiles.nonEmpty)
+    streamFiles.foreach { file =>
+      assertResult("zstd")(
+        new CarbonHeaderReader(file.getCanonicalPath).readHeader().getCompressor_name)
+    }
+  }
+
+  test("vector reader and row reader give same result on streaming segment") {
+    executeStreamingIngest(
+      tableName = "stream_table_vector",
+      batchNums = 2,
+      rowNumsEachBatch = 25,
+      intervalOfSource = 2,
+      intervalOfIngest = 2,
+      continueSeconds = 12,
+      generateBadRecords = true,
+      badRecordAction = "force",
+      autoHandoff = false
+    )
+    checkAnswer(
+      sql("select count(*) from streaming.stream_table_vector"),
+      Seq(Row(50)))
+
+    def collect(query: String, vectorReader: Boolean): Seq[String] = {
+      spark.conf.set(CarbonCommonConstants.ENABLE_VECTOR_READER, vectorReader.toString)
+      try {
+        sql(query).collect().map(_.toString()).sorted
+      } finally {
+        spark.conf.unset(CarbonCommonConstants.ENABLE_VECTOR_READER)
+      }
+    }
+
+    Seq(
+      // nulls, dictionary, no dictionary and decimal columns
+      "select * from streaming.stream_table_vector",
+      "select * from streaming.stream_table_vector where id is null",
+      "select name, tax, register from streaming.stream_table_vector",
+      // filter drops some rows of the blocklet
+      "select * from streaming.stream_table_vector where id > 10 and id < 20",
+      "select * from streaming.stream_table_vector where city = 'city_3'",
+      "select id, tax from streaming.stream_table_vector where name = 'name_9'",
+      // no column is projected, the rows are counted without reading the data
+      "select count(*) from streaming.stream_table_vector",
+      "select count(*) from streaming.stream_table_vector where id < 10"
+    ).foreach { query =>
+      val rowReaderResult = collect(query, vectorReader = false)
+      assert(rowReaderResult.nonEmpty, query)
+      assertResult(rowReaderResult, query)(collect(query, vectorReader = true))
+    }
+  }
+
   test("test preaggregate table creation on streaming table without handoff") {
     val identifier = new TableIdentifier("agg_table", Option("streaming"))
     val carbonTable = CarbonEnv.getInstance(spark).carbonMetaStore.lookupRelation(identifier)(spark)
@@ -2542,7 +2628,8 @@ class TestStreamingTableOpName extends QueryTest with BeforeAndAfterAll {
     }
   }
 
-  def createTable(tableName: String, streaming: Boolean, withBatchLoad: Boolean): Unit = {
+  def createTable(tableName: String, streaming: Boolean, withBatchLoad: Boolean,
+      columnCompressor: String = ""): Unit = {
     sql(
       s"""
          | CREATE TABLE streaming.$tableName(
@@ -2558,6 +2645,7 @@ class TestStreamingTableOpName extends QueryTest with BeforeAndAfterAll {
          | )
          | STORED BY 'carbondata'
          | TBLPROPERTIES(${if (streaming) "'streaming'='true', " else "" }
+         | ${if (columnCompressor.isEmpty) "" else s"'${CarbonCommonConstants.COMPRESSOR}'='$columnCompressor', "}
          | 'sort_columns'='name', 'dictionary_include'='city,register', 'BAD_RECORD_PATH'='$badRecordFilePath')
          | """.stripMargin)
 
@@ -20,6 +20,7 @@ import java.io.IOException;
 
 import org.apache.carbondata.core.datastore.row.CarbonRow;
 import org.apache.carbondata.processing.loading.exception.CarbonDataLoadingException;
+import org.apache.carbondata.processing.loading.row.CarbonRowBatch;
 
 /**
  * convert the row
@@ -30,6 +31,12 @@ public interface RowConverter extends DictionaryCardinalityFinder {
 
   CarbonRow convert(CarbonRow row) throws CarbonDataLoadingException;
 
+  /**
+   * Convert all the rows of the batch field by field. The rows which are bad records and are
+   * not converted to null are removed from the batch, and the batch is rewound.
+   */
+  void convert(CarbonRowBatch rowBatch) throws CarbonDataLoadingException;
+
   RowConverter createCopyForNewThread();
   FieldConverter[] getFieldConverters();
   void finish();
@@ -18,6 +18,7 @@ package org.apache.carbondata.processing.loading.converter.impl;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.Callable;
@@ -43,6 +44,7 @@ import org.apache.carbondata.processing.loading.converter.FieldConverter;
 import org.apache.carbondata.processing.loading.converter.RowConverter;
 import org.apache.carbondata.processing.loading.exception.BadRecordFoundException;
 import org.apache.carbondata.processing.loading.exception.CarbonDataLoadingException;
+import org.apache.carbondata.processing.loading.row.CarbonRowBatch;
 
 import org.apache.log4j.Logger;
 
@@ -73,6 +75,16 @@ public class RowConverterImpl implements RowConverter {
 
   private boolean isConvertToBinary;
 
+  /**
+   * rows of the batch being converted field by field
+   */
+  private CarbonRow[] batchRows;
+
+  /**
+   * bad record reason of the rows of the batch being converted field by field
+   */
+  private String[] batchBadRecordReasons;
+
   public RowConverterImpl(DataField[] fields, CarbonDataLoadConfiguration configuration,
       BadRecordsLogger badRecordLogger) {
     this.fields = fields;
@@ -167,14 +179,7 @@ public class RowConverterImpl implements RowConverter {
     for (int i = 0; i < fieldConverters.length; i++) {
       fieldConverters[i].convert(row, logHolder);
       if (!logHolder.isLogged() && logHolder.isBadRecordNotAdded()) {
-        badRecordLogger.addBadRecordsToBuilder(row.getRawData(), logHolder.getReason());
-        if (badRecordLogger.isDataLoadFail()) {
-          String error = "Data load failed due to bad record: " + logHolder.getReason();
-          if (!badRecordLogger.isBadRecordLoggerEnable()) {
-            error += "Please enable bad record logger to know the detail reason.";
-          }
-          throw new BadRecordFoundException(error);
-        }
+        addBadRecord(row, logHolder.getReason());
         logHolder.clear();
         logHolder.setLogged(true);
         if (badRecordLogger.isBadRecordConvertNullDisable()) {
@@ -187,6 +192,65 @@ public class RowConverterImpl implements RowConverter {
     return row;
   }
 
+  @Override
+  public void convert(CarbonRowBatch rowBatch) throws CarbonDataLoadingException {
+    int size = rowBatch.getSize();
+    if (null == batchRows || batchRows.length < size) {
+      batchRows = new CarbonRow[size];
+      batchBadRecordReasons = new String[size];
+    }
+    for (int i = 0; i < size; i++) {
+      batchRows[i] = rowBatch.next();
+      batchBadRecordReasons[i] = null;
+    }
+    boolean isSkipBadRecord = badRecordLogger.isBadRecordConvertNullDisable();
+    boolean hasBadRecord = false;
+    for (int i = 0; i < fieldConverters.length; i++) {
+      FieldConverter fieldConverter = fieldConverters[i];
+      for (int j = 0; j < size; j++) {
+        if (isSkipBadRecord && null != batchBadRecordReasons[j]) {
+          // remaining fields of the row are not converted as the row will be removed
+          continue;
+        }
+        logHolder.clear();
+        fieldConverter.convert(batchRows[j], logHolder);
+        // only the first bad field of the row is logged, same as converting row by row
+        if (null == batchBadRecordReasons[j] && logHolder.isBadRecordNotAdded()) {
+          batchBadRecordReasons[j] = logHolder.getReason();
+          hasBadRecord = true;
+        }
+      }
+    }
+    logHolder.clear();
+    rowBatch.rewind();
+    for (int i = 0; i < size; i++) {
+      CarbonRow row = rowBatch.next();
+      if (hasBadRecord && null != batchBadRecordReasons[i]) {
+        // bad records are added in the order of rows
+        addBadRecord(row, batchBadRecordReasons[i]);
+        if (isSkipBadRecord) {
+          rowBatch.remove();
+          continue;
+        }
+      }
+      // rawData will not be required after this so reset the entry to null.
+      row.setRawData(null);
+    }
+    Arrays.fill(batchRows, 0, size, null);
+    rowBatch.rewind();
+  }
+
+  private void addBadRecord(CarbonRow row, String reason) {
+    badRecordLogger.addBadRecordsToBuilder(row.getRawData(), reason);
+    if (badRecordLogger.isDataLoadFail()) {
+      String error = "Data load failed due to bad record: " + reason;
+      if (!badRecordLogger.isBadRecordLoggerEnable()) {
+        error += "Please enable bad record logger to know the detail reason.";
+      }
+      throw new BadRecordFoundException(error);
+    }
+  }
+
   @Override
   public void finish() {
     // Clear up dictionary cache access count.
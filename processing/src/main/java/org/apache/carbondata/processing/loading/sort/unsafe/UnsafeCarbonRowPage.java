@@ -28,6 +28,7 @@ import org.apache.carbondata.core.memory.UnsafeSortMemoryManager;
 import org.apache.carbondata.core.util.ReUsableByteArrayDataOutputStream;
 import org.apache.carbondata.processing.loading.row.IntermediateSortTempRow;
 import org.apache.carbondata.processing.loading.sort.SortStepRowHandler;
+import org.apache.carbondata.processing.loading.sort.unsafe.comparator.UnsafeSortKeyPrefix;
 import org.apache.carbondata.processing.sort.SortTempRowUpdater;
 import org.apache.carbondata.processing.sort.sortdata.TableFieldStat;
 
@@ -53,12 +54,18 @@ public class UnsafeCarbonRowPage {
 
   private SortTempRowUpdater sortTempRowUpdater;
 
+  /**
+   * builds the sort key prefix of the rows, null if the sort columns can not be encoded in prefix
+   */
+  private UnsafeSortKeyPrefix keyPrefix;
+
   public UnsafeCarbonRowPage(TableFieldStat tableFieldStat, MemoryBlock memoryBlock,
       String taskId) {
     this.tableFieldStat = tableFieldStat;
     this.sortStepRowHandler = new SortStepRowHandler(tableFieldStat);
     this.taskId = taskId;
-    buffer = new IntPointerBuffer(this.taskId);
+    this.keyPrefix = UnsafeSortKeyPrefix.newInstance(tableFieldStat);
+    buffer = new IntPointerBuffer(this.taskId, keyPrefix != null);
     this.dataBlock = memoryBlock;
     // TODO Only using 98% of space for safe side.May be we can have different logic.
     sizeToBeUsed = dataBlock.size() - (dataBlock.size() * 5) / 100;
@@ -69,8 +76,13 @@ public class UnsafeCarbonRowPage {
   public int addRow(Object[] row,
       ReUsableByteArrayDataOutputStream reUsableByteArrayDataOutputStream)
       throws MemoryException, IOException {
-    int size = addRow(row, dataBlock.getBaseOffset() + lastSize, reUsableByteArrayDataOutputStream);
-    buffer.set(lastSize);
+    long address = dataBlock.getBaseOffset() + lastSize;
+    int size = addRow(row, address, reUsableByteArrayDataOutputStream);
+    if (keyPrefix != null) {
+      buffer.set(lastSize, keyPrefix.getPrefix(dataBlock.getBaseObject(), address));
+    } else {
+      buffer.set(lastSize);
+    }
     lastSize = lastSize + size;
     return size;
   }
@@ -137,8 +149,17 @@ public class UnsafeCarbonRowPage {
     return lastSize;
   }
 
+  /**
+   * Whether more rows can be added to the page, the sort key prefixes of the rows are kept on
+   * heap along with the page, so they are counted in the size of the page. An empty page can
+   * always take a row, so that a small page does not keep creating new pages.
+   */
   public boolean canAdd() {
-    return lastSize < sizeToBeUsed;
+    return lastSize == 0 || lastSize + buffer.getPrefixMemorySize() < sizeToBeUsed;
+  }
+
+  public UnsafeSortKeyPrefix getKeyPrefix() {
+    return keyPrefix;
   }
 
   public MemoryBlock getDataBlock() {
@@ -21,6 +21,7 @@ import java.io.ByteArrayOutputStream;
 import java.io.DataOutputStream;
 import java.io.File;
 import java.io.IOException;
+import java.util.Comparator;
 import java.util.Random;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
@@ -43,6 +44,7 @@ import org.apache.carbondata.core.util.ReUsableByteArrayDataOutputStream;
 import org.apache.carbondata.core.util.ThreadLocalTaskInfo;
 import org.apache.carbondata.processing.loading.sort.unsafe.comparator.UnsafeRowComparator;
 import org.apache.carbondata.processing.loading.sort.unsafe.comparator.UnsafeRowComparatorForNormalDims;
+import org.apache.carbondata.processing.loading.sort.unsafe.comparator.UnsafeRowPrefixComparator;
 import org.apache.carbondata.processing.loading.sort.unsafe.holder.UnsafeCarbonRow;
 import org.apache.carbondata.processing.loading.sort.unsafe.merger.UnsafeIntermediateMerger;
 import org.apache.carbondata.processing.loading.sort.unsafe.sort.TimSort;
@@ -371,13 +373,17 @@ public class UnsafeSortDataRows {
         TimSort<UnsafeCarbonRow, IntPointerBuffer> timSort = new TimSort<>(
             new UnsafeIntSortDataFormat(page));
         // if sort_columns is not none, sort by sort_columns
+        Comparator<UnsafeCarbonRow> comparator;
         if (parameters.getNumberOfNoDictSortColumns() > 0) {
-          timSort.sort(page.getBuffer(), 0, page.getBuffer().getActualSize(),
-              new UnsafeRowComparator(page));
+          comparator = new UnsafeRowComparator(page);
         } else {
-          timSort.sort(page.getBuffer(), 0, page.getBuffer().getActualSize(),
-              new UnsafeRowComparatorForNormalDims(page));
+          comparator = new UnsafeRowComparatorForNormalDims(page);
         }
+        if (page.getKeyPrefix() != null) {
+          // compare the sort key prefix first, full comparison is done only for same prefix
+          comparator = new UnsafeRowPrefixComparator(comparator, page.getKeyPrefix());
+        }
+        timSort.sort(page.getBuffer(), 0, page.getBuffer().getActualSize(), comparator);
         // get sort storage memory block if memory is available in sort storage manager
         // if space is available then store it in memory, if memory is not available
         // then spill to disk
@@ -93,19 +93,12 @@ public class UnsafeRowComparator implements Comparator<UnsafeCarbonRow> {
             return difference;
           }
         } else {
-          byte[] byteArr1 = new byte[lengthA];
-          CarbonUnsafe.getUnsafe()
-              .copyMemory(baseObjectL, rowA + dictSizeInMemory + sizeInNonDictPartA, byteArr1,
-                  CarbonUnsafe.BYTE_ARRAY_OFFSET, lengthA);
+          // compare in memory, without copying the values to arrays
+          int difference = UnsafeComparer.INSTANCE.compareTo(
+              baseObjectL, rowA + dictSizeInMemory + sizeInNonDictPartA, lengthA,
+              baseObjectR, rowB + dictSizeInMemory + sizeInNonDictPartB, lengthB);
           sizeInNonDictPartA += lengthA;
-
-          byte[] byteArr2 = new byte[lengthB];
-          CarbonUnsafe.getUnsafe()
-              .copyMemory(baseObjectR, rowB + dictSizeInMemory + sizeInNonDictPartB, byteArr2,
-                  CarbonUnsafe.BYTE_ARRAY_OFFSET, lengthB);
           sizeInNonDictPartB += lengthB;
-
-          int difference = UnsafeComparer.INSTANCE.compareTo(byteArr1, byteArr2);
           if (difference != 0) {
             return difference;
           }
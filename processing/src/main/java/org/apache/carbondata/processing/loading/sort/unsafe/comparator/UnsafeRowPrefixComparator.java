@@ -0,0 +1,46 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.processing.loading.sort.unsafe.comparator;
+
+import java.util.Comparator;
+
+import org.apache.carbondata.processing.loading.sort.unsafe.holder.UnsafeCarbonRow;
+
+/**
+ * Compares the rows by the sort key prefix, and uses the full comparator only when the
+ * prefixes are same
+ */
+public class UnsafeRowPrefixComparator implements Comparator<UnsafeCarbonRow> {
+
+  private Comparator<UnsafeCarbonRow> comparator;
+
+  private boolean completePrefix;
+
+  public UnsafeRowPrefixComparator(Comparator<UnsafeCarbonRow> comparator,
+      UnsafeSortKeyPrefix keyPrefix) {
+    this.comparator = comparator;
+    this.completePrefix = keyPrefix.isComplete();
+  }
+
+  public int compare(UnsafeCarbonRow rowL, UnsafeCarbonRow rowR) {
+    if (rowL.prefix != rowR.prefix) {
+      return rowL.prefix < rowR.prefix ? -1 : 1;
+    }
+    return completePrefix ? 0 : comparator.compare(rowL, rowR);
+  }
+}
@@ -0,0 +1,203 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.processing.loading.sort.unsafe.comparator;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.carbondata.core.memory.CarbonUnsafe;
+import org.apache.carbondata.core.metadata.datatype.DataType;
+import org.apache.carbondata.core.metadata.datatype.DataTypes;
+import org.apache.carbondata.core.util.DataTypeUtil;
+import org.apache.carbondata.processing.sort.sortdata.TableFieldStat;
+
+/**
+ * Builds a fixed width prefix of the sort key of the intermediate sort temp row written in
+ * unsafe memory, so that the rows can be sorted by comparing one long value and the full sort
+ * key is compared only when the prefixes are same.
+ *
+ * The sort columns are encoded one after another in the order of the sort columns, till the
+ * prefix is full:
+ * dictionary column as its 4 bytes surrogate key,
+ * primitive no dictionary column as 1 byte null flag followed by the value,
+ * other no dictionary column as its bytes, as these are variable length, no column after it
+ * is encoded.
+ * Numbers are encoded in big endian with the sign bit flipped, and the missing bytes are filled
+ * with 0, so the unsigned order of the prefix bytes is same as the order of the sort key. The
+ * prefix is returned with the sign bit flipped, so that it can be compared as signed long.
+ */
+public final class UnsafeSortKeyPrefix {
+
+  private static final int PREFIX_SIZE = 8;
+
+  private static final byte DICTIONARY = 0;
+
+  private static final byte SHORT = 1;
+
+  private static final byte INT = 2;
+
+  private static final byte LONG = 3;
+
+  private static final byte BYTES = 4;
+
+  /**
+   * type of the sort columns encoded in the prefix
+   */
+  private final byte[] columnTypes;
+
+  private final int dictSizeInMemory;
+
+  /**
+   * whether the prefix has all the sort columns completely, then rows of same prefix are equal
+   */
+  private final boolean complete;
+
+  private UnsafeSortKeyPrefix(byte[] columnTypes, int dictSizeInMemory, boolean complete) {
+    this.columnTypes = columnTypes;
+    this.dictSizeInMemory = dictSizeInMemory;
+    this.complete = complete;
+  }
+
+  /**
+   * Create the prefix builder for the sort columns of the table, returns null if the first
+   * sort column can not be encoded in the prefix
+   */
+  public static UnsafeSortKeyPrefix newInstance(TableFieldStat tableFieldStat) {
+    boolean[] isSortColNoDictFlags = tableFieldStat.getIsSortColNoDictFlags();
+    DataType[] noDictSortDataTypes = tableFieldStat.getNoDictSortDataType();
+    List<Byte> columnTypes = new ArrayList<>();
+    int prefixSize = 0;
+    int noDictSortIdx = 0;
+    boolean complete = true;
+    for (boolean isNoDictionary : isSortColNoDictFlags) {
+      if (prefixSize >= PREFIX_SIZE) {
+        complete = false;
+        break;
+      }
+      byte columnType;
+      if (!isNoDictionary) {
+        columnType = DICTIONARY;
+        prefixSize += 4;
+      } else {
+        DataType dataType = DataTypeUtil.valueOf(noDictSortDataTypes[noDictSortIdx++].getName());
+        if (dataType == DataTypes.SHORT) {
+          columnType = SHORT;
+          prefixSize += 3;
+        } else if (dataType == DataTypes.INT) {
+          columnType = INT;
+          prefixSize += 5;
+        } else if (dataType == DataTypes.LONG || dataType == DataTypes.TIMESTAMP) {
+          columnType = LONG;
+          prefixSize += 9;
+        } else if (!DataTypeUtil.isPrimitiveColumn(dataType)) {
+          columnType = BYTES;
+          prefixSize = Integer.MAX_VALUE;
+        } else {
+          // other primitive types are not binary comparable
+          complete = false;
+          break;
+        }
+      }
+      columnTypes.add(columnType);
+    }
+    if (columnTypes.isEmpty()) {
+      return null;
+    }
+    byte[] types = new byte[columnTypes.size()];
+    for (int i = 0; i < types.length; i++) {
+      types[i] = columnTypes.get(i);
+    }
+    return new UnsafeSortKeyPrefix(types, tableFieldStat.getDictSortDimCnt() * 4,
+        complete && prefixSize <= PREFIX_SIZE);
+  }
+
+  /**
+   * Get the prefix of the row written at the address
+   */
+  public long getPrefix(Object baseObject, long address) {
+    long prefix = 0;
+    int prefixSize = 0;
+    int sizeInDictPart = 0;
+    int sizeInNonDictPart = 0;
+    for (int i = 0; i < columnTypes.length && prefixSize < PREFIX_SIZE; i++) {
+      if (columnTypes[i] == DICTIONARY) {
+        int value = CarbonUnsafe.getUnsafe().getInt(baseObject, address + sizeInDictPart);
+        sizeInDictPart += 4;
+        long bytes = (value ^ Integer.MIN_VALUE) & 0xFFFFFFFFL;
+        int numBytes = Math.min(4, PREFIX_SIZE - prefixSize);
+        prefix = (prefix << (numBytes << 3)) | (bytes >>> ((4 - numBytes) << 3));
+        prefixSize += numBytes;
+        continue;
+      }
+      long valueAddress = address + dictSizeInMemory + sizeInNonDictPart;
+      short length = CarbonUnsafe.getUnsafe().getShort(baseObject, valueAddress);
+      valueAddress += 2;
+      sizeInNonDictPart += 2 + length;
+      if (columnTypes[i] == BYTES) {
+        int numBytes = Math.min(length, PREFIX_SIZE - prefixSize);
+        for (int j = 0; j < numBytes; j++) {
+          prefix = (prefix << 8) | (CarbonUnsafe.getUnsafe().getByte(baseObject, valueAddress + j)
+              & 0xFF);
+        }
+        prefixSize += numBytes;
+        // columns after variable length column can not be encoded
+        break;
+      }
+      // null flag, null is less than all other values
+      prefix = (prefix << 8) | (length == 0 ? 0 : 1);
+      prefixSize++;
+      long bytes = 0;
+      int valueSize;
+      if (columnTypes[i] == SHORT) {
+        valueSize = 2;
+        if (length != 0) {
+          bytes = (CarbonUnsafe.getUnsafe().getShort(baseObject, valueAddress) ^ Short.MIN_VALUE)
+              & 0xFFFFL;
+        }
+      } else if (columnTypes[i] == INT) {
+        valueSize = 4;
+        if (length != 0) {
+          bytes = (CarbonUnsafe.getUnsafe().getInt(baseObject, valueAddress) ^ Integer.MIN_VALUE)
+              & 0xFFFFFFFFL;
+        }
+      } else {
+        valueSize = 8;
+        if (length != 0) {
+          bytes = CarbonUnsafe.getUnsafe().getLong(baseObject, valueAddress) ^ Long.MIN_VALUE;
+        }
+      }
+      int numBytes = Math.min(valueSize, PREFIX_SIZE - prefixSize);
+      if (numBytes > 0) {
+        prefix = (prefix << (numBytes << 3)) | (bytes >>> ((valueSize - numBytes) << 3));
+        prefixSize += numBytes;
+      }
+    }
+    if (prefixSize < PREFIX_SIZE) {
+      prefix = prefix << ((PREFIX_SIZE - prefixSize) << 3);
+    }
+    return prefix ^ Long.MIN_VALUE;
+  }
+
+  /**
+   * Whether the prefix has all the sort columns completely, then the rows of same prefix are
+   * equal and full comparison is not required
+   */
+  public boolean isComplete() {
+    return complete;
+  }
+}
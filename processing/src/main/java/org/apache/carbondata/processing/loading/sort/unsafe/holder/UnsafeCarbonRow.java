@@ -21,4 +21,9 @@ public class UnsafeCarbonRow {
 
   public long address;
 
+  /**
+   * sort key prefix of the row, used only while sorting the rows of a page
+   */
+  public long prefix;
+
 }
@@ -0,0 +1,133 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.processing.loading.sort.unsafe.merger;
+
+import java.util.List;
+
+import org.apache.carbondata.processing.loading.sort.unsafe.holder.SortTempChunkHolder;
+
+/**
+ * Tournament tree (loser tree) to merge the sorted holders.
+ *
+ * Each internal node keeps the loser of the match between the winners of its children and the
+ * overall winner is kept separately. When the winner is advanced to its next row, it is replayed
+ * only against the losers on the path to the root, so it takes log2(n) comparisons for each row
+ * while the binary heap takes up to 2 * log2(n) comparisons for poll and add.
+ */
+final class SortTempChunkHolderLoserTree {
+
+  private final SortTempChunkHolder[] holders;
+
+  /**
+   * tree[0] is the index of the winner, tree[1...n-1] are the index of the losers of the
+   * internal nodes, leaf i is the node n + i
+   */
+  private final int[] tree;
+
+  private final boolean[] exhausted;
+
+  private int numberOfActiveHolders;
+
+  /**
+   * @param holders holders on which first row is already read
+   */
+  SortTempChunkHolderLoserTree(List<SortTempChunkHolder> holders) {
+    this.holders = holders.toArray(new SortTempChunkHolder[holders.size()]);
+    this.tree = new int[Math.max(this.holders.length, 1)];
+    this.exhausted = new boolean[this.holders.length];
+    this.numberOfActiveHolders = this.holders.length;
+    if (this.holders.length > 0) {
+      tree[0] = build(1);
+    }
+  }
+
+  /**
+   * build the subtree of the node and return the index of its winner
+   */
+  private int build(int node) {
+    if (node >= holders.length) {
+      return node - holders.length;
+    }
+    int left = build(2 * node);
+    int right = build(2 * node + 1);
+    if (beats(left, right)) {
+      tree[node] = right;
+      return left;
+    }
+    tree[node] = left;
+    return right;
+  }
+
+  private boolean beats(int holder, int other) {
+    if (exhausted[holder]) {
+      return false;
+    }
+    if (exhausted[other]) {
+      return true;
+    }
+    return holders[holder].compareTo(holders[other]) <= 0;
+  }
+
+  boolean isEmpty() {
+    return numberOfActiveHolders == 0;
+  }
+
+  /**
+   * @return holder having the smallest row
+   */
+  SortTempChunkHolder peek() {
+    return holders[tree[0]];
+  }
+
+  /**
+   * Adjust the tree after the next row is read in the holder returned by {@link #peek()}
+   */
+  void adjust() {
+    int winner = tree[0];
+    for (int node = (winner + holders.length) >> 1; node > 0; node >>= 1) {
+      if (beats(tree[node], winner)) {
+        int loser = winner;
+        winner = tree[node];
+        tree[node] = loser;
+      }
+    }
+    tree[0] = winner;
+  }
+
+  /**
+   * Remove the holder returned by {@link #peek()} as it does not have more rows
+   */
+  void remove() {
+    exhausted[tree[0]] = true;
+    numberOfActiveHolders--;
+    adjust();
+  }
+
+  /**
+   * Close the holders which are not removed
+   */
+  void close() {
+    for (int i = 0; i < holders.length; i++) {
+      if (!exhausted[i]) {
+        exhausted[i] = true;
+        holders[i].close();
+      }
+    }
+    numberOfActiveHolders = 0;
+  }
+}
@@ -19,17 +19,26 @@ package org.apache.carbondata.processing.loading.sort.unsafe.merger;
 
 import java.io.File;
 import java.io.FileFilter;
-import java.util.AbstractQueue;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.Iterator;
 import java.util.List;
 import java.util.NoSuchElementException;
-import java.util.PriorityQueue;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import org.apache.carbondata.common.CarbonIterator;
 import org.apache.carbondata.common.logging.LogServiceFactory;
+import org.apache.carbondata.core.constants.CarbonCommonConstants;
 import org.apache.carbondata.core.datastore.exception.CarbonDataWriterException;
+import org.apache.carbondata.core.util.CarbonProperties;
+import org.apache.carbondata.core.util.CarbonThreadFactory;
 import org.apache.carbondata.processing.loading.row.IntermediateSortTempRow;
 import org.apache.carbondata.processing.loading.sort.SortStepRowHandler;
 import org.apache.carbondata.processing.loading.sort.unsafe.UnsafeCarbonRowPage;
@@ -37,6 +46,8 @@ import org.apache.carbondata.processing.loading.sort.unsafe.holder.SortTempChunk
 import org.apache.carbondata.processing.loading.sort.unsafe.holder.UnsafeFinalMergePageHolder;
 import org.apache.carbondata.processing.loading.sort.unsafe.holder.UnsafeInmemoryHolder;
 import org.apache.carbondata.processing.loading.sort.unsafe.holder.UnsafeSortTempFileChunkHolder;
+import org.apache.carbondata.processing.sort.exception.CarbonSortKeyAndGroupByException;
+import org.apache.carbondata.processing.sort.sortdata.IntermediateSortTempRowComparator;
 import org.apache.carbondata.processing.sort.sortdata.SortParameters;
 
 import org.apache.log4j.Logger;
@@ -54,9 +65,19 @@ public class UnsafeSingleThreadFinalSortFilesMerger extends CarbonIterator<Objec
   private int fileCounter;
 
   /**
-   * recordHolderHeap
+   * minimum number of holders in a group to merge the group in a separate thread
    */
-  private AbstractQueue<SortTempChunkHolder> recordHolderHeapLocal;
+  private static final int MIN_HOLDERS_IN_GROUP = 4;
+
+  /**
+   * tournament tree to merge the holders
+   */
+  private SortTempChunkHolderLoserTree recordHolderTree;
+
+  /**
+   * executor service to merge the groups of holders in parallel
+   */
+  private ExecutorService groupMergeExecutorService;
 
   private SortParameters parameters;
   private SortStepRowHandler sortStepRowHandler;
@@ -97,9 +118,10 @@ public class UnsafeSingleThreadFinalSortFilesMerger extends CarbonIterator<Objec
 
   /**
    * Below method will be used to start storing process This method will get
-   * all the temp files present in sort temp folder then it will create the
-   * record holder heap and then it will read first record from each file and
-   * initialize the heap
+   * all the temp files present in sort temp folder then it will read first
+   * record from each file and initialize the record holder tree. If more than
+   * one final merge thread is configured, the holders are merged in groups in
+   * parallel and the tree merges the output of the groups
    *
    */
   private void startSorting(UnsafeCarbonRowPage[] rowPages,
@@ -115,10 +137,9 @@ public class UnsafeSingleThreadFinalSortFilesMerger extends CarbonIterator<Objec
           + ", sort temp files: %d, intermediate merges: %d",
           this.fileCounter, rowPages.length, filesToMergeSort.size(), merges.size()));
 
-      // create record holder heap
-      createRecordHolderQueue();
+      List<SortTempChunkHolder> holders = new ArrayList<>(fileCounter);
 
-      // iterate over file list and create chunk holder and add to heap
+      // iterate over file list and create chunk holder and add to holders
       LOGGER.info("Started adding first record from each page");
       for (final UnsafeCarbonRowPage rowPage : rowPages) {
 
@@ -127,7 +148,7 @@ public class UnsafeSingleThreadFinalSortFilesMerger extends CarbonIterator<Objec
         // initialize
         sortTempFileChunkHolder.readRow();
 
-        recordHolderHeapLocal.add(sortTempFileChunkHolder);
+        holders.add(sortTempFileChunkHolder);
       }
 
       for (final UnsafeInMemoryIntermediateDataMerger merger : merges) {
@@ -138,7 +159,7 @@ public class UnsafeSingleThreadFinalSortFilesMerger extends CarbonIterator<Objec
         // initialize
         sortTempFileChunkHolder.readRow();
 
-        recordHolderHeapLocal.add(sortTempFileChunkHolder);
+        holders.add(sortTempFileChunkHolder);
       }
 
       for (final File file : filesToMergeSort) {
@@ -149,10 +170,19 @@ public class UnsafeSingleThreadFinalSortFilesMerger extends CarbonIterator<Objec
         // initialize
         sortTempFileChunkHolder.readRow();
 
-        recordHolderHeapLocal.add(sortTempFileChunkHolder);
+        holders.add(sortTempFileChunkHolder);
+      }
+
+      int numberOfGroups = Math.min(CarbonProperties.getSortFinalMergeThreads(),
+          holders.size() / MIN_HOLDERS_IN_GROUP);
+      if (numberOfGroups > 1) {
+        holders = startGroupMerge(holders, numberOfGroups);
+        this.fileCounter = holders.size();
       }
 
-      LOGGER.info("Heap Size: " + this.recordHolderHeapLocal.size());
+      // create record holder tree
+      this.recordHolderTree = new SortTempChunkHolderLoserTree(holders);
+      LOGGER.info("Number of holders in final merge: " + this.fileCounter);
     } catch (Exception e) {
       LOGGER.error(e.getMessage(), e);
       throw new CarbonDataWriterException(e);
@@ -182,12 +212,53 @@ public class UnsafeSingleThreadFinalSortFilesMerger extends CarbonIterator<Objec
   }
 
   /**
-   * This method will be used to create the heap which will be used to hold
-   * the chunk of data
+   * Divide the holders into groups having similar number of rows and start merging each group
+   * in a separate thread. The merged output of the group is read through the returned holders.
    */
-  private void createRecordHolderQueue() {
-    // creating record holder heap
-    this.recordHolderHeapLocal = new PriorityQueue<SortTempChunkHolder>(fileCounter);
+  private List<SortTempChunkHolder> startGroupMerge(List<SortTempChunkHolder> holders,
+      int numberOfGroups) throws CarbonSortKeyAndGroupByException {
+    // assign the biggest holder to the group having least number of rows
+    Collections.sort(holders, new Comparator<SortTempChunkHolder>() {
+      @Override public int compare(SortTempChunkHolder o1, SortTempChunkHolder o2) {
+        return Integer.compare(o2.numberOfRows(), o1.numberOfRows());
+      }
+    });
+    List<List<SortTempChunkHolder>> groups = new ArrayList<>(numberOfGroups);
+    long[] numberOfRowsInGroup = new long[numberOfGroups];
+    for (int i = 0; i < numberOfGroups; i++) {
+      groups.add(new ArrayList<SortTempChunkHolder>());
+    }
+    for (SortTempChunkHolder holder : holders) {
+      int smallestGroup = 0;
+      for (int i = 1; i < numberOfGroups; i++) {
+        if (numberOfRowsInGroup[i] < numberOfRowsInGroup[smallestGroup]) {
+          smallestGroup = i;
+        }
+      }
+      groups.get(smallestGroup).add(holder);
+      numberOfRowsInGroup[smallestGroup] += holder.numberOfRows();
+    }
+    LOGGER.info(String.format("Merging %d pages in %d groups in parallel",
+        holders.size(), numberOfGroups));
+
+    int batchSize = Integer.parseInt(CarbonProperties.getInstance()
+        .getProperty(CarbonCommonConstants.CARBON_PREFETCH_BUFFERSIZE,
+            CarbonCommonConstants.CARBON_PREFETCH_BUFFERSIZE_DEFAULT));
+    this.groupMergeExecutorService = Executors.newFixedThreadPool(numberOfGroups,
+        new CarbonThreadFactory("UnsafeFinalMergePool:" + tableName, true));
+    List<SortTempChunkHolder> groupHolders = new ArrayList<>(numberOfGroups);
+    for (int i = 0; i < numberOfGroups; i++) {
+      GroupMergeHolder groupHolder = new GroupMergeHolder(groups.get(i), numberOfRowsInGroup[i],
+          new IntermediateSortTempRowComparator(parameters.getNoDictionarySortColumn(),
+              parameters.getNoDictDataType()), batchSize);
+      groupHolder.start(groupMergeExecutorService);
+      groupHolders.add(groupHolder);
+    }
+    for (SortTempChunkHolder groupHolder : groupHolders) {
+      // initialize
+      groupHolder.readRow();
+    }
+    return groupHolders;
   }
 
   /**
@@ -212,12 +283,10 @@ public class UnsafeSingleThreadFinalSortFilesMerger extends CarbonIterator<Objec
   private IntermediateSortTempRow getSortedRecordFromFile() throws CarbonDataWriterException {
     IntermediateSortTempRow row = null;
 
-    // poll the top object from heap
-    // heap maintains binary tree which is based on heap condition that will
-    // be based on comparator we are passing the heap
-    // when will call poll it will always delete root of the tree and then
-    // it does trickel down operation complexity is log(n)
-    SortTempChunkHolder poll = this.recordHolderHeapLocal.poll();
+    // get the winner of the tree, the tree keeps the loser of each match in
+    // the internal nodes, so the winner is replayed only with the losers on
+    // its path to the root after reading the next row, complexity is log(n)
+    SortTempChunkHolder poll = this.recordHolderTree.peek();
 
     // get the row from chunk
     row = poll.getRow();
@@ -226,9 +295,13 @@ public class UnsafeSingleThreadFinalSortFilesMerger extends CarbonIterator<Objec
     if (!poll.hasNext()) {
       // if chunk is empty then close the stream
       poll.close();
+      this.recordHolderTree.remove();
 
       // change the file counter
       --this.fileCounter;
+      if (this.fileCounter == 0 && null != groupMergeExecutorService) {
+        groupMergeExecutorService.shutdown();
+      }
 
       // reaturn row
       return row;
@@ -241,8 +314,8 @@ public class UnsafeSingleThreadFinalSortFilesMerger extends CarbonIterator<Objec
       throw new CarbonDataWriterException(e);
     }
 
-    // add to heap
-    this.recordHolderHeapLocal.add(poll);
+    // replay the holder in the tree
+    this.recordHolderTree.adjust();
 
     // return row
     return row;
@@ -259,11 +332,13 @@ public class UnsafeSingleThreadFinalSortFilesMerger extends CarbonIterator<Objec
   }
 
   public void clear() {
-    if (null != recordHolderHeapLocal) {
-      for (SortTempChunkHolder pageHolder : recordHolderHeapLocal) {
-        pageHolder.close();
-      }
-      recordHolderHeapLocal = null;
+    if (null != recordHolderTree) {
+      recordHolderTree.close();
+      recordHolderTree = null;
+    }
+    if (null != groupMergeExecutorService) {
+      groupMergeExecutorService.shutdownNow();
+      groupMergeExecutorService = null;
     }
   }
 
@@ -274,4 +349,129 @@ public class UnsafeSingleThreadFinalSortFilesMerger extends CarbonIterator<Objec
   public void setStopProcess(boolean stopProcess) {
     isStopProcess = stopProcess;
   }
+
+  /**
+   * Holder to read the merged rows of a group of holders, which are merged in a separate
+   * thread and handed over in batches through a bounded queue
+   */
+  private static final class GroupMergeHolder implements SortTempChunkHolder, Callable<Void> {
+
+    private final List<SortTempChunkHolder> holders;
+
+    private final long numberOfRows;
+
+    private final IntermediateSortTempRowComparator comparator;
+
+    private final int batchSize;
+
+    private final BlockingQueue<IntermediateSortTempRow[]> queue =
+        new ArrayBlockingQueue<IntermediateSortTempRow[]>(2);
+
+    private volatile Throwable failure;
+
+    private Future<Void> future;
+
+    private IntermediateSortTempRow[] batch;
+
+    private int batchIndex;
+
+    private IntermediateSortTempRow currentRow;
+
+    private long rowCounter;
+
+    private GroupMergeHolder(List<SortTempChunkHolder> holders, long numberOfRows,
+        IntermediateSortTempRowComparator comparator, int batchSize) {
+      this.holders = holders;
+      this.numberOfRows = numberOfRows;
+      this.comparator = comparator;
+      this.batchSize = batchSize;
+    }
+
+    private void start(ExecutorService executorService) {
+      this.future = executorService.submit(this);
+    }
+
+    @Override public Void call() {
+      SortTempChunkHolderLoserTree tree = new SortTempChunkHolderLoserTree(holders);
+      try {
+        while (!tree.isEmpty()) {
+          IntermediateSortTempRow[] rows = new IntermediateSortTempRow[batchSize];
+          int count = 0;
+          while (count < batchSize && !tree.isEmpty()) {
+            SortTempChunkHolder holder = tree.peek();
+            rows[count++] = holder.getRow();
+            if (holder.hasNext()) {
+              holder.readRow();
+              tree.adjust();
+            } else {
+              holder.close();
+              tree.remove();
+            }
+          }
+          if (count < batchSize) {
+            rows = Arrays.copyOf(rows, count);
+          }
+          queue.put(rows);
+        }
+      } catch (InterruptedException e) {
+        // the final merge is closed
+      } catch (Throwable e) {
+        LOGGER.error(e.getMessage(), e);
+        failure = e;
+        // the final merge fails on reading an empty batch
+        queue.clear();
+        queue.offer(new IntermediateSortTempRow[0]);
+      } finally {
+        tree.close();
+      }
+      return null;
+    }
+
+    @Override public boolean hasNext() {
+      return rowCounter < numberOfRows;
+    }
+
+    @Override public void readRow() throws CarbonSortKeyAndGroupByException {
+      if (null == batch || batchIndex == batch.length) {
+        try {
+          batch = queue.take();
+        } catch (InterruptedException e) {
+          throw new CarbonSortKeyAndGroupByException("Interrupted while merging the rows", e);
+        }
+        if (batch.length == 0) {
+          throw new CarbonSortKeyAndGroupByException("Problem while merging the rows", failure);
+        }
+        batchIndex = 0;
+      }
+      currentRow = batch[batchIndex++];
+      rowCounter++;
+    }
+
+    @Override public IntermediateSortTempRow getRow() {
+      return currentRow;
+    }
+
+    @Override public int numberOfRows() {
+      return (int) Math.min(numberOfRows, Integer.MAX_VALUE);
+    }
+
+    @Override public void close() {
+      if (null != future) {
+        // holders of the group are closed by the merge thread
+        future.cancel(true);
+      }
+    }
+
+    @Override public int compareTo(SortTempChunkHolder o) {
+      return comparator.compare(currentRow, o.getRow());
+    }
+
+    @Override public boolean equals(Object obj) {
+      return this == obj;
+    }
+
+    @Override public int hashCode() {
+      return super.hashCode();
+    }
+  }
 }
@@ -44,27 +44,43 @@ public class UnsafeIntSortDataFormat
   @Override
   public UnsafeCarbonRow getKey(IntPointerBuffer data, int pos, UnsafeCarbonRow reuse) {
     reuse.address = data.get(pos) + page.getDataBlock().getBaseOffset();
+    if (data.hasPrefix()) {
+      reuse.prefix = data.getPrefix(pos);
+    }
     return reuse;
   }
 
   @Override public void swap(IntPointerBuffer data, int pos0, int pos1) {
     int tempPointer = data.get(pos0);
-    data.set(pos0, data.get(pos1));
-    data.set(pos1, tempPointer);
+    if (data.hasPrefix()) {
+      long tempPrefix = data.getPrefix(pos0);
+      data.set(pos0, data.get(pos1), data.getPrefix(pos1));
+      data.set(pos1, tempPointer, tempPrefix);
+    } else {
+      data.set(pos0, data.get(pos1));
+      data.set(pos1, tempPointer);
+    }
   }
 
   @Override
   public void copyElement(IntPointerBuffer src, int srcPos, IntPointerBuffer dst, int dstPos) {
-    dst.set(dstPos, src.get(srcPos));
+    if (src.hasPrefix()) {
+      dst.set(dstPos, src.get(srcPos), src.getPrefix(srcPos));
+    } else {
+      dst.set(dstPos, src.get(srcPos));
+    }
   }
 
   @Override
   public void copyRange(IntPointerBuffer src, int srcPos, IntPointerBuffer dst, int dstPos,
       int length) {
     System.arraycopy(src.getPointerBlock(), srcPos, dst.getPointerBlock(), dstPos, length);
+    if (src.hasPrefix()) {
+      System.arraycopy(src.getPrefixBlock(), srcPos, dst.getPrefixBlock(), dstPos, length);
+    }
   }
 
   @Override public IntPointerBuffer allocate(int length) {
-    return new IntPointerBuffer(length);
+    return new IntPointerBuffer(length, page.getBuffer().hasPrefix());
   }
 }
@@ -28,6 +28,7 @@ import org.apache.carbondata.core.datastore.row.CarbonRow;
 import org.apache.carbondata.core.metadata.schema.BucketingInfo;
 import org.apache.carbondata.core.metadata.schema.SortColumnRangeInfo;
 import org.apache.carbondata.core.metadata.schema.table.column.ColumnSchema;
+import org.apache.carbondata.core.util.CarbonProperties;
 import org.apache.carbondata.processing.loading.AbstractDataLoadProcessorStep;
 import org.apache.carbondata.processing.loading.BadRecordsLogger;
 import org.apache.carbondata.processing.loading.BadRecordsLoggerProvider;
@@ -59,6 +60,7 @@ public class DataConverterProcessorStepImpl extends AbstractDataLoadProcessorSte
   private BadRecordsLogger badRecordLogger;
   private boolean isSortColumnRangeEnabled = false;
   private boolean isBucketColumnEnabled = false;
+  private boolean isConvertByFieldEnabled = false;
 
   public DataConverterProcessorStepImpl(CarbonDataLoadConfiguration configuration,
       AbstractDataLoadProcessorStep child) {
@@ -76,6 +78,7 @@ public class DataConverterProcessorStepImpl extends AbstractDataLoadProcessorSte
     configuration.setCardinalityFinder(converter);
     converters.add(converter);
     converter.initialize();
+    this.isConvertByFieldEnabled = CarbonProperties.isLoadConvertByFieldEnabled();
 
     if (null != configuration.getBucketingInfo()) {
       this.isBucketColumnEnabled = true;
@@ -197,6 +200,18 @@ public class DataConverterProcessorStepImpl extends AbstractDataLoadProcessorSte
    * @return processed row.
    */
   protected CarbonRowBatch processRowBatch(CarbonRowBatch rowBatch, RowConverter localConverter) {
+    if (isConvertByFieldEnabled) {
+      localConverter.convert(rowBatch);
+      if (isSortColumnRangeEnabled || isBucketColumnEnabled) {
+        while (rowBatch.hasNext()) {
+          CarbonRow convertRow = rowBatch.next();
+          convertRow.setRangeId((short) partitioner.getPartition(convertRow));
+        }
+        rowBatch.rewind();
+      }
+      rowCounter.getAndAdd(rowBatch.getSize());
+      return rowBatch;
+    }
     while (rowBatch.hasNext()) {
       CarbonRow convertRow = localConverter.convert(rowBatch.next());
       if (convertRow == null) {
@@ -30,9 +30,7 @@ import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
-import java.util.concurrent.Semaphore;
 import java.util.concurrent.TimeUnit;
-import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import org.apache.carbondata.common.logging.LogServiceFactory;
@@ -94,17 +92,9 @@ public class CarbonFactDataHandlerColumnar implements CarbonFactHandler {
   private List<CarbonRow> dataRows;
   private int[] noDictColumnPageSize;
   /**
-   * semaphore which will used for managing node holder objects
+   * buffer to hand over the encoded pages from producers to consumer in order
    */
-  private Semaphore semaphore;
-  /**
-   * counter that incremented for every job submitted to data writer thread
-   */
-  private int writerTaskSequenceCounter;
-  /**
-   * a private class that will hold the data for blocklets
-   */
-  private TablePageList tablePageList;
+  private TablePageRingBuffer tablePageBuffer;
   /**
    * number of cores configured
    */
@@ -177,11 +167,13 @@ public class CarbonFactDataHandlerColumnar implements CarbonFactHandler {
         String.format("ConsumerPool:%s, range: %d",
                 model.getTableName(),model.getBucketId()), true));
     consumerExecutorServiceTaskList = new ArrayList<>(1);
-    semaphore = new Semaphore(numberOfCores);
-    tablePageList = new TablePageList();
+    // pages waiting to be written are limited by encoded size, and count is limited to number
+    // of producers as the rows of each page in flight are also in memory till it is encoded
+    tablePageBuffer = new TablePageRingBuffer(numberOfCores,
+        CarbonProperties.getLoadPageBufferSize());
 
     // Start the consumer which will take each blocklet/page in order and write to a file
-    Consumer consumer = new Consumer(tablePageList);
+    Consumer consumer = new Consumer(tablePageBuffer);
     consumerExecutorServiceTaskList.add(consumerExecutorService.submit(consumer));
   }
 
@@ -236,11 +228,11 @@ public class CarbonFactDataHandlerColumnar implements CarbonFactHandler {
     // this to leaf node file and update the intermediate files
     if (this.entryCount == this.pageSize || needToCutThePage(row)) {
       try {
-        semaphore.acquire();
+        long pageId = tablePageBuffer.acquire();
 
         producerExecutorServiceTaskList.add(
             producerExecutorService.submit(
-                new Producer(tablePageList, dataRows, ++writerTaskSequenceCounter, false)
+                new Producer(tablePageBuffer, dataRows, pageId, false)
             )
         );
         blockletProcessingCount.incrementAndGet();
@@ -425,9 +417,9 @@ public class CarbonFactDataHandlerColumnar implements CarbonFactHandler {
       LOGGER.debug("Started Finish Operation");
     }
     try {
-      semaphore.acquire();
+      long pageId = tablePageBuffer.acquire();
       producerExecutorServiceTaskList.add(producerExecutorService
-          .submit(new Producer(tablePageList, dataRows, ++writerTaskSequenceCounter, true)));
+          .submit(new Producer(tablePageBuffer, dataRows, pageId, true)));
       blockletProcessingCount.incrementAndGet();
       processedDataCount += entryCount;
       if (LOGGER.isDebugEnabled()) {
@@ -499,6 +491,10 @@ public class CarbonFactDataHandlerColumnar implements CarbonFactHandler {
       }
       consumerExecutorService.shutdownNow();
       processWriteTaskSubmitList(consumerExecutorServiceTaskList);
+      LOGGER.info(String.format("Time waited by producers for page buffer: %d ms, "
+              + "time waited by consumer for encoded page: %d ms",
+          TimeUnit.NANOSECONDS.toMillis(tablePageBuffer.getProducerWaitNanos()),
+          TimeUnit.NANOSECONDS.toMillis(tablePageBuffer.getConsumerWaitNanos())));
       this.dataWriter.writeFooter();
       if (LOGGER.isDebugEnabled()) {
         LOGGER.debug("All blocklets have been finished writing");
@@ -612,81 +608,19 @@ public class CarbonFactDataHandlerColumnar implements CarbonFactHandler {
     blockletProcessingCount.set(0);
   }
 
-  /**
-   * This class will hold the table page data
-   */
-  private final class TablePageList {
-    /**
-     * array of table page added by Producer and get by Consumer
-     */
-    private TablePage[] tablePages;
-    /**
-     * flag to check whether the producer has completed processing for holder
-     * object which is required to be picked form an index
-     */
-    private AtomicBoolean available;
-    /**
-     * index from which data node holder object needs to be picked for writing
-     */
-    private int currentIndex;
-
-    private TablePageList() {
-      tablePages = new TablePage[numberOfCores];
-      available = new AtomicBoolean(false);
-    }
-
-    /**
-     * @return a node holder object
-     * @throws InterruptedException if consumer thread is interrupted
-     */
-    public synchronized TablePage get() throws InterruptedException {
-      TablePage tablePage = tablePages[currentIndex];
-      // if node holder is null means producer thread processing the data which has to
-      // be inserted at this current index has not completed yet
-      if (null == tablePage && !processingComplete) {
-        available.set(false);
-      }
-      while (!available.get()) {
-        wait();
-      }
-      tablePage = tablePages[currentIndex];
-      tablePages[currentIndex] = null;
-      currentIndex++;
-      // reset current index when it reaches length of node holder array
-      if (currentIndex >= tablePages.length) {
-        currentIndex = 0;
-      }
-      return tablePage;
-    }
-
-    /**
-     * @param tablePage
-     * @param index
-     */
-    public synchronized void put(TablePage tablePage, int index) {
-      tablePages[index] = tablePage;
-      // notify the consumer thread when index at which object is to be inserted
-      // becomes equal to current index from where data has to be picked for writing
-      if (index == currentIndex) {
-        available.set(true);
-        notifyAll();
-      }
-    }
-  }
-
   /**
    * Producer which will process data equivalent to 1 blocklet size
    */
   private final class Producer implements Callable<Void> {
 
-    private TablePageList tablePageList;
+    private TablePageRingBuffer tablePageBuffer;
     private List<CarbonRow> dataRows;
-    private int pageId;
+    private long pageId;
     private boolean isLastPage;
 
-    private Producer(TablePageList tablePageList, List<CarbonRow> dataRows,
-        int pageId, boolean isLastPage) {
-      this.tablePageList = tablePageList;
+    private Producer(TablePageRingBuffer tablePageBuffer, List<CarbonRow> dataRows,
+        long pageId, boolean isLastPage) {
+      this.tablePageBuffer = tablePageBuffer;
       this.dataRows = dataRows;
       this.pageId = pageId;
       this.isLastPage = isLastPage;
@@ -703,12 +637,12 @@ public class CarbonFactDataHandlerColumnar implements CarbonFactHandler {
         TablePage tablePage = processDataRows(dataRows);
         dataRows = null;
         tablePage.setIsLastPage(isLastPage);
-        // insert the object in array according to sequence number
-        int indexInNodeHolderArray = (pageId - 1) % numberOfCores;
-        tablePageList.put(tablePage, indexInNodeHolderArray);
+        // consumer takes the pages in the order of sequence number
+        tablePageBuffer.put(pageId, tablePage);
         return null;
       } catch (Throwable throwable) {
         LOGGER.error("Error in producer", throwable);
+        tablePageBuffer.close();
         consumerExecutorService.shutdownNow();
         resetBlockletProcessingCount();
         throw new CarbonDataWriterException(throwable.getMessage(), throwable);
@@ -721,10 +655,10 @@ public class CarbonFactDataHandlerColumnar implements CarbonFactHandler {
    */
   private final class Consumer implements Callable<Void> {
 
-    private TablePageList tablePageList;
+    private TablePageRingBuffer tablePageBuffer;
 
-    private Consumer(TablePageList tablePageList) {
-      this.tablePageList = tablePageList;
+    private Consumer(TablePageRingBuffer tablePageBuffer) {
+      this.tablePageBuffer = tablePageBuffer;
     }
 
     /**
@@ -735,23 +669,23 @@ public class CarbonFactDataHandlerColumnar implements CarbonFactHandler {
      */
     @Override public Void call() throws Exception {
       while (!processingComplete || blockletProcessingCount.get() > 0) {
-        TablePage tablePage = null;
         try {
-          tablePage = tablePageList.get();
-          if (null != tablePage) {
+          TablePage tablePage = tablePageBuffer.take();
+          try {
             dataWriter.writeTablePage(tablePage);
             tablePage.freeMemory();
+          } finally {
+            tablePageBuffer.release();
           }
           blockletProcessingCount.decrementAndGet();
         } catch (Throwable throwable) {
           if (!processingComplete || blockletProcessingCount.get() > 0) {
+            tablePageBuffer.close();
             producerExecutorService.shutdownNow();
             resetBlockletProcessingCount();
             LOGGER.error("Problem while writing the carbon data file", throwable);
             throw new CarbonDataWriterException(throwable);
           }
-        } finally {
-          semaphore.release();
         }
       }
       return null;
@@ -0,0 +1,220 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.processing.store;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.LockSupport;
+
+import org.apache.carbondata.core.datastore.page.EncodedTablePage;
+
+/**
+ * Ring buffer to hand over the table pages from the producers, which encode the pages in
+ * parallel, to the single consumer, which writes the pages in the order of their sequence number.
+ *
+ * It is used by one submitter thread, which gets a sequence number by {@link #acquire()} before
+ * submitting each page to a producer, any number of producer threads, which {@link #put} the
+ * encoded page, and one consumer thread, which {@link #take()}s the pages in order and
+ * {@link #release()}s each page after writing it. Producers never block, the submitter waits
+ * when the pages waiting to be written reach the maximum count or the maximum size in bytes,
+ * and the consumer waits when the next page is not encoded yet. Waiting threads are parked
+ * without any lock, and the time spent in waiting is recorded for tuning the buffer size.
+ */
+final class TablePageRingBuffer {
+
+  private final AtomicReferenceArray<TablePage> pages;
+
+  /**
+   * encoded size of the page in each slot, written before the page is set in the slot
+   */
+  private final long[] pageSizes;
+
+  private final int capacity;
+
+  private final long maxSizeInBytes;
+
+  /**
+   * number of sequence numbers given to the submitter, updated only by the submitter
+   */
+  private volatile long acquiredCount;
+
+  /**
+   * number of pages taken by the consumer, updated only by the consumer
+   */
+  private long takenCount;
+
+  /**
+   * number of pages written and released by the consumer, updated only by the consumer
+   */
+  private volatile long releasedCount;
+
+  /**
+   * encoded size of the pages which are put and not released yet
+   */
+  private final AtomicLong bufferedSize = new AtomicLong();
+
+  private volatile Thread waitingSubmitter;
+
+  private volatile Thread waitingConsumer;
+
+  private volatile boolean closed;
+
+  private volatile long producerWaitNanos;
+
+  private volatile long consumerWaitNanos;
+
+  /**
+   * @param capacity       maximum number of pages which are encoding or waiting to be written
+   * @param maxSizeInBytes maximum size of the encoded pages waiting to be written, at least one
+   *                       page is accepted even if it is bigger than this size
+   */
+  TablePageRingBuffer(int capacity, long maxSizeInBytes) {
+    this.capacity = capacity;
+    this.maxSizeInBytes = maxSizeInBytes;
+    this.pages = new AtomicReferenceArray<>(capacity);
+    this.pageSizes = new long[capacity];
+  }
+
+  /**
+   * Wait till one more page can be accepted, called by the submitter before submitting a page
+   * to the producer
+   *
+   * @return sequence number of the page, starting from 0
+   * @throws InterruptedException if the thread is interrupted or the buffer is closed
+   */
+  long acquire() throws InterruptedException {
+    if (!canAcquire()) {
+      long startTime = System.nanoTime();
+      waitingSubmitter = Thread.currentThread();
+      try {
+        while (!canAcquire()) {
+          checkInterrupted();
+          LockSupport.park(this);
+        }
+      } finally {
+        waitingSubmitter = null;
+        producerWaitNanos += System.nanoTime() - startTime;
+      }
+    }
+    checkInterrupted();
+    long sequence = acquiredCount;
+    acquiredCount = sequence + 1;
+    return sequence;
+  }
+
+  private boolean canAcquire() {
+    long inFlightCount = acquiredCount - releasedCount;
+    return inFlightCount == 0 ||
+        (inFlightCount < capacity && bufferedSize.get() < maxSizeInBytes);
+  }
+
+  /**
+   * Put the encoded page of the sequence number, called by the producers
+   */
+  void put(long sequence, TablePage tablePage) {
+    EncodedTablePage encodedTablePage = tablePage.getEncodedTablePage();
+    put(sequence, tablePage, encodedTablePage == null ? 0 : encodedTablePage.getEncodedSize());
+  }
+
+  /**
+   * Put the page of the sequence number with its size in bytes
+   */
+  void put(long sequence, TablePage tablePage, long size) {
+    int index = (int) (sequence % capacity);
+    bufferedSize.addAndGet(size);
+    pageSizes[index] = size;
+    pages.set(index, tablePage);
+    Thread consumer = waitingConsumer;
+    if (consumer != null) {
+      LockSupport.unpark(consumer);
+    }
+  }
+
+  /**
+   * Wait and take the next page in sequence, called by the consumer
+   *
+   * @throws InterruptedException if the thread is interrupted or the buffer is closed
+   */
+  TablePage take() throws InterruptedException {
+    int index = (int) (takenCount % capacity);
+    TablePage tablePage = pages.get(index);
+    if (tablePage == null) {
+      long startTime = System.nanoTime();
+      waitingConsumer = Thread.currentThread();
+      try {
+        while ((tablePage = pages.get(index)) == null) {
+          checkInterrupted();
+          LockSupport.park(this);
+        }
+      } finally {
+        waitingConsumer = null;
+        consumerWaitNanos += System.nanoTime() - startTime;
+      }
+    }
+    pages.set(index, null);
+    takenCount++;
+    return tablePage;
+  }
+
+  /**
+   * Release the last page taken, called by the consumer after writing the page
+   */
+  void release() {
+    bufferedSize.addAndGet(-pageSizes[(int) (releasedCount % capacity)]);
+    releasedCount = releasedCount + 1;
+    Thread submitter = waitingSubmitter;
+    if (submitter != null) {
+      LockSupport.unpark(submitter);
+    }
+  }
+
+  /**
+   * Close the buffer in case of failure, so that the waiting threads do not wait forever
+   */
+  void close() {
+    closed = true;
+    Thread submitter = waitingSubmitter;
+    if (submitter != null) {
+      LockSupport.unpark(submitter);
+    }
+    Thread consumer = waitingConsumer;
+    if (consumer != null) {
+      LockSupport.unpark(consumer);
+    }
+  }
+
+  private void checkInterrupted() throws InterruptedException {
+    if (Thread.interrupted() || closed) {
+      throw new InterruptedException("Table page buffer is closed");
+    }
+  }
+
+  /**
+   * Time in nano seconds the submitter waited because the buffer was full
+   */
+  long getProducerWaitNanos() {
+    return producerWaitNanos;
+  }
+
+  /**
+   * Time in nano seconds the consumer waited for the next page to be encoded
+   */
+  long getConsumerWaitNanos() {
+    return consumerWaitNanos;
+  }
+}
@@ -154,6 +154,16 @@ public abstract class AbstractFactDataWriter implements CarbonFactDataWriter {
 
   protected ExecutorService fallbackExecutorService;
 
+  /**
+   * size of the buffers to write the data file asynchronously, 0 if it is disabled
+   */
+  private int asyncWriteBufferSize;
+
+  /**
+   * executor to write the data file asynchronously
+   */
+  private ExecutorService asyncWriteExecutorService;
+
   public AbstractFactDataWriter(CarbonFactDataHandlerModel model) {
     this.model = model;
     blockIndexInfoList = new ArrayList<>();
@@ -189,6 +199,11 @@ public abstract class AbstractFactDataWriter implements CarbonFactDataWriter {
         new CarbonThreadFactory("CompleteHDFSBackendPool:" + this.model.getTableName(),
                 true));
     executorServiceSubmitList = new ArrayList<>(CarbonCommonConstants.DEFAULT_COLLECTION_SIZE);
+    this.asyncWriteBufferSize = CarbonProperties.getLoadAsyncWriteBufferSize();
+    if (asyncWriteBufferSize > 0) {
+      this.asyncWriteExecutorService = Executors.newFixedThreadPool(1,
+          new CarbonThreadFactory("AsyncWritePool:" + this.model.getTableName(), true));
+    }
     // in case of compaction we will pass the cardinality.
     this.localCardinality = this.model.getColCardinality();
 
@@ -273,7 +288,16 @@ public abstract class AbstractFactDataWriter implements CarbonFactDataWriter {
    */
   protected void commitCurrentFile(boolean copyInCurrentThread) {
     notifyDataMapBlockEnd();
-    CarbonUtil.closeStreams(this.fileOutputStream, this.fileChannel);
+    try {
+      // flush before close, as the failure in writing the buffered data is ignored in close
+      if (null != this.fileOutputStream) {
+        this.fileOutputStream.flush();
+      }
+    } catch (IOException e) {
+      throw new CarbonDataWriterException("Problem while writing the carbon data file", e);
+    } finally {
+      CarbonUtil.closeStreams(this.fileOutputStream, this.fileChannel);
+    }
     if (!enableDirectlyWriteDataToStorePath) {
       try {
         if (currentFileSize == 0) {
@@ -344,6 +368,12 @@ public abstract class AbstractFactDataWriter implements CarbonFactDataWriter {
             FileFactory.FileType.LOCAL, CarbonCommonConstants.BYTEBUFFER_SIZE, true);
       }
 
+      if (asyncWriteExecutorService != null) {
+        // blocklet is written to the file system in another thread while the next blocklet is
+        // prepared
+        fileOutputStream = new DataOutputStream(new AsyncBufferedOutputStream(fileOutputStream,
+            asyncWriteExecutorService, asyncWriteBufferSize));
+      }
       this.fileCount++;
       // open channel for new data file
       this.fileChannel = Channels.newChannel(fileOutputStream);
@@ -476,6 +506,9 @@ public abstract class AbstractFactDataWriter implements CarbonFactDataWriter {
     if (null != fallbackExecutorService) {
       fallbackExecutorService.shutdownNow();
     }
+    if (null != asyncWriteExecutorService) {
+      asyncWriteExecutorService.shutdownNow();
+    }
     if (exception != null) {
       throw exception;
     }
@@ -0,0 +1,151 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.processing.store.writer;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+/**
+ * Output stream which writes the data to the underlying stream in another thread, so that the
+ * writer can prepare the next blocklet while the previous blocklet is written to the file system.
+ *
+ * It uses two buffers, the data is copied to one buffer while the other buffer is written to
+ * the underlying stream. When the current buffer is full, the writer waits only if the write of
+ * the other buffer is not completed, so the memory used is limited to two buffers. Failure in
+ * the asynchronous write is thrown in the next write, flush or close.
+ */
+final class AsyncBufferedOutputStream extends OutputStream {
+
+  private final OutputStream out;
+
+  private final ExecutorService executorService;
+
+  /**
+   * buffer to which the data is copied
+   */
+  private byte[] buffer;
+
+  /**
+   * buffer being written to the underlying stream
+   */
+  private byte[] flushingBuffer;
+
+  private int count;
+
+  private Future<Void> pendingWrite;
+
+  private boolean closed;
+
+  /**
+   * @param out             stream to write the data
+   * @param executorService single thread executor to write the data
+   * @param bufferSize      size of each of the two buffers
+   */
+  AsyncBufferedOutputStream(OutputStream out, ExecutorService executorService, int bufferSize) {
+    this.out = out;
+    this.executorService = executorService;
+    this.buffer = new byte[bufferSize];
+    this.flushingBuffer = new byte[bufferSize];
+  }
+
+  @Override
+  public void write(int b) throws IOException {
+    if (count == buffer.length) {
+      writeBuffer();
+    }
+    buffer[count++] = (byte) b;
+  }
+
+  @Override
+  public void write(byte[] b, int off, int len) throws IOException {
+    while (len > 0) {
+      if (count == buffer.length) {
+        writeBuffer();
+      }
+      int copyLength = Math.min(len, buffer.length - count);
+      System.arraycopy(b, off, buffer, count, copyLength);
+      count += copyLength;
+      off += copyLength;
+      len -= copyLength;
+    }
+  }
+
+  /**
+   * Submit the current buffer to write and switch to the other buffer
+   */
+  private void writeBuffer() throws IOException {
+    waitForPendingWrite();
+    if (count == 0) {
+      return;
+    }
+    final byte[] data = buffer;
+    final int length = count;
+    buffer = flushingBuffer;
+    flushingBuffer = data;
+    count = 0;
+    pendingWrite = executorService.submit(new Callable<Void>() {
+      @Override public Void call() throws IOException {
+        out.write(data, 0, length);
+        return null;
+      }
+    });
+  }
+
+  private void waitForPendingWrite() throws IOException {
+    if (pendingWrite == null) {
+      return;
+    }
+    try {
+      pendingWrite.get();
+    } catch (InterruptedException e) {
+      throw new InterruptedIOException("Interrupted while writing the data");
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof IOException) {
+        throw (IOException) e.getCause();
+      }
+      throw new IOException(e.getCause());
+    } finally {
+      pendingWrite = null;
+    }
+  }
+
+  @Override
+  public void flush() throws IOException {
+    writeBuffer();
+    waitForPendingWrite();
+    out.flush();
+  }
+
+  @Override
+  public void close() throws IOException {
+    if (closed) {
+      return;
+    }
+    closed = true;
+    try {
+      flush();
+    } finally {
+      out.close();
+    }
+  }
+}
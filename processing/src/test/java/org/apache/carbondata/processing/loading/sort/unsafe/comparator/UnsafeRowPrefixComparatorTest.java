@@ -0,0 +1,266 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.carbondata.processing.loading.sort.unsafe.comparator;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import org.apache.carbondata.core.constants.CarbonCommonConstants;
+import org.apache.carbondata.core.memory.IntPointerBuffer;
+import org.apache.carbondata.core.memory.MemoryBlock;
+import org.apache.carbondata.core.memory.UnsafeMemoryManager;
+import org.apache.carbondata.core.metadata.datatype.DataType;
+import org.apache.carbondata.core.metadata.datatype.DataTypes;
+import org.apache.carbondata.core.metadata.encoder.Encoding;
+import org.apache.carbondata.core.metadata.schema.table.CarbonTable;
+import org.apache.carbondata.core.metadata.schema.table.TableInfo;
+import org.apache.carbondata.core.metadata.schema.table.TableSchema;
+import org.apache.carbondata.core.metadata.schema.table.column.ColumnSchema;
+import org.apache.carbondata.core.util.ReUsableByteArrayDataOutputStream;
+import org.apache.carbondata.processing.loading.sort.unsafe.UnsafeCarbonRowPage;
+import org.apache.carbondata.processing.loading.sort.unsafe.holder.UnsafeCarbonRow;
+import org.apache.carbondata.processing.loading.sort.unsafe.sort.TimSort;
+import org.apache.carbondata.processing.loading.sort.unsafe.sort.UnsafeIntSortDataFormat;
+import org.apache.carbondata.processing.sort.sortdata.SortParameters;
+import org.apache.carbondata.processing.sort.sortdata.TableFieldStat;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class UnsafeRowPrefixComparatorTest {
+
+  private static final String TASK_ID = "UnsafeRowPrefixComparatorTest";
+
+  private static final String TABLE_NAME = "prefix_table";
+
+  private static final int NUMBER_OF_ROWS = 1000;
+
+  private static final byte[][] STRING_VALUES = new byte[][] {
+      CarbonCommonConstants.MEMBER_DEFAULT_VAL_ARRAY,
+      new byte[0],
+      "a".getBytes(Charset.forName("UTF-8")),
+      "abcdefg".getBytes(Charset.forName("UTF-8")),
+      "abcdefgh".getBytes(Charset.forName("UTF-8")),
+      "abcdefgha".getBytes(Charset.forName("UTF-8")),
+      "abcdefghb".getBytes(Charset.forName("UTF-8")),
+      "b".getBytes(Charset.forName("UTF-8")),
+      // bytes are compared unsigned
+      new byte[] { (byte) 0xC3, (byte) 0xA9, 't' } };
+
+  @After public void tearDown() {
+    UnsafeMemoryManager.INSTANCE.freeMemoryAll(TASK_ID);
+  }
+
+  @Test public void testDictionaryAndPrimitiveSortColumns() throws Exception {
+    // the prefix has the dictionary column and 3 bytes of the int column, the rows of same
+    // prefix are ordered by the last byte of the int column and the string column
+    assertSameOrder(new DataType[] { DataTypes.STRING, DataTypes.INT, DataTypes.STRING },
+        new boolean[] { true, false, false }, false);
+  }
+
+  @Test public void testPrimitiveSortColumns() throws Exception {
+    assertSameOrder(new DataType[] { DataTypes.SHORT, DataTypes.LONG, DataTypes.INT },
+        new boolean[] { false, false, false }, false);
+  }
+
+  @Test public void testStringSortColumn() throws Exception {
+    assertSameOrder(new DataType[] { DataTypes.STRING, DataTypes.SHORT },
+        new boolean[] { false, false }, false);
+  }
+
+  @Test public void testCompletePrefix() throws Exception {
+    // two dictionary columns fill the prefix, rows of same prefix are equal
+    assertSameOrder(new DataType[] { DataTypes.STRING, DataTypes.DATE },
+        new boolean[] { true, true }, true);
+    assertSameOrder(new DataType[] { DataTypes.SHORT, DataTypes.SHORT },
+        new boolean[] { false, false }, true);
+  }
+
+  @Test public void testPrefixIsCountedInPageSize() throws Exception {
+    DataType[] sortColumnTypes = new DataType[] { DataTypes.INT };
+    UnsafeCarbonRowPage page =
+        createPage(sortColumnTypes, new boolean[] { false }, 512 * 1024);
+    try {
+      Assert.assertTrue(page.getBuffer().getPrefixMemorySize() > 512 * 1024);
+      // empty page can always take a row
+      Assert.assertTrue(page.canAdd());
+      page.addRow(new Object[] { 1, 1 },
+          new ReUsableByteArrayDataOutputStream(new ByteArrayOutputStream()));
+      Assert.assertFalse(page.canAdd());
+    } finally {
+      page.freeMemory();
+    }
+  }
+
+  private void assertSameOrder(DataType[] sortColumnTypes, boolean[] isDictionary,
+      boolean completePrefix) throws Exception {
+    UnsafeCarbonRowPage page = createPage(sortColumnTypes, isDictionary, 4 * 1024 * 1024);
+    try {
+      Assert.assertNotNull(page.getKeyPrefix());
+      Assert.assertEquals(completePrefix, page.getKeyPrefix().isComplete());
+      Random random = new Random(sortColumnTypes.length);
+      ReUsableByteArrayDataOutputStream stream =
+          new ReUsableByteArrayDataOutputStream(new ByteArrayOutputStream());
+      for (int i = 0; i < NUMBER_OF_ROWS; i++) {
+        Object[] row = new Object[sortColumnTypes.length + 1];
+        for (int j = 0; j < sortColumnTypes.length; j++) {
+          row[j] = isDictionary[j] ?
+              (Object) (1 + random.nextInt(3)) :
+              getRandomValue(sortColumnTypes[j], random);
+        }
+        // measure
+        row[sortColumnTypes.length] = random.nextInt();
+        page.addRow(row, stream);
+      }
+      Assert.assertTrue(page.canAdd());
+
+      Comparator<UnsafeCarbonRow> comparator;
+      if (sortColumnTypes.length == 2 && isDictionary[0] && isDictionary[1]) {
+        comparator = new UnsafeRowComparatorForNormalDims(page);
+      } else {
+        comparator = new UnsafeRowComparator(page);
+      }
+      Comparator<UnsafeCarbonRow> prefixComparator =
+          new UnsafeRowPrefixComparator(comparator, page.getKeyPrefix());
+
+      // every pair of rows is ordered same by the prefix and by the full sort key
+      List<UnsafeCarbonRow> rows = getRows(page);
+      for (UnsafeCarbonRow rowL : rows) {
+        for (UnsafeCarbonRow rowR : rows) {
+          Assert.assertEquals(Integer.signum(comparator.compare(rowL, rowR)),
+              Integer.signum(prefixComparator.compare(rowL, rowR)));
+        }
+      }
+
+      Collections.sort(rows, comparator);
+      new TimSort<>(new UnsafeIntSortDataFormat(page))
+          .sort(page.getBuffer(), 0, page.getBuffer().getActualSize(), prefixComparator);
+      List<UnsafeCarbonRow> sortedRows = getRows(page);
+      Assert.assertEquals(rows.size(), sortedRows.size());
+      for (int i = 0; i < rows.size(); i++) {
+        Assert.assertEquals(0, comparator.compare(rows.get(i), sortedRows.get(i)));
+      }
+    } finally {
+      page.freeMemory();
+    }
+  }
+
+  private Object getRandomValue(DataType dataType, Random random) {
+    if (dataType == DataTypes.STRING) {
+      return STRING_VALUES[random.nextInt(STRING_VALUES.length)];
+    }
+    if (random.nextInt(8) == 0) {
+      return null;
+    }
+    // mostly small values around 0, so that many rows are same in the prefix
+    int value = random.nextInt(7) - 3;
+    if (dataType == DataTypes.SHORT) {
+      return random.nextInt(8) == 0 ? Short.MIN_VALUE : (short) value;
+    } else if (dataType == DataTypes.INT) {
+      int[] extremes = new int[] { Integer.MIN_VALUE, Integer.MAX_VALUE, 255, 256, -256 };
+      return random.nextInt(4) == 0 ? extremes[random.nextInt(extremes.length)] : value;
+    } else {
+      long[] extremes = new long[] { Long.MIN_VALUE, Long.MAX_VALUE, 255L, 256L, -256L };
+      return random.nextInt(4) == 0 ? extremes[random.nextInt(extremes.length)] : (long) value;
+    }
+  }
+
+  private List<UnsafeCarbonRow> getRows(UnsafeCarbonRowPage page) {
+    IntPointerBuffer buffer = page.getBuffer();
+    List<UnsafeCarbonRow> rows = new ArrayList<>();
+    for (int i = 0; i < buffer.getActualSize(); i++) {
+      UnsafeCarbonRow row = new UnsafeCarbonRow();
+      row.address = buffer.get(i) + page.getDataBlock().getBaseOffset();
+      row.prefix = buffer.getPrefix(i);
+      rows.add(row);
+    }
+    return rows;
+  }
+
+  private UnsafeCarbonRowPage createPage(DataType[] sortColumnTypes, boolean[] isDictionary,
+      long pageSize) throws Exception {
+    TableSchema tableSchema = new TableSchema();
+    tableSchema.setTableName(TABLE_NAME);
+    List<ColumnSchema> columns = new ArrayList<>();
+    List<DataType> noDictDataTypes = new ArrayList<>();
+    boolean[] isNoDictionary = new boolean[sortColumnTypes.length];
+    boolean[] isSortColumn = new boolean[sortColumnTypes.length];
+    for (int i = 0; i < sortColumnTypes.length; i++) {
+      ColumnSchema column = new ColumnSchema();
+      column.setColumnName("col" + i);
+      column.setColumnUniqueId("col" + i);
+      column.setDataType(sortColumnTypes[i]);
+      column.setDimensionColumn(true);
+      column.setSortColumn(true);
+      column.setSchemaOrdinal(i);
+      if (isDictionary[i]) {
+        column.setEncodingList(Arrays.asList(Encoding.DICTIONARY));
+      } else {
+        column.setEncodingList(new ArrayList<Encoding>());
+        noDictDataTypes.add(sortColumnTypes[i]);
+      }
+      isNoDictionary[i] = !isDictionary[i];
+      isSortColumn[i] = true;
+      columns.add(column);
+    }
+    ColumnSchema measure = new ColumnSchema();
+    measure.setColumnName("measure");
+    measure.setColumnUniqueId("measure");
+    measure.setDataType(DataTypes.INT);
+    measure.setDimensionColumn(false);
+    measure.setSchemaOrdinal(sortColumnTypes.length);
+    measure.setEncodingList(new ArrayList<Encoding>());
+    columns.add(measure);
+    tableSchema.setListOfColumns(columns);
+
+    TableInfo tableInfo = new TableInfo();
+    tableInfo.setFactTable(tableSchema);
+    tableInfo.setTableUniqueName("default_" + TABLE_NAME);
+    tableInfo.setDatabaseName("default");
+    tableInfo.setTablePath(System.getProperty("java.io.tmpdir") + "/" + TABLE_NAME);
+    CarbonTable carbonTable = CarbonTable.buildFromTableInfo(tableInfo);
+
+    DataType[] noDictSortDataTypes = noDictDataTypes.toArray(new DataType[0]);
+    SortParameters parameters = new SortParameters();
+    parameters.setCarbonTable(carbonTable);
+    parameters.setTableName(TABLE_NAME);
+    parameters.setDimColCount(sortColumnTypes.length);
+    parameters.setComplexDimColCount(0);
+    parameters.setNoDictionaryCount(noDictSortDataTypes.length);
+    parameters.setMeasureColCount(1);
+    parameters.setMeasureDataType(new DataType[] { DataTypes.INT });
+    parameters.setNoDictionaryDimnesionColumn(isNoDictionary);
+    parameters.setIsVarcharDimensionColumn(new boolean[sortColumnTypes.length]);
+    parameters.setSortColumn(isSortColumn);
+    parameters.setNoDictionarySortColumn(isNoDictionary);
+    parameters.setNumberOfSortColumns(sortColumnTypes.length);
+    parameters.setNumberOfNoDictSortColumns(noDictSortDataTypes.length);
+    parameters.setNoDictDataType(noDictSortDataTypes);
+    parameters.setNoDictSortDataType(noDictSortDataTypes);
+    parameters.setNoDictNoSortDataType(new DataType[0]);
+
+    MemoryBlock memoryBlock = UnsafeMemoryManager.allocateMemoryWithRetry(TASK_ID, pageSize);
+    return new UnsafeCarbonRowPage(new TableFieldStat(parameters), memoryBlock, TASK_ID);
+  }
+}
@@ -0,0 +1,129 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.processing.loading.sort.unsafe.merger;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import org.apache.carbondata.processing.loading.row.IntermediateSortTempRow;
+import org.apache.carbondata.processing.loading.sort.unsafe.holder.SortTempChunkHolder;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class SortTempChunkHolderLoserTreeTest {
+
+  @Test public void testMergeSortedHolders() {
+    Random random = new Random(1);
+    for (int numberOfHolders = 1; numberOfHolders <= 20; numberOfHolders++) {
+      List<SortTempChunkHolder> holders = new ArrayList<>();
+      List<Integer> expected = new ArrayList<>();
+      for (int i = 0; i < numberOfHolders; i++) {
+        int[] values = new int[1 + random.nextInt(50)];
+        for (int j = 0; j < values.length; j++) {
+          values[j] = random.nextInt(100);
+          expected.add(values[j]);
+        }
+        Arrays.sort(values);
+        holders.add(new IntArrayHolder(values));
+      }
+      Collections.sort(expected);
+
+      List<Integer> actual = new ArrayList<>();
+      SortTempChunkHolderLoserTree tree = new SortTempChunkHolderLoserTree(holders);
+      while (!tree.isEmpty()) {
+        IntArrayHolder holder = (IntArrayHolder) tree.peek();
+        actual.add(holder.getValue());
+        if (holder.hasNext()) {
+          holder.readRow();
+          tree.adjust();
+        } else {
+          holder.close();
+          tree.remove();
+        }
+      }
+      Assert.assertEquals(expected, actual);
+      for (SortTempChunkHolder holder : holders) {
+        Assert.assertTrue(((IntArrayHolder) holder).closed);
+      }
+    }
+  }
+
+  @Test public void testCloseRemainingHolders() {
+    List<SortTempChunkHolder> holders = new ArrayList<>();
+    holders.add(new IntArrayHolder(new int[] { 1 }));
+    holders.add(new IntArrayHolder(new int[] { 2, 3 }));
+    holders.add(new IntArrayHolder(new int[] { 4 }));
+    SortTempChunkHolderLoserTree tree = new SortTempChunkHolderLoserTree(holders);
+    IntArrayHolder holder = (IntArrayHolder) tree.peek();
+    Assert.assertEquals(1, holder.getValue());
+    holder.close();
+    tree.remove();
+    Assert.assertEquals(2, ((IntArrayHolder) tree.peek()).getValue());
+    tree.close();
+    Assert.assertTrue(tree.isEmpty());
+    for (SortTempChunkHolder closedHolder : holders) {
+      Assert.assertTrue(((IntArrayHolder) closedHolder).closed);
+    }
+  }
+
+  private static final class IntArrayHolder implements SortTempChunkHolder {
+
+    private final int[] values;
+
+    private int index;
+
+    private boolean closed;
+
+    private IntArrayHolder(int[] values) {
+      this.values = values;
+    }
+
+    private int getValue() {
+      return values[index];
+    }
+
+    @Override public boolean hasNext() {
+      return index + 1 < values.length;
+    }
+
+    @Override public void readRow() {
+      index++;
+    }
+
+    @Override public IntermediateSortTempRow getRow() {
+      return null;
+    }
+
+    @Override public int numberOfRows() {
+      return values.length;
+    }
+
+    @Override public void close() {
+      Assert.assertFalse("holder is closed twice", closed);
+      closed = true;
+    }
+
+    @Override public int compareTo(SortTempChunkHolder o) {
+      return Integer.compare(getValue(), ((IntArrayHolder) o).getValue());
+    }
+  }
+}
@@ -0,0 +1,199 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.carbondata.processing.store;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import mockit.Mock;
+import mockit.MockUp;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class TablePageRingBufferTest {
+
+  private ExecutorService executorService;
+
+  @Before public void setUp() {
+    new MockUp<TablePage>() {
+      @Mock public void $init(CarbonFactDataHandlerModel model, int pageSize) {
+        //to be left blank
+      }
+    };
+    executorService = Executors.newCachedThreadPool();
+  }
+
+  @After public void tearDown() {
+    executorService.shutdownNow();
+  }
+
+  @Test public void testPagesAreTakenInSequence() throws Exception {
+    final int numberOfPages = 200;
+    final TablePageRingBuffer buffer = new TablePageRingBuffer(4, Long.MAX_VALUE);
+    final List<TablePage> pages = new ArrayList<>();
+    for (int i = 0; i < numberOfPages; i++) {
+      pages.add(new TablePage(null, 0));
+    }
+    Future<List<TablePage>> consumer = executorService.submit(new Callable<List<TablePage>>() {
+      @Override public List<TablePage> call() throws Exception {
+        List<TablePage> takenPages = new ArrayList<>();
+        for (int i = 0; i < numberOfPages; i++) {
+          takenPages.add(buffer.take());
+          buffer.release();
+        }
+        return takenPages;
+      }
+    });
+    // producers finish encoding in random order
+    ExecutorService producers = Executors.newFixedThreadPool(4);
+    try {
+      final Random random = new Random(1);
+      List<Future<?>> futures = new ArrayList<>();
+      for (int i = 0; i < numberOfPages; i++) {
+        final long sequence = buffer.acquire();
+        final int delay = random.nextInt(3);
+        futures.add(producers.submit(new Callable<Void>() {
+          @Override public Void call() throws Exception {
+            Thread.sleep(delay);
+            buffer.put(sequence, pages.get((int) sequence), 10);
+            return null;
+          }
+        }));
+      }
+      for (Future<?> future : futures) {
+        future.get();
+      }
+    } finally {
+      producers.shutdownNow();
+    }
+    List<TablePage> takenPages = consumer.get(1, TimeUnit.MINUTES);
+    Assert.assertEquals(pages.size(), takenPages.size());
+    for (int i = 0; i < numberOfPages; i++) {
+      Assert.assertSame(pages.get(i), takenPages.get(i));
+    }
+  }
+
+  @Test public void testSubmitterWaitsWhenCountIsReached() throws Exception {
+    final TablePageRingBuffer buffer = new TablePageRingBuffer(2, Long.MAX_VALUE);
+    Assert.assertEquals(0, buffer.acquire());
+    Assert.assertEquals(1, buffer.acquire());
+    Future<Long> submitter = submitAcquire(buffer);
+    assertWaiting(submitter);
+
+    // the slot is available only after the page is written
+    buffer.put(0, new TablePage(null, 0), 10);
+    TablePage page = buffer.take();
+    Assert.assertNotNull(page);
+    assertWaiting(submitter);
+    buffer.release();
+    Assert.assertEquals(2, (long) submitter.get(1, TimeUnit.MINUTES));
+    Assert.assertTrue(buffer.getProducerWaitNanos() > 0);
+  }
+
+  @Test public void testSubmitterWaitsWhenSizeIsReached() throws Exception {
+    final TablePageRingBuffer buffer = new TablePageRingBuffer(10, 100);
+    Assert.assertEquals(0, buffer.acquire());
+    // at least one page is accepted even if it is bigger than the maximum size
+    buffer.put(0, new TablePage(null, 0), 150);
+    Future<Long> submitter = submitAcquire(buffer);
+    assertWaiting(submitter);
+
+    buffer.take();
+    buffer.release();
+    Assert.assertEquals(1, (long) submitter.get(1, TimeUnit.MINUTES));
+    buffer.put(1, new TablePage(null, 0), 50);
+    // size of the pages waiting to be written is below the maximum size
+    Assert.assertEquals(2, buffer.acquire());
+  }
+
+  @Test public void testCloseWakesUpWaitingConsumer() throws Exception {
+    final TablePageRingBuffer buffer = new TablePageRingBuffer(2, Long.MAX_VALUE);
+    buffer.acquire();
+    Future<TablePage> consumer = executorService.submit(new Callable<TablePage>() {
+      @Override public TablePage call() throws Exception {
+        return buffer.take();
+      }
+    });
+    assertWaiting(consumer);
+    // producer fails and closes the buffer
+    buffer.close();
+    assertInterrupted(consumer);
+    Assert.assertTrue(buffer.getConsumerWaitNanos() > 0);
+  }
+
+  @Test public void testCloseWakesUpWaitingSubmitter() throws Exception {
+    final TablePageRingBuffer buffer = new TablePageRingBuffer(1, Long.MAX_VALUE);
+    buffer.acquire();
+    Future<Long> submitter = submitAcquire(buffer);
+    assertWaiting(submitter);
+    // consumer fails and closes the buffer
+    buffer.close();
+    assertInterrupted(submitter);
+    try {
+      buffer.acquire();
+      Assert.fail("acquire should fail after the buffer is closed");
+    } catch (InterruptedException e) {
+      // expected
+    }
+  }
+
+  @Test public void testInterruptWakesUpWaitingSubmitter() throws Exception {
+    final TablePageRingBuffer buffer = new TablePageRingBuffer(1, Long.MAX_VALUE);
+    buffer.acquire();
+    Future<Long> submitter = submitAcquire(buffer);
+    assertWaiting(submitter);
+    submitter.cancel(true);
+    executorService.shutdown();
+    Assert.assertTrue(executorService.awaitTermination(1, TimeUnit.MINUTES));
+  }
+
+  private Future<Long> submitAcquire(final TablePageRingBuffer buffer) {
+    return executorService.submit(new Callable<Long>() {
+      @Override public Long call() throws Exception {
+        return buffer.acquire();
+      }
+    });
+  }
+
+  private static void assertWaiting(Future<?> future) throws Exception {
+    try {
+      future.get(100, TimeUnit.MILLISECONDS);
+      Assert.fail("thread should be waiting");
+    } catch (TimeoutException e) {
+      // expected
+    }
+  }
+
+  private static void assertInterrupted(Future<?> future) throws Exception {
+    try {
+      future.get(1, TimeUnit.MINUTES);
+      Assert.fail("waiting thread should fail when the buffer is closed");
+    } catch (ExecutionException e) {
+      Assert.assertTrue(e.getCause() instanceof InterruptedException);
+    }
+  }
+}
@@ -0,0 +1,73 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.processing.store.writer;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class AsyncBufferedOutputStreamTest {
+
+  private ExecutorService executorService;
+
+  @Before public void setUp() {
+    executorService = Executors.newFixedThreadPool(1);
+  }
+
+  @After public void tearDown() {
+    executorService.shutdownNow();
+  }
+
+  @Test public void testWriteInOrder() throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    ByteArrayOutputStream expected = new ByteArrayOutputStream();
+    OutputStream stream = new AsyncBufferedOutputStream(out, executorService, 100);
+    for (int i = 0; i < 1000; i++) {
+      byte[] data = new byte[i % 250];
+      for (int j = 0; j < data.length; j++) {
+        data[j] = (byte) (i + j);
+      }
+      stream.write(data);
+      stream.write(i);
+      expected.write(data);
+      expected.write(i);
+    }
+    stream.close();
+    Assert.assertArrayEquals(expected.toByteArray(), out.toByteArray());
+  }
+
+  @Test(expected = IOException.class)
+  public void testWriteFailureIsThrownInFlush() throws IOException {
+    OutputStream out = new OutputStream() {
+      @Override public void write(int b) throws IOException {
+        throw new IOException("failed");
+      }
+    };
+    OutputStream stream = new AsyncBufferedOutputStream(out, executorService, 10);
+    // first buffer is written asynchronously, failure is known only in flush
+    stream.write(new byte[15]);
+    stream.flush();
+  }
+}
@@ -17,13 +17,24 @@
 
 package org.apache.carbondata.sdk.file;
 
+import java.io.IOException;
 import java.util.List;
+import java.util.TimeZone;
 
 import org.apache.carbondata.common.annotations.InterfaceAudience;
 import org.apache.carbondata.common.annotations.InterfaceStability;
+import org.apache.carbondata.core.constants.CarbonV3DataFormatConstants;
 import org.apache.carbondata.core.memory.CarbonUnsafe;
+import org.apache.carbondata.core.metadata.datatype.StructField;
+import org.apache.carbondata.core.scan.result.vector.CarbonColumnVector;
+import org.apache.carbondata.core.scan.result.vector.CarbonColumnarBatch;
+import org.apache.carbondata.hadoop.util.CarbonVectorizedRecordReader;
+import org.apache.carbondata.sdk.file.arrow.ArrowCarbonColumnVector;
 import org.apache.carbondata.sdk.file.arrow.ArrowConverter;
+import org.apache.carbondata.sdk.file.arrow.ArrowUtils;
 
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.vector.FieldVector;
 import org.apache.arrow.vector.VectorSchemaRoot;
 import org.apache.hadoop.mapreduce.RecordReader;
 
@@ -34,6 +45,17 @@ import org.apache.hadoop.mapreduce.RecordReader;
 @InterfaceStability.Evolving
 public class ArrowCarbonReader<T> extends CarbonReader<T> {
 
+  private BufferAllocator batchAllocator;
+
+  /**
+   * arrow vectors reused for every batch read by readNextArrowBatch
+   */
+  private VectorSchemaRoot batchRoot;
+
+  private CarbonColumnarBatch columnarBatch;
+
+  private ArrowCarbonColumnVector[] columnVectors;
+
   /**
    * Call {@link #builder(String)} to construct an instance
    */
@@ -96,6 +118,69 @@ public class ArrowCarbonReader<T> extends CarbonReader<T> {
     return arrowConverter.copySerializeArrayToOffHeap();
   }
 
+  /**
+   * Carbon reader will fill the next batch of rows directly into the arrow vectors from the
+   * vectorized reader, without converting the data to rows. So the files can be streamed
+   * batch by batch instead of reading all the rows at once.
+   * The returned VectorSchemaRoot is reused for all the batches, so its content is valid only
+   * till the next call. It is closed when the reader is closed.
+   * Note: supported only by the vectorized reader (default reader of the SDK)
+   *
+   * @param carbonSchema org.apache.carbondata.sdk.file.Schema
+   * @return Arrow VectorSchemaRoot filled with the next batch, null if there are no more rows
+   * @throws Exception
+   */
+  public VectorSchemaRoot readNextArrowBatch(Schema carbonSchema) throws Exception {
+    CarbonVectorizedRecordReader vectorizedReader = getVectorizedReader();
+    if (batchRoot == null) {
+      initArrowBatch(carbonSchema, vectorizedReader.getProjectionFields());
+    }
+    int rowCount = vectorizedReader.nextColumnarBatch(columnarBatch);
+    while (rowCount == 0) {
+      if (!nextReader()) {
+        return null;
+      }
+      rowCount = getVectorizedReader().nextColumnarBatch(columnarBatch);
+    }
+    for (ArrowCarbonColumnVector columnVector : columnVectors) {
+      columnVector.loadPage();
+    }
+    batchRoot.setRowCount(rowCount);
+    return batchRoot;
+  }
+
+  private void initArrowBatch(Schema carbonSchema, StructField[] projectionFields) {
+    int batchSize = CarbonV3DataFormatConstants.NUMBER_OF_ROWS_PER_BLOCKLET_COLUMN_PAGE_DEFAULT;
+    batchAllocator = ArrowUtils.rootAllocator
+        .newChildAllocator("toArrowVectorBatch", 0, Long.MAX_VALUE);
+    batchRoot = VectorSchemaRoot
+        .create(ArrowUtils.toArrowSchema(carbonSchema, TimeZone.getDefault().getID()),
+            batchAllocator);
+    for (FieldVector fieldVector : batchRoot.getFieldVectors()) {
+      fieldVector.setInitialCapacity(batchSize);
+      fieldVector.allocateNew();
+    }
+    // same column projected more than once is filled into the same arrow vector
+    columnVectors = new ArrowCarbonColumnVector[projectionFields.length];
+    CarbonColumnVector[] vectors = new CarbonColumnVector[projectionFields.length];
+    for (int i = 0; i < projectionFields.length; i++) {
+      FieldVector fieldVector = getArrowVector(projectionFields[i].getFieldName());
+      columnVectors[i] =
+          ArrowCarbonColumnVector.create(fieldVector, projectionFields[i].getDataType());
+      vectors[i] = columnVectors[i];
+    }
+    columnarBatch = new CarbonColumnarBatch(vectors, batchSize, new boolean[] {});
+  }
+
+  private FieldVector getArrowVector(String columnName) {
+    for (FieldVector fieldVector : batchRoot.getFieldVectors()) {
+      if (fieldVector.getField().getName().equalsIgnoreCase(columnName)) {
+        return fieldVector;
+      }
+    }
+    throw new IllegalArgumentException("Projection column " + columnName + " is not in schema");
+  }
+
   /**
    * free the unsafe memory allocated , if unsafe arrow batch is used.
    *
@@ -104,4 +189,13 @@ public class ArrowCarbonReader<T> extends CarbonReader<T> {
   public void freeArrowBatchMemory(long address) {
     CarbonUnsafe.getUnsafe().freeMemory(address);
   }
+
+  @Override public void close() throws IOException {
+    super.close();
+    if (batchRoot != null) {
+      batchRoot.close();
+      batchAllocator.close();
+      batchRoot = null;
+    }
+  }
 }
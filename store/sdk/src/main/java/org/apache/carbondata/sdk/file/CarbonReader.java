@@ -74,22 +74,42 @@ public class CarbonReader<T> {
     if (currentReader.nextKeyValue()) {
       return true;
     } else {
-      if (index == readers.size() - 1) {
-        // no more readers
-        return false;
-      } else {
-        // current reader is closed
-        currentReader.close();
-        // no need to keep a reference to CarbonVectorizedRecordReader,
-        // until all the readers are processed.
-        // If readers count is very high,
-        // we get OOM as GC not happened for any of the content in CarbonVectorizedRecordReader
-        readers.set(index,null);
-        index++;
-        currentReader = readers.get(index);
-        return currentReader.nextKeyValue();
-      }
+      return nextReader() && currentReader.nextKeyValue();
+    }
+  }
+
+  /**
+   * Move to the next reader once the current reader is completely read
+   *
+   * @return false if there are no more readers
+   */
+  boolean nextReader() throws IOException {
+    if (index == readers.size() - 1) {
+      // no more readers
+      return false;
+    }
+    // current reader is closed
+    currentReader.close();
+    // no need to keep a reference to CarbonVectorizedRecordReader,
+    // until all the readers are processed.
+    // If readers count is very high,
+    // we get OOM as GC not happened for any of the content in CarbonVectorizedRecordReader
+    readers.set(index, null);
+    index++;
+    currentReader = readers.get(index);
+    return true;
+  }
+
+  /**
+   * Return the current reader, which fills the batch directly into the column vectors
+   */
+  CarbonVectorizedRecordReader getVectorizedReader() {
+    validateReader();
+    if (!(currentReader instanceof CarbonVectorizedRecordReader)) {
+      throw new UnsupportedOperationException(
+          "Columnar batch read is supported only by the vectorized reader");
     }
+    return (CarbonVectorizedRecordReader) currentReader;
   }
 
   /**
@@ -0,0 +1,589 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.sdk.file.arrow;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+
+import org.apache.carbondata.core.metadata.datatype.DataType;
+import org.apache.carbondata.core.metadata.datatype.DataTypes;
+import org.apache.carbondata.core.scan.result.vector.CarbonColumnVector;
+import org.apache.carbondata.core.scan.result.vector.CarbonDictionary;
+import org.apache.carbondata.core.scan.result.vector.impl.CarbonColumnVectorImpl;
+import org.apache.carbondata.core.scan.scanner.LazyPageLoader;
+
+import org.apache.arrow.vector.BaseVariableWidthVector;
+import org.apache.arrow.vector.BigIntVector;
+import org.apache.arrow.vector.BitVector;
+import org.apache.arrow.vector.DateDayVector;
+import org.apache.arrow.vector.DecimalVector;
+import org.apache.arrow.vector.FieldVector;
+import org.apache.arrow.vector.Float4Vector;
+import org.apache.arrow.vector.Float8Vector;
+import org.apache.arrow.vector.IntVector;
+import org.apache.arrow.vector.SmallIntVector;
+import org.apache.arrow.vector.TimeStampMicroTZVector;
+import org.apache.arrow.vector.TinyIntVector;
+
+/**
+ * CarbonColumnVector which fills the scanned values directly into the buffers of an arrow
+ * FieldVector, so the vectorized reader output can be exported to arrow without forming rows.
+ */
+public abstract class ArrowCarbonColumnVector implements CarbonColumnVector {
+
+  private FieldVector fieldVector;
+
+  private DataType dataType;
+
+  private DataType blockDataType;
+
+  private LazyPageLoader lazyPage;
+
+  ArrowCarbonColumnVector(FieldVector fieldVector, DataType dataType) {
+    this.fieldVector = fieldVector;
+    this.dataType = dataType;
+  }
+
+  /**
+   * Create the column vector for the given arrow vector. dataType is the type with which the
+   * vectorized reader fills the column.
+   */
+  public static ArrowCarbonColumnVector create(FieldVector fieldVector, DataType dataType) {
+    if (fieldVector instanceof BitVector) {
+      return new BooleanColumnVector((BitVector) fieldVector, dataType);
+    } else if (fieldVector instanceof TinyIntVector) {
+      return new ByteColumnVector((TinyIntVector) fieldVector, dataType);
+    } else if (fieldVector instanceof SmallIntVector) {
+      return new ShortColumnVector((SmallIntVector) fieldVector, dataType);
+    } else if (fieldVector instanceof IntVector) {
+      return new IntColumnVector((IntVector) fieldVector, dataType);
+    } else if (fieldVector instanceof DateDayVector) {
+      return new DateColumnVector((DateDayVector) fieldVector, dataType);
+    } else if (fieldVector instanceof BigIntVector) {
+      return new LongColumnVector((BigIntVector) fieldVector, dataType);
+    } else if (fieldVector instanceof TimeStampMicroTZVector) {
+      return new TimeStampColumnVector((TimeStampMicroTZVector) fieldVector, dataType);
+    } else if (fieldVector instanceof Float4Vector) {
+      return new FloatColumnVector((Float4Vector) fieldVector, dataType);
+    } else if (fieldVector instanceof Float8Vector) {
+      return new DoubleColumnVector((Float8Vector) fieldVector, dataType);
+    } else if (fieldVector instanceof DecimalVector) {
+      return new DecimalColumnVector((DecimalVector) fieldVector, dataType);
+    } else if (fieldVector instanceof BaseVariableWidthVector) {
+      return new VariableLengthColumnVector((BaseVariableWidthVector) fieldVector, dataType);
+    } else {
+      throw new UnsupportedOperationException(
+          "Vector fill is not supported for arrow field " + fieldVector.getField());
+    }
+  }
+
+  public FieldVector getFieldVector() {
+    return fieldVector;
+  }
+
+  /**
+   * Load the lazily decoded page, if any, so that all the rows of the batch are in the vector
+   */
+  public void loadPage() {
+    if (lazyPage != null) {
+      lazyPage.loadPage();
+      lazyPage = null;
+    }
+  }
+
+  UnsupportedOperationException unsupported(String operation) {
+    return new UnsupportedOperationException(
+        operation + " is not supported for " + dataType.getName() + " arrow vector");
+  }
+
+  @Override public void putBoolean(int rowId, boolean value) {
+    throw unsupported("putBoolean");
+  }
+
+  @Override public void putFloat(int rowId, float value) {
+    throw unsupported("putFloat");
+  }
+
+  @Override public void putFloats(int rowId, int count, float[] src, int srcIndex) {
+    for (int i = 0; i < count; i++) {
+      putFloat(rowId + i, src[srcIndex + i]);
+    }
+  }
+
+  @Override public void putShort(int rowId, short value) {
+    throw unsupported("putShort");
+  }
+
+  @Override public void putShorts(int rowId, int count, short value) {
+    for (int i = 0; i < count; i++) {
+      putShort(rowId + i, value);
+    }
+  }
+
+  @Override public void putShorts(int rowId, int count, short[] src, int srcIndex) {
+    for (int i = 0; i < count; i++) {
+      putShort(rowId + i, src[srcIndex + i]);
+    }
+  }
+
+  @Override public void putInt(int rowId, int value) {
+    throw unsupported("putInt");
+  }
+
+  @Override public void putInts(int rowId, int count, int value) {
+    for (int i = 0; i < count; i++) {
+      putInt(rowId + i, value);
+    }
+  }
+
+  @Override public void putInts(int rowId, int count, int[] src, int srcIndex) {
+    for (int i = 0; i < count; i++) {
+      putInt(rowId + i, src[srcIndex + i]);
+    }
+  }
+
+  @Override public void putLong(int rowId, long value) {
+    throw unsupported("putLong");
+  }
+
+  @Override public void putLongs(int rowId, int count, long value) {
+    for (int i = 0; i < count; i++) {
+      putLong(rowId + i, value);
+    }
+  }
+
+  @Override public void putLongs(int rowId, int count, long[] src, int srcIndex) {
+    for (int i = 0; i < count; i++) {
+      putLong(rowId + i, src[srcIndex + i]);
+    }
+  }
+
+  @Override public void putDecimal(int rowId, BigDecimal value, int precision) {
+    throw unsupported("putDecimal");
+  }
+
+  @Override public void putDecimals(int rowId, int count, BigDecimal value, int precision) {
+    for (int i = 0; i < count; i++) {
+      putDecimal(rowId + i, value, precision);
+    }
+  }
+
+  @Override public void putDouble(int rowId, double value) {
+    throw unsupported("putDouble");
+  }
+
+  @Override public void putDoubles(int rowId, int count, double value) {
+    for (int i = 0; i < count; i++) {
+      putDouble(rowId + i, value);
+    }
+  }
+
+  @Override public void putDoubles(int rowId, int count, double[] src, int srcIndex) {
+    for (int i = 0; i < count; i++) {
+      putDouble(rowId + i, src[srcIndex + i]);
+    }
+  }
+
+  @Override public void putByteArray(int rowId, byte[] value) {
+    putByteArray(rowId, 0, value.length, value);
+  }
+
+  @Override public void putByteArray(int rowId, int offset, int length, byte[] value) {
+    throw unsupported("putByteArray");
+  }
+
+  @Override public void putByteArray(int rowId, int count, byte[] value) {
+    for (int i = 0; i < count; i++) {
+      putByteArray(rowId + i, 0, value.length, value);
+    }
+  }
+
+  @Override public void putArray(int rowId, int offset, int length) {
+    throw unsupported("putArray");
+  }
+
+  @Override public void putAllByteArray(byte[] data, int offset, int length) {
+    throw unsupported("putAllByteArray");
+  }
+
+  @Override public void putByte(int rowId, byte value) {
+    throw unsupported("putByte");
+  }
+
+  @Override public void putBytes(int rowId, int count, byte[] src, int srcIndex) {
+    for (int i = 0; i < count; i++) {
+      putByte(rowId + i, src[srcIndex + i]);
+    }
+  }
+
+  @Override public void putNulls(int rowId, int count) {
+    for (int i = 0; i < count; i++) {
+      putNull(rowId + i);
+    }
+  }
+
+  @Override public void putNotNull(int rowId) {
+    // validity bit is set while putting the value
+  }
+
+  @Override public void putNotNull(int rowId, int count) {
+    // validity bit is set while putting the value
+  }
+
+  @Override public boolean isNull(int rowId) {
+    return fieldVector.isNull(rowId);
+  }
+
+  @Override public void putObject(int rowId, Object obj) {
+    throw unsupported("putObject");
+  }
+
+  @Override public Object getData(int rowId) {
+    return fieldVector.getObject(rowId);
+  }
+
+  @Override public void reset() {
+    fieldVector.reset();
+    lazyPage = null;
+  }
+
+  @Override public DataType getType() {
+    return dataType;
+  }
+
+  @Override public DataType getBlockDataType() {
+    return blockDataType;
+  }
+
+  @Override public void setBlockDataType(DataType blockDataType) {
+    this.blockDataType = blockDataType;
+  }
+
+  @Override public void setFilteredRowsExist(boolean filteredRowsExist) {
+
+  }
+
+  @Override public void setDictionary(CarbonDictionary dictionary) {
+    if (dictionary != null) {
+      throw unsupported("setDictionary");
+    }
+  }
+
+  @Override public boolean hasDictionary() {
+    return false;
+  }
+
+  @Override public CarbonColumnVector getDictionaryVector() {
+    return null;
+  }
+
+  @Override public void setLazyPage(LazyPageLoader lazyPage) {
+    this.lazyPage = lazyPage;
+  }
+}
+
+class BooleanColumnVector extends ArrowCarbonColumnVector {
+  private BitVector bitVector;
+
+  BooleanColumnVector(BitVector bitVector, DataType dataType) {
+    super(bitVector, dataType);
+    this.bitVector = bitVector;
+  }
+
+  @Override public void putNull(int rowId) {
+    bitVector.setNull(rowId);
+  }
+
+  @Override public void putBoolean(int rowId, boolean value) {
+    bitVector.setSafe(rowId, value ? 1 : 0);
+  }
+
+  @Override public void putByte(int rowId, byte value) {
+    // boolean is stored as byte, same as CarbonColumnVectorImpl
+    bitVector.setSafe(rowId, value != 0 ? 1 : 0);
+  }
+}
+
+class ByteColumnVector extends ArrowCarbonColumnVector {
+  private TinyIntVector tinyIntVector;
+
+  ByteColumnVector(TinyIntVector tinyIntVector, DataType dataType) {
+    super(tinyIntVector, dataType);
+    this.tinyIntVector = tinyIntVector;
+  }
+
+  @Override public void putNull(int rowId) {
+    tinyIntVector.setNull(rowId);
+  }
+
+  @Override public void putByte(int rowId, byte value) {
+    tinyIntVector.setSafe(rowId, value);
+  }
+}
+
+class ShortColumnVector extends ArrowCarbonColumnVector {
+  private SmallIntVector smallIntVector;
+
+  ShortColumnVector(SmallIntVector smallIntVector, DataType dataType) {
+    super(smallIntVector, dataType);
+    this.smallIntVector = smallIntVector;
+  }
+
+  @Override public void putNull(int rowId) {
+    smallIntVector.setNull(rowId);
+  }
+
+  @Override public void putShort(int rowId, short value) {
+    smallIntVector.setSafe(rowId, value);
+  }
+}
+
+class IntColumnVector extends ArrowCarbonColumnVector {
+  private IntVector intVector;
+
+  IntColumnVector(IntVector intVector, DataType dataType) {
+    super(intVector, dataType);
+    this.intVector = intVector;
+  }
+
+  @Override public void putNull(int rowId) {
+    intVector.setNull(rowId);
+  }
+
+  @Override public void putInt(int rowId, int value) {
+    intVector.setSafe(rowId, value);
+  }
+}
+
+class DateColumnVector extends ArrowCarbonColumnVector {
+  private DateDayVector dateDayVector;
+
+  DateColumnVector(DateDayVector dateDayVector, DataType dataType) {
+    super(dateDayVector, dataType);
+    this.dateDayVector = dateDayVector;
+  }
+
+  @Override public void putNull(int rowId) {
+    dateDayVector.setNull(rowId);
+  }
+
+  @Override public void putInt(int rowId, int value) {
+    dateDayVector.setSafe(rowId, value);
+  }
+}
+
+class LongColumnVector extends ArrowCarbonColumnVector {
+  private BigIntVector bigIntVector;
+
+  LongColumnVector(BigIntVector bigIntVector, DataType dataType) {
+    super(bigIntVector, dataType);
+    this.bigIntVector = bigIntVector;
+  }
+
+  @Override public void putNull(int rowId) {
+    bigIntVector.setNull(rowId);
+  }
+
+  @Override public void putLong(int rowId, long value) {
+    bigIntVector.setSafe(rowId, value);
+  }
+}
+
+class TimeStampColumnVector extends ArrowCarbonColumnVector {
+  private TimeStampMicroTZVector timeStampMicroTZVector;
+
+  TimeStampColumnVector(TimeStampMicroTZVector timeStampMicroTZVector, DataType dataType) {
+    super(timeStampMicroTZVector, dataType);
+    this.timeStampMicroTZVector = timeStampMicroTZVector;
+  }
+
+  @Override public void putNull(int rowId) {
+    timeStampMicroTZVector.setNull(rowId);
+  }
+
+  @Override public void putLong(int rowId, long value) {
+    timeStampMicroTZVector.setSafe(rowId, value);
+  }
+}
+
+class FloatColumnVector extends ArrowCarbonColumnVector {
+  private Float4Vector float4Vector;
+
+  FloatColumnVector(Float4Vector float4Vector, DataType dataType) {
+    super(float4Vector, dataType);
+    this.float4Vector = float4Vector;
+  }
+
+  @Override public void putNull(int rowId) {
+    float4Vector.setNull(rowId);
+  }
+
+  @Override public void putFloat(int rowId, float value) {
+    float4Vector.setSafe(rowId, value);
+  }
+}
+
+class DoubleColumnVector extends ArrowCarbonColumnVector {
+  private Float8Vector float8Vector;
+
+  DoubleColumnVector(Float8Vector float8Vector, DataType dataType) {
+    super(float8Vector, dataType);
+    this.float8Vector = float8Vector;
+  }
+
+  @Override public void putNull(int rowId) {
+    float8Vector.setNull(rowId);
+  }
+
+  @Override public void putDouble(int rowId, double value) {
+    float8Vector.setSafe(rowId, value);
+  }
+}
+
+class DecimalColumnVector extends ArrowCarbonColumnVector {
+  private DecimalVector decimalVector;
+
+  DecimalColumnVector(DecimalVector decimalVector, DataType dataType) {
+    super(decimalVector, dataType);
+    this.decimalVector = decimalVector;
+  }
+
+  @Override public void putNull(int rowId) {
+    decimalVector.setNull(rowId);
+  }
+
+  @Override public void putDecimal(int rowId, BigDecimal value, int precision) {
+    decimalVector.setSafe(rowId, value);
+  }
+}
+
+/**
+ * Fills string, varchar and binary columns. Local dictionary keys are decoded as soon as they
+ * are put, as the dictionary can change from one page to another within the same batch.
+ */
+class VariableLengthColumnVector extends ArrowCarbonColumnVector {
+  private BaseVariableWidthVector variableWidthVector;
+
+  private CarbonDictionary carbonDictionary;
+
+  private CarbonColumnVector dictionaryVector;
+
+  // rows added using putArray, data for them is given later in putAllByteArray
+  private int[] pendingRowIds = new int[0];
+
+  private int[] pendingOffsets = new int[0];
+
+  private int[] pendingLengths = new int[0];
+
+  private int pendingCount;
+
+  VariableLengthColumnVector(BaseVariableWidthVector variableWidthVector, DataType dataType) {
+    super(variableWidthVector, dataType);
+    this.variableWidthVector = variableWidthVector;
+    this.dictionaryVector = new DictionaryKeyVector();
+  }
+
+  @Override public void putNull(int rowId) {
+    variableWidthVector.setNull(rowId);
+  }
+
+  @Override public void putByteArray(int rowId, int offset, int length, byte[] value) {
+    variableWidthVector.setSafe(rowId, value, offset, length);
+  }
+
+  @Override public void putArray(int rowId, int offset, int length) {
+    if (pendingCount == pendingRowIds.length) {
+      int newLength = Math.max(16, pendingCount * 2);
+      pendingRowIds = Arrays.copyOf(pendingRowIds, newLength);
+      pendingOffsets = Arrays.copyOf(pendingOffsets, newLength);
+      pendingLengths = Arrays.copyOf(pendingLengths, newLength);
+    }
+    pendingRowIds[pendingCount] = rowId;
+    pendingOffsets[pendingCount] = offset;
+    pendingLengths[pendingCount] = length;
+    pendingCount++;
+  }
+
+  @Override public void putAllByteArray(byte[] data, int offset, int length) {
+    for (int i = 0; i < pendingCount; i++) {
+      variableWidthVector
+          .setSafe(pendingRowIds[i], data, offset + pendingOffsets[i], pendingLengths[i]);
+    }
+    pendingCount = 0;
+  }
+
+  @Override public void reset() {
+    super.reset();
+    pendingCount = 0;
+  }
+
+  @Override public void setDictionary(CarbonDictionary dictionary) {
+    this.carbonDictionary = dictionary;
+  }
+
+  @Override public boolean hasDictionary() {
+    return null != carbonDictionary;
+  }
+
+  @Override public CarbonColumnVector getDictionaryVector() {
+    return dictionaryVector;
+  }
+
+  /**
+   * Receives the local dictionary keys of the page and puts the actual value in the arrow vector
+   */
+  private class DictionaryKeyVector extends CarbonColumnVectorImpl {
+
+    DictionaryKeyVector() {
+      super(0, DataTypes.INT);
+    }
+
+    @Override public void putInt(int rowId, int value) {
+      byte[] actualValue = carbonDictionary.getDictionaryValue(value);
+      if (actualValue == null) {
+        VariableLengthColumnVector.this.putNull(rowId);
+      } else {
+        VariableLengthColumnVector.this.putByteArray(rowId, 0, actualValue.length, actualValue);
+      }
+    }
+
+    @Override public void putInts(int rowId, int count, int value) {
+      for (int i = 0; i < count; i++) {
+        putInt(rowId + i, value);
+      }
+    }
+
+    @Override public void putInts(int rowId, int count, int[] src, int srcIndex) {
+      for (int i = 0; i < count; i++) {
+        putInt(rowId + i, src[srcIndex + i]);
+      }
+    }
+
+    @Override public void putNull(int rowId) {
+      VariableLengthColumnVector.this.putNull(rowId);
+    }
+
+    @Override public void putNulls(int rowId, int count) {
+      VariableLengthColumnVector.this.putNulls(rowId, count);
+    }
+
+    @Override public boolean isNull(int rowId) {
+      return VariableLengthColumnVector.this.isNull(rowId);
+    }
+  }
+}
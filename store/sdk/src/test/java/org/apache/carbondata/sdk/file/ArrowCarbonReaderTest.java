@@ -33,7 +33,10 @@ import junit.framework.TestCase;
 import org.apache.arrow.memory.BufferAllocator;
 import org.apache.arrow.vector.FieldVector;
 import org.apache.arrow.vector.Float4Vector;
+import org.apache.arrow.vector.Float8Vector;
+import org.apache.arrow.vector.IntVector;
 import org.apache.arrow.vector.SmallIntVector;
+import org.apache.arrow.vector.VarCharVector;
 import org.apache.arrow.vector.VectorLoader;
 import org.apache.arrow.vector.VectorSchemaRoot;
 import org.apache.arrow.vector.ipc.message.ArrowRecordBatch;
@@ -216,4 +219,64 @@ public class ArrowCarbonReaderTest extends TestCase {
       }
     }
   }
+
+  @Test
+  public void testArrowBatchReaderWithVectorReader() {
+    String path = "./carbondata";
+    try {
+      FileUtils.deleteDirectory(new File(path));
+
+      Field[] fields = new Field[3];
+      fields[0] = new Field("name", DataTypes.STRING);
+      fields[1] = new Field("age", DataTypes.INT);
+      fields[2] = new Field("salary", DataTypes.DOUBLE);
+      CarbonWriter writer = CarbonWriter.builder()
+          .outputPath(path)
+          .withCsvInput(new Schema(fields))
+          .writtenBy("ArrowCarbonReaderTest")
+          .build();
+      for (int i = 0; i < 100; i++) {
+        writer.write(new String[] { "robot" + i, String.valueOf(i), i % 10 == 0 ? null : "1.5" });
+      }
+      writer.close();
+      Schema carbonSchema = CarbonSchemaReader.readSchema(path);
+      // vectorized reader fills the arrow vectors batch by batch
+      ArrowCarbonReader reader = CarbonReader.builder(path, "_temp").buildArrowReader();
+      int rowCount = 0;
+      long ageSum = 0;
+      int nullSalaryCount = 0;
+      VectorSchemaRoot vectorSchemaRoot;
+      while ((vectorSchemaRoot = reader.readNextArrowBatch(carbonSchema)) != null) {
+        VarCharVector nameVector = (VarCharVector) vectorSchemaRoot.getVector("name");
+        IntVector ageVector = (IntVector) vectorSchemaRoot.getVector("age");
+        Float8Vector salaryVector = (Float8Vector) vectorSchemaRoot.getVector("salary");
+        for (int i = 0; i < vectorSchemaRoot.getRowCount(); i++) {
+          int age = ageVector.get(i);
+          assertEquals("robot" + age, new String(nameVector.get(i)));
+          if (salaryVector.isNull(i)) {
+            assertEquals(0, age % 10);
+            nullSalaryCount++;
+          } else {
+            assertEquals(1.5, salaryVector.get(i));
+          }
+          ageSum += age;
+        }
+        rowCount += vectorSchemaRoot.getRowCount();
+      }
+      assertEquals(100, rowCount);
+      assertEquals(4950, ageSum);
+      assertEquals(10, nullSalaryCount);
+      reader.close();
+    } catch (Throwable e) {
+      e.printStackTrace();
+      Assert.fail(e.getMessage());
+    } finally {
+      try {
+        FileUtils.deleteDirectory(new File(path));
+      } catch (IOException e) {
+        e.printStackTrace();
+        Assert.fail(e.getMessage());
+      }
+    }
+  }
 }
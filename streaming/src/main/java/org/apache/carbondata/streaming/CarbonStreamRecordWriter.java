@@ -318,7 +318,9 @@ public class CarbonStreamRecordWriter extends RecordWriter<Void, Object> {
     fileHeader.setIs_footer_present(false);
     fileHeader.setIs_splitable(true);
     fileHeader.setSync_marker(CarbonStreamOutputFormat.CARBON_SYNC_MARKER);
-    fileHeader.setCompressor_name(compressorName);
+    // compression level is only used to write, keep the compressor name readable by old readers
+    fileHeader.setCompressor_name(
+        CompressorFactory.getInstance().getCompressor(compressorName).getName());
     outputStream.write(CarbonUtil.getByteArray(fileHeader));
   }
 
@@ -17,7 +17,6 @@
 
 package org.apache.carbondata.tool;
 
-import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.math.BigDecimal;
 import java.nio.ByteBuffer;
@@ -349,7 +348,8 @@ class DataFile {
       ByteBuffer buffer = fileReader.readByteBuffer(
           filePath, blockletInfo.column_data_chunks_offsets.get(columnIndex),
           blockletInfo.column_data_chunks_length.get(columnIndex));
-      dataChunk = CarbonUtil.readDataChunk3(new ByteArrayInputStream(buffer.array()));
+      dataChunk = CarbonUtil.readDataChunk3(buffer, 0,
+          blockletInfo.column_data_chunks_length.get(columnIndex));
       this.localDict = dataChunk.isSetLocal_dictionary();
       if (this.localDict) {
         String compressorName = CarbonMetadataUtil.getCompressorNameFromChunkMeta(